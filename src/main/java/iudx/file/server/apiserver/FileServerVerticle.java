@@ -12,9 +12,14 @@ import static iudx.file.server.authenticator.utilities.Constants.DRL;
 import static iudx.file.server.authenticator.utilities.Constants.ROLE;
 import static iudx.file.server.common.Constants.AUDIT_SERVICE_ADDRESS;
 import static iudx.file.server.common.Constants.DB_SERVICE_ADDRESS;
+import static iudx.file.server.common.Constants.PARAM_LIMIT;
 import static iudx.file.server.common.QueryType.TEMPORAL_GEO;
 import static iudx.file.server.database.elasticdb.utilities.Constants.TYPE_KEY;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.netty.handler.codec.http.HttpConstants;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.vertx.core.*;
@@ -24,13 +29,15 @@ import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.JksOptions;
-import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
+import io.vertx.micrometer.backends.BackendRegistries;
 import iudx.file.server.apiserver.handlers.AuthHandler;
+import iudx.file.server.apiserver.handlers.NoBodyHandler;
+import iudx.file.server.apiserver.handlers.StreamingUploadHandler;
 import iudx.file.server.apiserver.handlers.ValidationFailureHandler;
 import iudx.file.server.apiserver.handlers.ValidationsHandler;
 import iudx.file.server.apiserver.query.QueryParams;
@@ -38,22 +45,38 @@ import iudx.file.server.apiserver.response.ResponseType;
 import iudx.file.server.apiserver.response.ResponseUrn;
 import iudx.file.server.apiserver.response.RestResponse;
 import iudx.file.server.apiserver.service.FileService;
+import iudx.file.server.apiserver.service.UploadSessionService;
+import iudx.file.server.apiserver.service.impl.ContentAddressedFileServiceImpl;
 import iudx.file.server.apiserver.service.impl.LocalStorageFileServiceImpl;
+import iudx.file.server.apiserver.service.impl.LocalUploadSessionServiceImpl;
+import iudx.file.server.apiserver.service.impl.S3FileServiceImpl;
+import iudx.file.server.apiserver.utilities.EntityTags;
+import iudx.file.server.apiserver.utilities.FileArchiver;
+import iudx.file.server.apiserver.utilities.FileCompressor;
+import iudx.file.server.apiserver.utilities.FileLayout;
+import iudx.file.server.apiserver.utilities.FileLayoutMigrator;
 import iudx.file.server.apiserver.utilities.HttpStatusCode;
 import iudx.file.server.apiserver.validations.ContentTypeValidator;
 import iudx.file.server.apiserver.validations.RequestType;
 import iudx.file.server.apiserver.validations.RequestValidator;
+import iudx.file.server.apiserver.validations.ValidationError;
+import iudx.file.server.apiserver.validations.ValidatorChain;
 import iudx.file.server.auditing.AuditingService;
 import iudx.file.server.common.Api;
 import iudx.file.server.common.QueryType;
+import iudx.file.server.common.RouteId;
 import iudx.file.server.common.WebClientFactory;
 import iudx.file.server.common.service.CatalogueService;
 import iudx.file.server.common.service.impl.CatalogueServiceImpl;
 import iudx.file.server.database.elasticdb.DatabaseService;
+import iudx.file.server.database.elasticdb.DatabaseServiceImpl;
+import iudx.file.server.database.elasticdb.LocalDatabaseService;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
@@ -88,16 +111,25 @@ public class FileServerVerticle extends AbstractVerticle {
   private Router router;
   // private FileServer fileServer;
   private FileService fileService;
+  private UploadSessionService uploadSessionService;
   private DatabaseService database;
   private AuditingService auditingService;
   private String directory;
-  private String tempDirectory;
   private RequestValidator requestValidator;
   private ContentTypeValidator contentTypeValidator;
   private WebClientFactory webClientFactory;
   private CatalogueService catalogueService;
   private String dxApiBasePath;
   private String dxV1BasePath;
+  private String downloadCacheControl;
+  private int bulkDownloadMaxFiles;
+  private int uploadBatchMaxFiles;
+  // write search results of database verticle of this JVM straight to response.
+  private boolean streamSearchResults;
+  // upload directory of file-ids, saves catalogue lookups on download and delete.
+  private Cache<String, String> uploadDirIndex;
+  // entity tag of archive file-ids, saves metadata lookups on download.
+  private Cache<String, String> entityTagIndex;
 
   @Override
   public void start() throws Exception {
@@ -112,6 +144,20 @@ public class FileServerVerticle extends AbstractVerticle {
     allowedHeaders.add(HEADER_ORIGIN);
     allowedHeaders.add(HEADER_REFERER);
     allowedHeaders.add(HEADER_ALLOW_ORIGIN);
+    allowedHeaders.add(HEADER_RANGE);
+    allowedHeaders.add(HEADER_IF_RANGE);
+    allowedHeaders.add(HEADER_IF_NONE_MATCH);
+    allowedHeaders.add(HEADER_IF_MODIFIED_SINCE);
+    allowedHeaders.add(HEADER_UPLOAD_LENGTH);
+    allowedHeaders.add(HEADER_UPLOAD_OFFSET);
+
+    Set<String> exposedHeaders = new HashSet<>();
+    exposedHeaders.add(HEADER_ACCEPT_RANGES);
+    exposedHeaders.add(HEADER_CONTENT_RANGE);
+    exposedHeaders.add(HEADER_CONTENT_LENGTH);
+    exposedHeaders.add(HEADER_ETAG);
+    exposedHeaders.add(HEADER_LAST_MODIFIED);
+    exposedHeaders.add(HEADER_UPLOAD_OFFSET);
 
     Set<HttpMethod> allowedMethods = new HashSet<>();
     allowedMethods.add(HttpMethod.GET);
@@ -128,7 +174,10 @@ public class FileServerVerticle extends AbstractVerticle {
     router
         .route()
         .handler(
-            CorsHandler.create("*").allowedHeaders(allowedHeaders).allowedMethods(allowedMethods));
+            CorsHandler.create("*")
+                .allowedHeaders(allowedHeaders)
+                .exposedHeaders(exposedHeaders)
+                .allowedMethods(allowedMethods));
 
     requestValidator = new RequestValidator();
     contentTypeValidator = new ContentTypeValidator(config().getJsonObject("allowedContentType"));
@@ -138,9 +187,9 @@ public class FileServerVerticle extends AbstractVerticle {
             requestHandler -> {
               requestHandler
                   .response()
-                  .putHeader("Cache-Control", "no-cache, no-store,  must-revalidate,max-age=0")
-                  .putHeader("Pragma", "no-cache")
-                  .putHeader("Expires", "0")
+                  .putHeader(HEADER_CACHE_CONTROL, NO_CACHE_CONTROL)
+                  .putHeader(HEADER_PRAGMA, "no-cache")
+                  .putHeader(HEADER_EXPIRES, "0")
                   .putHeader("X-Content-Type-Options", "nosniff");
               requestHandler.next();
             });
@@ -151,65 +200,154 @@ public class FileServerVerticle extends AbstractVerticle {
     catalogueService = new CatalogueServiceImpl(webClientFactory, config());
 
     directory = config().getString("upload_dir");
-    tempDirectory = config().getString("tmp_dir");
+    downloadCacheControl =
+        config().getString("downloadCacheControl", DEFAULT_DOWNLOAD_CACHE_CONTROL);
+    bulkDownloadMaxFiles =
+        config().getInteger("bulkDownloadMaxFiles", DEFAULT_BULK_DOWNLOAD_MAX_FILES);
+    uploadBatchMaxFiles =
+        config().getInteger("uploadBatchMaxFiles", DEFAULT_UPLOAD_BATCH_MAX_FILES);
+    streamSearchResults = config().getBoolean("streamSearchResults", false);
+    uploadDirIndex =
+        CacheBuilder.newBuilder()
+            .maximumSize(config().getInteger("fileIndexSize", DEFAULT_FILE_INDEX_SIZE))
+            .build();
+    entityTagIndex =
+        CacheBuilder.newBuilder()
+            .maximumSize(config().getInteger("fileIndexSize", DEFAULT_FILE_INDEX_SIZE))
+            .build();
     Api api = Api.getInstance(dxApiBasePath, dxV1BasePath);
+    AuthHandler authHandler =
+        AuthHandler.create(vertx, config().getBoolean("inProcessAuthentication", false));
+
+    // only uploads read a body, form of an upload session is small and holds no file.
+    NoBodyHandler noBodyHandler = NoBodyHandler.create();
+    BodyHandler uploadFormHandler =
+        BodyHandler.create(false).setBodyLimit(UPLOAD_FORM_BODY_LIMIT);
 
     ValidationsHandler temporalQueryVaidationHandler =
         new ValidationsHandler(RequestType.TEMPORAL_QUERY);
     router
         .get(api.getApiTemporal())
-        .handler(BodyHandler.create())
+        .putMetadata(RouteId.KEY, RouteId.TEMPORAL.name())
+        .handler(noBodyHandler)
         .handler(temporalQueryVaidationHandler)
-        .handler(AuthHandler.create(vertx))
+        .handler(authHandler)
         .handler(this::query)
         .failureHandler(validationsFailureHandler);
 
     ValidationsHandler uploadValidationHandler = new ValidationsHandler(RequestType.UPLOAD);
     router
         .post(api.getApiFileUpload())
-        .handler(
-            BodyHandler.create()
-                .setUploadsDirectory(tempDirectory)
-                .setBodyLimit(MAX_SIZE)
-                .setDeleteUploadedFilesOnEnd(false))
+        .putMetadata(RouteId.KEY, RouteId.FILE_UPLOAD.name())
+        .handler(StreamingUploadHandler.create(MAX_SIZE))
         .handler(uploadValidationHandler)
-        .handler(AuthHandler.create(vertx))
+        .handler(authHandler)
         .handler(this::upload)
         .failureHandler(validationsFailureHandler);
 
+    ValidationsHandler createUploadSessionValidationHandler =
+        new ValidationsHandler(RequestType.CREATE_UPLOAD_SESSION);
+    router
+        .post(api.getApiUploadSession())
+        .putMetadata(RouteId.KEY, RouteId.UPLOAD_SESSION.name())
+        .handler(uploadFormHandler)
+        .handler(createUploadSessionValidationHandler)
+        .handler(authHandler)
+        .handler(this::createUploadSession)
+        .failureHandler(validationsFailureHandler);
+
+    // chunk is streamed from request to file, so no BodyHandler.
+    ValidationsHandler uploadChunkValidationHandler =
+        new ValidationsHandler(RequestType.UPLOAD_CHUNK);
+    router
+        .patch(api.getApiUploadSession())
+        .putMetadata(RouteId.KEY, RouteId.UPLOAD_SESSION.name())
+        .handler(uploadChunkValidationHandler)
+        .handler(authHandler)
+        .handler(this::uploadChunk)
+        .failureHandler(validationsFailureHandler);
+
+    ValidationsHandler uploadSessionValidationHandler =
+        new ValidationsHandler(RequestType.UPLOAD_SESSION);
+    router
+        .get(api.getApiUploadSession())
+        .putMetadata(RouteId.KEY, RouteId.UPLOAD_SESSION.name())
+        .handler(noBodyHandler)
+        .handler(uploadSessionValidationHandler)
+        .handler(authHandler)
+        .handler(this::uploadSessionStatus)
+        .failureHandler(validationsFailureHandler);
+
+    router
+        .post(api.getApiUploadSessionFinalize())
+        .putMetadata(RouteId.KEY, RouteId.UPLOAD_SESSION_FINALIZE.name())
+        .handler(uploadFormHandler)
+        .handler(uploadSessionValidationHandler)
+        .handler(authHandler)
+        .handler(this::finalizeUploadSession)
+        .failureHandler(validationsFailureHandler);
+
+    // files of a batch are kept in external storage, body holds their metadata only.
+    ValidationsHandler uploadBatchValidationHandler =
+        new ValidationsHandler(RequestType.UPLOAD_BATCH);
+    router
+        .post(api.getApiUploadBatch())
+        .putMetadata(RouteId.KEY, RouteId.UPLOAD_BATCH.name())
+        .handler(BodyHandler.create(false).setBodyLimit(UPLOAD_BATCH_BODY_LIMIT))
+        .handler(uploadBatchValidationHandler)
+        .handler(authHandler)
+        .handler(this::uploadBatch)
+        .failureHandler(validationsFailureHandler);
+
     ValidationsHandler downloadValidationHandler = new ValidationsHandler(RequestType.DOWNLOAD);
     router
         .get(api.getApiFileDownload())
-        .handler(BodyHandler.create())
+        .putMetadata(RouteId.KEY, RouteId.FILE_DOWNLOAD.name())
+        .handler(noBodyHandler)
         .handler(downloadValidationHandler)
-        .handler(AuthHandler.create(vertx))
+        .handler(authHandler)
         .handler(this::download)
         .failureHandler(validationsFailureHandler);
 
+    // files are listed or queried in query parameters.
+    ValidationsHandler bulkDownloadValidationHandler =
+        new ValidationsHandler(RequestType.BULK_DOWNLOAD);
+    router
+        .get(api.getApiBulkDownload())
+        .putMetadata(RouteId.KEY, RouteId.BULK_DOWNLOAD.name())
+        .handler(noBodyHandler)
+        .handler(bulkDownloadValidationHandler)
+        .handler(authHandler)
+        .handler(this::bulkDownload)
+        .failureHandler(validationsFailureHandler);
+
     ValidationsHandler deleteValidationHandler = new ValidationsHandler(RequestType.DELETE);
     router
         .delete(api.getApiFileDelete())
-        .handler(BodyHandler.create())
+        .putMetadata(RouteId.KEY, RouteId.FILE_DELETE.name())
+        .handler(noBodyHandler)
         .handler(deleteValidationHandler)
-        .handler(AuthHandler.create(vertx))
+        .handler(authHandler)
         .handler(this::delete)
         .failureHandler(validationsFailureHandler);
 
     ValidationsHandler listQueryValidationHandler = new ValidationsHandler(RequestType.LIST_QUERY);
     router
         .get(api.getListMetaData())
-        .handler(BodyHandler.create())
+        .putMetadata(RouteId.KEY, RouteId.LIST_METADATA.name())
+        .handler(noBodyHandler)
         .handler(listQueryValidationHandler)
-        .handler(AuthHandler.create(vertx))
+        .handler(authHandler)
         .handler(this::listMetadata)
         .failureHandler(validationsFailureHandler);
 
     ValidationsHandler geoQueryValidationHandler = new ValidationsHandler(RequestType.GEO_QUERY);
     router
         .get(api.getApiSpatial())
-        .handler(BodyHandler.create())
+        .putMetadata(RouteId.KEY, RouteId.SPATIAL.name())
+        .handler(noBodyHandler)
         .handler(geoQueryValidationHandler)
-        .handler(AuthHandler.create(vertx))
+        .handler(authHandler)
         .handler(this::query)
         .failureHandler(validationsFailureHandler);
 
@@ -274,7 +412,54 @@ public class FileServerVerticle extends AbstractVerticle {
 
     database = DatabaseService.createProxy(vertx, DATABASE_SERVICE_ADDRESS);
 
-    fileService = new LocalStorageFileServiceImpl(vertx.fileSystem(), directory);
+    /*
+     * sendfile(2) can only be used when TLS is terminated outside of the server (ingress), since
+     * encrypted bytes have to pass through the JVM.
+     */
+    boolean zeroCopyDownload = !isssl && config().getBoolean("zeroCopyDownload", true);
+    LOGGER.info("zero copy download enabled : " + zeroCopyDownload);
+    FileCompressor compressor = null;
+    if (config().getBoolean("compressDownloads", false)) {
+      compressor =
+          new FileCompressor(
+              vertx,
+              contentTypeValidator.getCompressibleExtensions(),
+              config().getInteger("compressionPoolSize", DEFAULT_COMPRESSION_POOL_SIZE),
+              config().getBoolean("precompressUploads", false));
+    }
+    FileArchiver archiver =
+        new FileArchiver(
+            vertx,
+            contentTypeValidator.getCompressibleExtensions(),
+            config().getInteger("compressionPoolSize", DEFAULT_COMPRESSION_POOL_SIZE));
+    String fileStorage = config().getString("fileStorage", FILE_STORAGE_LOCAL);
+    LOGGER.info("file storage : " + fileStorage);
+    FileLayout layout = new FileLayout(directory, config().getBoolean("shardedLayout", false));
+    if (FILE_STORAGE_CONTENT_ADDRESSED.equals(fileStorage)) {
+      MeterRegistry registry = BackendRegistries.getDefaultNow();
+      fileService =
+          new ContentAddressedFileServiceImpl(
+              vertx.fileSystem(),
+              layout,
+              zeroCopyDownload,
+              compressor,
+              archiver,
+              registry == null ? Metrics.globalRegistry : registry);
+    } else if (FILE_STORAGE_S3.equals(fileStorage)) {
+      fileService = new S3FileServiceImpl(vertx, config().getJsonObject("s3"));
+    } else {
+      fileService =
+          new LocalStorageFileServiceImpl(
+              vertx.fileSystem(), layout, zeroCopyDownload, compressor, archiver);
+    }
+
+    long uploadSessionTimeout =
+        config().getLong("uploadSessionTimeout", DEFAULT_UPLOAD_SESSION_TIMEOUT);
+    uploadSessionService =
+        new LocalUploadSessionServiceImpl(
+            vertx.fileSystem(), layout, TimeUnit.MINUTES.toMillis(uploadSessionTimeout));
+    vertx.setPeriodic(
+        UPLOAD_SESSION_PURGE_INTERVAL, timerId -> uploadSessionService.purgeExpiredSessions());
 
     auditingService = AuditingService.createProxy(vertx, AUDIT_SERVICE_ADDRESS);
 
@@ -287,6 +472,9 @@ public class FileServerVerticle extends AbstractVerticle {
           public void handle(AsyncResult<Void> event) {
             if (event.succeeded()) {
               LOGGER.info("directory exist/created successfully.");
+              if (!FILE_STORAGE_S3.equals(fileStorage)) {
+                migrateLayout(layout);
+              }
             } else {
               LOGGER.error(event.cause().getMessage(), event.cause());
             }
@@ -326,14 +514,15 @@ public class FileServerVerticle extends AbstractVerticle {
             .put(ROLE, authInfo.getString(ROLE))
             .put(DRL, authInfo.getString(DRL))
             .put(DID, authInfo.getString(DID))
-            .put(RESOURCE_ID, id);
+            .put(RESOURCE_ID, id)
+            .put(ITEM_CONTEXT, getIntrospectedItem(routingContext, id));
 
     Boolean isExternalStorage = Boolean.parseBoolean(request.getHeader("externalStorage"));
     Boolean isSample = Boolean.valueOf(formParam.get("isSample"));
-    Future<String> uploadPathFuture = getPath(id);
+    Future<String> uploadPathFuture = getPath(routingContext, id);
 
-    List<FileUpload> files = routingContext.fileUploads();
-    if (!isExternalStorage && (files.size() == 0 || !isValidFileContentType(files))) {
+    HttpServerFileUpload file = routingContext.get(CTX_FILE_UPLOAD);
+    if (!isExternalStorage && (file == null || !isValidFileContentType(file))) {
       handleResponse(response, HttpStatusCode.BAD_REQUEST);
       String message =
           new RestResponse.Builder()
@@ -353,7 +542,8 @@ public class FileServerVerticle extends AbstractVerticle {
             if (isExternalStorage) {
               JsonObject responseJson = new JsonObject();
               String fileId = id + "/" + UUID.randomUUID();
-              Future<Boolean> saveRecordFuture = saveFileRecord(formParam, fileId);
+              Future<Boolean> saveRecordFuture =
+                  saveFileRecord(formParam, fileId, new JsonObject());
 
               saveRecordFuture.onComplete(
                   saveRecordHandler -> {
@@ -372,9 +562,9 @@ public class FileServerVerticle extends AbstractVerticle {
                     }
                   });
             } else if (isSample) {
-              sampleFileUpload(response, files, "sample", uploadPath, id);
+              sampleFileUpload(response, file, "sample", uploadPath, id);
             } else {
-              archiveFileUpload(response, formParam, files, uploadPath, id, auditParams);
+              archiveFileUpload(response, formParam, file, uploadPath, id, auditParams);
             }
           } else {
             LOGGER.debug("unable to construct folder structure");
@@ -383,21 +573,176 @@ public class FileServerVerticle extends AbstractVerticle {
         });
   }
 
+  /**
+   * Upload batch service registers files kept in external storage in bulk, metadata of each file
+   * is saved as for an upload with external storage and files are saved together.
+   *
+   * @param routingContext Handles web request in Vert.x web
+   */
+  public void uploadBatch(RoutingContext routingContext) {
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    String id = request.getParam(PARAM_ID);
+
+    JsonArray files;
+    try {
+      files = routingContext.body().asJsonArray();
+    } catch (DecodeException | ClassCastException ex) {
+      files = null;
+    }
+    if (files == null || files.isEmpty()) {
+      handleResponse(
+          response,
+          HttpStatusCode.BAD_REQUEST,
+          INVALID_PAYLOAD_FORMAT,
+          "body should be a json array of files");
+      return;
+    }
+    if (files.size() > uploadBatchMaxFiles) {
+      handleResponse(
+          response,
+          HttpStatusCode.BAD_REQUEST,
+          REQUEST_PAYLOAD_EXCEED,
+          "batch exceeds " + uploadBatchMaxFiles + " files");
+      return;
+    }
+
+    JsonArray documents = new JsonArray();
+    List<String> fileIds = new ArrayList<>(files.size());
+    for (int i = 0; i < files.size(); i++) {
+      Object file = files.getValue(i);
+      if (!(file instanceof JsonObject)) {
+        handleResponse(
+            response,
+            HttpStatusCode.BAD_REQUEST,
+            INVALID_PAYLOAD_FORMAT,
+            "file " + i + " : should be a json object");
+        return;
+      }
+      ValidationError error =
+          ValidatorChain.forBatchFile()
+              .validate(batchFileFields((JsonObject) file), MultiMap.caseInsensitiveMultiMap());
+      if (error != null) {
+        handleResponse(
+            response,
+            HttpStatusCode.getByValue(error.getStatusCode()),
+            error.getUrn(),
+            "file " + i + " : " + error.getMessage());
+        return;
+      }
+      String fileId = id + "/" + UUID.randomUUID();
+      fileIds.add(fileId);
+      documents.add(batchFileRecord(id, fileId, (JsonObject) file));
+    }
+
+    database
+        .saveAll(documents)
+        .onComplete(
+            saveHandler -> {
+              if (saveHandler.failed()) {
+                processResponse(response, saveHandler.cause().getMessage());
+                return;
+              }
+              JsonArray saveResults = saveHandler.result().getJsonArray(RESULTS);
+              JsonArray results = new JsonArray();
+              int saved = 0;
+              for (int i = 0; i < saveResults.size(); i++) {
+                JsonObject saveResult = saveResults.getJsonObject(i);
+                if (saveResult.getInteger(JSON_TYPE) == HttpStatusCode.SUCCESS.getValue()) {
+                  results.add(new JsonObject().put("fileId", fileIds.get(i)));
+                  saved++;
+                } else {
+                  String reason =
+                      saveResult.getString(
+                          ERROR_MESSAGE,
+                          saveResult.getString("details", saveResult.getString(JSON_TITLE)));
+                  results.add(new JsonObject().put("error", reason));
+                }
+              }
+              if (saved == 0) {
+                // nothing is saved, failure of batch is failure of its first file.
+                processResponse(response, saveResults.getJsonObject(0).encode());
+                return;
+              }
+              LOGGER.info("{} of {} files of batch saved", saved, results.size());
+              JsonObject responseJson =
+                  new JsonObject()
+                      .put(JSON_TYPE, SUCCESS.getUrn())
+                      .put(JSON_TITLE, "Success")
+                      .put(RESULTS, results);
+              handleResponse(response, HttpStatusCode.SUCCESS, responseJson);
+              JsonObject auditParams =
+                  new JsonObject()
+                      .put("api", request.path())
+                      .put(USER_ID, authInfo.getString(USER_ID))
+                      .put(ROLE, authInfo.getString(ROLE))
+                      .put(DRL, authInfo.getString(DRL))
+                      .put(DID, authInfo.getString(DID))
+                      .put(RESOURCE_ID, id)
+                      .put(ITEM_CONTEXT, getIntrospectedItem(routingContext, id))
+                      .put(RESPONSE_SIZE, 0);
+              updateAuditTable(auditParams);
+            });
+  }
+
+  /* mandatory fields of a file of a batch, as form fields of an upload are validated. */
+  private static MultiMap batchFileFields(JsonObject file) {
+    MultiMap fields = MultiMap.caseInsensitiveMultiMap();
+    for (String field :
+        new String[] {
+          PARAM_START_TIME, PARAM_END_TIME, PARAM_GEOMETRY, PARAM_COORDINATES, PARAM_FILE_URL
+        }) {
+      Object value = file.getValue(field);
+      if (value instanceof JsonArray) {
+        fields.add(field, ((JsonArray) value).encode());
+      } else if (value != null) {
+        fields.add(field, value.toString());
+      }
+    }
+    return fields;
+  }
+
+  /* metadata document of a file of a batch, same as saved for an upload with external storage. */
+  private static JsonObject batchFileRecord(String id, String fileId, JsonObject file) {
+    JsonObject json = file.copy();
+    Object coordinates = json.remove(PARAM_COORDINATES);
+    json.put("id", id);
+    json.put(
+        "timeRange",
+        new JsonObject()
+            .put("gte", json.remove(PARAM_START_TIME))
+            .put("lte", json.remove(PARAM_END_TIME)));
+    json.put("fileId", fileId);
+    json.put(
+        "location",
+        new JsonObject()
+            .put("type", json.remove(PARAM_GEOMETRY))
+            .put(
+                "coordinates",
+                coordinates instanceof JsonArray
+                    ? coordinates
+                    : new JsonArray(coordinates.toString())));
+    return json;
+  }
+
   /**
    * Helper method to upload a sample file.
    *
    * @param response HttpServerResponse
-   * @param files set of file (although there will always be a single file to upload) * @param
-   * @param filePath path for the upload file * @param id resource id
+   * @param file file upload stream
+   * @param fileName name of stored file
+   * @param filePath path for the upload file
+   * @param id resource id
    */
   private void sampleFileUpload(
       HttpServerResponse response,
-      List<FileUpload> files,
+      HttpServerFileUpload file,
       String fileName,
       String filePath,
       String id) {
 
-    Future<JsonObject> uploadFuture = fileService.upload(files, fileName, filePath);
+    Future<JsonObject> uploadFuture = fileService.upload(file, fileName, filePath);
 
     uploadFuture.onComplete(
         uploadHandler -> {
@@ -405,6 +750,7 @@ public class FileServerVerticle extends AbstractVerticle {
             JsonObject uploadResult = uploadHandler.result();
             JsonObject responseJson = new JsonObject();
             String fileId = id + "/" + uploadResult.getString("file-id");
+            uploadDirIndex.put(fileId, filePath);
 
             responseJson
                 .put(JSON_TYPE, SUCCESS.getUrn())
@@ -422,7 +768,7 @@ public class FileServerVerticle extends AbstractVerticle {
    * Helper method to upload a archieve file.
    *
    * @param response HttpServerResponse
-   * @param files set of file (although there will always be a single file to upload)
+   * @param file file upload stream
    * @param filePath path for the upload file
    * @param id resource id
    * @param auditParams for auditing
@@ -430,7 +776,7 @@ public class FileServerVerticle extends AbstractVerticle {
   private void archiveFileUpload(
       HttpServerResponse response,
       MultiMap params,
-      List<FileUpload> files,
+      HttpServerFileUpload file,
       String filePath,
       String id,
       JsonObject auditParams) {
@@ -440,7 +786,7 @@ public class FileServerVerticle extends AbstractVerticle {
     requestValidatorFuture
         .compose(
             requestValidatorhandler -> {
-              return fileService.upload(files, filePath);
+              return fileService.upload(file, filePath);
             })
         .compose(
             uploadHandler -> {
@@ -449,14 +795,23 @@ public class FileServerVerticle extends AbstractVerticle {
                 return Future.failedFuture(uploadHandler.toString());
               }
               String fileId = id + "/" + uploadHandler.getString("file-id");
+              uploadDirIndex.put(fileId, filePath);
+              indexEntityTag(fileId, uploadHandler.getString(FILE_CHECKSUM));
               uploadJson.put("upload", true);
               uploadJson.put("fileId", fileId);
+              uploadJson.put(FILE_SIZE, uploadHandler.getLong(FILE_SIZE));
+              uploadJson.put(FILE_CHECKSUM, uploadHandler.getString(FILE_CHECKSUM));
               return catalogueService.isAllowedMetaDataField(params);
             })
         .compose(
             metaDataValidatorHandler -> {
               LOGGER.debug("file-id : " + uploadJson.getString("fileId"));
-              return saveFileRecord(params, uploadJson.getString("fileId"));
+              return saveFileRecord(
+                  params,
+                  uploadJson.getString("fileId"),
+                  new JsonObject()
+                      .put(FILE_SIZE, uploadJson.getLong(FILE_SIZE))
+                      .put(FILE_CHECKSUM, uploadJson.getString(FILE_CHECKSUM)));
             })
         .onComplete(
             handler -> {
@@ -477,15 +832,197 @@ public class FileServerVerticle extends AbstractVerticle {
                   // fail, run Compensating service to clean/undo upload.
                   String fileId = uploadJson.getString("fileId");
                   String fileuuId = StringUtils.substringAfterLast(fileId, FORWARD_SLASH);
+                  uploadDirIndex.invalidate(fileId);
+                  entityTagIndex.invalidate(fileId);
                   LOGGER.debug("deleting file :" + fileuuId + " uploadDir: " + filePath);
-                  vertx.fileSystem().deleteBlocking(directory + "/" + filePath + "/" + fileuuId);
+                  fileService.delete(fileuuId, filePath);
+                }
+                processResponse(response, handler.cause().getMessage());
+              }
+            });
+  }
+
+  /**
+   * Create a session for chunked upload of a file, metadata of file is validated and kept with the
+   * session till the upload is finalized.
+   *
+   * @param routingContext Handles web request in Vert.x web
+   */
+  public void createUploadSession(RoutingContext routingContext) {
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    MultiMap formParam = request.formAttributes();
+    String id = formParam.get(PARAM_ID);
+    String fileName = formParam.get(PARAM_FILE_NAME);
+    long length = Long.parseLong(request.getHeader(HEADER_UPLOAD_LENGTH).trim());
+
+    if (fileName == null
+        || !contentTypeValidator.isValidExtension(StringUtils.substringAfterLast(fileName, "."))) {
+      LOGGER.error("Invalid file type or no file name provided");
+      handleResponse(response, HttpStatusCode.BAD_REQUEST, "Invalid file type");
+      return;
+    }
+    JsonObject metadata = new JsonObject();
+    formParam.entries().stream()
+        .filter(e -> !PARAM_FILE_NAME.equals(e.getKey()))
+        .forEach(e -> metadata.put(e.getKey(), e.getValue()));
+
+    requestValidator
+        .isValidArchiveRequest(formParam)
+        .compose(validationHandler -> catalogueService.isAllowedMetaDataField(formParam))
+        .compose(
+            metaDataHandler ->
+                uploadSessionService.create(
+                    id, authInfo.getString(USER_ID), fileName, length, metadata))
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                response.putHeader(HEADER_UPLOAD_OFFSET, "0");
+                handleResponse(response, HttpStatusCode.SUCCESS, sessionResponse(handler.result()));
+              } else {
+                processResponse(response, handler.cause().getMessage());
+              }
+            });
+  }
+
+  /**
+   * Write a chunk of file at the offset given in Upload-Offset header.
+   *
+   * @param routingContext Handles web request in Vert.x web
+   */
+  public void uploadChunk(RoutingContext routingContext) {
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    String id = request.getParam(PARAM_ID);
+    String sessionId = request.getParam(PARAM_SESSION_ID);
+    long offset = Long.parseLong(request.getHeader(HEADER_UPLOAD_OFFSET).trim());
+
+    uploadSessionService
+        .writeChunk(sessionId, id, authInfo.getString(USER_ID), offset, request)
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                JsonObject session = handler.result();
+                response.putHeader(HEADER_UPLOAD_OFFSET, String.valueOf(session.getLong("offset")));
+                handleResponse(response, HttpStatusCode.SUCCESS, sessionResponse(session));
+              } else {
+                processResponse(response, handler.cause().getMessage());
+              }
+            });
+  }
+
+  /**
+   * Get the offset and received byte ranges of an upload session.
+   *
+   * @param routingContext Handles web request in Vert.x web
+   */
+  public void uploadSessionStatus(RoutingContext routingContext) {
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    String id = request.getParam(PARAM_ID);
+    String sessionId = request.getParam(PARAM_SESSION_ID);
+
+    uploadSessionService
+        .status(sessionId, id, authInfo.getString(USER_ID))
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                JsonObject session = handler.result();
+                response.putHeader(HEADER_UPLOAD_OFFSET, String.valueOf(session.getLong("offset")));
+                handleResponse(response, HttpStatusCode.SUCCESS, sessionResponse(session));
+              } else {
+                processResponse(response, handler.cause().getMessage());
+              }
+            });
+  }
+
+  /**
+   * Finalize a completely received upload session, file is moved to the upload directory of the
+   * resource and its record is saved with the metadata given at session creation.
+   *
+   * @param routingContext Handles web request in Vert.x web
+   */
+  public void finalizeUploadSession(RoutingContext routingContext) {
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    String id = request.getParam(PARAM_ID);
+    String sessionId = request.getParam(PARAM_SESSION_ID);
+    JsonObject auditParams =
+        new JsonObject()
+            .put("api", request.path())
+            .put(USER_ID, authInfo.getString(USER_ID))
+            .put(ROLE, authInfo.getString(ROLE))
+            .put(DRL, authInfo.getString(DRL))
+            .put(DID, authInfo.getString(DID))
+            .put(RESOURCE_ID, id)
+            .put(ITEM_CONTEXT, getIntrospectedItem(routingContext, id));
+    JsonObject uploadJson = new JsonObject();
+
+    getPath(routingContext, id)
+        .compose(
+            uploadPath -> {
+              uploadJson.put("uploadDir", uploadPath);
+              return uploadSessionService.complete(
+                  sessionId, id, authInfo.getString(USER_ID), uploadPath);
+            })
+        .compose(
+            uploadHandler -> {
+              String fileId = id + "/" + uploadHandler.getString("file-id");
+              uploadDirIndex.put(fileId, uploadJson.getString("uploadDir"));
+              indexEntityTag(fileId, uploadHandler.getString(FILE_CHECKSUM));
+              uploadJson.put("fileId", fileId);
+              uploadJson.put("uploadedPath", uploadHandler.getString("uploaded_path"));
+              MultiMap params = MultiMap.caseInsensitiveMultiMap();
+              uploadHandler
+                  .getJsonObject("metadata")
+                  .forEach(e -> params.add(e.getKey(), String.valueOf(e.getValue())));
+              return saveFileRecord(
+                  params,
+                  fileId,
+                  new JsonObject()
+                      .put(FILE_SIZE, uploadHandler.getLong(FILE_SIZE))
+                      .put(FILE_CHECKSUM, uploadHandler.getString(FILE_CHECKSUM)));
+            })
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                JsonObject responseJson =
+                    new JsonObject()
+                        .put(JSON_TYPE, SUCCESS.getUrn())
+                        .put(JSON_TITLE, "Success")
+                        .put(
+                            RESULTS,
+                            new JsonArray()
+                                .add(
+                                    new JsonObject()
+                                        .put("fileId", uploadJson.getString("fileId"))));
+                handleResponse(response, HttpStatusCode.SUCCESS, responseJson);
+                auditParams.put(RESPONSE_SIZE, 0);
+                updateAuditTable(auditParams);
+              } else {
+                LOGGER.debug(handler.cause());
+                if (uploadJson.containsKey("uploadedPath")) {
+                  // fail, run Compensating service to clean/undo upload.
+                  vertx.fileSystem().delete(uploadJson.getString("uploadedPath"), ignore -> {});
                 }
                 processResponse(response, handler.cause().getMessage());
               }
             });
   }
 
-  private Future<Boolean> saveFileRecord(MultiMap formParams, String fileId) {
+  private JsonObject sessionResponse(JsonObject session) {
+    return new JsonObject()
+        .put(JSON_TYPE, SUCCESS.getUrn())
+        .put(JSON_TITLE, "Success")
+        .put(RESULTS, new JsonArray().add(session));
+  }
+
+  private Future<Boolean> saveFileRecord(
+      MultiMap formParams, String fileId, JsonObject fileDetails) {
     JsonObject json = new JsonObject();
     json.put("id", formParams.get("id"));
     json.put(
@@ -509,6 +1046,7 @@ public class FileServerVerticle extends AbstractVerticle {
     formParams.remove("coordinates");
 
     formParams.entries().stream().forEach(e -> json.put(e.getKey(), e.getValue()));
+    json.mergeIn(fileDetails);
     Promise<Boolean> promise = Promise.promise();
 
     Future<JsonObject> saveDb = database.save(json);
@@ -534,13 +1072,16 @@ public class FileServerVerticle extends AbstractVerticle {
     HttpServerRequest request = routingContext.request();
     HttpServerResponse response = routingContext.response();
     JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
-    response.setChunked(true);
     String id = request.getParam("file-id");
     LOGGER.debug("id: " + id);
     String resource = StringUtils.substringBeforeLast(id, FORWARD_SLASH);
     String fileuuId = StringUtils.substringAfterLast(id, FORWARD_SLASH);
     String fileName = id.substring(id.lastIndexOf(FORWARD_SLASH));
-    Future<String> uploadDirFuture = getPath(resource);
+    // sample files are replaced in place, archive files never change once uploaded.
+    boolean isArchiveFile = !fileName.toLowerCase().contains("sample");
+    Future<String> uploadDirFuture = getUploadDir(routingContext, id);
+    Future<String> entityTagFuture =
+        isArchiveFile ? getEntityTag(id) : Future.succeededFuture(null);
     JsonObject auditParams =
         new JsonObject()
             .put("api", request.path())
@@ -548,34 +1089,254 @@ public class FileServerVerticle extends AbstractVerticle {
             .put(ROLE, authInfo.getString(ROLE))
             .put(DRL, authInfo.getString(DRL))
             .put(DID, authInfo.getString(DID))
-            .put(RESOURCE_ID, resource);
+            .put(RESOURCE_ID, resource)
+            .put(ITEM_CONTEXT, getIntrospectedItem(routingContext, resource));
 
-    uploadDirFuture.onComplete(
-        dirHanler -> {
-          if (dirHanler.succeeded()) {
-            String uploadDir = dirHanler.result();
-            LOGGER.debug(
-                "uploadDir: " + uploadDir + "; fileuuId: " + fileuuId + "; fileName: " + fileName);
-            fileService
-                .download(fileuuId, uploadDir, response)
-                .onComplete(
-                    handler -> {
-                      if (handler.failed()) {
-                        processResponse(response, handler.cause().getMessage());
-                      } else {
-                        if (!fileName.toLowerCase().contains("sample")) {
-                          auditParams.put(RESPONSE_SIZE, response.bytesWritten());
-                          updateAuditTable(auditParams);
-                        }
-                      }
-                      // do nothing response is already written and file is served using
-                      // content-disposition.
-                    });
-          } else {
-            LOGGER.debug("unable to construct folder structure");
-            processResponse(response, dirHanler.cause().getMessage());
-          }
-        });
+    Future.all(uploadDirFuture, entityTagFuture)
+        .onComplete(
+            dirHanler -> {
+              if (dirHanler.succeeded()) {
+                String uploadDir = uploadDirFuture.result();
+                String entityTag = entityTagFuture.result();
+                LOGGER.debug(
+                    "uploadDir: "
+                        + uploadDir
+                        + "; fileuuId: "
+                        + fileuuId
+                        + "; fileName: "
+                        + fileName);
+                if (isArchiveFile) {
+                  setDownloadCacheHeaders(response);
+                }
+                if (entityTag != null) {
+                  response.putHeader(HEADER_ETAG, entityTag);
+                  String matchedTag =
+                      EntityTags.matchNoneMatch(
+                          request.getHeader(HEADER_IF_NONE_MATCH),
+                          entityTag,
+                          EntityTags.gzipVariant(entityTag));
+                  if (matchedTag != null) {
+                    LOGGER.debug("file : " + id + " not modified");
+                    response
+                        .putHeader(HEADER_ETAG, matchedTag)
+                        .setStatusCode(HttpStatus.SC_NOT_MODIFIED)
+                        .end();
+                    return;
+                  }
+                }
+                fileService
+                    .download(fileuuId, uploadDir, request, response)
+                    .onComplete(
+                        handler -> {
+                          if (handler.failed()) {
+                            // response is reset if file failed after it started being sent.
+                            if (!response.headWritten()) {
+                              setNoCacheHeaders(response);
+                              processResponse(response, handler.cause().getMessage());
+                            }
+                          } else {
+                            JsonObject downloadResult = handler.result();
+                            int statusCode = downloadResult.getInteger("statusCode");
+                            boolean isServed =
+                                statusCode == HttpStatus.SC_OK
+                                    || statusCode == HttpStatus.SC_PARTIAL_CONTENT;
+                            if (isServed && isArchiveFile) {
+                              auditParams.put(
+                                  RESPONSE_SIZE, downloadResult.getLong("bytesServed"));
+                              updateAuditTable(auditParams);
+                            }
+                          }
+                          // do nothing response is already written and file is served using
+                          // content-disposition.
+                        });
+              } else {
+                LOGGER.debug("unable to construct folder structure");
+                processResponse(response, dirHanler.cause().getMessage());
+              }
+            });
+  }
+
+  /**
+   * Bulk download streams files listed by file-id, or matching a temporal/geo query for a
+   * resource, to the client as a single zip archive. Catalogue is looked up once per resource and
+   * every file is audited with the bytes of it which were sent.
+   *
+   * @param routingContext Handles web request in Vert.x web
+   */
+  public void bulkDownload(RoutingContext routingContext) {
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    List<String> requestedFileIds = request.params().getAll(PARAM_FILE_ID);
+    Future<List<String>> fileIdsFuture =
+        requestedFileIds.isEmpty()
+            ? searchFileIds(request.params())
+            : Future.succeededFuture(requestedFileIds);
+
+    fileIdsFuture
+        .compose(
+            fileIds -> {
+              List<String> distinctFileIds =
+                  fileIds.stream().distinct().collect(Collectors.toList());
+              if (distinctFileIds.size() > bulkDownloadMaxFiles) {
+                return Future.failedFuture(
+                    new JsonObject()
+                        .put(JSON_TYPE, HttpStatusCode.REQUEST_TOO_LONG.getValue())
+                        .put(JSON_TITLE, HttpStatusCode.REQUEST_TOO_LONG.getUrn())
+                        .put(
+                            ERROR_MESSAGE,
+                            "bulk download is limited to " + bulkDownloadMaxFiles + " files")
+                        .toString());
+              }
+              return getArchiveFiles(routingContext, distinctFileIds);
+            })
+        .compose(
+            files ->
+                fileService
+                    .downloadArchive(files, response)
+                    .onSuccess(
+                        result -> {
+                          JsonArray bytesServed = result.getJsonArray("bytesServed");
+                          for (int i = 0; i < files.size(); i++) {
+                            String fileId = files.get(i).getString(ARCHIVE_ENTRY_NAME);
+                            auditBulkDownload(routingContext, fileId, bytesServed.getLong(i));
+                          }
+                        }))
+        .onFailure(
+            cause -> {
+              LOGGER.error("bulk download failed : " + cause.getMessage());
+              // response is reset if archive failed after it started being sent, nothing is
+              // audited for it.
+              if (!response.headWritten() && !response.closed()) {
+                processResponse(response, cause.getMessage());
+              }
+            });
+  }
+
+  /**
+   * file ids of files matching a temporal/geo query, in the same format as the query APIs.
+   *
+   * @param params query parameters
+   * @return file ids
+   */
+  private Future<List<String>> searchFileIds(MultiMap params) {
+    JsonObject query = new JsonObject();
+    for (Map.Entry<String, String> entry : params.entries()) {
+      query.put(entry.getKey(), entry.getValue());
+    }
+    if (!query.containsKey(PARAM_LIMIT)) {
+      // one more than allowed, to know when the limit is exceeded.
+      query.put(PARAM_LIMIT, String.valueOf(bulkDownloadMaxFiles + 1));
+    }
+    QueryParams queryParams = query.mapTo(QueryParams.class).build();
+    return database
+        .search(JsonObject.mapFrom(queryParams), getQueryType(queryParams))
+        .map(
+            searchResult ->
+                searchResult.getJsonArray("results").stream()
+                    .map(result -> ((JsonObject) result).getString("fileId"))
+                    .collect(Collectors.toList()));
+  }
+
+  /**
+   * describe files of archive for file service, upload directory is looked up once per resource.
+   *
+   * @param routingContext routing context of request
+   * @param fileIds ids of files
+   * @return files as expected by {@link FileService#downloadArchive}
+   */
+  private Future<List<JsonObject>> getArchiveFiles(
+      RoutingContext routingContext, List<String> fileIds) {
+    Map<String, Future<String>> uploadDirs = new HashMap<>();
+    for (String fileId : fileIds) {
+      String resource = StringUtils.substringBeforeLast(fileId, FORWARD_SLASH);
+      uploadDirs.computeIfAbsent(resource, key -> getUploadDir(routingContext, fileId));
+    }
+    return Future.all(new ArrayList<>(uploadDirs.values()))
+        .map(
+            dirs -> {
+              List<JsonObject> files = new ArrayList<>();
+              for (String fileId : fileIds) {
+                String resource = StringUtils.substringBeforeLast(fileId, FORWARD_SLASH);
+                files.add(
+                    new JsonObject()
+                        .put("file-id", StringUtils.substringAfterLast(fileId, FORWARD_SLASH))
+                        .put(FILE_PATH, uploadDirs.get(resource).result())
+                        .put(ARCHIVE_ENTRY_NAME, fileId));
+              }
+              return files;
+            });
+  }
+
+  private void auditBulkDownload(RoutingContext routingContext, String fileId, long bytes) {
+    if (bytes == 0 || fileId.toLowerCase().contains("sample")) {
+      return;
+    }
+    JsonObject authInfo = (JsonObject) routingContext.data().get("authInfo");
+    String resource = StringUtils.substringBeforeLast(fileId, FORWARD_SLASH);
+    JsonObject auditParams =
+        new JsonObject()
+            .put("api", routingContext.request().path())
+            .put(USER_ID, authInfo.getString(USER_ID))
+            .put(ROLE, authInfo.getString(ROLE))
+            .put(DRL, authInfo.getString(DRL))
+            .put(DID, authInfo.getString(DID))
+            .put(RESOURCE_ID, resource)
+            .put(RESPONSE_SIZE, bytes)
+            .put(ITEM_CONTEXT, getIntrospectedItem(routingContext, resource));
+    updateAuditTable(auditParams);
+  }
+
+  /**
+   * strong entity tag of an archive file, derived from checksum stored in its metadata. Tags are
+   * indexed on upload and after first lookup, content of an archive file never changes so only
+   * files not downloaded yet or uploaded through another instance cost a metadata lookup. Files
+   * uploaded without a checksum (or without metadata) get no entity tag.
+   *
+   * @param fileId id of file
+   * @return quoted entity tag, null when not available
+   */
+  private Future<String> getEntityTag(String fileId) {
+    String entityTag = entityTagIndex.getIfPresent(fileId);
+    if (entityTag != null) {
+      return Future.succeededFuture(entityTag);
+    }
+    return database
+        .getFileMetadata(fileId)
+        .map(
+            metadata -> {
+              String checksum = metadata.getString(FILE_CHECKSUM);
+              indexEntityTag(fileId, checksum);
+              return EntityTags.of(checksum);
+            })
+        .otherwise(
+            failure -> {
+              LOGGER.debug("no entity tag for file : " + fileId + " : " + failure.getMessage());
+              return null;
+            });
+  }
+
+  private void indexEntityTag(String fileId, String checksum) {
+    String entityTag = EntityTags.of(checksum);
+    if (entityTag != null) {
+      entityTagIndex.put(fileId, entityTag);
+    }
+  }
+
+  private void setDownloadCacheHeaders(HttpServerResponse response) {
+    response.putHeader(HEADER_CACHE_CONTROL, downloadCacheControl);
+    response.headers().remove(HEADER_PRAGMA);
+    response.headers().remove(HEADER_EXPIRES);
+  }
+
+  private void setNoCacheHeaders(HttpServerResponse response) {
+    if (response.headWritten()) {
+      return;
+    }
+    response.headers().remove(HEADER_ETAG);
+    response.putHeader(HEADER_CACHE_CONTROL, NO_CACHE_CONTROL);
+    response.putHeader(HEADER_PRAGMA, "no-cache");
+    response.putHeader(HEADER_EXPIRES, "0");
   }
 
   public void query(RoutingContext context) {
@@ -583,8 +1344,7 @@ public class FileServerVerticle extends AbstractVerticle {
     JsonObject authInfo = (JsonObject) context.data().get("authInfo");
     MultiMap queryParams = getQueryParams(context, response).get();
     Future<Boolean> queryParamsValidator = requestValidator.isValid(queryParams);
-    Future<List<String>> allowedFilters =
-        catalogueService.getAllowedFilters4Queries(queryParams.get(PARAM_ID));
+    Future<List<String>> allowedFilters = getAllowedFilters(context, queryParams.get(PARAM_ID));
 
     JsonObject query = new JsonObject();
     for (Map.Entry<String, String> entry : queryParams.entries()) {
@@ -600,7 +1360,8 @@ public class FileServerVerticle extends AbstractVerticle {
             .put(USER_ID, authInfo.getString(USER_ID))
             .put(ROLE, authInfo.getString(ROLE))
             .put(DRL, authInfo.getString(DRL))
-            .put(DID, authInfo.getString(DID));
+            .put(DID, authInfo.getString(DID))
+            .put(ITEM_CONTEXT, getIntrospectedItem(context, query.getString("id")));
 
     queryParamsValidator
         .compose(
@@ -641,6 +1402,12 @@ public class FileServerVerticle extends AbstractVerticle {
 
   private void executeSearch(
       JsonObject json, QueryType type, HttpServerResponse response, JsonObject auditParams) {
+    DatabaseServiceImpl localDatabase =
+        streamSearchResults ? LocalDatabaseService.get(vertx) : null;
+    if (localDatabase != null && !json.containsKey(PARAM_CURSOR)) {
+      streamSearch(localDatabase, json, type, response, auditParams);
+      return;
+    }
     Future<JsonObject> searchDbFuture = database.search(json, type);
     searchDbFuture.onComplete(
         handler -> {
@@ -656,6 +1423,40 @@ public class FileServerVerticle extends AbstractVerticle {
         });
   }
 
+  /*
+   * hits are written to response as elastic returned them, in chunks. Search completes on a
+   * thread of elastic client, response is written on context of this verticle.
+   */
+  private void streamSearch(
+      DatabaseServiceImpl localDatabase,
+      JsonObject json,
+      QueryType type,
+      HttpServerResponse response,
+      JsonObject auditParams) {
+    Context context = vertx.getOrCreateContext();
+    localDatabase
+        .streamSearch(json, type)
+        .onComplete(
+            handler ->
+                context.runOnContext(
+                    v -> {
+                      if (handler.succeeded()) {
+                        LOGGER.info("Success: Search Success");
+                        response
+                            .putHeader(CONTENT_TYPE, APPLICATION_JSON)
+                            .setStatusCode(ResponseType.Ok.getCode())
+                            .setChunked(true);
+                        handler.result().writeTo(response);
+                        response.end();
+                        auditParams.put(RESPONSE_SIZE, response.bytesWritten());
+                        Future.future(fu -> updateAuditTable(auditParams));
+                      } else {
+                        LOGGER.error("Fail: Search Fail");
+                        processBackendResponse(response, handler.cause().getMessage());
+                      }
+                    }));
+  }
+
   /**
    * Download File service allows to download a file from the server after authenticating the user.
    */
@@ -684,7 +1485,7 @@ public class FileServerVerticle extends AbstractVerticle {
     }
 
     Boolean isExternalStorage = Boolean.parseBoolean(request.getHeader("externalStorage"));
-    Future<String> uploadDirFuture = getPath(resource);
+    Future<String> uploadDirFuture = getUploadDir(routingContext, id);
     if (isExternalStorage) {
       Future<JsonObject> deleteDbFuture = database.delete(id);
       deleteDbFuture.onComplete(
@@ -751,6 +1552,13 @@ public class FileServerVerticle extends AbstractVerticle {
     JsonObject authInfo = (JsonObject) context.data().get("authInfo");
     String id = request.getParam("id");
     JsonObject query = new JsonObject().put("id", id);
+    // pagination optional fields
+    if (request.getParam(PARAM_LIMIT) != null) {
+      query.put(PARAM_LIMIT, request.getParam(PARAM_LIMIT));
+    }
+    if (request.getParam(PARAM_CURSOR) != null) {
+      query.put(PARAM_CURSOR, request.getParam(PARAM_CURSOR));
+    }
     JsonObject auditParams =
         new JsonObject()
             .put("api", request.path())
@@ -758,7 +1566,8 @@ public class FileServerVerticle extends AbstractVerticle {
             .put(ROLE, authInfo.getString(ROLE))
             .put(DRL, authInfo.getString(DRL))
             .put(DID, authInfo.getString(DID))
-            .put(RESOURCE_ID, id);
+            .put(RESOURCE_ID, id)
+            .put(ITEM_CONTEXT, getIntrospectedItem(context, id));
 
     Future<JsonObject> searchDbFuture = database.search(query, QueryType.LIST);
     searchDbFuture.onComplete(
@@ -794,6 +1603,8 @@ public class FileServerVerticle extends AbstractVerticle {
                                         .put(
                                             "detail",
                                             "File with id : " + id + " deleted successfully")));
+                uploadDirIndex.invalidate(id);
+                entityTagIndex.invalidate(id);
                 handleResponse(response, HttpStatusCode.SUCCESS, responseJson);
 
               } else {
@@ -831,6 +1642,8 @@ public class FileServerVerticle extends AbstractVerticle {
                                                     "File with id : "
                                                         + id
                                                         + " deleted successfully")));
+                        uploadDirIndex.invalidate(id);
+                        entityTagIndex.invalidate(id);
                         handleResponse(response, HttpStatusCode.SUCCESS, responseJson);
                         auditParams.put(RESPONSE_SIZE, 0);
                         updateAuditTable(auditParams);
@@ -844,6 +1657,23 @@ public class FileServerVerticle extends AbstractVerticle {
         });
   }
 
+  /**
+   * move files stored in flat layout to their shard in background, when sharded layout is enabled.
+   * Files are served from either location while they are moved.
+   *
+   * @param layout layout of files in upload directory
+   */
+  private void migrateLayout(FileLayout layout) {
+    if (!layout.isSharded()) {
+      FileLayoutMigrator.resetMarker(vertx, directory);
+      return;
+    }
+    new FileLayoutMigrator(vertx, layout)
+        .migrate()
+        .onSuccess(moved -> LOGGER.info("upload directory is sharded, moved " + moved + " files"))
+        .onFailure(cause -> LOGGER.error("failed to shard upload directory : " + cause));
+  }
+
   /**
    * Helper method to check/create initial directory structure.
    *
@@ -950,14 +1780,9 @@ public class FileServerVerticle extends AbstractVerticle {
         .toJson();
   }
 
-  private boolean isValidFileContentType(List<FileUpload> files) {
-    for (FileUpload file : files) {
-      LOGGER.debug(file.contentType());
-      if (!contentTypeValidator.isValid(file.contentType())) {
-        return false;
-      }
-    }
-    return true;
+  private boolean isValidFileContentType(HttpServerFileUpload file) {
+    LOGGER.debug(file.contentType());
+    return contentTypeValidator.isValid(file.contentType());
   }
 
   private Optional<MultiMap> getQueryParams(
@@ -988,46 +1813,50 @@ public class FileServerVerticle extends AbstractVerticle {
    * @param auditInfo contains userid, api-endpoint and the resourceid
    */
   private void updateAuditTable(JsonObject auditInfo) {
-    catalogueService
-        .getRelItem(auditInfo.getString(ID))
-        .onComplete(
-            catHandler -> {
-              if (catHandler.succeeded()) {
-                JsonObject catResult = catHandler.result();
-                String providerId = catResult.getString("provider");
-                String type = catResult.containsKey(RESOURCE_GROUP) ? "RESOURCE" : "RESOURCE_GROUP";
-                String resourceGroup =
-                    catResult.containsKey(RESOURCE_GROUP)
-                        ? catResult.getString(RESOURCE_GROUP)
-                        : catResult.getString(ID);
-                ZonedDateTime zst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
-                long epochTime = zst.toInstant().toEpochMilli();
-                String isoTime = zst.truncatedTo(ChronoUnit.SECONDS).toString();
-                auditInfo.put(RESOURCE_GROUP, resourceGroup);
-                auditInfo.put(TYPE_KEY, type);
-                auditInfo.put(PROVIDER_ID, providerId);
-                auditInfo.put(EPOCH_TIME, epochTime);
-                auditInfo.put(ISO_TIME, isoTime);
-                String role = auditInfo.getString(ROLE);
-                String drl = auditInfo.getString(DRL);
-                if (role.equalsIgnoreCase("delegate") && drl != null) {
-                  auditInfo.put(DELEGATOR_ID, auditInfo.getString(DID));
-                } else {
-                  auditInfo.put(DELEGATOR_ID, auditInfo.getString(USER_ID));
-                }
-                auditingService.executeWriteQuery(
-                    auditInfo,
-                    auditHandler -> {
-                      if (auditHandler.succeeded()) {
-                        LOGGER.info("audit table updated");
-                      } else {
-                        LOGGER.error("failed to update audit table");
-                      }
-                    });
-              } else {
-                LOGGER.error("failed to update audit table");
-              }
-            });
+    // item resolved by token introspection, not a part of audit record.
+    JsonObject itemContext = (JsonObject) auditInfo.remove(ITEM_CONTEXT);
+    Future<JsonObject> itemFuture =
+        itemContext != null
+            ? Future.succeededFuture(itemContext)
+            : catalogueService.getRelItem(auditInfo.getString(ID));
+    itemFuture.onComplete(
+        catHandler -> {
+          if (catHandler.succeeded()) {
+            JsonObject catResult = catHandler.result();
+            String providerId = catResult.getString("provider");
+            String type = catResult.containsKey(RESOURCE_GROUP) ? "RESOURCE" : "RESOURCE_GROUP";
+            String resourceGroup =
+                catResult.containsKey(RESOURCE_GROUP)
+                    ? catResult.getString(RESOURCE_GROUP)
+                    : catResult.getString(ID);
+            ZonedDateTime zst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
+            long epochTime = zst.toInstant().toEpochMilli();
+            String isoTime = zst.truncatedTo(ChronoUnit.SECONDS).toString();
+            auditInfo.put(RESOURCE_GROUP, resourceGroup);
+            auditInfo.put(TYPE_KEY, type);
+            auditInfo.put(PROVIDER_ID, providerId);
+            auditInfo.put(EPOCH_TIME, epochTime);
+            auditInfo.put(ISO_TIME, isoTime);
+            String role = auditInfo.getString(ROLE);
+            String drl = auditInfo.getString(DRL);
+            if (role.equalsIgnoreCase("delegate") && drl != null) {
+              auditInfo.put(DELEGATOR_ID, auditInfo.getString(DID));
+            } else {
+              auditInfo.put(DELEGATOR_ID, auditInfo.getString(USER_ID));
+            }
+            auditingService.executeWriteQuery(
+                auditInfo,
+                auditHandler -> {
+                  if (auditHandler.succeeded()) {
+                    LOGGER.info("audit table updated");
+                  } else {
+                    LOGGER.error("failed to update audit table");
+                  }
+                });
+          } else {
+            LOGGER.error("failed to update audit table");
+          }
+        });
   }
 
   @Override
@@ -1062,10 +1891,57 @@ public class FileServerVerticle extends AbstractVerticle {
     }
   }
 
-  private Future<String> getPath(String id) {
+  /**
+   * upload directory of a stored file, from file index or else from catalogue item of its
+   * resource.
+   *
+   * @param routingContext routing context of request
+   * @param fileId id of file
+   * @return upload directory
+   */
+  private Future<String> getUploadDir(RoutingContext routingContext, String fileId) {
+    String uploadDir = uploadDirIndex.getIfPresent(fileId);
+    if (uploadDir != null) {
+      return Future.succeededFuture(uploadDir);
+    }
+    return getPath(routingContext, StringUtils.substringBeforeLast(fileId, FORWARD_SLASH))
+        .onSuccess(dir -> uploadDirIndex.put(fileId, dir));
+  }
+
+  /**
+   * catalogue item of id as resolved by {@link AuthHandler} for this request, sample file
+   * downloads are not introspected.
+   *
+   * @param routingContext routing context of request
+   * @param id id of item
+   * @return item context, null if item was not resolved for this request
+   */
+  private JsonObject getIntrospectedItem(RoutingContext routingContext, String id) {
+    JsonObject itemContexts = (JsonObject) routingContext.data().get(ITEM_CONTEXT);
+    return itemContexts == null || id == null ? null : itemContexts.getJsonObject(id);
+  }
+
+  private Future<JsonObject> getItemContext(RoutingContext routingContext, String id) {
+    JsonObject itemContext = getIntrospectedItem(routingContext, id);
+    if (itemContext != null) {
+      return Future.succeededFuture(itemContext);
+    }
+    return catalogueService.getItemContext(id);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Future<List<String>> getAllowedFilters(RoutingContext routingContext, String id) {
+    JsonObject itemContext = getIntrospectedItem(routingContext, id);
+    JsonArray filters = itemContext == null ? null : itemContext.getJsonArray("iudxResourceAPIs");
+    if (filters != null && !filters.isEmpty()) {
+      return Future.succeededFuture(filters.getList());
+    }
+    return catalogueService.getAllowedFilters4Queries(id);
+  }
+
+  private Future<String> getPath(RoutingContext routingContext, String id) {
     Promise promise = Promise.promise();
-    catalogueService
-        .getRelItem(id)
+    getItemContext(routingContext, id)
         .onComplete(
             itemHadler -> {
               if (itemHadler.succeeded()) {
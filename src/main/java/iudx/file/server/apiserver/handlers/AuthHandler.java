@@ -5,15 +5,24 @@ import static iudx.file.server.authenticator.utilities.Constants.DID;
 import static iudx.file.server.authenticator.utilities.Constants.DRL;
 import static iudx.file.server.authenticator.utilities.Constants.ROLE;
 
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
 import iudx.file.server.apiserver.response.ResponseUrn;
 import iudx.file.server.apiserver.utilities.HttpStatusCode;
 import iudx.file.server.authenticator.AuthenticationService;
+import iudx.file.server.authenticator.LocalAuthenticationService;
+import iudx.file.server.common.RouteId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,6 +42,21 @@ public class AuthHandler implements Handler<RoutingContext> {
     return new AuthHandler(authenticator);
   }
 
+  /**
+   * create auth handler.
+   *
+   * @param vertx vertx instance
+   * @param inProcess introspect tokens by calling authentication verticle of this JVM directly,
+   *     falls back to event bus when it is not deployed in this JVM
+   * @return auth handler
+   */
+  public static AuthHandler create(Vertx vertx, boolean inProcess) {
+    AuthenticationService proxy =
+        AuthenticationService.createProxy(vertx, AUTHENTICATOR_SERVICE_ADDRESS);
+    authenticator = inProcess ? new LocalAuthenticationService(vertx, proxy) : proxy;
+    return new AuthHandler(authenticator);
+  }
+
   @Override
   public void handle(RoutingContext context) {
     HttpServerRequest request = context.request();
@@ -47,10 +71,20 @@ public class AuthHandler implements Handler<RoutingContext> {
       return;
     }
 
+    if (path.endsWith(API_BULK_DOWNLOAD)) {
+      handleBulkDownload(context, token, path, method);
+      return;
+    }
+
     String id = null;
     String fileName = null;
     if ("POST".equalsIgnoreCase(method)) {
       id = request.getFormAttribute("id");
+      if (id == null) { // upload session finalize
+        id = request.getParam("id");
+      }
+    } else if ("PATCH".equalsIgnoreCase(method)) {
+      id = request.getParam("id");
     } else if ("GET".equalsIgnoreCase(method) || "DELETE".equalsIgnoreCase(method)) {
       String fileId = request.getParam("file-id");
       if (fileId == null) { // for list API
@@ -72,11 +106,70 @@ public class AuthHandler implements Handler<RoutingContext> {
 
     LOGGER.info("fileName : " + fileName);
     LOGGER.info("id :" + id);
+    introspect(context, token, path, method, id)
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                LOGGER.info("auth success.");
+                context.data().put("authInfo", handler.result());
+              } else {
+                LOGGER.error("Authentication failed [" + handler.cause().getMessage() + "]");
+                processUnauthorized(context, false);
+                return;
+              }
+              context.next();
+            });
+  }
+
+  /**
+   * bulk download may span files of several resources, token is introspected once for every
+   * distinct resource id of requested files (or for the queried resource id).
+   */
+  private void handleBulkDownload(
+      RoutingContext context, String token, String path, String method) {
+    HttpServerRequest request = context.request();
+    Set<String> ids = new LinkedHashSet<>();
+    List<String> fileIds = request.params().getAll(PARAM_FILE_ID);
+    if (fileIds.isEmpty()) {
+      ids.add(request.getParam("id"));
+    } else {
+      fileIds.forEach(fileId -> ids.add(fileId.substring(0, fileId.lastIndexOf("/"))));
+    }
+    LOGGER.info("ids : " + ids);
+    List<Future<JsonObject>> introspections = new ArrayList<>();
+    ids.forEach(id -> introspections.add(introspect(context, token, path, method, id)));
+    Future.all(introspections)
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                LOGGER.info("auth success for " + ids.size() + " ids.");
+                context.data().put("authInfo", introspections.get(0).result());
+                context.next();
+              } else {
+                LOGGER.error("Authentication failed [" + handler.cause().getMessage() + "]");
+                processUnauthorized(context, false);
+              }
+            });
+  }
+
+  /**
+   * introspect token for an item, catalogue item resolved while doing so is kept in context data
+   * by item id for handlers down the route.
+   */
+  private Future<JsonObject> introspect(
+      RoutingContext context, String token, String path, String method, String id) {
+    Promise<JsonObject> promise = Promise.promise();
     JsonArray idArray = new JsonArray();
     idArray.add(id);
     JsonObject requestJson = new JsonObject().put("ids", idArray);
     JsonObject authInfo =
         new JsonObject().put(API_ENDPOINT, path).put(HEADER_TOKEN, token).put(API_METHOD, method);
+    // authorized by id of matched route rather than by its path, by path if route has no id.
+    Route route = context.currentRoute();
+    String routeId = route == null ? null : route.getMetadata(RouteId.KEY);
+    if (routeId != null) {
+      authInfo.put(RouteId.KEY, routeId);
+    }
 
     authInfo.put("id", id);
     authenticator.tokenInterospect(
@@ -84,20 +177,22 @@ public class AuthHandler implements Handler<RoutingContext> {
         authInfo,
         handler -> {
           if (handler.succeeded()) {
-            LOGGER.info("auth success.");
             authInfo.put(USER_ID, handler.result().getValue(USER_ID));
             authInfo.put(ROLE, handler.result().getValue(ROLE));
             authInfo.put(DID, handler.result().getValue(DID));
             authInfo.put(DRL, handler.result().getValue(DRL));
-            context.data().put("authInfo", authInfo);
+            JsonObject itemContext = handler.result().getJsonObject(ITEM_CONTEXT);
+            if (itemContext != null) {
+              JsonObject itemContexts =
+                  (JsonObject) context.data().computeIfAbsent(ITEM_CONTEXT, k -> new JsonObject());
+              itemContexts.put(id, itemContext);
+            }
+            promise.complete(authInfo);
           } else {
-            LOGGER.error("Authentication failed [" + handler.cause().getMessage() + "]");
-            processUnauthorized(context, false);
-            return;
+            promise.fail(handler.cause());
           }
-          context.next();
-          return;
         });
+    return promise.future();
   }
 
   private void processUnauthorized(RoutingContext ctx, Boolean noToken) {
@@ -0,0 +1,34 @@
+package iudx.file.server.apiserver.handlers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * NoBodyHandler.
+ *
+ * <p>Replacement of BodyHandler for routes whose request has no body (queries, download, delete).
+ * Nothing is buffered and no upload directory is used, a body sent anyway is read and discarded
+ * as it arrives so the connection can be reused.
+ */
+public class NoBodyHandler implements Handler<RoutingContext> {
+
+  private static final NoBodyHandler INSTANCE = new NoBodyHandler();
+
+  private NoBodyHandler() {}
+
+  public static NoBodyHandler create() {
+    return INSTANCE;
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    HttpServerRequest request = context.request();
+    if (!request.isEnded()) {
+      request.handler(buffer -> {});
+      // router pauses the request until a handler is ready to consume the body.
+      request.resume();
+    }
+    context.next();
+  }
+}
@@ -0,0 +1,116 @@
+package iudx.file.server.apiserver.handlers;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import iudx.file.server.apiserver.response.RestResponse;
+import iudx.file.server.apiserver.utilities.HttpStatusCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * StreamingUploadHandler.
+ *
+ * <h1>StreamingUploadHandler</h1>
+ *
+ * <p>Replacement of BodyHandler for multipart uploads. Form attributes are decoded as they arrive
+ * and as soon as the file part starts the request is paused and passed on to the next handlers,
+ * with the file part available as {@link HttpServerFileUpload} under {@code fileUpload} key of
+ * routing context. The file is not buffered in memory or in a temporary directory, the handler
+ * consuming the upload streams it directly to storage.
+ *
+ * <p>Since routing continues once the file part starts, form attributes which are needed for
+ * validation and authorization must be sent before the file part. Only the first file part of a
+ * request is kept, any further file part is discarded.
+ */
+public class StreamingUploadHandler implements Handler<RoutingContext> {
+
+  private static final Logger LOGGER = LogManager.getLogger(StreamingUploadHandler.class);
+
+  private final long bodyLimit;
+
+  public StreamingUploadHandler(long bodyLimit) {
+    this.bodyLimit = bodyLimit;
+  }
+
+  public static StreamingUploadHandler create(long bodyLimit) {
+    return new StreamingUploadHandler(bodyLimit);
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    HttpServerRequest request = context.request();
+    String contentLength = request.getHeader(HEADER_CONTENT_LENGTH);
+    if (contentLength != null && isOverLimit(contentLength)) {
+      LOGGER.error("upload rejected, content-length " + contentLength + " exceeds limit");
+      payloadTooLarge(context);
+      return;
+    }
+
+    if (request.isEnded()) {
+      context.next();
+      return;
+    }
+
+    boolean[] routed = {false};
+    request.setExpectMultipart(true);
+    request.exceptionHandler(
+        cause -> {
+          if (!routed[0]) {
+            routed[0] = true;
+            context.fail(cause);
+          }
+        });
+    request.uploadHandler(
+        upload -> {
+          if (routed[0]) {
+            LOGGER.warn("discarding additional file part : " + upload.filename());
+            upload.handler(buffer -> {});
+            return;
+          }
+          routed[0] = true;
+          // hold the data until the upload is consumed, pausing the upload pauses the request.
+          upload.pause();
+          // drain the request if the response ends before the upload is consumed.
+          context.addEndHandler(ended -> upload.resume());
+          context.put(CTX_FILE_UPLOAD, upload);
+          request.params().addAll(request.formAttributes());
+          context.next();
+        });
+    request.endHandler(
+        ended -> {
+          if (!routed[0]) {
+            routed[0] = true;
+            request.params().addAll(request.formAttributes());
+            context.next();
+          }
+        });
+    // router pauses the request until a handler is ready to consume the body.
+    request.resume();
+  }
+
+  private boolean isOverLimit(String contentLength) {
+    try {
+      return Long.parseLong(contentLength) > bodyLimit;
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  private void payloadTooLarge(RoutingContext context) {
+    context
+        .response()
+        .putHeader(CONTENT_TYPE, APPLICATION_JSON)
+        .setStatusCode(HttpStatusCode.REQUEST_TOO_LONG.getValue())
+        .end(
+            new RestResponse.Builder()
+                .type(HttpStatusCode.REQUEST_TOO_LONG.getUrn())
+                .title(HttpStatusCode.REQUEST_TOO_LONG.getDescription())
+                .details("file size exceeds limit of " + bodyLimit + " bytes")
+                .build()
+                .toJsonString());
+  }
+}
@@ -3,16 +3,13 @@ package iudx.file.server.apiserver.handlers;
 import static iudx.file.server.apiserver.utilities.Constants.*;
 
 import io.vertx.core.Handler;
-import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
+import iudx.file.server.apiserver.response.RestResponse;
+import iudx.file.server.apiserver.utilities.HttpStatusCode;
 import iudx.file.server.apiserver.validations.RequestType;
-import iudx.file.server.apiserver.validations.ValidationHandlerFactory;
-import iudx.file.server.apiserver.validations.types.Validator;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import org.apache.http.HttpStatus;
+import iudx.file.server.apiserver.validations.ValidationError;
+import iudx.file.server.apiserver.validations.ValidatorChain;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -21,41 +18,37 @@ public class ValidationsHandler implements Handler<RoutingContext> {
 
   private static final Logger LOGGER = LogManager.getLogger(ValidationsHandler.class);
 
-  private RequestType requestType;
+  private final ValidatorChain validatorChain;
 
   public ValidationsHandler(RequestType apiRequestType) {
-    this.requestType = apiRequestType;
+    this.validatorChain = ValidatorChain.forRequest(apiRequestType);
   }
 
   @Override
   public void handle(RoutingContext context) {
-    ValidationHandlerFactory validationFactory = new ValidationHandlerFactory();
-    MultiMap parameters = context.request().params();
-    MultiMap headers = context.request().headers();
-    List<Validator> validations = null;
-
-    validations = validationFactory.create(requestType, parameters, headers);
-
-    for (Validator validator : Optional.ofNullable(validations).orElse(Collections.emptyList())) {
-      LOGGER.debug("validator :" + validator.getClass().getName());
-      if (!validator.isValid()) {
-        LOGGER.debug("false");
-        error(context);
-        return;
-      }
+    ValidationError error =
+        validatorChain.validate(context.request().params(), context.request().headers());
+    if (error != null) {
+      error(context, error);
+      return;
     }
     context.next();
   }
 
-  private void error(RoutingContext context) {
+  private void error(RoutingContext context, ValidationError error) {
+    LOGGER.error(error.getUrn().getUrn() + " : " + error.getMessage());
+    HttpStatusCode code = HttpStatusCode.getByValue(error.getStatusCode());
+    JsonObject response =
+        new RestResponse.Builder()
+            .type(error.getUrn().getUrn())
+            .title(code.getDescription())
+            .details(error.getMessage())
+            .build()
+            .toJson();
     context
         .response()
         .putHeader(CONTENT_TYPE, APPLICATION_JSON)
-        .setStatusCode(HttpStatus.SC_BAD_REQUEST)
-        .end(getBadRequestMessage().toString());
-  }
-
-  private JsonObject getBadRequestMessage() {
-    return new JsonObject().put("type", 400).put("title", "Bad Request").put("detail", "Bad query");
+        .setStatusCode(error.getStatusCode())
+        .end(response.toString());
   }
 }
@@ -62,6 +62,9 @@ public class QueryParams {
   @JsonProperty("limit")
   private Integer from;
 
+  @JsonProperty("cursor")
+  private String cursor;
+
   private QueryParams() {
     super();
   }
@@ -178,6 +181,14 @@ public class QueryParams {
     this.from = from;
   }
 
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
   /**
    * set georel.
    *
@@ -23,6 +23,7 @@ public enum ResponseUrn {
   INVALID_OPERATION("urn:dx:rs:invalidOperation", "Invalid operation"),
   BAD_REQUEST_URN("urn:dx:rs:badRequest", "bad request parameter"),
   PAYLOAD_TOO_LARGE_URN("urn:dx:rs:payloadTooLarge", "Response size exceeds limit"),
+  TOO_MANY_REQUESTS_URN("urn:dx:rs:tooManyRequests", "Too many requests"),
   BACKING_SERVICE_FORMAT_URN(
       "urn:dx:rs:backend", "format error from backing service [cat,auth etc.]"),
   UNAUTHORIZED_ENDPOINT("urn:dx:rs:unauthorizedEndpoint", "Access to endpoint is not available"),
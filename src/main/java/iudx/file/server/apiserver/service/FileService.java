@@ -1,9 +1,10 @@
 package iudx.file.server.apiserver.service;
 
 import io.vertx.core.Future;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
-import io.vertx.ext.web.FileUpload;
 import java.util.List;
 
 /**
@@ -16,21 +17,32 @@ import java.util.List;
 public interface FileService {
 
   /**
-   * upload file to server.
+   * upload file to server by streaming it directly to its final location, checksum and size of
+   * file are computed while it is written.
    *
-   * @param file set of file (although there will always be a single file to upload)
+   * <p>in case of success returned json contains, along with file details
+   *
+   * <pre>
+   * {
+   *    "file-id": "uuid.ext",
+   *    "fileSize": 1024,
+   *    "checksum": "hex encoded sha-256 of file"
+   * }
+   * </pre>
+   *
+   * @param upload multipart file upload stream
    * @param filePath path for the upload file
    */
-  Future<JsonObject> upload(final List<FileUpload> file, String filePath);
+  Future<JsonObject> upload(final HttpServerFileUpload upload, String filePath);
 
   /**
-   * upload file to server.
+   * upload file to server by streaming it directly to its final location.
    *
-   * @param file set of file (although there will always be a single file to upload)
+   * @param upload multipart file upload stream
    * @param fileName uploaded filename
    * @param filePath path for uploaded file
    */
-  Future<JsonObject> upload(final List<FileUpload> file, String fileName, String filePath);
+  Future<JsonObject> upload(final HttpServerFileUpload upload, String fileName, String filePath);
 
   /**
    * download file from server.
@@ -41,6 +53,63 @@ public interface FileService {
   Future<JsonObject> download(
       final String fileName, String filePath, final HttpServerResponse response);
 
+  /**
+   * download file or byte ranges of file from server, honouring Range, If-Range and
+   * If-Modified-Since headers.
+   *
+   * <p>entity tag of file, when known, is to be set as ETag header of response by the caller before
+   * download, it is used to evaluate an If-Range entity tag.
+   *
+   * <p>in case of success returned json contains the status code sent to the client and number of
+   * file bytes served.
+   *
+   * <pre>
+   * {
+   *    "statusCode": 206,
+   *    "bytesServed": 1024
+   * }
+   * </pre>
+   *
+   * @param fileName name of file to be downloaded.
+   * @param filePath path of file to be downloaded.
+   * @param request request object containing Range headers
+   * @param response response object to send file as Content-Disposition header
+   */
+  Future<JsonObject> download(
+      final String fileName,
+      String filePath,
+      final HttpServerRequest request,
+      final HttpServerResponse response);
+
+  /**
+   * download several files from server as a single zip archive streamed to the client, all files
+   * are checked to exist before anything is sent.
+   *
+   * <p>each file is described as
+   *
+   * <pre>
+   * {
+   *    "file-id": "uuid.ext",
+   *    "filePath": "path of file",
+   *    "name": "name of file in archive"
+   * }
+   * </pre>
+   *
+   * <p>in case of success returned json contains the status code sent to the client and number of
+   * bytes served of each file, in order of files.
+   *
+   * <pre>
+   * {
+   *    "statusCode": 200,
+   *    "bytesServed": [1024, 2048]
+   * }
+   * </pre>
+   *
+   * @param files files to be downloaded
+   * @param response response object to send archive as Content-Disposition header
+   */
+  Future<JsonObject> downloadArchive(final List<JsonObject> files, HttpServerResponse response);
+
   /**
    * delete file from server.
    *
@@ -0,0 +1,92 @@
+package iudx.file.server.apiserver.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * The UploadSessionService.
+ *
+ * <h1>UploadSessionService</h1>
+ *
+ * <p>it helps to upload large files in chunks over several requests. A session is created with
+ * the total length of file, chunks are written at their byte offsets (in any order) and once all
+ * bytes are received the session is finalized into an uploaded file.
+ *
+ * <p>a session belongs to the user who created it, operations of any other user on it are
+ * rejected with 403.
+ *
+ * <p>session state returned by operations
+ *
+ * <pre>
+ * {
+ *    "sessionId": "uuid",
+ *    "id": "resource id",
+ *    "fileName": "archive.zip",
+ *    "length": 10737418240,
+ *    "offset": 1048576,
+ *    "receivedRanges": ["0-1048575", "2097152-3145727"]
+ * }
+ * </pre>
+ */
+public interface UploadSessionService {
+
+  /**
+   * create a new upload session.
+   *
+   * @param resourceId resource id for which file is uploaded
+   * @param userId user creating the session, only this user can write to or finalize it
+   * @param fileName name of file being uploaded
+   * @param length total length of file in bytes
+   * @param metadata metadata of file, used to create the file record once upload is finalized
+   */
+  Future<JsonObject> create(
+      String resourceId, String userId, String fileName, long length, JsonObject metadata);
+
+  /**
+   * write a chunk of file at given offset, chunk is acknowledged only if completely written.
+   *
+   * @param sessionId upload session id
+   * @param resourceId resource id of session
+   * @param userId user writing the chunk
+   * @param offset byte offset of chunk in file
+   * @param chunk chunk data
+   */
+  Future<JsonObject> writeChunk(
+      String sessionId, String resourceId, String userId, long offset, ReadStream<Buffer> chunk);
+
+  /**
+   * get state of an upload session.
+   *
+   * @param sessionId upload session id
+   * @param resourceId resource id of session
+   * @param userId user requesting the state
+   */
+  Future<JsonObject> status(String sessionId, String resourceId, String userId);
+
+  /**
+   * finalize a completely received upload, file is moved to its final location and session is
+   * closed. Returned json contains file details along with session metadata.
+   *
+   * <pre>
+   * {
+   *    "file-id": "uuid.ext",
+   *    "uploaded_path": "path of file",
+   *    "fileSize": 10737418240,
+   *    "checksum": "hex encoded sha-256 of file",
+   *    "metadata": {}
+   * }
+   * </pre>
+   *
+   * @param sessionId upload session id
+   * @param resourceId resource id of session
+   * @param userId user finalizing the session
+   * @param filePath path for the upload file
+   */
+  Future<JsonObject> complete(
+      String sessionId, String resourceId, String userId, String filePath);
+
+  /** remove sessions with no activity since session timeout, along with their partial data. */
+  void purgeExpiredSessions();
+}
@@ -0,0 +1,377 @@
+package iudx.file.server.apiserver.service.impl;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.service.FileService;
+import iudx.file.server.apiserver.utilities.ChecksumWriteStream;
+import iudx.file.server.apiserver.utilities.FileArchiver;
+import iudx.file.server.apiserver.utilities.FileCompressor;
+import iudx.file.server.apiserver.utilities.FileLayout;
+import iudx.file.server.apiserver.utilities.HttpStatusCode;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.commons.compress.utils.FileNameUtils;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@inheritDoc}
+ *
+ * <p>Content addressed storage, every file is stored once as a blob named by the SHA-256 of its
+ * content under {@code .blobs/ab/cd/<sha-256>} in upload directory. An uploaded file is a symbolic
+ * link from its usual location in {@link FileLayout} to the blob, so downloads are
+ * served exactly as for local storage. References to a blob are kept as marker files in {@code
+ * <sha-256>.refs} directory next to the blob and the blob is removed with its last reference.
+ *
+ * <p>Blob and reference updates of a hash are serialized within a node.
+ */
+public class ContentAddressedFileServiceImpl implements FileService {
+
+  private static final Logger LOGGER = LogManager.getLogger(ContentAddressedFileServiceImpl.class);
+  private static final String BLOB_DIR = ".blobs";
+  private static final String STAGING_DIR = "staging";
+  private static final String REFS_SUFFIX = ".refs";
+  private static final Map<String, Future<Void>> HASH_LOCKS = new ConcurrentHashMap<>();
+
+  private final FileSystem fileSystem;
+  private final String directory;
+  private final FileLayout layout;
+  private final LocalStorageFileServiceImpl localStorage;
+  private final FileCompressor compressor;
+  private final Counter uploadedBytes;
+  private final Counter storedBytes;
+  private final Counter dedupUploads;
+  private final Counter newBlobUploads;
+  private final Counter deletedBlobs;
+
+  /**
+   * ContentAddressedFileServiceImpl.
+   *
+   * @param fileSystem vert.x FileSystem
+   * @param layout layout of files in upload directory
+   * @param zeroCopyDownload serve downloads with sendfile(2), see {@link
+   *     LocalStorageFileServiceImpl}
+   * @param compressor compressor for gzip downloads of compressible files, null to disable
+   * @param archiver archiver for bulk downloads of files as zip, null to disable
+   * @param registry registry for deduplication metrics
+   */
+  public ContentAddressedFileServiceImpl(
+      FileSystem fileSystem,
+      FileLayout layout,
+      boolean zeroCopyDownload,
+      FileCompressor compressor,
+      FileArchiver archiver,
+      MeterRegistry registry) {
+    this.fileSystem = fileSystem;
+    this.directory = layout.getDirectory();
+    this.layout = layout;
+    this.compressor = compressor;
+    this.localStorage =
+        new LocalStorageFileServiceImpl(fileSystem, layout, zeroCopyDownload, compressor, archiver);
+
+    this.uploadedBytes =
+        Counter.builder("fs.storage.uploaded.bytes")
+            .description("bytes of uploaded files")
+            .baseUnit("bytes")
+            .register(registry);
+    this.storedBytes =
+        Counter.builder("fs.storage.stored.bytes")
+            .description("bytes of uploaded files written as new blobs")
+            .baseUnit("bytes")
+            .register(registry);
+    this.dedupUploads =
+        Counter.builder("fs.storage.uploads")
+            .description("uploaded files")
+            .tag("deduplicated", "true")
+            .register(registry);
+    this.newBlobUploads =
+        Counter.builder("fs.storage.uploads")
+            .description("uploaded files")
+            .tag("deduplicated", "false")
+            .register(registry);
+    this.deletedBlobs =
+        Counter.builder("fs.storage.blobs.deleted")
+            .description("blobs removed after their last reference was deleted")
+            .register(registry);
+    Gauge.builder("fs.storage.dedup.ratio", this, ContentAddressedFileServiceImpl::dedupRatio)
+        .description("uploaded bytes per stored byte since start")
+        .register(registry);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> upload(HttpServerFileUpload upload, String filePath) {
+    return upload(upload, UUID.randomUUID().toString(), filePath);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> upload(HttpServerFileUpload upload, String fileName, String filePath) {
+    return store(upload, upload.filename(), fileName, filePath)
+        .map(
+            stored ->
+                stored
+                    .put("content-type", upload.contentType())
+                    .put("content-transfer-encoding", upload.contentTransferEncoding())
+                    .put("char-set", upload.charset()))
+        .recover(this::uploadFailure);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> download(
+      String fileName, String filePath, HttpServerResponse response) {
+    return localStorage.download(fileName, filePath, response);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> download(
+      String fileName, String filePath, HttpServerRequest request, HttpServerResponse response) {
+    return localStorage.download(fileName, filePath, request, response);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> downloadArchive(List<JsonObject> files, HttpServerResponse response) {
+    // file links are followed while archive is written.
+    return localStorage.downloadArchive(files, response);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> delete(String fileName, String filePath) {
+    return localStorage.locate(fileName, filePath).compose(path -> deleteFile(path, fileName));
+  }
+
+  private Future<JsonObject> deleteFile(String path, String fileName) {
+    Promise<JsonObject> promise = Promise.promise();
+    LOGGER.info("filePath : " + path);
+    fileSystem
+        .lprops(path)
+        .compose(
+            props -> {
+              if (!props.isSymbolicLink()) {
+                // stored before content addressing was enabled.
+                return fileSystem.delete(path);
+              }
+              return fileSystem
+                  .readSymlink(path)
+                  .compose(blobPath -> fileSystem.delete(path).map(blobPath))
+                  .compose(blobPath -> release(blobPath, fileName));
+            })
+        .onComplete(
+            handler -> {
+              JsonObject finalResponse = new JsonObject();
+              if (handler.succeeded()) {
+                LOGGER.info("File deleted");
+                localStorage.deleteCompressed(path);
+                finalResponse.put("type", HttpStatus.SC_OK);
+                finalResponse.put("title", "urn:dx:rs:Success");
+                finalResponse.put("details", "File Deleted");
+                promise.complete(finalResponse);
+              } else if (handler.cause().getCause() instanceof NoSuchFileException) {
+                LOGGER.error("File does not exist");
+                finalResponse.put("type", HttpStatus.SC_NOT_FOUND);
+                finalResponse.put("title", ResponseUrn.RESOURCE_NOT_FOUND.getUrn());
+                finalResponse.put("details", "File does not exist");
+                promise.fail(finalResponse.toString());
+              } else {
+                LOGGER.error("failed to delete file : " + handler.cause());
+                finalResponse.put("type", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                finalResponse.put("title", handler.cause().toString());
+                promise.fail(finalResponse.toString());
+              }
+            });
+    return promise.future();
+  }
+
+  /**
+   * hash the stream into a staging file, keep the staged file as blob only if no blob of same
+   * content exists and link the file path to the blob.
+   */
+  private Future<JsonObject> store(
+      ReadStream<Buffer> stream, String originalName, String uuid, String filePath) {
+    String fileId = uuid + "." + FileNameUtils.getExtension(originalName);
+    String linkPath = layout.getPath(filePath, fileId);
+    String stagingPath = directory + BLOB_DIR + "/" + STAGING_DIR + "/" + UUID.randomUUID();
+    JsonObject result = new JsonObject();
+
+    return fileSystem
+        .mkdirs(directory + BLOB_DIR + "/" + STAGING_DIR)
+        .compose(
+            mkdirs ->
+                fileSystem.open(
+                    stagingPath,
+                    new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true)))
+        .compose(
+            asyncFile -> {
+              ChecksumWriteStream checksumStream = new ChecksumWriteStream(asyncFile, MAX_SIZE);
+              return stream
+                  .pipeTo(checksumStream)
+                  .recover(
+                      failure -> {
+                        asyncFile.close();
+                        if (checksumStream.size() <= MAX_SIZE) {
+                          return Future.failedFuture(failure);
+                        }
+                        return Future.failedFuture(
+                            new JsonObject()
+                                .put("type", HttpStatusCode.REQUEST_TOO_LONG.getValue())
+                                .put("title", HttpStatusCode.REQUEST_TOO_LONG.getUrn())
+                                .put(ERROR_MESSAGE, failure.getMessage())
+                                .toString());
+                      })
+                  .map(
+                      piped -> {
+                        result.put(FILE_SIZE, checksumStream.size());
+                        result.put(FILE_CHECKSUM, checksumStream.checksum());
+                        return checksumStream.checksum();
+                      });
+            })
+        .compose(hash -> withHashLock(hash, () -> acquire(stagingPath, hash, fileId)))
+        .compose(
+            blobPath ->
+                fileSystem
+                    .mkdirs(layout.getFileDirectory(filePath, fileId))
+                    .compose(
+                        mkdirs ->
+                            fileSystem.symlink(
+                                linkPath, Paths.get(blobPath).toAbsolutePath().toString())))
+        .map(
+            linked -> {
+              long size = result.getLong(FILE_SIZE);
+              uploadedBytes.increment(size);
+              if (compressor != null) {
+                // compressed sibling is per file, blobs are not compressed.
+                compressor.precompressInBackground(linkPath);
+              }
+              LOGGER.debug("uploaded " + originalName + " as " + result.getString(FILE_CHECKSUM));
+              return result
+                  .put("fileName", originalName)
+                  .put("size", size + " Bytes")
+                  .put("uploaded_path", linkPath)
+                  .put("file-id", fileId);
+            })
+        .onFailure(failure -> fileSystem.delete(stagingPath).otherwiseEmpty());
+  }
+
+  /**
+   * add a reference of file to the blob of hash, staged file becomes the blob if it does not exist
+   * yet.
+   */
+  private Future<String> acquire(String stagingPath, String hash, String fileId) {
+    String blobPath = getBlobPath(hash);
+    return fileSystem
+        .exists(blobPath)
+        .compose(
+            exists -> {
+              if (exists) {
+                dedupUploads.increment();
+                return fileSystem.delete(stagingPath);
+              }
+              newBlobUploads.increment();
+              return fileSystem
+                  .mkdirs(blobPath.substring(0, blobPath.lastIndexOf('/')))
+                  .compose(mkdirs -> fileSystem.props(stagingPath))
+                  .compose(
+                      props -> {
+                        storedBytes.increment(props.size());
+                        return fileSystem.move(
+                            stagingPath, blobPath, new CopyOptions().setReplaceExisting(true));
+                      });
+            })
+        .compose(blob -> fileSystem.mkdirs(blobPath + REFS_SUFFIX))
+        .compose(mkdirs -> fileSystem.createFile(blobPath + REFS_SUFFIX + "/" + fileId))
+        .map(blobPath);
+  }
+
+  /** remove reference of file from the blob, blob is removed with its last reference. */
+  private Future<Void> release(String blobPath, String fileId) {
+    String hash = blobPath.substring(blobPath.lastIndexOf('/') + 1);
+    String refsPath = blobPath + REFS_SUFFIX;
+    return withHashLock(
+        hash,
+        () ->
+            fileSystem
+                .delete(refsPath + "/" + fileId)
+                .compose(deleted -> fileSystem.readDir(refsPath))
+                .compose(
+                    refs -> {
+                      if (!refs.isEmpty()) {
+                        return Future.succeededFuture();
+                      }
+                      LOGGER.info("deleting blob with no references : " + hash);
+                      deletedBlobs.increment();
+                      return fileSystem
+                          .delete(blobPath)
+                          .compose(deleted -> fileSystem.deleteRecursive(refsPath, true));
+                    }));
+  }
+
+  /** run task after all previous tasks for the same hash are complete. */
+  private <T> Future<T> withHashLock(String hash, Supplier<Future<T>> task) {
+    Promise<Void> done = Promise.promise();
+    Future<Void> previous = HASH_LOCKS.put(hash, done.future());
+    Future<Void> ready = previous == null ? Future.succeededFuture() : previous;
+    return ready
+        .compose(acquired -> task.get())
+        .onComplete(
+            completed -> {
+              HASH_LOCKS.remove(hash, done.future());
+              done.complete();
+            });
+  }
+
+  private String getBlobPath(String hash) {
+    return directory
+        + BLOB_DIR
+        + "/"
+        + hash.substring(0, 2)
+        + "/"
+        + hash.substring(2, 4)
+        + "/"
+        + hash;
+  }
+
+  private double dedupRatio() {
+    double stored = storedBytes.count();
+    return stored == 0 ? 1.0 : uploadedBytes.count() / stored;
+  }
+
+  private Future<JsonObject> uploadFailure(Throwable cause) {
+    LOGGER.error("failed uploading : " + cause);
+    JsonObject failure = new JsonObject();
+    try {
+      // failures already in response format are passed as is.
+      failure = new JsonObject(cause.getMessage());
+    } catch (Exception ex) {
+      failure
+          .put("type", HttpStatusCode.INTERNAL_SERVER_ERROR.getValue())
+          .put("title", HttpStatusCode.INTERNAL_SERVER_ERROR.getUrn())
+          .put(ERROR_MESSAGE, "failed to upload file.");
+    }
+    return Future.failedFuture(failure.toString());
+  }
+}
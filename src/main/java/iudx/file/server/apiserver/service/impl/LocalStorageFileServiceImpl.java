@@ -1,19 +1,34 @@
 package iudx.file.server.apiserver.service.impl;
 
+import static iudx.file.server.apiserver.utilities.Constants.*;
+
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.streams.ReadStream;
-import io.vertx.ext.web.FileUpload;
 import iudx.file.server.apiserver.response.ResponseUrn;
 import iudx.file.server.apiserver.service.FileService;
+import iudx.file.server.apiserver.utilities.ByteRange;
+import iudx.file.server.apiserver.utilities.ChecksumWriteStream;
+import iudx.file.server.apiserver.utilities.EntityTags;
+import iudx.file.server.apiserver.utilities.FileArchiver;
+import iudx.file.server.apiserver.utilities.FileCompressor;
+import iudx.file.server.apiserver.utilities.FileLayout;
 import iudx.file.server.apiserver.utilities.HttpStatusCode;
-import java.util.Iterator;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.apache.commons.compress.utils.FileNameUtils;
@@ -25,121 +40,599 @@ import org.apache.logging.log4j.Logger;
 public class LocalStorageFileServiceImpl implements FileService {
 
   private static final Logger LOGGER = LogManager.getLogger(LocalStorageFileServiceImpl.class);
-  private final String directory;
+  private static final String CRLF = "\r\n";
+  private static final String STATUS_CODE = "statusCode";
+  private static final String BYTES_SERVED = "bytesServed";
+  private final FileLayout layout;
+  private final boolean zeroCopyDownload;
+  private final FileCompressor compressor;
+  private final FileArchiver archiver;
   private FileSystem fileSystem;
 
   public LocalStorageFileServiceImpl(FileSystem fileSystem, String directory) {
+    this(fileSystem, directory, false);
+  }
+
+  /**
+   * LocalStorageFileServiceImpl.
+   *
+   * @param fileSystem vert.x FileSystem
+   * @param directory upload directory
+   * @param zeroCopyDownload serve complete files and single ranges with sendfile(2) instead of
+   *     reading them through heap buffers, only effective when TLS is not terminated by the server
+   */
+  public LocalStorageFileServiceImpl(
+      FileSystem fileSystem, String directory, boolean zeroCopyDownload) {
+    this(fileSystem, directory, zeroCopyDownload, null);
+  }
+
+  /**
+   * LocalStorageFileServiceImpl.
+   *
+   * @param fileSystem vert.x FileSystem
+   * @param directory upload directory
+   * @param zeroCopyDownload serve complete files and single ranges with sendfile(2)
+   * @param compressor compressor for gzip downloads of compressible files, null to disable
+   */
+  public LocalStorageFileServiceImpl(
+      FileSystem fileSystem,
+      String directory,
+      boolean zeroCopyDownload,
+      FileCompressor compressor) {
+    this(fileSystem, FileLayout.flat(directory), zeroCopyDownload, compressor, null);
+  }
+
+  /**
+   * LocalStorageFileServiceImpl.
+   *
+   * @param fileSystem vert.x FileSystem
+   * @param layout layout of files in upload directory
+   * @param zeroCopyDownload serve complete files and single ranges with sendfile(2)
+   * @param compressor compressor for gzip downloads of compressible files, null to disable
+   * @param archiver archiver for bulk downloads of files as zip, null to disable
+   */
+  public LocalStorageFileServiceImpl(
+      FileSystem fileSystem,
+      FileLayout layout,
+      boolean zeroCopyDownload,
+      FileCompressor compressor,
+      FileArchiver archiver) {
     this.fileSystem = fileSystem;
-    this.directory = directory;
+    this.layout = layout;
+    this.zeroCopyDownload = zeroCopyDownload;
+    this.compressor = compressor;
+    this.archiver = archiver;
   }
 
   /** {@inheritDoc} */
   @Override
-  public Future<JsonObject> upload(List<FileUpload> files, String filename, String filePath) {
+  public Future<JsonObject> upload(HttpServerFileUpload upload, String filename, String filePath) {
     Promise<JsonObject> promise = Promise.promise();
-    LOGGER.debug("uploading.. files to file system.");
-    final JsonObject metadata = new JsonObject();
-    final JsonObject finalResponse = new JsonObject();
-    LOGGER.info(directory + filePath);
-    createLocalDirectory(filePath);
-    Iterator<FileUpload> fileUploadIterator = files.iterator();
-    while (fileUploadIterator.hasNext()) {
-      FileUpload fileUpload = fileUploadIterator.next();
-      LOGGER.debug("uploading... " + fileUpload.fileName());
-      String uuid = filename;
-      String fileExtension = getFileExtension(fileUpload.fileName());
-      String fileUploadPath = directory + "/" + filePath + "/" + uuid + "." + fileExtension;
-      CopyOptions copyOptions = new CopyOptions();
-      copyOptions.setReplaceExisting(true);
-      fileSystem.move(
-          fileUpload.uploadedFileName(),
-          fileUploadPath,
-          copyOptions,
-          fileMoveHandler -> {
-            if (fileMoveHandler.succeeded()) {
-              LOGGER.debug("uploaded");
-              metadata.put("fileName", fileUpload.fileName());
-              metadata.put("content-type", fileUpload.contentType());
-              metadata.put("content-transfer-encoding", fileUpload.contentTransferEncoding());
-              metadata.put("char-set", fileUpload.charSet());
-              metadata.put("size", fileUpload.size() + " Bytes");
-              metadata.put("uploaded_path", fileUploadPath);
-              metadata.put("file-id", uuid + "." + fileExtension);
-              promise.complete(metadata);
-            } else {
-              LOGGER.debug("failed uploading :" + fileMoveHandler.cause());
-              finalResponse.put("type", HttpStatusCode.INTERNAL_SERVER_ERROR.getUrn());
-              finalResponse.put("title", "failed to upload file.");
-              finalResponse.put("details", fileMoveHandler.cause());
-              promise.fail(finalResponse.toString());
-            }
-          });
-    }
+    String fileId = filename + "." + getFileExtension(upload.filename());
+    String fileUploadPath = layout.getPath(filePath, fileId);
+    String fileUploadDir = layout.getFileDirectory(filePath, fileId);
+    LOGGER.debug("streaming upload " + upload.filename() + " to " + fileUploadPath);
+    fileSystem.mkdirs(
+        fileUploadDir,
+        mkdirHandler -> {
+          if (mkdirHandler.failed()) {
+            LOGGER.error("failed to create directory : " + mkdirHandler.cause());
+            promise.fail(uploadFailureResponse().toString());
+            return;
+          }
+          fileSystem.open(
+              fileUploadPath,
+              new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true),
+              openHandler -> {
+                if (openHandler.failed()) {
+                  LOGGER.error("failed to open file : " + openHandler.cause());
+                  promise.fail(uploadFailureResponse().toString());
+                  return;
+                }
+                AsyncFile asyncFile = openHandler.result();
+                ChecksumWriteStream checksumStream = new ChecksumWriteStream(asyncFile, MAX_SIZE);
+                // pipe pauses the upload (and so the request) whenever the file write queue is
+                // full and resumes it on drain.
+                upload.pipeTo(
+                    checksumStream,
+                    pipeHandler -> {
+                      if (pipeHandler.succeeded()) {
+                        LOGGER.debug("uploaded");
+                        JsonObject metadata =
+                            new JsonObject()
+                                .put("fileName", upload.filename())
+                                .put("content-type", upload.contentType())
+                                .put("content-transfer-encoding", upload.contentTransferEncoding())
+                                .put("char-set", upload.charset())
+                                .put("size", checksumStream.size() + " Bytes")
+                                .put("uploaded_path", fileUploadPath)
+                                .put("file-id", fileId)
+                                .put(FILE_SIZE, checksumStream.size())
+                                .put(FILE_CHECKSUM, checksumStream.checksum());
+                        precompress(fileUploadPath);
+                        promise.complete(metadata);
+                        return;
+                      }
+                      LOGGER.error("failed uploading : " + pipeHandler.cause());
+                      JsonObject failure =
+                          checksumStream.size() > MAX_SIZE
+                              ? new JsonObject()
+                                  .put("type", HttpStatusCode.REQUEST_TOO_LONG.getValue())
+                                  .put("title", HttpStatusCode.REQUEST_TOO_LONG.getUrn())
+                                  .put(ERROR_MESSAGE, pipeHandler.cause().getMessage())
+                              : uploadFailureResponse();
+                      // remove partially written file.
+                      asyncFile.close(
+                          closeHandler -> fileSystem.delete(fileUploadPath, ignore -> {}));
+                      promise.fail(failure.toString());
+                    });
+              });
+        });
     return promise.future();
   }
 
   @Override
-  public Future<JsonObject> upload(List<FileUpload> files, String filePath) {
-    return upload(files, UUID.randomUUID().toString(), filePath);
+  public Future<JsonObject> upload(HttpServerFileUpload upload, String filePath) {
+    return upload(upload, UUID.randomUUID().toString(), filePath);
   }
 
   /** {@inheritDoc} */
   @Override
   public Future<JsonObject> download(
       String fileName, String uploadDir, HttpServerResponse response) {
+    return download(fileName, uploadDir, null, response);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> download(
+      String fileName, String uploadDir, HttpServerRequest request, HttpServerResponse response) {
+    return locate(fileName, uploadDir)
+        .compose(path -> sendDownload(path, fileName, request, response));
+  }
+
+  private Future<JsonObject> sendDownload(
+      String path, String fileName, HttpServerRequest request, HttpServerResponse response) {
     Promise<JsonObject> promise = Promise.promise();
     JsonObject finalResponse = new JsonObject();
-    String path = getLocalDirectory(fileName, uploadDir);
     LOGGER.info(path);
-    response.setChunked(true);
-    String finalPath = path;
-    fileSystem.exists(
+    fileSystem.props(
         path,
-        existHandler -> {
-          if (existHandler.succeeded()) {
-            if (existHandler.result()) {
-              fileSystem.open(
-                  finalPath,
-                  new OpenOptions().setCreate(true),
-                  readEvent -> {
-                    if (readEvent.failed()) {
-                      finalResponse.put("statusCode", HttpStatus.SC_BAD_REQUEST);
-                      promise.complete(finalResponse);
-                    }
-                    LOGGER.debug("sending file : " + fileName + " to client");
-                    ReadStream<Buffer> asyncFile = readEvent.result();
-                    response.putHeader("content-type", "application/octet-stream");
-                    response.putHeader("Content-Disposition", "attachment; filename=" + fileName);
-                    asyncFile.pipeTo(
-                        response,
-                        pipeHandler -> {
-                          promise.complete();
-                        });
-                  });
+        propsHandler -> {
+          if (propsHandler.succeeded()) {
+            FileProps props = propsHandler.result();
+            long size = props.size();
+            String entityTag = response.headers().get(HEADER_ETAG);
+            List<ByteRange> ranges =
+                getRequestedRanges(request, size, props.lastModifiedTime(), entityTag);
+            response.putHeader(HEADER_ACCEPT_RANGES, "bytes");
+            response.putHeader(HEADER_LAST_MODIFIED, toHttpDate(props.lastModifiedTime()));
+            boolean compressible = compressor != null && compressor.isCompressible(fileName);
+            if (compressible) {
+              response.putHeader(HEADER_VARY, HEADER_ACCEPT_ENCODING);
+            }
+            boolean sendGzip =
+                ranges == null
+                    && compressible
+                    && request != null
+                    && FileCompressor.acceptsGzip(request.getHeader(HEADER_ACCEPT_ENCODING));
+            if (isNotModifiedSince(request, props.lastModifiedTime())) {
+              LOGGER.debug("file : " + fileName + " not modified since requested date");
+              if (sendGzip && entityTag != null) {
+                response.putHeader(HEADER_ETAG, EntityTags.gzipVariant(entityTag));
+              }
+              response.setStatusCode(HttpStatus.SC_NOT_MODIFIED);
+              response.end();
+              promise.complete(
+                  new JsonObject()
+                      .put(STATUS_CODE, HttpStatus.SC_NOT_MODIFIED)
+                      .put(BYTES_SERVED, 0L));
+            } else if (sendGzip) {
+              LOGGER.debug("sending compressed file : " + fileName + " to client");
+              sendCompressed(path, fileName, response, promise);
+            } else if (ranges == null) {
+              LOGGER.debug("sending file : " + fileName + " to client");
+              sendFile(path, fileName, null, size, response, promise);
+            } else if (ranges.isEmpty()) {
+              LOGGER.debug("requested range not satisfiable for file : " + fileName);
+              response.setStatusCode(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+              response.putHeader(HEADER_CONTENT_RANGE, "bytes */" + size);
+              response.end();
+              promise.complete(
+                  new JsonObject()
+                      .put(STATUS_CODE, HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE)
+                      .put(BYTES_SERVED, 0L));
+            } else if (ranges.size() == 1) {
+              LOGGER.debug("sending range " + ranges.get(0) + " of file : " + fileName);
+              sendFile(path, fileName, ranges.get(0), size, response, promise);
             } else {
-              finalResponse.put("type", HttpStatus.SC_NOT_FOUND);
-              finalResponse.put("title", "urn:dx:rs:resourceNotFound");
-              finalResponse.put("details", "File does not exist");
-              LOGGER.error("File does not exist");
-              promise.fail(finalResponse.toString());
+              LOGGER.debug("sending ranges " + ranges + " of file : " + fileName);
+              sendRanges(path, fileName, ranges, size, response, promise);
             }
+          } else if (isFileNotFound(propsHandler.cause())) {
+            finalResponse.put("type", HttpStatus.SC_NOT_FOUND);
+            finalResponse.put("title", "urn:dx:rs:resourceNotFound");
+            finalResponse.put("details", "File does not exist");
+            LOGGER.error("File does not exist");
+            promise.fail(finalResponse.toString());
           } else {
-            LOGGER.error(existHandler.cause());
+            LOGGER.error(propsHandler.cause());
             finalResponse.put("type", HttpStatus.SC_INTERNAL_SERVER_ERROR);
             finalResponse.put("title", "Something went wrong while downloading file.");
-            finalResponse.put("details", existHandler.cause());
+            finalResponse.put("details", propsHandler.cause());
             promise.fail(finalResponse.toString());
           }
         });
     return promise.future();
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> downloadArchive(List<JsonObject> files, HttpServerResponse response) {
+    if (archiver == null) {
+      return Future.failedFuture(
+          new JsonObject()
+              .put("type", HttpStatusCode.NOT_IMPLEMENTED.getValue())
+              .put("title", HttpStatusCode.NOT_IMPLEMENTED.getUrn())
+              .put(ERROR_MESSAGE, "bulk download is not enabled.")
+              .toString());
+    }
+    List<Future<String>> pathFutures = new ArrayList<>();
+    for (JsonObject file : files) {
+      pathFutures.add(
+          locate(file.getString("file-id"), file.getString(FILE_PATH))
+              .compose(path -> fileSystem.props(path).map(path)));
+    }
+    return Future.all(pathFutures)
+        .recover(
+            cause -> {
+              LOGGER.error("failed to access files for archive : " + cause);
+              return Future.failedFuture(propsFailureResponse(cause).toString());
+            })
+        .compose(
+            exists -> {
+              List<FileArchiver.Entry> entries = new ArrayList<>();
+              for (int i = 0; i < files.size(); i++) {
+                entries.add(
+                    new FileArchiver.Entry(
+                        files.get(i).getString(ARCHIVE_ENTRY_NAME), pathFutures.get(i).result()));
+              }
+              LOGGER.debug("sending archive of " + entries.size() + " files to client");
+              response.setStatusCode(HttpStatus.SC_OK);
+              response.setChunked(true);
+              response.putHeader("content-type", FileArchiver.CONTENT_TYPE_ZIP);
+              response.putHeader("Content-Disposition", "attachment; filename=files.zip");
+              return archiver.send(entries, response);
+            })
+        .map(
+            served ->
+                new JsonObject()
+                    .put(STATUS_CODE, HttpStatus.SC_OK)
+                    .put(BYTES_SERVED, new JsonArray(served)));
+  }
+
+  /**
+   * send complete file (range is null) or a single range of file to client.
+   *
+   * @param path path of file
+   * @param fileName name of file sent as Content-Disposition
+   * @param range byte range to send, null for complete file
+   * @param size total size of file
+   * @param response response object
+   * @param promise download promise
+   */
+  private void sendFile(
+      String path,
+      String fileName,
+      ByteRange range,
+      long size,
+      HttpServerResponse response,
+      Promise<JsonObject> promise) {
+    long offset = range == null ? 0 : range.getStart();
+    long length = range == null ? size : range.length();
+    int statusCode = range == null ? HttpStatus.SC_OK : HttpStatus.SC_PARTIAL_CONTENT;
+    if (range != null) {
+      response.putHeader(HEADER_CONTENT_RANGE, range.toContentRange(size));
+    }
+    response.setStatusCode(statusCode);
+    response.putHeader("content-type", "application/octet-stream");
+    response.putHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+    if (zeroCopyDownload) {
+      // file region is handed over to netty, bytes are never copied to heap.
+      response.sendFile(
+          path,
+          offset,
+          length,
+          sendFileHandler -> {
+            if (sendFileHandler.failed()) {
+              LOGGER.error("failed to send file : " + sendFileHandler.cause());
+              // part of file may be sent already, client must not take it as complete.
+              if (response.headWritten()) {
+                response.reset();
+              }
+              promise.fail(openFailureResponse(sendFileHandler.cause()).toString());
+              return;
+            }
+            promise.complete(
+                new JsonObject().put(STATUS_CODE, statusCode).put(BYTES_SERVED, length));
+          });
+      return;
+    }
+
+    fileSystem.open(
+        path,
+        new OpenOptions().setRead(true),
+        openHandler -> {
+          if (openHandler.failed()) {
+            LOGGER.error("failed to open file : " + openHandler.cause());
+            promise.fail(openFailureResponse(openHandler.cause()).toString());
+            return;
+          }
+          AsyncFile asyncFile = openHandler.result();
+          if (range != null) {
+            asyncFile.setReadPos(offset);
+            asyncFile.setReadLength(length);
+          }
+          response.putHeader(HEADER_CONTENT_LENGTH, String.valueOf(length));
+          asyncFile.pipeTo(
+              response,
+              pipeHandler -> {
+                asyncFile.close();
+                if (pipeHandler.failed()) {
+                  LOGGER.error("failed to send file : " + pipeHandler.cause());
+                  // part of file may be sent already, client must not take it as complete.
+                  if (response.headWritten()) {
+                    response.reset();
+                  }
+                  promise.fail(openFailureResponse(pipeHandler.cause()).toString());
+                  return;
+                }
+                promise.complete(
+                    new JsonObject().put(STATUS_CODE, statusCode).put(BYTES_SERVED, length));
+              });
+        });
+  }
+
+  /**
+   * send file gzip compressed, precompressed sibling of file is sent if present otherwise file is
+   * compressed while it is sent.
+   *
+   * @param path path of file
+   * @param fileName name of file sent as Content-Disposition
+   * @param response response object
+   * @param promise download promise
+   */
+  private void sendCompressed(
+      String path, String fileName, HttpServerResponse response, Promise<JsonObject> promise) {
+    String entityTag = response.headers().get(HEADER_ETAG);
+    if (entityTag != null) {
+      response.putHeader(HEADER_ETAG, EntityTags.gzipVariant(entityTag));
+    }
+    String compressedPath = FileCompressor.compressedPath(path);
+    fileSystem.props(
+        compressedPath,
+        propsHandler -> {
+          if (propsHandler.succeeded()) {
+            response.putHeader(HEADER_CONTENT_ENCODING, FileCompressor.GZIP);
+            long compressedSize = propsHandler.result().size();
+            sendFile(compressedPath, fileName, null, compressedSize, response, promise);
+            return;
+          }
+          response.setStatusCode(HttpStatus.SC_OK);
+          response.putHeader("content-type", "application/octet-stream");
+          response.putHeader("Content-Disposition", "attachment; filename=" + fileName);
+          compressor
+              .sendCompressed(path, response)
+              .onComplete(
+                  sendHandler -> {
+                    // response is reset by compressor on failure.
+                    if (sendHandler.failed()) {
+                      promise.fail(openFailureResponse(sendHandler.cause()).toString());
+                      return;
+                    }
+                    promise.complete(
+                        new JsonObject()
+                            .put(STATUS_CODE, HttpStatus.SC_OK)
+                            .put(BYTES_SERVED, response.bytesWritten()));
+                  });
+        });
+  }
+
+  /**
+   * send multiple ranges of file to client as a multipart/byteranges response.
+   *
+   * @param path path of file
+   * @param fileName name of file sent as Content-Disposition
+   * @param ranges sorted non overlapping byte ranges
+   * @param size total size of file
+   * @param response response object
+   * @param promise download promise
+   */
+  private void sendRanges(
+      String path,
+      String fileName,
+      List<ByteRange> ranges,
+      long size,
+      HttpServerResponse response,
+      Promise<JsonObject> promise) {
+    String boundary = UUID.randomUUID().toString().replace("-", "");
+    response.setStatusCode(HttpStatus.SC_PARTIAL_CONTENT);
+    response.setChunked(true);
+    response.putHeader("content-type", "multipart/byteranges; boundary=" + boundary);
+    response.putHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+    long[] served = new long[1];
+    Future<Void> partsFuture = Future.succeededFuture();
+    for (ByteRange range : ranges) {
+      partsFuture =
+          partsFuture.compose(
+              previousPart -> {
+                response.write(
+                    CRLF
+                        + "--"
+                        + boundary
+                        + CRLF
+                        + "Content-Type: application/octet-stream"
+                        + CRLF
+                        + HEADER_CONTENT_RANGE
+                        + ": "
+                        + range.toContentRange(size)
+                        + CRLF
+                        + CRLF);
+                return pipeRange(path, range, response)
+                    .onSuccess(pipeHandler -> served[0] += range.length());
+              });
+    }
+    partsFuture.onComplete(
+        partsHandler -> {
+          if (partsHandler.failed()) {
+            LOGGER.error("failed to send ranges : " + partsHandler.cause());
+            response.reset();
+            promise.fail(openFailureResponse(partsHandler.cause()).toString());
+            return;
+          }
+          response.end(CRLF + "--" + boundary + "--" + CRLF);
+          promise.complete(
+              new JsonObject()
+                  .put(STATUS_CODE, HttpStatus.SC_PARTIAL_CONTENT)
+                  .put(BYTES_SERVED, served[0]));
+        });
+  }
+
+  private Future<Void> pipeRange(String path, ByteRange range, HttpServerResponse response) {
+    Promise<Void> promise = Promise.promise();
+    fileSystem.open(
+        path,
+        new OpenOptions().setRead(true),
+        openHandler -> {
+          if (openHandler.failed()) {
+            promise.fail(openHandler.cause());
+            return;
+          }
+          AsyncFile asyncFile = openHandler.result();
+          asyncFile.setReadPos(range.getStart());
+          asyncFile.setReadLength(range.length());
+          asyncFile
+              .pipe()
+              .endOnComplete(false)
+              .to(
+                  response,
+                  pipeHandler -> {
+                    asyncFile.close();
+                    promise.handle(pipeHandler);
+                  });
+        });
+    return promise.future();
+  }
+
+  /**
+   * get satisfiable ranges requested by client, null when complete file has to be sent.
+   *
+   * @param request http request
+   * @param size size of file
+   * @param lastModified last modified time of file in millis
+   * @param entityTag entity tag of file, null when not known
+   * @return list of ranges
+   */
+  private List<ByteRange> getRequestedRanges(
+      HttpServerRequest request, long size, long lastModified, String entityTag) {
+    if (request == null || request.getHeader(HEADER_RANGE) == null) {
+      return null;
+    }
+    if (!isRangeApplicable(request.getHeader(HEADER_IF_RANGE), lastModified, entityTag)) {
+      LOGGER.debug("If-Range validator does not match, sending complete file");
+      return null;
+    }
+    return ByteRange.parse(request.getHeader(HEADER_RANGE), size);
+  }
+
+  private boolean isRangeApplicable(String ifRange, long lastModified, String entityTag) {
+    if (ifRange == null) {
+      return true;
+    }
+    String validator = ifRange.trim();
+    if (validator.startsWith("\"") || validator.startsWith("W/")) {
+      return EntityTags.strongMatch(validator, entityTag);
+    }
+    ZonedDateTime date = parseHttpDate(validator);
+    return date != null && date.toEpochSecond() == lastModified / 1000;
+  }
+
+  /**
+   * evaluate If-Modified-Since, which is ignored when request carries If-None-Match.
+   *
+   * @param request http request
+   * @param lastModified last modified time of file in millis
+   * @return true if file is not modified since the requested date
+   */
+  private boolean isNotModifiedSince(HttpServerRequest request, long lastModified) {
+    if (request == null
+        || request.getHeader(HEADER_IF_NONE_MATCH) != null
+        || request.getHeader(HEADER_IF_MODIFIED_SINCE) == null) {
+      return false;
+    }
+    ZonedDateTime since = parseHttpDate(request.getHeader(HEADER_IF_MODIFIED_SINCE).trim());
+    return since != null && lastModified / 1000 <= since.toEpochSecond();
+  }
+
+  private ZonedDateTime parseHttpDate(String date) {
+    try {
+      return ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+
+  private String toHttpDate(long epochMillis) {
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+        ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC));
+  }
+
+  private boolean isFileNotFound(Throwable cause) {
+    Throwable throwable = cause;
+    while (throwable != null) {
+      if (throwable instanceof NoSuchFileException) {
+        return true;
+      }
+      throwable = throwable.getCause();
+    }
+    return false;
+  }
+
+  private JsonObject propsFailureResponse(Throwable cause) {
+    if (isFileNotFound(cause)) {
+      return new JsonObject()
+          .put("type", HttpStatus.SC_NOT_FOUND)
+          .put("title", "urn:dx:rs:resourceNotFound")
+          .put("details", "File does not exist");
+    }
+    return openFailureResponse(cause);
+  }
+
+  private JsonObject uploadFailureResponse() {
+    return new JsonObject()
+        .put("type", HttpStatus.SC_INTERNAL_SERVER_ERROR)
+        .put("title", HttpStatusCode.INTERNAL_SERVER_ERROR.getUrn())
+        .put(ERROR_MESSAGE, "failed to upload file.");
+  }
+
+  private JsonObject openFailureResponse(Throwable cause) {
+    return new JsonObject()
+        .put("type", HttpStatus.SC_INTERNAL_SERVER_ERROR)
+        .put("title", "Something went wrong while downloading file.")
+        .put("details", cause.getMessage());
+  }
+
   /** {@inheritDoc} */
   @Override
   public Future<JsonObject> delete(String fileName, String filePath) {
+    return locate(fileName, filePath).compose(this::deleteFile);
+  }
+
+  private Future<JsonObject> deleteFile(String path) {
     Promise<JsonObject> promise = Promise.promise();
     JsonObject finalResponse = new JsonObject();
-    String path = directory + filePath + "/" + fileName;
     LOGGER.info("filePath : " + path);
     fileSystem.exists(
         path,
@@ -155,6 +648,7 @@ public class LocalStorageFileServiceImpl implements FileService {
                       promise.fail(finalResponse.toString());
                     } else {
                       LOGGER.info("File deleted");
+                      deleteCompressed(path);
                       finalResponse.put("type", HttpStatus.SC_OK);
                       finalResponse.put("title", "urn:dx:rs:Success");
                       finalResponse.put("details", "File Deleted");
@@ -176,22 +670,45 @@ public class LocalStorageFileServiceImpl implements FileService {
     return promise.future();
   }
 
-  private void createLocalDirectory(String filePath) {
-    if (directory.charAt(directory.length() - 1) != '/') {
-      fileSystem.mkdirsBlocking(directory + "/" + filePath);
-    } else {
-      fileSystem.mkdirsBlocking(directory + filePath);
+  private void precompress(String path) {
+    if (compressor != null) {
+      compressor.precompressInBackground(path);
+    }
+  }
+
+  /**
+   * delete compressed sibling of a deleted file, if any.
+   *
+   * @param path path of deleted file
+   */
+  void deleteCompressed(String path) {
+    if (compressor != null) {
+      fileSystem.delete(FileCompressor.compressedPath(path), ignore -> {});
     }
   }
 
-  private String getLocalDirectory(String fileName, String uploadDir) {
-    String path;
-    if (directory.charAt(directory.length() - 1) != '/') {
-      path = directory + "/" + uploadDir + "/" + fileName;
-    } else {
-      path = directory + uploadDir + "/" + fileName;
+  /**
+   * path of a stored file. While files stored in flat layout are being migrated to a sharded
+   * layout, a file not found in its shard is looked up in flat layout as well.
+   *
+   * @param fileName name of file
+   * @param uploadDir directory of resource relative to upload directory
+   * @return path of file, path in current layout if file does not exist at all
+   */
+  Future<String> locate(String fileName, String uploadDir) {
+    String path = layout.getPath(uploadDir, fileName);
+    if (!layout.hasFlatFiles()) {
+      return Future.succeededFuture(path);
     }
-    return path;
+    String flatPath = layout.getFlatPath(uploadDir, fileName);
+    return fileSystem
+        .exists(path)
+        .compose(
+            inShard ->
+                inShard
+                    ? Future.succeededFuture(path)
+                    : fileSystem.exists(flatPath).map(flat -> flat ? flatPath : path))
+        .otherwise(path);
   }
 
   public String getFileExtension(String fileName) {
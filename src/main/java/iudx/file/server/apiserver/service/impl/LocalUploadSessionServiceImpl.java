@@ -0,0 +1,340 @@
+package iudx.file.server.apiserver.service.impl;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.service.UploadSessionService;
+import iudx.file.server.apiserver.utilities.ChecksumWriteStream;
+import iudx.file.server.apiserver.utilities.FileLayout;
+import iudx.file.server.apiserver.utilities.HttpStatusCode;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.compress.utils.FileNameUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@inheritDoc}
+ *
+ * <p>Partial data of a session is kept in {@code .sessions} directory inside upload directory, so
+ * that a finalized file is only renamed into its final location. Session state is kept in memory
+ * and is shared by all verticle instances of a node, since chunks of a session can be received on
+ * connections handled by different instances. A session is only used by the user who created it.
+ */
+public class LocalUploadSessionServiceImpl implements UploadSessionService {
+
+  private static final Logger LOGGER = LogManager.getLogger(LocalUploadSessionServiceImpl.class);
+  private static final String SESSION_DIR = ".sessions";
+  private static final Map<String, UploadSession> SESSIONS = new ConcurrentHashMap<>();
+
+  private final FileSystem fileSystem;
+  private final String directory;
+  private final FileLayout layout;
+  private final long sessionTimeout;
+
+  /**
+   * LocalUploadSessionServiceImpl.
+   *
+   * @param fileSystem vert.x FileSystem
+   * @param directory upload directory
+   * @param sessionTimeout time in millis after which an inactive session is purged
+   */
+  public LocalUploadSessionServiceImpl(
+      FileSystem fileSystem, String directory, long sessionTimeout) {
+    this(fileSystem, FileLayout.flat(directory), sessionTimeout);
+  }
+
+  /**
+   * LocalUploadSessionServiceImpl.
+   *
+   * @param fileSystem vert.x FileSystem
+   * @param layout layout of files in upload directory
+   * @param sessionTimeout time in millis after which an inactive session is purged
+   */
+  public LocalUploadSessionServiceImpl(
+      FileSystem fileSystem, FileLayout layout, long sessionTimeout) {
+    this.fileSystem = fileSystem;
+    this.directory = layout.getDirectory();
+    this.layout = layout;
+    this.sessionTimeout = sessionTimeout;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> create(
+      String resourceId, String userId, String fileName, long length, JsonObject metadata) {
+    Promise<JsonObject> promise = Promise.promise();
+    UploadSession session =
+        new UploadSession(
+            UUID.randomUUID().toString(), resourceId, userId, fileName, length, metadata);
+    String partPath = getPartPath(session.getSessionId());
+    fileSystem.mkdirs(
+        directory + SESSION_DIR,
+        mkdirHandler -> {
+          if (mkdirHandler.failed()) {
+            LOGGER.error("failed to create session directory : " + mkdirHandler.cause());
+            promise.fail(failureResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, null).toString());
+            return;
+          }
+          fileSystem.createFile(
+              partPath,
+              createHandler -> {
+                if (createHandler.failed()) {
+                  LOGGER.error("failed to create session file : " + createHandler.cause());
+                  promise.fail(
+                      failureResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, null).toString());
+                  return;
+                }
+                SESSIONS.put(session.getSessionId(), session);
+                LOGGER.info("upload session created : " + session.getSessionId());
+                promise.complete(session.toJson());
+              });
+        });
+    return promise.future();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> writeChunk(
+      String sessionId, String resourceId, String userId, long offset, ReadStream<Buffer> chunk) {
+    Promise<JsonObject> promise = Promise.promise();
+    UploadSession session = getSession(sessionId, resourceId);
+    if (session == null) {
+      return Future.failedFuture(sessionNotFound(sessionId).toString());
+    }
+    if (!session.getUserId().equals(userId)) {
+      return Future.failedFuture(notOwner(sessionId).toString());
+    }
+    if (offset > session.getLength()) {
+      return Future.failedFuture(
+          failureResponse(HttpStatusCode.BAD_REQUEST, "offset is beyond length of file")
+              .toString());
+    }
+    // released once chunk is written or failed, session is not finalized while it is written.
+    if (!session.beginWrite()) {
+      return Future.failedFuture(
+          failureResponse(HttpStatusCode.CONFLICT, "upload session is being finalized")
+              .toString());
+    }
+    session.touch();
+    fileSystem.open(
+        getPartPath(sessionId),
+        new OpenOptions().setWrite(true).setCreate(false).setTruncateExisting(false),
+        openHandler -> {
+          if (openHandler.failed()) {
+            LOGGER.error("failed to open session file : " + openHandler.cause());
+            session.endWrite();
+            promise.fail(failureResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, null).toString());
+            return;
+          }
+          AsyncFile asyncFile = openHandler.result();
+          asyncFile.setWritePos(offset);
+          long limit = session.getLength() - offset;
+          ChecksumWriteStream chunkStream = new ChecksumWriteStream(asyncFile, limit);
+          chunk.pipeTo(
+              chunkStream,
+              pipeHandler -> {
+                session.endWrite();
+                if (pipeHandler.failed()) {
+                  LOGGER.error("failed to write chunk : " + pipeHandler.cause());
+                  asyncFile.close();
+                  HttpStatusCode code =
+                      chunkStream.size() > limit
+                          ? HttpStatusCode.REQUEST_TOO_LONG
+                          : HttpStatusCode.INTERNAL_SERVER_ERROR;
+                  promise.fail(failureResponse(code, pipeHandler.cause().getMessage()).toString());
+                  return;
+                }
+                session.addRange(offset, offset + chunkStream.size());
+                session.touch();
+                promise.complete(
+                    session
+                        .toJson()
+                        .put("chunkLength", chunkStream.size())
+                        .put("chunkChecksum", chunkStream.checksum()));
+              });
+        });
+    return promise.future();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> status(String sessionId, String resourceId, String userId) {
+    UploadSession session = getSession(sessionId, resourceId);
+    if (session == null) {
+      return Future.failedFuture(sessionNotFound(sessionId).toString());
+    }
+    if (!session.getUserId().equals(userId)) {
+      return Future.failedFuture(notOwner(sessionId).toString());
+    }
+    session.touch();
+    return Future.succeededFuture(session.toJson());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> complete(
+      String sessionId, String resourceId, String userId, String filePath) {
+    Promise<JsonObject> promise = Promise.promise();
+    UploadSession session = getSession(sessionId, resourceId);
+    if (session == null) {
+      return Future.failedFuture(sessionNotFound(sessionId).toString());
+    }
+    if (!session.getUserId().equals(userId)) {
+      return Future.failedFuture(notOwner(sessionId).toString());
+    }
+    if (!session.markCompleting()) {
+      return Future.failedFuture(
+          failureResponse(HttpStatusCode.CONFLICT, "upload session is being finalized")
+              .toString());
+    }
+    // no new chunk is accepted once marked, chunks accepted before must be written first.
+    if (session.isWriting()) {
+      session.unmarkCompleting();
+      return Future.failedFuture(
+          failureResponse(HttpStatusCode.CONFLICT, "chunks of upload session are being written")
+              .toString());
+    }
+    if (!session.isComplete()) {
+      session.unmarkCompleting();
+      return Future.failedFuture(
+          failureResponse(
+                  HttpStatusCode.CONFLICT,
+                  "upload incomplete, received "
+                      + session.getOffset()
+                      + " of "
+                      + session.getLength()
+                      + " bytes")
+              .toString());
+    }
+
+    String partPath = getPartPath(sessionId);
+    String fileId = UUID.randomUUID() + "." + FileNameUtils.getExtension(session.getFileName());
+    String fileDir = layout.getFileDirectory(filePath, fileId);
+    String fileUploadPath = layout.getPath(filePath, fileId);
+    JsonObject result = new JsonObject();
+    checksum(partPath)
+        .compose(
+            checksum -> {
+              result.put(FILE_CHECKSUM, checksum);
+              return fileSystem.mkdirs(fileDir);
+            })
+        .compose(
+            mkdirs ->
+                fileSystem.move(
+                    partPath, fileUploadPath, new CopyOptions().setReplaceExisting(true)))
+        .onComplete(
+            handler -> {
+              if (handler.failed()) {
+                LOGGER.error("failed to finalize upload session : " + handler.cause());
+                session.unmarkCompleting();
+                promise.fail(
+                    failureResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, null).toString());
+                return;
+              }
+              SESSIONS.remove(sessionId);
+              LOGGER.info("upload session finalized : " + sessionId + " -> " + fileUploadPath);
+              promise.complete(
+                  result
+                      .put("fileName", session.getFileName())
+                      .put("uploaded_path", fileUploadPath)
+                      .put("file-id", fileId)
+                      .put(FILE_SIZE, session.getLength())
+                      .put("metadata", session.getMetadata()));
+            });
+    return promise.future();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void purgeExpiredSessions() {
+    long now = System.currentTimeMillis();
+    SESSIONS.forEach(
+        (sessionId, session) -> {
+          if (!session.isCompleting()
+              && !session.isWriting()
+              && session.isExpired(now, sessionTimeout)
+              && SESSIONS.remove(sessionId, session)) {
+            LOGGER.info("purging expired upload session : " + sessionId);
+            fileSystem.delete(
+                getPartPath(sessionId),
+                deleteHandler -> {
+                  if (deleteHandler.failed()) {
+                    LOGGER.error("failed to delete session file : " + deleteHandler.cause());
+                  }
+                });
+          }
+        });
+  }
+
+  private Future<String> checksum(String path) {
+    Promise<String> promise = Promise.promise();
+    fileSystem.open(
+        path,
+        new OpenOptions().setRead(true),
+        openHandler -> {
+          if (openHandler.failed()) {
+            promise.fail(openHandler.cause());
+            return;
+          }
+          AsyncFile asyncFile = openHandler.result();
+          Hasher hasher = Hashing.sha256().newHasher();
+          asyncFile.exceptionHandler(
+              cause -> {
+                asyncFile.close();
+                promise.tryFail(cause);
+              });
+          asyncFile.endHandler(
+              end -> {
+                asyncFile.close();
+                promise.tryComplete(hasher.hash().toString());
+              });
+          asyncFile.handler(buffer -> hasher.putBytes(buffer.getByteBuf().nioBuffer()));
+        });
+    return promise.future();
+  }
+
+  private UploadSession getSession(String sessionId, String resourceId) {
+    UploadSession session = SESSIONS.get(sessionId);
+    if (session == null || !session.getResourceId().equals(resourceId)) {
+      return null;
+    }
+    return session;
+  }
+
+  private String getPartPath(String sessionId) {
+    return directory + SESSION_DIR + "/" + sessionId + ".part";
+  }
+
+  private JsonObject sessionNotFound(String sessionId) {
+    return new JsonObject()
+        .put("type", HttpStatusCode.NOT_FOUND.getValue())
+        .put("title", ResponseUrn.RESOURCE_NOT_FOUND.getUrn())
+        .put(ERROR_MESSAGE, "upload session not found : " + sessionId);
+  }
+
+  private JsonObject notOwner(String sessionId) {
+    return failureResponse(
+        HttpStatusCode.FORBIDDEN, "upload session belongs to another user : " + sessionId);
+  }
+
+  private JsonObject failureResponse(HttpStatusCode code, String message) {
+    JsonObject json = new JsonObject().put("type", code.getValue()).put("title", code.getUrn());
+    if (message != null) {
+      json.put(ERROR_MESSAGE, message);
+    }
+    return json;
+  }
+}
@@ -0,0 +1,253 @@
+package iudx.file.server.apiserver.service.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.apiserver.utilities.S3RequestSigner;
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * S3Client.
+ *
+ * <h1>S3Client</h1>
+ *
+ * <p>Minimal client for the object operations of S3 API used by {@link S3FileServiceImpl}, objects
+ * are addressed path style ({@code /bucket/key}) which is supported by AWS S3, MinIO and other S3
+ * compatible stores. Connections to the store are pooled and kept alive.
+ */
+final class S3Client {
+
+  private static final Logger LOGGER = LogManager.getLogger(S3Client.class);
+  private static final DateTimeFormatter AMZ_DATE =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+  private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+  private static final int DEFAULT_MAX_POOL_SIZE = 32;
+
+  private final HttpClient httpClient;
+  private final S3RequestSigner signer;
+  private final String host;
+  private final String bucket;
+
+  /**
+   * S3Client.
+   *
+   * @param vertx vertx instance
+   * @param config object store config, {@code endpoint, region, bucket, accessKey, secretKey,
+   *     maxPoolSize}
+   */
+  S3Client(Vertx vertx, JsonObject config) {
+    URI endpoint = URI.create(config.getString("endpoint"));
+    boolean ssl = "https".equalsIgnoreCase(endpoint.getScheme());
+    int port = endpoint.getPort() == -1 ? (ssl ? 443 : 80) : endpoint.getPort();
+    this.host = endpoint.getPort() == -1 ? endpoint.getHost() : endpoint.getHost() + ":" + port;
+    this.bucket = config.getString("bucket");
+    this.signer =
+        new S3RequestSigner(
+            config.getString("accessKey"),
+            config.getString("secretKey"),
+            config.getString("region", "us-east-1"));
+    HttpClientOptions options =
+        new HttpClientOptions()
+            .setDefaultHost(endpoint.getHost())
+            .setDefaultPort(port)
+            .setSsl(ssl)
+            .setKeepAlive(true)
+            .setMaxPoolSize(config.getInteger("maxPoolSize", DEFAULT_MAX_POOL_SIZE));
+    this.httpClient = vertx.createHttpClient(options);
+  }
+
+  /**
+   * send a signed request for an object, response is returned unread so that it can be streamed,
+   * handlers of response have to be set in the same event loop turn.
+   *
+   * @param method http method
+   * @param key object key
+   * @param query query parameters
+   * @param headers additional headers, signed along with request
+   * @param body request body, null for bodyless requests
+   * @return response
+   */
+  Future<HttpClientResponse> send(
+      HttpMethod method,
+      String key,
+      Map<String, String> query,
+      Map<String, String> headers,
+      Buffer body) {
+    String path = "/" + bucket + "/" + key;
+    String amzDate = AMZ_DATE.format(ZonedDateTime.now());
+    Map<String, String> signedHeaders = new HashMap<>(headers);
+    signedHeaders.put("host", host);
+    signedHeaders.put("x-amz-date", amzDate);
+    signedHeaders.put(
+        "x-amz-content-sha256",
+        body == null ? S3RequestSigner.EMPTY_PAYLOAD : S3RequestSigner.UNSIGNED_PAYLOAD);
+
+    MultiMap requestHeaders = MultiMap.caseInsensitiveMultiMap().addAll(signedHeaders);
+    requestHeaders.add(
+        "Authorization", signer.authorization(method.name(), path, query, signedHeaders, amzDate));
+    String uri = S3RequestSigner.uriEncode(path, false);
+    if (!query.isEmpty()) {
+      uri += "?" + S3RequestSigner.canonicalQuery(query);
+    }
+    RequestOptions options =
+        new RequestOptions().setMethod(method).setURI(uri).setHeaders(requestHeaders);
+    return httpClient
+        .request(options)
+        .compose(request -> body == null ? request.send() : request.send(body));
+  }
+
+  /**
+   * send a signed request and read its response body, non 2xx responses are failed with {@link
+   * S3Exception}.
+   */
+  Future<HttpClientResponse> call(
+      HttpMethod method,
+      String key,
+      Map<String, String> query,
+      Map<String, String> headers,
+      Buffer body) {
+    return send(method, key, query, headers, body)
+        .compose(
+            response ->
+                response
+                    .body()
+                    .compose(
+                        responseBody -> {
+                          if (response.statusCode() / 100 == 2) {
+                            return Future.succeededFuture(response);
+                          }
+                          LOGGER.debug(
+                              "object store responded " + response.statusCode() + responseBody);
+                          return Future.failedFuture(
+                              new S3Exception(method, key, response.statusCode()));
+                        }));
+  }
+
+  Future<Void> putObject(String key, Buffer body) {
+    return call(HttpMethod.PUT, key, Collections.emptyMap(), Collections.emptyMap(), body)
+        .mapEmpty();
+  }
+
+  /** object metadata, fails with {@link S3Exception} of status 404 if object does not exist. */
+  Future<MultiMap> headObject(String key) {
+    return call(HttpMethod.HEAD, key, Collections.emptyMap(), Collections.emptyMap(), null)
+        .map(HttpClientResponse::headers);
+  }
+
+  Future<Void> deleteObject(String key) {
+    return call(HttpMethod.DELETE, key, Collections.emptyMap(), Collections.emptyMap(), null)
+        .mapEmpty();
+  }
+
+  Future<String> createMultipartUpload(String key) {
+    return send(
+            HttpMethod.POST,
+            key,
+            Collections.singletonMap("uploads", ""),
+            Collections.emptyMap(),
+            null)
+        .compose(
+            response ->
+                response
+                    .body()
+                    .compose(
+                        body -> {
+                          Matcher matcher = UPLOAD_ID.matcher(body.toString());
+                          if (response.statusCode() != 200 || !matcher.find()) {
+                            return Future.failedFuture(
+                                new S3Exception(HttpMethod.POST, key, response.statusCode()));
+                          }
+                          return Future.succeededFuture(matcher.group(1));
+                        }));
+  }
+
+  /** upload a part of multipart upload, returns ETag of part. */
+  Future<String> uploadPart(String key, String uploadId, int partNumber, Buffer part) {
+    Map<String, String> query = new HashMap<>();
+    query.put("partNumber", String.valueOf(partNumber));
+    query.put("uploadId", uploadId);
+    return call(HttpMethod.PUT, key, query, Collections.emptyMap(), part)
+        .map(response -> response.getHeader("ETag"));
+  }
+
+  /**
+   * complete multipart upload.
+   *
+   * @param key object key
+   * @param uploadId multipart upload id
+   * @param etags ETags of parts, in order of part number starting from 1
+   */
+  Future<Void> completeMultipartUpload(String key, String uploadId, List<String> etags) {
+    StringBuilder xml = new StringBuilder("<CompleteMultipartUpload>");
+    for (int i = 0; i < etags.size(); i++) {
+      xml.append("<Part><PartNumber>")
+          .append(i + 1)
+          .append("</PartNumber><ETag>")
+          .append(etags.get(i))
+          .append("</ETag></Part>");
+    }
+    xml.append("</CompleteMultipartUpload>");
+    // an error can be reported with status 200 once the upload has started completing.
+    return send(
+            HttpMethod.POST,
+            key,
+            Collections.singletonMap("uploadId", uploadId),
+            Collections.emptyMap(),
+            Buffer.buffer(xml.toString()))
+        .compose(
+            response ->
+                response
+                    .body()
+                    .compose(
+                        body -> {
+                          if (response.statusCode() != 200 || body.toString().contains("<Error>")) {
+                            return Future.failedFuture(
+                                new S3Exception(HttpMethod.POST, key, response.statusCode()));
+                          }
+                          return Future.succeededFuture();
+                        }));
+  }
+
+  Future<Void> abortMultipartUpload(String key, String uploadId) {
+    return call(
+            HttpMethod.DELETE,
+            key,
+            Collections.singletonMap("uploadId", uploadId),
+            Collections.emptyMap(),
+            null)
+        .mapEmpty();
+  }
+
+  /** failure response from object store. */
+  static final class S3Exception extends RuntimeException {
+
+    private final int statusCode;
+
+    S3Exception(HttpMethod method, String key, int statusCode) {
+      super(method + " " + key + " failed with status " + statusCode);
+      this.statusCode = statusCode;
+    }
+
+    int getStatusCode() {
+      return statusCode;
+    }
+  }
+}
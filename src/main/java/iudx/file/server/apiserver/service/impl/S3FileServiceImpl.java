@@ -0,0 +1,327 @@
+package iudx.file.server.apiserver.service.impl;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.service.FileService;
+import iudx.file.server.apiserver.utilities.ChecksumWriteStream;
+import iudx.file.server.apiserver.utilities.EntityTags;
+import iudx.file.server.apiserver.utilities.HttpStatusCode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.commons.compress.utils.FileNameUtils;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@inheritDoc}
+ *
+ * <p>Files are stored as objects of a bucket in an S3 compatible object store (AWS S3, MinIO),
+ * object key is the usual {@code resourceGroup/id/uuid.ext} path of file. Since no file is kept on
+ * the node, any node of cluster can serve any file.
+ *
+ * <p>Uploads are streamed to the store as parallel multipart uploads and downloads (including a
+ * single requested range) are streamed from the store to client.
+ */
+public class S3FileServiceImpl implements FileService {
+
+  private static final Logger LOGGER = LogManager.getLogger(S3FileServiceImpl.class);
+  private static final String STATUS_CODE = "statusCode";
+  private static final String BYTES_SERVED = "bytesServed";
+  private static final int MIN_PART_SIZE = 5; // MiB, minimum allowed by S3 except last part
+  private static final int DEFAULT_PART_SIZE = 8; // MiB
+  private static final int DEFAULT_UPLOAD_CONCURRENCY = 4;
+
+  private final Vertx vertx;
+  private final S3Client client;
+  private final String bucket;
+  private final int partSize;
+  private final int uploadConcurrency;
+
+  /**
+   * S3FileServiceImpl.
+   *
+   * <pre>
+   * {
+   *    "endpoint": "https://minio.example.com",
+   *    "region": "us-east-1",
+   *    "bucket": "files",
+   *    "accessKey": "",
+   *    "secretKey": "",
+   *    "partSize": 8,
+   *    "uploadConcurrency": 4,
+   *    "maxPoolSize": 32
+   * }
+   * </pre>
+   *
+   * @param vertx vertx instance
+   * @param config object store config, part size is in MiB
+   */
+  public S3FileServiceImpl(Vertx vertx, JsonObject config) {
+    this.vertx = vertx;
+    this.client = new S3Client(vertx, config);
+    this.bucket = config.getString("bucket");
+    this.partSize =
+        Math.max(MIN_PART_SIZE, config.getInteger("partSize", DEFAULT_PART_SIZE)) * 1024 * 1024;
+    this.uploadConcurrency =
+        Math.max(1, config.getInteger("uploadConcurrency", DEFAULT_UPLOAD_CONCURRENCY));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> upload(HttpServerFileUpload upload, String filePath) {
+    return upload(upload, UUID.randomUUID().toString(), filePath);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> upload(HttpServerFileUpload upload, String fileName, String filePath) {
+    return store(upload, upload.filename(), fileName, filePath)
+        .map(
+            stored ->
+                stored
+                    .put("content-type", upload.contentType())
+                    .put("content-transfer-encoding", upload.contentTransferEncoding())
+                    .put("char-set", upload.charset()))
+        .recover(this::uploadFailure);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> download(
+      String fileName, String filePath, HttpServerResponse response) {
+    return download(fileName, filePath, null, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>a single requested range is served by the store, complete object is sent for multiple
+   * ranges or a conditional range (If-Range) which does not match entity tag of file.
+   * If-Modified-Since is evaluated by the store against Last-Modified of object.
+   */
+  @Override
+  public Future<JsonObject> download(
+      String fileName, String filePath, HttpServerRequest request, HttpServerResponse response) {
+    Promise<JsonObject> promise = Promise.promise();
+    String key = filePath + "/" + fileName;
+    String range = getForwardedRange(request, response.headers().get(HEADER_ETAG));
+    Map<String, String> headers = new HashMap<>();
+    if (range != null) {
+      headers.put(HEADER_RANGE, range);
+    }
+    if (request != null
+        && request.getHeader(HEADER_IF_NONE_MATCH) == null
+        && request.getHeader(HEADER_IF_MODIFIED_SINCE) != null) {
+      headers.put(HEADER_IF_MODIFIED_SINCE, request.getHeader(HEADER_IF_MODIFIED_SINCE));
+    }
+    LOGGER.info("s3 object : " + key);
+
+    client
+        .send(HttpMethod.GET, key, Collections.emptyMap(), headers, null)
+        .onFailure(
+            cause -> {
+              LOGGER.error(cause);
+              promise.fail(downloadFailureResponse(cause.getMessage()).toString());
+            })
+        .onSuccess(
+            objectResponse -> {
+              int statusCode = objectResponse.statusCode();
+              if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                objectResponse.body();
+                LOGGER.error("File does not exist");
+                promise.fail(
+                    new JsonObject()
+                        .put("type", HttpStatus.SC_NOT_FOUND)
+                        .put("title", "urn:dx:rs:resourceNotFound")
+                        .put("details", "File does not exist")
+                        .toString());
+                return;
+              }
+              response.putHeader(HEADER_ACCEPT_RANGES, "bytes");
+              copyHeader(objectResponse, response, HEADER_LAST_MODIFIED);
+              copyHeader(objectResponse, response, HEADER_CONTENT_RANGE);
+              if (statusCode == HttpStatus.SC_NOT_MODIFIED
+                  || statusCode == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                objectResponse.body();
+                LOGGER.debug("status " + statusCode + " without content for file : " + fileName);
+                response.setStatusCode(statusCode).end();
+                promise.complete(
+                    new JsonObject().put(STATUS_CODE, statusCode).put(BYTES_SERVED, 0L));
+                return;
+              }
+              if (statusCode != HttpStatus.SC_OK && statusCode != HttpStatus.SC_PARTIAL_CONTENT) {
+                objectResponse.body();
+                LOGGER.error("object store responded " + statusCode + " for " + key);
+                promise.fail(
+                    downloadFailureResponse("object store error " + statusCode).toString());
+                return;
+              }
+              response.setStatusCode(statusCode);
+              response.putHeader("content-type", "application/octet-stream");
+              response.putHeader("Content-Disposition", "attachment; filename=" + fileName);
+              copyHeader(objectResponse, response, HEADER_CONTENT_LENGTH);
+              objectResponse.pipeTo(
+                  response,
+                  pipeHandler -> {
+                    if (pipeHandler.failed()) {
+                      LOGGER.error("failed to send file : " + pipeHandler.cause());
+                    }
+                    promise.complete(
+                        new JsonObject()
+                            .put(STATUS_CODE, statusCode)
+                            .put(BYTES_SERVED, response.bytesWritten()));
+                  });
+            });
+    return promise.future();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>not supported, objects would have to be pulled through the server to be archived.
+   */
+  @Override
+  public Future<JsonObject> downloadArchive(List<JsonObject> files, HttpServerResponse response) {
+    return Future.failedFuture(
+        new JsonObject()
+            .put("type", HttpStatusCode.NOT_IMPLEMENTED.getValue())
+            .put("title", HttpStatusCode.NOT_IMPLEMENTED.getUrn())
+            .put(ERROR_MESSAGE, "bulk download is not supported by object storage.")
+            .toString());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Future<JsonObject> delete(String fileName, String filePath) {
+    Promise<JsonObject> promise = Promise.promise();
+    String key = filePath + "/" + fileName;
+    LOGGER.info("s3 object : " + key);
+    // delete of a missing object succeeds in S3, existence is checked to report it.
+    client
+        .headObject(key)
+        .compose(exists -> client.deleteObject(key))
+        .onComplete(
+            handler -> {
+              JsonObject finalResponse = new JsonObject();
+              if (handler.succeeded()) {
+                LOGGER.info("File deleted");
+                finalResponse.put("type", HttpStatus.SC_OK);
+                finalResponse.put("title", "urn:dx:rs:Success");
+                finalResponse.put("details", "File Deleted");
+                promise.complete(finalResponse);
+              } else if (isNotFound(handler.cause())) {
+                LOGGER.error("File does not exist");
+                finalResponse.put("type", HttpStatus.SC_NOT_FOUND);
+                finalResponse.put("title", ResponseUrn.RESOURCE_NOT_FOUND.getUrn());
+                finalResponse.put("details", "File does not exist");
+                promise.fail(finalResponse.toString());
+              } else {
+                LOGGER.error("failed to delete file : " + handler.cause());
+                finalResponse.put("type", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                finalResponse.put("title", handler.cause().toString());
+                promise.fail(finalResponse.toString());
+              }
+            });
+    return promise.future();
+  }
+
+  private Future<JsonObject> store(
+      ReadStream<Buffer> stream, String originalName, String uuid, String filePath) {
+    String fileId = uuid + "." + FileNameUtils.getExtension(originalName);
+    String key = filePath + "/" + fileId;
+    S3MultipartWriteStream objectStream =
+        new S3MultipartWriteStream(client, key, partSize, uploadConcurrency);
+    ChecksumWriteStream checksumStream = new ChecksumWriteStream(objectStream, MAX_SIZE);
+
+    return stream
+        .pipeTo(checksumStream)
+        .recover(
+            failure -> {
+              objectStream.abort();
+              if (checksumStream.size() <= MAX_SIZE) {
+                return Future.failedFuture(failure);
+              }
+              return Future.failedFuture(
+                  new JsonObject()
+                      .put("type", HttpStatusCode.REQUEST_TOO_LONG.getValue())
+                      .put("title", HttpStatusCode.REQUEST_TOO_LONG.getUrn())
+                      .put(ERROR_MESSAGE, failure.getMessage())
+                      .toString());
+            })
+        .map(
+            stored ->
+                new JsonObject()
+                    .put("fileName", originalName)
+                    .put("size", checksumStream.size() + " Bytes")
+                    .put("uploaded_path", "s3://" + bucket + "/" + key)
+                    .put("file-id", fileId)
+                    .put(FILE_SIZE, checksumStream.size())
+                    .put(FILE_CHECKSUM, checksumStream.checksum()));
+  }
+
+  /** Range header to forward to store, store serves a single range only. */
+  private String getForwardedRange(HttpServerRequest request, String entityTag) {
+    if (request == null) {
+      return null;
+    }
+    String ifRange = request.getHeader(HEADER_IF_RANGE);
+    if (ifRange != null && !EntityTags.strongMatch(ifRange, entityTag)) {
+      return null;
+    }
+    String range = request.getHeader(HEADER_RANGE);
+    if (range == null || range.contains(",")) {
+      return null;
+    }
+    return range.trim();
+  }
+
+  private void copyHeader(HttpClientResponse from, HttpServerResponse to, String name) {
+    String value = from.getHeader(name);
+    if (value != null) {
+      to.putHeader(name, value);
+    }
+  }
+
+  private boolean isNotFound(Throwable cause) {
+    return cause instanceof S3Client.S3Exception
+        && ((S3Client.S3Exception) cause).getStatusCode() == HttpStatus.SC_NOT_FOUND;
+  }
+
+  private Future<JsonObject> uploadFailure(Throwable cause) {
+    LOGGER.error("failed uploading : " + cause);
+    JsonObject failure = new JsonObject();
+    try {
+      // failures already in response format are passed as is.
+      failure = new JsonObject(cause.getMessage());
+    } catch (Exception ex) {
+      failure
+          .put("type", HttpStatusCode.INTERNAL_SERVER_ERROR.getValue())
+          .put("title", HttpStatusCode.INTERNAL_SERVER_ERROR.getUrn())
+          .put(ERROR_MESSAGE, "failed to upload file.");
+    }
+    return Future.failedFuture(failure.toString());
+  }
+
+  private JsonObject downloadFailureResponse(String details) {
+    return new JsonObject()
+        .put("type", HttpStatus.SC_INTERNAL_SERVER_ERROR)
+        .put("title", "Something went wrong while downloading file.")
+        .put("details", details);
+  }
+}
@@ -0,0 +1,171 @@
+package iudx.file.server.apiserver.service.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * S3MultipartWriteStream.
+ *
+ * <h1>S3MultipartWriteStream</h1>
+ *
+ * <p>WriteStream to an object of S3 compatible store, written bytes are cut into parts which are
+ * uploaded in parallel as a multipart upload. At most {@code concurrency} parts are in flight, the
+ * stream reports a full write queue beyond that so a pipe feeding it is paused. Objects smaller
+ * than a part are uploaded with a single request.
+ */
+final class S3MultipartWriteStream implements WriteStream<Buffer> {
+
+  private static final Logger LOGGER = LogManager.getLogger(S3MultipartWriteStream.class);
+
+  private final S3Client client;
+  private final String key;
+  private final int partSize;
+  private final int concurrency;
+  private final List<Future<String>> parts = new ArrayList<>();
+  private Buffer current = Buffer.buffer();
+  private Future<String> uploadId;
+  private int inFlight;
+  private Throwable failure;
+  private Handler<Void> drainHandler;
+  private Handler<Throwable> exceptionHandler;
+
+  S3MultipartWriteStream(S3Client client, String key, int partSize, int concurrency) {
+    this.client = client;
+    this.key = key;
+    this.partSize = partSize;
+    this.concurrency = concurrency;
+  }
+
+  @Override
+  public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public Future<Void> write(Buffer data) {
+    Promise<Void> promise = Promise.promise();
+    write(data, promise);
+    return promise.future();
+  }
+
+  @Override
+  public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+    if (failure != null) {
+      if (handler != null) {
+        handler.handle(Future.failedFuture(failure));
+      }
+      return;
+    }
+    current.appendBuffer(data);
+    while (current.length() >= partSize) {
+      uploadPart(current.getBuffer(0, partSize));
+      current = current.getBuffer(partSize, current.length());
+    }
+    if (handler != null) {
+      handler.handle(Future.succeededFuture());
+    }
+  }
+
+  @Override
+  public Future<Void> end() {
+    Promise<Void> promise = Promise.promise();
+    end(promise);
+    return promise.future();
+  }
+
+  @Override
+  public void end(Handler<AsyncResult<Void>> handler) {
+    Future<Void> endFuture;
+    if (failure != null) {
+      endFuture = abort().transform(aborted -> Future.failedFuture(failure));
+    } else if (uploadId == null) {
+      endFuture = client.putObject(key, current);
+    } else {
+      if (current.length() > 0) {
+        uploadPart(current);
+      }
+      current = Buffer.buffer();
+      endFuture =
+          Future.all(new ArrayList<>(parts))
+              .compose(
+                  all ->
+                      uploadId.compose(
+                          id -> client.completeMultipartUpload(key, id, all.<String>list())))
+              .recover(
+                  cause -> {
+                    LOGGER.error("multipart upload of " + key + " failed : " + cause);
+                    return abort().transform(aborted -> Future.failedFuture(cause));
+                  });
+    }
+    if (handler != null) {
+      endFuture.onComplete(handler);
+    }
+  }
+
+  /**
+   * abort multipart upload so that uploaded parts are discarded by store, to be used when data
+   * written to stream is not going to be ended.
+   */
+  Future<Void> abort() {
+    current = Buffer.buffer();
+    if (uploadId == null) {
+      return Future.succeededFuture();
+    }
+    return uploadId
+        .compose(id -> client.abortMultipartUpload(key, id))
+        .onFailure(cause -> LOGGER.warn("failed to abort multipart upload of " + key))
+        .otherwiseEmpty();
+  }
+
+  @Override
+  public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+    return this;
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    return inFlight >= concurrency;
+  }
+
+  @Override
+  public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+    this.drainHandler = handler;
+    return this;
+  }
+
+  private void uploadPart(Buffer part) {
+    if (uploadId == null) {
+      uploadId = client.createMultipartUpload(key);
+    }
+    int partNumber = parts.size() + 1;
+    inFlight++;
+    Future<String> partFuture =
+        uploadId.compose(id -> client.uploadPart(key, id, partNumber, part));
+    parts.add(partFuture);
+    partFuture.onComplete(
+        partHandler -> {
+          inFlight--;
+          if (partHandler.failed()) {
+            if (failure == null) {
+              failure = partHandler.cause();
+              if (exceptionHandler != null) {
+                exceptionHandler.handle(failure);
+              }
+            }
+          } else if (drainHandler != null && !writeQueueFull()) {
+            Handler<Void> handler = drainHandler;
+            drainHandler = null;
+            handler.handle(null);
+          }
+        });
+  }
+}
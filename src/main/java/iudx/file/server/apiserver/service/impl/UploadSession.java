@@ -0,0 +1,174 @@
+package iudx.file.server.apiserver.service.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * UploadSession.
+ *
+ * <h1>UploadSession</h1>
+ *
+ * <p>State of a chunked upload, chunks may be received out of order (or in parallel) so received
+ * bytes are tracked as a set of disjoint ranges.
+ */
+final class UploadSession {
+
+  private final String sessionId;
+  private final String resourceId;
+  private final String userId;
+  private final String fileName;
+  private final long length;
+  private final JsonObject metadata;
+  // start offset -> end offset (exclusive) of received bytes, ranges never overlap or touch.
+  private final TreeMap<Long, Long> received = new TreeMap<>();
+  private volatile long lastAccessed;
+  private boolean completing;
+  // chunks being written to file of session.
+  private int writing;
+
+  UploadSession(
+      String sessionId,
+      String resourceId,
+      String userId,
+      String fileName,
+      long length,
+      JsonObject metadata) {
+    this.sessionId = sessionId;
+    this.resourceId = resourceId;
+    this.userId = userId;
+    this.fileName = fileName;
+    this.length = length;
+    this.metadata = metadata;
+    this.lastAccessed = System.currentTimeMillis();
+  }
+
+  String getSessionId() {
+    return sessionId;
+  }
+
+  String getResourceId() {
+    return resourceId;
+  }
+
+  String getUserId() {
+    return userId;
+  }
+
+  String getFileName() {
+    return fileName;
+  }
+
+  long getLength() {
+    return length;
+  }
+
+  JsonObject getMetadata() {
+    return metadata;
+  }
+
+  void touch() {
+    lastAccessed = System.currentTimeMillis();
+  }
+
+  boolean isExpired(long now, long timeout) {
+    return now - lastAccessed > timeout;
+  }
+
+  /**
+   * record bytes [start, end) as received, merging with adjacent and overlapping ranges.
+   *
+   * @param start first byte offset
+   * @param end offset after the last byte
+   */
+  synchronized void addRange(long start, long end) {
+    if (end <= start) {
+      return;
+    }
+    long mergedStart = start;
+    long mergedEnd = end;
+    Map.Entry<Long, Long> floor = received.floorEntry(start);
+    if (floor != null && floor.getValue() >= start) {
+      mergedStart = floor.getKey();
+      mergedEnd = Math.max(mergedEnd, floor.getValue());
+      received.remove(floor.getKey());
+    }
+    Map.Entry<Long, Long> next = received.ceilingEntry(mergedStart);
+    while (next != null && next.getKey() <= mergedEnd) {
+      mergedEnd = Math.max(mergedEnd, next.getValue());
+      received.remove(next.getKey());
+      next = received.ceilingEntry(mergedStart);
+    }
+    received.put(mergedStart, mergedEnd);
+  }
+
+  /**
+   * number of contiguous bytes received from start of file, this is the offset from where a client
+   * resuming a sequential upload should continue.
+   *
+   * @return offset
+   */
+  synchronized long getOffset() {
+    Long end = received.get(0L);
+    return end == null ? 0L : end;
+  }
+
+  synchronized boolean isComplete() {
+    return getOffset() == length;
+  }
+
+  synchronized boolean isCompleting() {
+    return completing;
+  }
+
+  /**
+   * mark session as being finalized, no more chunks are accepted once marked.
+   *
+   * @return false if session is already being finalized
+   */
+  synchronized boolean markCompleting() {
+    if (completing) {
+      return false;
+    }
+    completing = true;
+    return true;
+  }
+
+  synchronized void unmarkCompleting() {
+    completing = false;
+  }
+
+  /**
+   * mark a chunk as being written, chunks are not accepted once session is being finalized.
+   *
+   * @return false if session is being finalized
+   */
+  synchronized boolean beginWrite() {
+    if (completing) {
+      return false;
+    }
+    writing++;
+    return true;
+  }
+
+  synchronized void endWrite() {
+    writing--;
+  }
+
+  synchronized boolean isWriting() {
+    return writing > 0;
+  }
+
+  synchronized JsonObject toJson() {
+    JsonArray ranges = new JsonArray();
+    received.forEach((start, end) -> ranges.add(start + "-" + (end - 1)));
+    return new JsonObject()
+        .put("sessionId", sessionId)
+        .put("id", resourceId)
+        .put("fileName", fileName)
+        .put("length", length)
+        .put("offset", getOffset())
+        .put("receivedRanges", ranges);
+  }
+}
@@ -0,0 +1,134 @@
+package iudx.file.server.apiserver.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ByteRange.
+ *
+ * <h1>ByteRange</h1>
+ *
+ * <p>An inclusive byte range of a file as described by a HTTP Range header (RFC 7233).
+ */
+public final class ByteRange {
+
+  public static final int MAX_RANGES = 16;
+  private static final String BYTES_UNIT = "bytes=";
+
+  private final long start;
+  private final long end;
+
+  public ByteRange(long start, long end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * parse the value of a Range header against the size of the file.
+   *
+   * <pre>
+   * returns :
+   *    null        - header is absent, malformed or uses an unknown unit (serve the full file)
+   *    empty list  - none of the ranges can be satisfied (416)
+   *    ranges      - satisfiable ranges, sorted and coalesced
+   * </pre>
+   *
+   * @param header value of Range header
+   * @param size total size of file in bytes
+   * @return list of satisfiable ranges
+   */
+  public static List<ByteRange> parse(String header, long size) {
+    if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+      return null;
+    }
+    String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+    if (specs.length > MAX_RANGES) {
+      return null;
+    }
+    List<ByteRange> ranges = new ArrayList<>();
+    for (String spec : specs) {
+      String rangeSpec = spec.trim();
+      int dash = rangeSpec.indexOf('-');
+      if (dash < 0) {
+        return null;
+      }
+      String first = rangeSpec.substring(0, dash).trim();
+      String last = rangeSpec.substring(dash + 1).trim();
+      try {
+        if (first.isEmpty()) {
+          // suffix range, last N bytes of file
+          long suffix = Long.parseLong(last);
+          if (suffix < 0) {
+            return null;
+          }
+          if (suffix > 0 && size > 0) {
+            ranges.add(new ByteRange(Math.max(0, size - suffix), size - 1));
+          }
+        } else {
+          long start = Long.parseLong(first);
+          // open range runs to end of file, a start past the file is unsatisfiable not invalid.
+          long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+          if (start < 0 || end < start) {
+            return null;
+          }
+          if (start < size) {
+            ranges.add(new ByteRange(start, Math.min(end, size - 1)));
+          }
+        }
+      } catch (NumberFormatException ex) {
+        return null;
+      }
+    }
+    return coalesce(ranges);
+  }
+
+  private static List<ByteRange> coalesce(List<ByteRange> ranges) {
+    if (ranges.size() < 2) {
+      return ranges;
+    }
+    List<ByteRange> sorted = new ArrayList<>(ranges);
+    Collections.sort(sorted, Comparator.comparingLong(ByteRange::getStart));
+    List<ByteRange> merged = new ArrayList<>();
+    ByteRange current = sorted.get(0);
+    for (int i = 1; i < sorted.size(); i++) {
+      ByteRange next = sorted.get(i);
+      if (next.start <= current.end + 1) {
+        current = new ByteRange(current.start, Math.max(current.end, next.end));
+      } else {
+        merged.add(current);
+        current = next;
+      }
+    }
+    merged.add(current);
+    return merged;
+  }
+
+  public long getStart() {
+    return start;
+  }
+
+  public long getEnd() {
+    return end;
+  }
+
+  public long length() {
+    return end - start + 1;
+  }
+
+  /**
+   * value for Content-Range header.
+   *
+   * @param size total size of file
+   * @return content range
+   */
+  public String toContentRange(long size) {
+    return "bytes " + start + "-" + end + "/" + size;
+  }
+
+  @Override
+  public String toString() {
+    return start + "-" + end;
+  }
+}
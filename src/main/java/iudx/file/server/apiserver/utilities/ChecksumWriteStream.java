@@ -0,0 +1,109 @@
+package iudx.file.server.apiserver.utilities;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * ChecksumWriteStream.
+ *
+ * <h1>ChecksumWriteStream</h1>
+ *
+ * <p>WriteStream decorator which computes SHA-256 checksum and size of the bytes passing through
+ * it, so that a file is hashed in the same pass in which it is written. Writes beyond the maximum
+ * size are failed.
+ */
+public final class ChecksumWriteStream implements WriteStream<Buffer> {
+
+  private final WriteStream<Buffer> delegate;
+  private final long maxSize;
+  private final Hasher hasher = Hashing.sha256().newHasher();
+  private long size;
+  private String checksum;
+
+  public ChecksumWriteStream(WriteStream<Buffer> delegate, long maxSize) {
+    this.delegate = delegate;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * number of bytes written so far.
+   *
+   * @return size in bytes
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * hex encoded SHA-256 of bytes written, available once the stream is ended.
+   *
+   * @return checksum
+   */
+  public String checksum() {
+    if (checksum == null) {
+      checksum = hasher.hash().toString();
+    }
+    return checksum;
+  }
+
+  @Override
+  public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+    delegate.exceptionHandler(handler);
+    return this;
+  }
+
+  @Override
+  public Future<Void> write(Buffer data) {
+    Promise<Void> promise = Promise.promise();
+    write(data, promise);
+    return promise.future();
+  }
+
+  @Override
+  public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+    size += data.length();
+    if (size > maxSize) {
+      if (handler != null) {
+        handler.handle(Future.failedFuture("file size exceeds limit of " + maxSize + " bytes"));
+      }
+      return;
+    }
+    hasher.putBytes(data.getByteBuf().nioBuffer());
+    delegate.write(data, handler);
+  }
+
+  @Override
+  public Future<Void> end() {
+    Promise<Void> promise = Promise.promise();
+    end(promise);
+    return promise.future();
+  }
+
+  @Override
+  public void end(Handler<AsyncResult<Void>> handler) {
+    delegate.end(handler);
+  }
+
+  @Override
+  public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+    delegate.setWriteQueueMaxSize(maxSize);
+    return this;
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    return delegate.writeQueueFull();
+  }
+
+  @Override
+  public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+    delegate.drainHandler(handler);
+    return this;
+  }
+}
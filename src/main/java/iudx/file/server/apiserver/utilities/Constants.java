@@ -7,11 +7,29 @@ package iudx.file.server.apiserver.utilities;
  */
 public class Constants extends iudx.file.server.common.Constants {
   public static final long MAX_SIZE = 1073741824L; // 1GB = 1073741824 Bytes
+  public static final long UPLOAD_FORM_BODY_LIMIT = 65536L; // 64KB, form fields of a session
+  public static final long UPLOAD_BATCH_BODY_LIMIT = 4194304L; // 4MB, metadata of a batch
+  public static final long DEFAULT_UPLOAD_SESSION_TIMEOUT = 1440; // minutes
+  public static final long UPLOAD_SESSION_PURGE_INTERVAL = 600000L; // 10 minutes
+  public static final String FILE_STORAGE_LOCAL = "local";
+  public static final String FILE_STORAGE_CONTENT_ADDRESSED = "content-addressed";
+  public static final String FILE_STORAGE_S3 = "s3";
+  public static final int DEFAULT_COMPRESSION_POOL_SIZE = 4;
+  // archive files are immutable, still revalidated by default since access may be revoked.
+  public static final String DEFAULT_DOWNLOAD_CACHE_CONTROL = "private, no-cache";
+  public static final int DEFAULT_BULK_DOWNLOAD_MAX_FILES = 1000;
+  public static final int DEFAULT_UPLOAD_BATCH_MAX_FILES = 1000;
+  public static final int DEFAULT_FILE_INDEX_SIZE = 100000;
+  public static final String NO_CACHE_CONTROL = "no-cache, no-store,  must-revalidate,max-age=0";
   // api
   public static final String API_TEMPORAL = "/temporal/entities";
   public static final String API_SPATIAL = "/entities";
   public static final String API_FILE_UPLOAD = "/upload";
+  public static final String API_UPLOAD_SESSION = "/upload/session";
+  public static final String API_UPLOAD_SESSION_FINALIZE = "/upload/session/finalize";
+  public static final String API_UPLOAD_BATCH = "/upload/batch";
   public static final String API_FILE_DOWNLOAD = "/download";
+  public static final String API_BULK_DOWNLOAD = "/download/bulk";
   public static final String API_FILE_DELETE = "/delete";
   public static final String API_LIST_METADATA = "/list";
   public static final String API_APIS = "/apis";
@@ -28,6 +46,22 @@ public class Constants extends iudx.file.server.common.Constants {
   public static final String HEADER_ALLOW_ORIGIN = "Access-Control-Allow-Origin";
   public static final String HEADER_OPTIONS = "options";
   public static final String HEADER_EXTERNAL_STORAGE = "externalStorage";
+  public static final String HEADER_RANGE = "Range";
+  public static final String HEADER_IF_RANGE = "If-Range";
+  public static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+  public static final String HEADER_CONTENT_RANGE = "Content-Range";
+  public static final String HEADER_LAST_MODIFIED = "Last-Modified";
+  public static final String HEADER_UPLOAD_LENGTH = "Upload-Length";
+  public static final String HEADER_UPLOAD_OFFSET = "Upload-Offset";
+  public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+  public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+  public static final String HEADER_VARY = "Vary";
+  public static final String HEADER_ETAG = "ETag";
+  public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+  public static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+  public static final String HEADER_CACHE_CONTROL = "Cache-Control";
+  public static final String HEADER_PRAGMA = "Pragma";
+  public static final String HEADER_EXPIRES = "Expires";
 
   public static final String CONTENT_TYPE = "content-type";
   public static final String APPLICATION_JSON = "application/json";
@@ -54,6 +88,8 @@ public class Constants extends iudx.file.server.common.Constants {
   public static final String PARAM_COORDINATES = "coordinates";
   public static final String PARAM_GEOPROPERTY = "geoproperty";
   public static final String PARAM_FILE_URL = "file-download-url";
+  public static final String PARAM_FILE_NAME = "fileName";
+  public static final String PARAM_SESSION_ID = "session-id";
 
   public static final String MSG_BAD_QUERY = "Bad query";
 
@@ -67,4 +103,15 @@ public class Constants extends iudx.file.server.common.Constants {
   public static final String USER_ID = "userid";
   public static final String FORWARD_SLASH = "/";
   public static final String DELEGATOR_ID = "delegatorId";
+
+  // routing context data
+  public static final String CTX_FILE_UPLOAD = "fileUpload";
+
+  // file record fields
+  public static final String FILE_SIZE = "fileSize";
+  public static final String FILE_CHECKSUM = "checksum";
+
+  // bulk download archive entry fields
+  public static final String FILE_PATH = "filePath";
+  public static final String ARCHIVE_ENTRY_NAME = "name";
 }
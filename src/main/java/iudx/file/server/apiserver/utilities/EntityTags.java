@@ -0,0 +1,84 @@
+package iudx.file.server.apiserver.utilities;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * EntityTags.
+ *
+ * <h1>EntityTags</h1>
+ *
+ * <p>strong entity tags of files, derived from the checksum of file content computed on upload.
+ * Since content of a file-id never changes its checksum is a valid strong validator for the whole
+ * life of the file. A gzip coded representation of file gets a tag of its own, so that caches never
+ * mix up the two representations.
+ */
+public final class EntityTags {
+
+  private static final String GZIP_VARIANT = "-gzip";
+  private static final Pattern ENTITY_TAG = Pattern.compile("(W/)?\"([^\"]*)\"");
+
+  private EntityTags() {}
+
+  /**
+   * strong entity tag of file.
+   *
+   * @param checksum hex encoded checksum of file
+   * @return quoted entity tag, null when checksum is not known
+   */
+  public static String of(String checksum) {
+    if (checksum == null || checksum.isBlank()) {
+      return null;
+    }
+    return "\"" + checksum + "\"";
+  }
+
+  /**
+   * entity tag of gzip coded representation of file.
+   *
+   * @param entityTag quoted entity tag of file
+   * @return quoted entity tag of gzip coded representation
+   */
+  public static String gzipVariant(String entityTag) {
+    return entityTag.substring(0, entityTag.length() - 1) + GZIP_VARIANT + "\"";
+  }
+
+  /**
+   * find entity tag listed in If-None-Match header, entity tags are compared using weak
+   * comparison as required for If-None-Match.
+   *
+   * @param ifNoneMatch If-None-Match header value
+   * @param entityTags quoted entity tags of representations of file
+   * @return the matching entity tag, null when none of them matches
+   */
+  public static String matchNoneMatch(String ifNoneMatch, String... entityTags) {
+    if (ifNoneMatch == null || entityTags.length == 0) {
+      return null;
+    }
+    if ("*".equals(ifNoneMatch.trim())) {
+      return entityTags[0];
+    }
+    Matcher matcher = ENTITY_TAG.matcher(ifNoneMatch);
+    while (matcher.find()) {
+      String opaqueTag = "\"" + matcher.group(2) + "\"";
+      for (String entityTag : entityTags) {
+        if (opaqueTag.equals(entityTag)) {
+          return entityTag;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * check an If-Range entity tag against entity tag of file, If-Range requires strong comparison
+   * so a weak tag never matches.
+   *
+   * @param ifRange If-Range header value
+   * @param entityTag quoted entity tag of file, may be null
+   * @return true if tags match
+   */
+  public static boolean strongMatch(String ifRange, String entityTag) {
+    return entityTag != null && ifRange != null && ifRange.trim().equals(entityTag);
+  }
+}
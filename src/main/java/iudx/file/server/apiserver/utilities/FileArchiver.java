@@ -0,0 +1,136 @@
+package iudx.file.server.apiserver.utilities;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.http.HttpServerResponse;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.utils.FileNameUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * FileArchiver.
+ *
+ * <h1>FileArchiver</h1>
+ *
+ * <p>streams several files to client as a single zip archive, the archive is built while it is
+ * sent and never written to disk. Files of compressible types are deflated, other files (mostly
+ * archives themselves) are copied as they are. Archives are written on a worker pool of its own so
+ * that the number of concurrent bulk downloads is bounded.
+ */
+public final class FileArchiver {
+
+  public static final String CONTENT_TYPE_ZIP = "application/zip";
+  private static final Logger LOGGER = LogManager.getLogger(FileArchiver.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final WorkerExecutor executor;
+  private final Set<String> compressibleExtensions;
+
+  /**
+   * FileArchiver.
+   *
+   * @param vertx vertx instance
+   * @param compressibleExtensions extensions of files worth compressing
+   * @param poolSize maximum number of archives written concurrently
+   */
+  public FileArchiver(Vertx vertx, Set<String> compressibleExtensions, int poolSize) {
+    this.executor = vertx.createSharedWorkerExecutor("file-archive-pool", poolSize);
+    this.compressibleExtensions = compressibleExtensions;
+  }
+
+  /**
+   * send files to client as a zip archive, response is ended once all files are sent and reset on
+   * failure. Status and headers are to be set by the caller.
+   *
+   * <p>entries of types which are not compressible are written with deflate level 0 (stored
+   * blocks) instead of the STORED method, since STORED requires size and crc of an entry before
+   * its content and so a second pass over every file.
+   *
+   * @param entries entries of archive
+   * @param response response object
+   * @return number of file bytes written to archive per entry, in order of entries. Fails if the
+   *     archive could not be sent completely, response is reset then.
+   */
+  public Future<List<Long>> send(List<Entry> entries, HttpServerResponse response) {
+    long[] written = new long[entries.size()];
+    return executor
+        .<Void>executeBlocking(
+            () -> {
+              try (ZipOutputStream zip =
+                  new ZipOutputStream(new ResponseOutputStream(response))) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int i = 0; i < entries.size(); i++) {
+                  Entry entry = entries.get(i);
+                  zip.setLevel(
+                      isCompressible(entry.getName())
+                          ? Deflater.DEFAULT_COMPRESSION
+                          : Deflater.NO_COMPRESSION);
+                  zip.putNextEntry(new ZipEntry(entry.getName()));
+                  try (InputStream in = Files.newInputStream(Paths.get(entry.getPath()))) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                      zip.write(buffer, 0, read);
+                      written[i] += read;
+                    }
+                  }
+                  zip.closeEntry();
+                }
+              }
+              return null;
+            },
+            false)
+        .onSuccess(sent -> response.end())
+        .onFailure(
+            cause -> {
+              LOGGER.error("failed to send archive : " + cause);
+              response.reset();
+            })
+        .map(
+            sent -> {
+              List<Long> bytes = new ArrayList<>(written.length);
+              for (long entryBytes : written) {
+                bytes.add(entryBytes);
+              }
+              return bytes;
+            });
+  }
+
+  private boolean isCompressible(String fileName) {
+    return compressibleExtensions.contains(FileNameUtils.getExtension(fileName).toLowerCase());
+  }
+
+  /** a file to be added to archive. */
+  public static final class Entry {
+    private final String name;
+    private final String path;
+
+    /**
+     * Entry.
+     *
+     * @param name name of entry in archive
+     * @param path path of file
+     */
+    public Entry(String name, String path) {
+      this.name = name;
+      this.path = path;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getPath() {
+      return path;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package iudx.file.server.apiserver.utilities;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.http.HttpServerResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.utils.FileNameUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * FileCompressor.
+ *
+ * <h1>FileCompressor</h1>
+ *
+ * <p>gzip compression of files of compressible types (as configured in allowedContentType), either
+ * ahead of time into a {@code .gz} sibling of file or while the file is sent to client. Compression
+ * runs on a worker pool of its own so that the number of concurrent compressions is bounded and
+ * event loops and other workers are never held up by it.
+ */
+public final class FileCompressor {
+
+  public static final String GZIP = "gzip";
+  public static final String GZIP_SUFFIX = ".gz";
+  private static final Logger LOGGER = LogManager.getLogger(FileCompressor.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final WorkerExecutor executor;
+  private final Set<String> compressibleExtensions;
+  private final boolean precompress;
+
+  /**
+   * FileCompressor.
+   *
+   * @param vertx vertx instance
+   * @param compressibleExtensions extensions of files worth compressing
+   * @param poolSize maximum number of files compressed concurrently
+   * @param precompress create compressed sibling of uploaded files
+   */
+  public FileCompressor(
+      Vertx vertx, Set<String> compressibleExtensions, int poolSize, boolean precompress) {
+    this.executor = vertx.createSharedWorkerExecutor("file-compression-pool", poolSize);
+    this.compressibleExtensions = compressibleExtensions;
+    this.precompress = precompress;
+  }
+
+  /**
+   * check whether file is of a compressible type.
+   *
+   * @param fileName name or path of file
+   * @return true if compressible
+   */
+  public boolean isCompressible(String fileName) {
+    return compressibleExtensions.contains(FileNameUtils.getExtension(fileName).toLowerCase());
+  }
+
+  /**
+   * check whether gzip is an acceptable content coding as per Accept-Encoding header.
+   *
+   * @param acceptEncoding Accept-Encoding header value
+   * @return true if gzip is accepted
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    boolean any = false;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.trim().split(";");
+      String coding = parts[0].trim().toLowerCase();
+      boolean accepted = true;
+      for (int i = 1; i < parts.length; i++) {
+        String param = parts[i].trim().toLowerCase();
+        if (param.startsWith("q=")) {
+          try {
+            accepted = Double.parseDouble(param.substring(2)) > 0;
+          } catch (NumberFormatException ex) {
+            accepted = false;
+          }
+        }
+      }
+      if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+        gzip = accepted;
+      } else if ("*".equals(coding)) {
+        any = accepted;
+      }
+    }
+    return gzip != null ? gzip : any;
+  }
+
+  public static String compressedPath(String path) {
+    return path + GZIP_SUFFIX;
+  }
+
+  /**
+   * create compressed sibling of an uploaded file in background, if enabled and file is
+   * compressible. Failures are only logged since the file can still be compressed on download.
+   *
+   * @param path path of file
+   */
+  public void precompressInBackground(String path) {
+    if (!precompress || !isCompressible(path)) {
+      return;
+    }
+    precompress(path)
+        .onFailure(cause -> LOGGER.warn("failed to precompress " + path + " : " + cause));
+  }
+
+  /**
+   * compress file into its {@code .gz} sibling, sibling is not kept when it is not smaller than
+   * the file.
+   *
+   * @param path path of file
+   */
+  public Future<Void> precompress(String path) {
+    return executor.executeBlocking(
+        () -> {
+          Path source = Paths.get(path);
+          Path target = Paths.get(compressedPath(path));
+          Path temp = Paths.get(compressedPath(path) + ".tmp");
+          try (InputStream in = Files.newInputStream(source);
+              OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+            in.transferTo(out);
+          }
+          if (Files.size(temp) >= Files.size(source)) {
+            Files.delete(temp);
+            return null;
+          }
+          Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+          LOGGER.debug("precompressed " + path);
+          return null;
+        },
+        false);
+  }
+
+  /**
+   * send file to client gzip compressed, response is ended once the file is sent and reset on
+   * failure. Status and headers other than content coding are to be set by the caller.
+   *
+   * @param path path of file
+   * @param response response object
+   */
+  public Future<Void> sendCompressed(String path, HttpServerResponse response) {
+    response.setChunked(true);
+    response.putHeader(Constants.HEADER_CONTENT_ENCODING, GZIP);
+    return executor
+        .<Void>executeBlocking(
+            () -> {
+              try (InputStream in = Files.newInputStream(Paths.get(path));
+                  OutputStream out =
+                      new GZIPOutputStream(new ResponseOutputStream(response), BUFFER_SIZE)) {
+                in.transferTo(out);
+              }
+              return null;
+            },
+            false)
+        .onSuccess(sent -> response.end())
+        .onFailure(
+            cause -> {
+              LOGGER.error("failed to send compressed file : " + cause);
+              response.reset();
+            });
+  }
+}
@@ -0,0 +1,111 @@
+package iudx.file.server.apiserver.utilities;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * FileLayout.
+ *
+ * <h1>FileLayout</h1>
+ *
+ * <p>locations of files in upload directory. In flat layout files of a resource are kept in a
+ * single {@code resourceGroup/id} directory, in sharded layout they are spread over 256 {@code
+ * resourceGroup/id/ab} sub directories by hash of file name, so that no directory grows beyond a
+ * few hundred entries even for resources with tens of thousands of files.
+ *
+ * <p>Shard of a file is decided by its name up to the first dot, so a compressed sibling {@code
+ * uuid.csv.gz} stays next to its file {@code uuid.csv}.
+ *
+ * <p>Files stored before sharding was enabled are looked up in flat layout as well until {@link
+ * FileLayoutMigrator} has moved all of them.
+ */
+public final class FileLayout {
+
+  private static final int SHARDS = 256;
+
+  private final String directory;
+  private final boolean sharded;
+  private volatile boolean flatFilesRemaining;
+
+  /**
+   * FileLayout.
+   *
+   * @param directory upload directory
+   * @param sharded true for sharded layout
+   */
+  public FileLayout(String directory, boolean sharded) {
+    this.directory = directory.endsWith("/") ? directory : directory + "/";
+    this.sharded = sharded;
+    this.flatFilesRemaining = sharded;
+  }
+
+  /** flat layout, files are kept directly in directory of their resource. */
+  public static FileLayout flat(String directory) {
+    return new FileLayout(directory, false);
+  }
+
+  /**
+   * shard directory of a file.
+   *
+   * @param fileName name of file
+   * @return two hex digit shard name
+   */
+  public static String shard(String fileName) {
+    int dot = fileName.indexOf('.');
+    String key = dot < 0 ? fileName : fileName.substring(0, dot);
+    int hash = Hashing.murmur3_32_fixed().hashString(key, StandardCharsets.UTF_8).asInt();
+    return String.format("%02x", Math.floorMod(hash, SHARDS));
+  }
+
+  /** upload directory, always ends with a slash. */
+  public String getDirectory() {
+    return directory;
+  }
+
+  public boolean isSharded() {
+    return sharded;
+  }
+
+  /**
+   * directory of a file in this layout.
+   *
+   * @param uploadDir directory of resource relative to upload directory
+   * @param fileName name of file
+   * @return directory of file
+   */
+  public String getFileDirectory(String uploadDir, String fileName) {
+    return sharded ? directory + uploadDir + "/" + shard(fileName) : directory + uploadDir;
+  }
+
+  /**
+   * path of a file in this layout.
+   *
+   * @param uploadDir directory of resource relative to upload directory
+   * @param fileName name of file
+   * @return path of file
+   */
+  public String getPath(String uploadDir, String fileName) {
+    return getFileDirectory(uploadDir, fileName) + "/" + fileName;
+  }
+
+  /**
+   * path of a file in flat layout.
+   *
+   * @param uploadDir directory of resource relative to upload directory
+   * @param fileName name of file
+   * @return path of file
+   */
+  public String getFlatPath(String uploadDir, String fileName) {
+    return directory + uploadDir + "/" + fileName;
+  }
+
+  /** true while files stored in flat layout may still exist in a sharded layout. */
+  public boolean hasFlatFiles() {
+    return flatFilesRemaining;
+  }
+
+  /** all files stored in flat layout have been moved to their shard. */
+  public void flatFilesMigrated() {
+    flatFilesRemaining = false;
+  }
+}
@@ -0,0 +1,146 @@
+package iudx.file.server.apiserver.utilities;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * FileLayoutMigrator.
+ *
+ * <h1>FileLayoutMigrator</h1>
+ *
+ * <p>moves files stored in flat layout to their shard in a sharded {@link FileLayout}, while the
+ * server keeps serving them. Files are moved one at a time with an atomic rename within the upload
+ * directory, so a file is always found either in its flat or in its sharded location. Hidden
+ * directories (blobs of content addressed storage, upload sessions) are left as they are, file
+ * links are moved as links.
+ *
+ * <p>Once all files are moved a marker file is written in upload directory, later starts only
+ * check the marker. One migration runs per upload directory within a node, however many verticle
+ * instances start it.
+ */
+public final class FileLayoutMigrator {
+
+  public static final String SHARDED_MARKER = ".sharded";
+  private static final Logger LOGGER = LogManager.getLogger(FileLayoutMigrator.class);
+  private static final Map<String, Future<Long>> MIGRATIONS = new ConcurrentHashMap<>();
+
+  private final Vertx vertx;
+  private final FileLayout layout;
+
+  /**
+   * FileLayoutMigrator.
+   *
+   * @param vertx vertx instance
+   * @param layout sharded layout files are moved to
+   */
+  public FileLayoutMigrator(Vertx vertx, FileLayout layout) {
+    this.vertx = vertx;
+    this.layout = layout;
+  }
+
+  /**
+   * move all files stored in flat layout to their shard, layout stops looking up files in flat
+   * layout once done.
+   *
+   * @return number of files moved
+   */
+  public Future<Long> migrate() {
+    return MIGRATIONS
+        .computeIfAbsent(
+            layout.getDirectory(), directory -> vertx.executeBlocking(this::moveFlatFiles, false))
+        .onSuccess(moved -> layout.flatFilesMigrated());
+  }
+
+  /**
+   * remove marker of a completed migration, files stored in flat layout from now on have to be
+   * migrated again when sharded layout is enabled.
+   *
+   * @param vertx vertx instance
+   * @param directory upload directory
+   */
+  public static void resetMarker(Vertx vertx, String directory) {
+    vertx.fileSystem().delete(Paths.get(directory, SHARDED_MARKER).toString()).otherwiseEmpty();
+  }
+
+  private long moveFlatFiles() throws IOException {
+    Path root = Paths.get(layout.getDirectory());
+    Path marker = root.resolve(SHARDED_MARKER);
+    if (Files.exists(marker)) {
+      LOGGER.info("files in " + root + " are already sharded");
+      return 0L;
+    }
+    LOGGER.info("moving files in " + root + " to sharded layout");
+    AtomicLong moved = new AtomicLong();
+    Files.walkFileTree(
+        root,
+        new SimpleFileVisitor<>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            boolean hidden = !dir.equals(root) && dir.getFileName().toString().startsWith(".");
+            return hidden ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+              throws IOException {
+            if (moveToShard(root, file)) {
+              moved.incrementAndGet();
+            }
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+            // removed since it was listed.
+            if (exc instanceof NoSuchFileException) {
+              return FileVisitResult.CONTINUE;
+            }
+            throw exc;
+          }
+        });
+    Files.createFile(marker);
+    LOGGER.info("moved " + moved.get() + " files in " + root + " to sharded layout");
+    return moved.get();
+  }
+
+  private boolean moveToShard(Path root, Path file) throws IOException {
+    Path dir = file.getParent();
+    String fileName = file.getFileName().toString();
+    String shard = FileLayout.shard(fileName);
+    if (dir.equals(root)
+        || fileName.startsWith(".")
+        || fileName.endsWith(".tmp")
+        || dir.getFileName().toString().equals(shard)) {
+      return false;
+    }
+    Path target = dir.resolve(shard).resolve(fileName);
+    if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+      // replaced (sample files) after sharding was enabled, flat copy is stale.
+      Files.deleteIfExists(file);
+      return false;
+    }
+    Files.createDirectories(target.getParent());
+    try {
+      Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (NoSuchFileException ex) {
+      // deleted since it was listed.
+      return false;
+    }
+    return true;
+  }
+}
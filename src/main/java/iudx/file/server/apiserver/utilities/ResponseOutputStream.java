@@ -0,0 +1,61 @@
+package iudx.file.server.apiserver.utilities;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResponseOutputStream.
+ *
+ * <h1>ResponseOutputStream</h1>
+ *
+ * <p>blocking OutputStream over a http response, to be used from worker threads only. A write
+ * blocks while the write queue of response is full, so a slow client holds back the worker instead
+ * of the response buffering the whole content.
+ */
+public final class ResponseOutputStream extends OutputStream {
+
+  private final HttpServerResponse response;
+
+  public ResponseOutputStream(HttpServerResponse response) {
+    this.response = response;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return;
+    }
+    awaitWritable();
+    response.write(Buffer.buffer().appendBytes(bytes, offset, length));
+  }
+
+  private void awaitWritable() throws IOException {
+    while (true) {
+      if (response.closed()) {
+        throw new IOException("response closed");
+      }
+      if (!response.writeQueueFull()) {
+        return;
+      }
+      CountDownLatch drained = new CountDownLatch(1);
+      response.drainHandler(drain -> drained.countDown());
+      try {
+        // woken up periodically to notice a closed connection, which never drains.
+        drained.await(1, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("interrupted while waiting for response to drain");
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package iudx.file.server.apiserver.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * S3RequestSigner.
+ *
+ * <h1>S3RequestSigner</h1>
+ *
+ * <p>signs requests to S3 compatible object stores with AWS signature version 4, request body is
+ * not part of signature when {@link #UNSIGNED_PAYLOAD} is used as payload hash, so bodies can be
+ * streamed.
+ */
+public final class S3RequestSigner {
+
+  public static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+  public static final String EMPTY_PAYLOAD =
+      "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+  private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+  private static final String SERVICE = "s3";
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
+  private final String accessKey;
+  private final String secretKey;
+  private final String region;
+
+  public S3RequestSigner(String accessKey, String secretKey, String region) {
+    this.accessKey = accessKey;
+    this.secretKey = secretKey;
+    this.region = region;
+  }
+
+  /**
+   * create Authorization header value for a request, all passed headers are signed.
+   *
+   * @param method http method
+   * @param path request path, not encoded
+   * @param query query parameters, not encoded
+   * @param headers headers to sign, must contain host, x-amz-date and x-amz-content-sha256
+   * @param amzDate request time in ISO 8601 basic format (yyyyMMdd'T'HHmmss'Z')
+   * @return authorization header value
+   */
+  public String authorization(
+      String method,
+      String path,
+      Map<String, String> query,
+      Map<String, String> headers,
+      String amzDate) {
+    Map<String, String> signedHeaders = new TreeMap<>();
+    headers.forEach((name, value) -> signedHeaders.put(name.toLowerCase(), value.trim()));
+    String signedHeaderNames = String.join(";", signedHeaders.keySet());
+
+    String canonicalRequest =
+        method
+            + "\n"
+            + uriEncode(path, false)
+            + "\n"
+            + canonicalQuery(query)
+            + "\n"
+            + signedHeaders.entrySet().stream()
+                .map(header -> header.getKey() + ":" + header.getValue() + "\n")
+                .collect(Collectors.joining())
+            + "\n"
+            + signedHeaderNames
+            + "\n"
+            + signedHeaders.get("x-amz-content-sha256");
+
+    String date = amzDate.substring(0, 8);
+    String scope = date + "/" + region + "/" + SERVICE + "/aws4_request";
+    String stringToSign =
+        ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + hex(sha256(canonicalRequest));
+
+    byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+    key = hmac(key, region);
+    key = hmac(key, SERVICE);
+    key = hmac(key, "aws4_request");
+    String signature = hex(hmac(key, stringToSign));
+
+    return ALGORITHM
+        + " Credential="
+        + accessKey
+        + "/"
+        + scope
+        + ", SignedHeaders="
+        + signedHeaderNames
+        + ", Signature="
+        + signature;
+  }
+
+  /**
+   * percent encode a value as required by signature version 4, every byte except unreserved
+   * characters is encoded.
+   *
+   * @param value value to encode
+   * @param encodeSlash whether '/' has to be encoded, false for paths
+   * @return encoded value
+   */
+  public static String uriEncode(String value, boolean encodeSlash) {
+    StringBuilder encoded = new StringBuilder();
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      char ch = (char) (b & 0xff);
+      if ((ch >= 'A' && ch <= 'Z')
+          || (ch >= 'a' && ch <= 'z')
+          || (ch >= '0' && ch <= '9')
+          || ch == '-'
+          || ch == '_'
+          || ch == '.'
+          || ch == '~'
+          || (ch == '/' && !encodeSlash)) {
+        encoded.append(ch);
+      } else {
+        encoded.append('%').append(HEX_UPPER[(b >> 4) & 0xf]).append(HEX_UPPER[b & 0xf]);
+      }
+    }
+    return encoded.toString();
+  }
+
+  /**
+   * canonical query string, parameters sorted by encoded name.
+   *
+   * @param query query parameters, not encoded
+   * @return encoded query string
+   */
+  public static String canonicalQuery(Map<String, String> query) {
+    Map<String, String> encoded = new TreeMap<>();
+    query.forEach(
+        (name, value) ->
+            encoded.put(uriEncode(name, true), uriEncode(value == null ? "" : value, true)));
+    return encoded.entrySet().stream()
+        .map(param -> param.getKey() + "=" + param.getValue())
+        .collect(Collectors.joining("&"));
+  }
+
+  /**
+   * hex encoded SHA-256 of bytes, used as x-amz-content-sha256 of small bodies.
+   *
+   * @param data bytes to hash
+   * @return hex encoded hash
+   */
+  public static String sha256Hex(byte[] data) {
+    try {
+      return hex(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static byte[] sha256(String data) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static byte[] hmac(byte[] key, String data) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(key, "HmacSHA256"));
+      return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+    }
+    return hex.toString();
+  }
+}
@@ -1,11 +1,23 @@
 package iudx.file.server.apiserver.validations;
 
 import io.vertx.core.json.JsonObject;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * ContentTypeValidator.
  *
  * <h1>ContentTypeValidator</h1>
+ *
+ * <p>allowed content types are configured as content type to extension, either as plain extension
+ * or along with whether files of type are worth compressing
+ *
+ * <pre>
+ * {
+ *    "text/csv": { "extension": "csv", "compressible": true },
+ *    "application/zip": "zip"
+ * }
+ * </pre>
  */
 public class ContentTypeValidator {
 
@@ -18,4 +30,40 @@ public class ContentTypeValidator {
   public boolean isValid(String contentType) {
     return validContentType.containsKey(contentType);
   }
+
+  /**
+   * check whether file extension belongs to one of the allowed content types.
+   *
+   * @param extension file extension without leading dot
+   * @return true if extension is allowed
+   */
+  public boolean isValidExtension(String extension) {
+    if (extension == null || extension.isBlank()) {
+      return false;
+    }
+    return validContentType.stream()
+        .anyMatch(entry -> extension.equalsIgnoreCase(getExtension(entry.getValue())));
+  }
+
+  /**
+   * extensions of allowed content types which are flagged compressible.
+   *
+   * @return lower case extensions
+   */
+  public Set<String> getCompressibleExtensions() {
+    return validContentType.stream()
+        .filter(
+            entry ->
+                entry.getValue() instanceof JsonObject
+                    && ((JsonObject) entry.getValue()).getBoolean("compressible", false))
+        .map(entry -> getExtension(entry.getValue()).toLowerCase())
+        .collect(Collectors.toSet());
+  }
+
+  private String getExtension(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).getString("extension", "");
+    }
+    return String.valueOf(value);
+  }
 }
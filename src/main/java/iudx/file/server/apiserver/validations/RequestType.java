@@ -7,7 +7,12 @@ package iudx.file.server.apiserver.validations;
  */
 public enum RequestType {
   UPLOAD,
+  CREATE_UPLOAD_SESSION,
+  UPLOAD_SESSION,
+  UPLOAD_CHUNK,
+  UPLOAD_BATCH,
   DOWNLOAD,
+  BULK_DOWNLOAD,
   DELETE,
   TEMPORAL_QUERY,
   GEO_QUERY,
@@ -1,6 +1,7 @@
 package iudx.file.server.apiserver.validations;
 
 import static iudx.file.server.apiserver.utilities.Constants.*;
+import static iudx.file.server.common.Constants.PARAM_CURSOR;
 import static iudx.file.server.common.Constants.PARAM_LIMIT;
 import static iudx.file.server.common.Constants.PARAM_OFFSET;
 
@@ -42,6 +43,7 @@ public class RequestValidator {
     validParams.add(PARAM_COORDINATES);
     validParams.add(PARAM_OFFSET);
     validParams.add(PARAM_LIMIT);
+    validParams.add(PARAM_CURSOR);
     validParams.add(PARAM_END_TIME_LOWERCASE);
   }
   /**
@@ -0,0 +1,35 @@
+package iudx.file.server.apiserver.validations;
+
+import iudx.file.server.apiserver.response.ResponseUrn;
+
+/**
+ * ValidationError.
+ *
+ * <h1>ValidationError</h1>
+ *
+ * <p>failed validation of a request field, returned by validators instead of being thrown.
+ */
+public final class ValidationError {
+
+  private final int statusCode;
+  private final ResponseUrn urn;
+  private final String message;
+
+  public ValidationError(int statusCode, ResponseUrn urn, String message) {
+    this.statusCode = statusCode;
+    this.urn = urn;
+    this.message = message;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  public ResponseUrn getUrn() {
+    return urn;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+}
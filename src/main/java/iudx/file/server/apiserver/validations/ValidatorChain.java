@@ -0,0 +1,213 @@
+package iudx.file.server.apiserver.validations;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+
+import io.vertx.core.MultiMap;
+import iudx.file.server.apiserver.validations.types.*;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ValidatorChain.
+ *
+ * <h1>ValidatorChain</h1>
+ *
+ * <p>checks of a request type. Chain of every request type is built once and holds no state of a
+ * request, so a handler created at route setup validates each request without creating validators,
+ * and a failure is returned instead of being thrown.
+ */
+public final class ValidatorChain {
+
+  private static final Map<RequestType, ValidatorChain> CHAINS = new EnumMap<>(RequestType.class);
+
+  private static final Check[] TEMPORAL_QUERY_CHECKS = {
+    // temporal fields(mandatory)
+    (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+    (parameters, headers) -> TemporalRelTypeValidator.check(parameters.get(PARAM_TIME_REL), true),
+    (parameters, headers) -> DateTypeValidator.check(parameters.get("time"), true),
+    (parameters, headers) -> DateTypeValidator.check(parameters.get(PARAM_END_TIME), false),
+    // pagination optional fields
+    (parameters, headers) -> PaginationLimitTypeValidator.check(parameters.get(PARAM_LIMIT), false),
+    (parameters, headers) ->
+        PaginationOffsetTypeValidator.check(parameters.get(PARAM_OFFSET), false)
+  };
+
+  private static final Check[] GEO_QUERY_CHECKS = {
+    (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+    (parameters, headers) -> GeoRelationTypeValidator.check(parameters.get(PARAM_GEOREL), true),
+    (parameters, headers) -> GeomTypeValidator.check(parameters.get(PARAM_GEOMETRY), true),
+    (parameters, headers) ->
+        CoordinatesTypeValidator.check(parameters.get(PARAM_COORDINATES), true)
+  };
+
+  // cursor pagination optional field, not taken by bulk download.
+  private static final Check CURSOR_CHECK =
+      (parameters, headers) -> CursorTypeValidator.check(parameters.get(PARAM_CURSOR), false);
+
+  // file of an upload batch, its record fields are passed as parameters.
+  private static final ValidatorChain BATCH_FILE =
+      new ValidatorChain(
+          new Check[] {
+            (parameters, headers) ->
+                DateTypeValidator.check(parameters.get(PARAM_START_TIME), true),
+            (parameters, headers) -> DateTypeValidator.check(parameters.get(PARAM_END_TIME), true),
+            (parameters, headers) -> GeomTypeValidator.check(parameters.get(PARAM_GEOMETRY), true),
+            (parameters, headers) ->
+                CoordinatesTypeValidator.check(parameters.get(PARAM_COORDINATES), true),
+            (parameters, headers) -> StorageUrlValidator.check(parameters.get(PARAM_FILE_URL), true)
+          });
+
+  static {
+    chain(
+        RequestType.UPLOAD,
+        (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+        (parameters, headers) -> DateTypeValidator.check(parameters.get(PARAM_START_TIME), false),
+        (parameters, headers) -> DateTypeValidator.check(parameters.get(PARAM_END_TIME), false),
+        (parameters, headers) -> SampleTypeValidator.check(parameters.get(PARAM_SAMPLE), false),
+        (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), false),
+        // geo (mandatory for upload)
+        (parameters, headers) -> GeomTypeValidator.check(parameters.get(PARAM_GEOMETRY), false),
+        (parameters, headers) ->
+            CoordinatesTypeValidator.check(parameters.get(PARAM_COORDINATES), false),
+        // external storage
+        (parameters, headers) ->
+            StorageTypeValidator.check(headers.get(HEADER_EXTERNAL_STORAGE), false),
+        (parameters, headers) ->
+            StorageUrlValidator.check(
+                parameters.get(PARAM_FILE_URL),
+                Boolean.parseBoolean(headers.get(HEADER_EXTERNAL_STORAGE))));
+    chain(
+        RequestType.CREATE_UPLOAD_SESSION,
+        (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+        (parameters, headers) -> DateTypeValidator.check(parameters.get(PARAM_START_TIME), true),
+        (parameters, headers) -> DateTypeValidator.check(parameters.get(PARAM_END_TIME), true),
+        (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), true),
+        (parameters, headers) -> GeomTypeValidator.check(parameters.get(PARAM_GEOMETRY), true),
+        (parameters, headers) ->
+            CoordinatesTypeValidator.check(parameters.get(PARAM_COORDINATES), true),
+        (parameters, headers) ->
+            UploadOffsetTypeValidator.check(headers.get(HEADER_UPLOAD_LENGTH), true));
+    chain(RequestType.UPLOAD_SESSION, uploadSessionChecks(false));
+    chain(RequestType.UPLOAD_CHUNK, uploadSessionChecks(true));
+    chain(
+        RequestType.UPLOAD_BATCH,
+        (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+        (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), true));
+    chain(
+        RequestType.DOWNLOAD,
+        (parameters, headers) -> FileIdTypeValidator.check(parameters.get(PARAM_FILE_ID), true),
+        (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), false));
+    chain(
+        RequestType.BULK_DOWNLOAD,
+        ValidatorChain::checkBulkDownloadQuery,
+        (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), true));
+    chain(
+        RequestType.DELETE,
+        (parameters, headers) -> FileIdTypeValidator.check(parameters.get(PARAM_FILE_ID), true),
+        (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), true),
+        // external storage
+        (parameters, headers) ->
+            StorageTypeValidator.check(headers.get(HEADER_EXTERNAL_STORAGE), false));
+    chain(RequestType.TEMPORAL_QUERY, withCursor(TEMPORAL_QUERY_CHECKS));
+    chain(
+        RequestType.LIST_QUERY,
+        (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+        (parameters, headers) ->
+            PaginationLimitTypeValidator.check(parameters.get(PARAM_LIMIT), false),
+        CURSOR_CHECK);
+    chain(RequestType.GEO_QUERY, withCursor(GEO_QUERY_CHECKS));
+  }
+
+  private final Check[] checks;
+
+  private ValidatorChain(Check[] checks) {
+    this.checks = checks;
+  }
+
+  private static void chain(RequestType requestType, Check... checks) {
+    CHAINS.put(requestType, new ValidatorChain(checks));
+  }
+
+  private static Check[] withCursor(Check[] checks) {
+    Check[] withCursor = Arrays.copyOf(checks, checks.length + 1);
+    withCursor[checks.length] = CURSOR_CHECK;
+    return withCursor;
+  }
+
+  private static Check[] uploadSessionChecks(boolean isChunk) {
+    return new Check[] {
+      (parameters, headers) -> IdTypeValidator.check(parameters.get(PARAM_ID), true),
+      (parameters, headers) ->
+          SessionIdTypeValidator.check(parameters.get(PARAM_SESSION_ID), true),
+      (parameters, headers) -> TokenTypeValidator.check(headers.get(HEADER_TOKEN), true),
+      (parameters, headers) ->
+          UploadOffsetTypeValidator.check(headers.get(HEADER_UPLOAD_OFFSET), isChunk)
+    };
+  }
+
+  /*
+   * bulk download takes either a list of file ids or a temporal/geo query for files of a
+   * resource, query is validated as for the query APIs.
+   */
+  private static ValidationError checkBulkDownloadQuery(MultiMap parameters, MultiMap headers) {
+    if (parameters.contains(PARAM_FILE_ID)) {
+      for (String fileId : parameters.getAll(PARAM_FILE_ID)) {
+        ValidationError error = FileIdTypeValidator.check(fileId, true);
+        if (error != null) {
+          return error;
+        }
+      }
+      return null;
+    }
+    if (parameters.contains(PARAM_GEOREL)) {
+      ValidationError error = checkAll(GEO_QUERY_CHECKS, parameters, headers);
+      if (error != null || !parameters.contains(PARAM_TIME_REL)) {
+        return error;
+      }
+    }
+    return checkAll(TEMPORAL_QUERY_CHECKS, parameters, headers);
+  }
+
+  private static ValidationError checkAll(Check[] checks, MultiMap parameters, MultiMap headers) {
+    for (Check check : checks) {
+      ValidationError error = check.apply(parameters, headers);
+      if (error != null) {
+        return error;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * chain of a request type.
+   *
+   * @param requestType iudx requestType
+   * @return chain, one with no checks for a type without validations
+   */
+  public static ValidatorChain forRequest(RequestType requestType) {
+    return CHAINS.getOrDefault(requestType, new ValidatorChain(new Check[0]));
+  }
+
+  /** chain of a file of an upload batch, every field of a file is mandatory. */
+  public static ValidatorChain forBatchFile() {
+    return BATCH_FILE;
+  }
+
+  /**
+   * validate a request, stops at first failure.
+   *
+   * @param parameters recieved parameters
+   * @param headers recieved headers
+   * @return failure, null if request is valid
+   */
+  public ValidationError validate(MultiMap parameters, MultiMap headers) {
+    return checkAll(checks, parameters, headers);
+  }
+
+  /** check of a field of request. */
+  @FunctionalInterface
+  public interface Check {
+    ValidationError apply(MultiMap parameters, MultiMap headers);
+  }
+}
@@ -3,15 +3,8 @@ package iudx.file.server.apiserver.validations.types;
 import static iudx.file.server.apiserver.utilities.Constants.VALIDATION_ALLOWED_COORDINATES;
 import static iudx.file.server.apiserver.utilities.Constants.VALIDATION_COORDINATE_PRECISION_ALLOWED;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
-import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.util.List;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import iudx.file.server.apiserver.validations.ValidationError;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -20,172 +13,138 @@ import org.apache.logging.log4j.Logger;
  *
  * <h1>CoordinatesTypeValidator</h1>
  *
- * <p>it validate the co-ordinate whether its valid or not
+ * <p>it validate the co-ordinate whether its valid or not. Coordinates are read in a single pass,
+ * numbers alternate longitude and latitude and brackets only decide the geometry.
  */
-public class CoordinatesTypeValidator implements Validator {
+public class CoordinatesTypeValidator {
 
   private static final Logger LOGGER = LogManager.getLogger(CoordinatesTypeValidator.class);
 
-  private static final String LATITUDE_PATTERN =
-      "^(\\+|-)?(?:90(?:(?:\\.0{1,6})?)|(?:[0-9]|[1-8][0-9])(?:(?:\\.[0-9]{1,6})?))$";
-  private static final String LONGITUDE_PATTERN =
-      "^(\\+|-)?(?:180(?:(?:\\.0{1,6})?)|(?:[0-9]|[1-9][0-9]|1[0-7][0-9])(?:(?:\\.[0-9]{1,6})?))$";
-  private static final Pattern pattern = Pattern.compile("[\\w]+[^\\,]*(?:\\.*[\\w])");
-  private final int allowedMaxCoordinates = VALIDATION_ALLOWED_COORDINATES;
-  private final String value;
-  private final boolean required;
-  private DecimalFormat df = new DecimalFormat("#.######");
-
-  public CoordinatesTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
-
-  private boolean isValidLatitude(String latitude) {
-    String message = "";
-    try {
-      Float latitudeValue = Float.parseFloat(latitude);
-      if (!df.format(latitudeValue).matches(LATITUDE_PATTERN)) {
-        message = "Validation error : invalid latitude value " + latitude;
+  private static final int FAILURE_CODE = 400;
+  private static final int MAX_LONGITUDE = 180;
+  private static final int MAX_LATITUDE = 90;
+  private static final String COUNT_MESSAGE =
+      "Invalid numbers of coordinates supplied "
+          + "(Only 10 coordinates allowed for polygon and line & 1 coordinate for point)";
+  private static final String PRECISION_MESSAGE =
+      "invalid coordinate (only 6 digits to precision allowed)";
+
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
+    if (value == null || value.isBlank()) {
+      if (required) {
+        return error("Validation error : null or blank value for required mandatory field");
       }
-    } catch (Exception ex) {
-      message = "Validation error : invalid latitude value " + latitude;
+      return null;
     }
-    if (message.isBlank()) {
-      return true;
+    boolean point = !value.startsWith("[[");
+    if (!value.startsWith("[")) {
+      LOGGER.error("invalid geometry of coordinates");
+      return error(COUNT_MESSAGE);
     }
-    throw new DxRuntimeException(failureCode(), ResponseUrn.INVALID_GEO_PARAM, message);
-  }
-
-  private boolean isValidLongitude(String longitude) {
-    String message = "";
-    try {
-      Float longitudeValue = Float.parseFloat(longitude);
-      if (!df.format(longitudeValue).matches(LONGITUDE_PATTERN)) {
-        message = "Validation error : invalid longitude value " + longitude;
+    int maxNumbers = point ? 2 : VALIDATION_ALLOWED_COORDINATES * 2;
+    int numbers = 0;
+    int start = 0;
+    while (true) {
+      int end = value.indexOf(',', start);
+      if (end < 0) {
+        end = value.length();
       }
-    } catch (Exception ex) {
-      message = "Validation error : invalid longitude value " + longitude;
-    }
-    if (message.isBlank()) {
-      return true;
-    }
-    throw new DxRuntimeException(failureCode(), ResponseUrn.INVALID_GEO_PARAM, message);
-  }
-
-  private boolean isPricisonLengthAllowed(String value) {
-    boolean result = false;
-    try {
-      result = new BigDecimal(value).scale() > VALIDATION_COORDINATE_PRECISION_ALLOWED;
-    } catch (Exception ex) {
-      throw new DxRuntimeException(
-          failureCode(),
-          ResponseUrn.INVALID_GEO_VALUE,
-          "Validation error : invalid value " + value);
-    }
-    return result;
-  }
-
-  private boolean isValidCoordinates(String value) {
-    String coordinates = value.replaceAll("\\[", "").replaceAll("\\]", "");
-    String[] coordinatesArray = coordinates.split(",");
-    boolean checkLongitudeFlag = false;
-    for (String coordinate : coordinatesArray) {
-      if (!coordinate.isBlank()) {
-        coordinate = coordinate.trim();
-      } else {
-        LOGGER.error("invalid/empty coordinate value");
-        return false;
+      if (++numbers > maxNumbers) {
+        return error(COUNT_MESSAGE);
       }
-      if (checkLongitudeFlag && !isValidLatitude(coordinate)) {
-        return false;
-      } else if (!isValidLongitude(coordinate)) {
-        return false;
+      ValidationError error = checkNumber(value, start, end, numbers % 2 == 1);
+      if (error != null) {
+        return error;
       }
-      checkLongitudeFlag = !checkLongitudeFlag;
-      if (isPricisonLengthAllowed(coordinate)) {
-        LOGGER.error("invalid coordinate (only 6 digits to precision allowed)");
-        return false;
+      if (end == value.length()) {
+        break;
       }
+      start = end + 1;
     }
-    return true;
-  }
-
-  private String getProbableGeomType(String coords) {
-    String geom = null;
-    if (coords.startsWith("[[[")) {
-      geom = "polygon";
-    } else if (coords.startsWith("[[")) {
-      geom = "line";
-    } else if (coords.startsWith("[")) {
-      geom = "point";
+    if (point && numbers != 2) {
+      LOGGER.error("Invalid number of coordinates given for point");
+      return error(COUNT_MESSAGE);
     }
-    return geom;
+    return null;
   }
 
-  private boolean isValidCoordinateCount(String coordinates) {
-    String geom = getProbableGeomType(coordinates);
-    List<String> coordinatesList = getCoordinatesValues(coordinates);
-    if (geom.equalsIgnoreCase("point")) {
-      if (coordinatesList.size() != 2) {
-        LOGGER.error("Invalid number of coordinates given for point");
-        return false;
+  /*
+   * number between start and end of value, brackets are skipped and blanks are allowed around it.
+   * Accepts optional sign, digits and an optional fraction, so exponents, hex and NaN are invalid.
+   */
+  private static ValidationError checkNumber(
+      String value, int start, int end, boolean longitude) {
+    int integer = 0;
+    int digits = 0;
+    int fractionDigits = -1;
+    boolean fractionZero = true;
+    boolean started = false;
+    boolean ended = false;
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (c == '[' || c == ']') {
+        continue;
       }
-    } else if (geom.equalsIgnoreCase("polygon")) {
-      if (coordinatesList.size() > allowedMaxCoordinates * 2) {
-        return false;
+      if (Character.isWhitespace(c)) {
+        ended = started;
+        continue;
       }
-    } else {
-      if (coordinatesList.size() > allowedMaxCoordinates * 2) {
-        return false;
+      if (ended) {
+        return invalidValue(value, start, end, longitude);
       }
-      // TODO : handle for line and bbox (since line and bbox share same [[][]] structure )
-      return true;
-    }
-    return true;
-  }
-
-  private List<String> getCoordinatesValues(String coordinates) {
-    Matcher matcher = pattern.matcher(coordinates);
-    List<String> coordinatesValues =
-        matcher.results().map(MatchResult::group).collect(Collectors.toList());
-    return coordinatesValues;
-  }
-
-  @Override
-  public boolean isValid() {
-    String message = "";
-    if (required && (value == null || value.isBlank())) {
-      message = "Validation error : null or blank value for required mandatory field";
-      throw new DxRuntimeException(failureCode(), ResponseUrn.INVALID_GEO_PARAM, message);
-    } else {
-      if (value == null || value.isBlank()) {
-        return true;
+      if ((c == '+' || c == '-') && !started) {
+        started = true;
+      } else if (c == '.' && fractionDigits < 0) {
+        started = true;
+        fractionDigits = 0;
+      } else if (c >= '0' && c <= '9') {
+        started = true;
+        digits++;
+        if (fractionDigits < 0) {
+          integer = Math.min(integer * 10 + (c - '0'), 1000);
+        } else {
+          fractionDigits++;
+          fractionZero &= c == '0';
+        }
+      } else {
+        return invalidValue(value, start, end, longitude);
       }
     }
-    if (!isValidCoordinateCount(value)) {
-      message =
-          "Invalid numbers of coordinates supplied "
-              + "(Only 10 coordinates allowed for polygon and line & 1 coordinate for point)";
+    if (!started) {
+      LOGGER.error("invalid/empty coordinate value");
+      return error(PRECISION_MESSAGE);
     }
-    if (!isValidCoordinates(value)) {
-      message = "invalid coordinate (only 6 digits to precision allowed)";
+    if (digits == 0) {
+      return invalidValue(value, start, end, longitude);
     }
-    if (message.isBlank()) {
-      return true;
+    int max = longitude ? MAX_LONGITUDE : MAX_LATITUDE;
+    if (integer > max || (integer == max && !fractionZero)) {
+      return invalidValue(value, start, end, longitude);
     }
-    throw new DxRuntimeException(failureCode(), ResponseUrn.INVALID_GEO_PARAM, message);
+    if (fractionDigits > VALIDATION_COORDINATE_PRECISION_ALLOWED) {
+      LOGGER.error(PRECISION_MESSAGE);
+      return error(PRECISION_MESSAGE);
+    }
+    return null;
   }
 
-  @Override
-  public int failureCode() {
-    // TODO Auto-generated method stub
-    return 400;
+  private static ValidationError invalidValue(
+      String value, int start, int end, boolean longitude) {
+    return error(
+        "Validation error : invalid "
+            + (longitude ? "longitude" : "latitude")
+            + " value "
+            + value.substring(start, end).replace("[", "").replace("]", "").trim());
   }
 
-  @Override
-  public String failureMessage() {
-    // TODO Auto-generated method stub
-    return null;
+  private static ValidationError error(String message) {
+    return new ValidationError(FAILURE_CODE, ResponseUrn.INVALID_GEO_PARAM, message);
   }
 }
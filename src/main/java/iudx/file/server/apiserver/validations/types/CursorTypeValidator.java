@@ -0,0 +1,73 @@
+package iudx.file.server.apiserver.validations.types;
+
+import static iudx.file.server.common.Constants.CURSOR_START;
+
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * CursorTypeValidator.
+ *
+ * <h1>CursorTypeValidator</h1>
+ *
+ * <p>it validate the pagination cursor, either start of a walk or a token of next page. Token is
+ * opaque to client, so only its alphabet and length are checked here and its content is checked
+ * by database service.
+ */
+public class CursorTypeValidator {
+
+  private static final Logger LOGGER = LogManager.getLogger(CursorTypeValidator.class);
+
+  private static final int FAILURE_CODE = 400;
+  // longest request line accepted by http server.
+  private static final int MAX_LENGTH = 4096;
+
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
+    if (required && (value == null || value.isBlank())) {
+      LOGGER.error("Validation error : null or blank value for required mandatory field");
+      return new ValidationError(
+          FAILURE_CODE,
+          ResponseUrn.MANDATORY_FIELD,
+          "Validation error : null or blank value for required mandatory field");
+    } else {
+      if (value == null) {
+        return null;
+      }
+    }
+    if (!CURSOR_START.equals(value) && !isToken(value)) {
+      LOGGER.error("Validation error : invalid cursor");
+      return new ValidationError(
+          FAILURE_CODE, ResponseUrn.INVALID_ATTR_VALUE, "Validation error : invalid cursor");
+    }
+    return null;
+  }
+
+  // unpadded base64url.
+  private static boolean isToken(String value) {
+    if (value.isEmpty() || value.length() > MAX_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      boolean valid =
+          (c >= 'A' && c <= 'Z')
+              || (c >= 'a' && c <= 'z')
+              || (c >= '0' && c <= '9')
+              || c == '-'
+              || c == '_';
+      if (!valid) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
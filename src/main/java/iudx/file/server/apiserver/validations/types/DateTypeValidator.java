@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import org.apache.logging.log4j.LogManager;
@@ -14,52 +14,42 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>it validate the date.
  */
-public class DateTypeValidator implements Validator {
+public class DateTypeValidator {
 
-  private static final Logger LOGGER = LogManager.getLogger(DateTypeValidator.class);
-
-  private final String value;
-  private final boolean required;
+  private static final int FAILURE_CODE = 400;
 
-  public DateTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final Logger LOGGER = LogManager.getLogger(DateTypeValidator.class);
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
       LOGGER.error("Validation error : null or blank value for required mandatory field");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : null or blank value for required mandatory field");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
-    return isValidDate(value);
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "invalid date-time format";
+    return checkDate(value);
   }
 
-  private boolean isValidDate(String value) {
-    String dateString = value.trim().replaceAll("\\s", "+"); // since + is treated as space in uri
+  private static ValidationError checkDate(String value) {
+    String dateString = value.trim().replace(' ', '+'); // since + is treated as space in uri
     try {
       ZonedDateTime.parse(dateString);
-      return true;
+      return null;
     } catch (DateTimeParseException e) {
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_TEMPORAL_DATE_FORMAT,
           "Validation error : Invalid date-time format [ " + value + " ]");
     }
@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -13,59 +13,51 @@ import org.apache.logging.log4j.Logger;
  * <p>it validate the FileId.
  */
 // TODO : Regex for fileId
-public class FileIdTypeValidator implements Validator {
+public class FileIdTypeValidator {
 
-  private static final Logger LOGGER = LogManager.getLogger(FileIdTypeValidator.class);
-
-  private final String value;
-  private final boolean required;
+  private static final int FAILURE_CODE = 400;
 
-  public FileIdTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final Logger LOGGER = LogManager.getLogger(FileIdTypeValidator.class);
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
       LOGGER.error("Validation error : null or blank value for required mandatory field");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : null or blank value for required mandatory field");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
     if (!isValidLength(value) || !isValidId(value)) {
       LOGGER.error("Validation error : invalid file id [ " + value + " ]");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_ATTR_VALUE,
           "Validation error : invalid file id [ " + value + " ]");
     }
-    return true;
+    return null;
   }
 
-  @Override
-  public int failureCode() {
-    // TODO Auto-generated method stub
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    // TODO Auto-generated method stub
-    return "Invalid file id";
-  }
-
-  private boolean isValidId(String id) {
-    String[] idcomponents = id.split("/");
-    return idcomponents.length >= 2;
+  // at least two components separated by '/', trailing '/' ignored.
+  private static boolean isValidId(String id) {
+    int end = id.length();
+    while (end > 0 && id.charAt(end - 1) == '/') {
+      end--;
+    }
+    return id.lastIndexOf('/', end - 1) >= 0;
   }
 
-  private boolean isValidLength(String id) {
+  private static boolean isValidLength(String id) {
     return id.length() <= 512;
   }
 }
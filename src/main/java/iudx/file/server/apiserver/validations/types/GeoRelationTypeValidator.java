@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,48 +13,39 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>it validate GeoRelation.
  */
-public class GeoRelationTypeValidator implements Validator {
+public class GeoRelationTypeValidator {
 
-  private static final Logger LOGGER = LogManager.getLogger(GeoRelationTypeValidator.class);
-  private final String value;
-  private final boolean required;
-  private List<String> allowedValues = List.of("within", "intersects", "near");
+  private static final int FAILURE_CODE = 400;
 
-  public GeoRelationTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final Logger LOGGER = LogManager.getLogger(GeoRelationTypeValidator.class);
+  private static final List<String> allowedValues = List.of("within", "intersects", "near");
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
       LOGGER.error("Validation error : null or blank value for required mandatory field");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : " + "null or blank value for required mandatory field");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
     if (!allowedValues.contains(value)) {
       LOGGER.error("Validation error : Invalid geo relation value passed [ " + value + " ]");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_ATTR_VALUE,
           "Validation error: " + "Invalid geo relation value passed [ " + value + " ]");
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "Invalid geo rel";
+    return null;
   }
 }
@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,51 +14,41 @@ import org.apache.logging.log4j.Logger;
  * <p>it validate GeomType("Point", "point", "Polygon", "polygon", "LineString", "linestring",
  * "bbox")
  */
-public class GeomTypeValidator implements Validator {
+public class GeomTypeValidator {
+
+  private static final int FAILURE_CODE = 400;
   private static final Logger LOGGER = LogManager.getLogger(GeomTypeValidator.class);
 
-  private List<Object> allowedValues =
+  private static final List<Object> allowedValues =
       List.of("Point", "point", "Polygon", "polygon", "LineString", "linestring", "bbox");
 
-  private String value;
-  private boolean required;
-
-  public GeomTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
-
-  @Override
-  public boolean isValid() {
-    LOGGER.debug("value : " + value + "required : " + required);
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
+    LOGGER.debug("value : {} required : {}", value, required);
     if (required && (value == null || value.isBlank())) {
       LOGGER.error("Validation error : null or blank value for required mandatory field");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : null or blank value for required mandatory field");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
     if (!allowedValues.contains(value)) {
       LOGGER.error("Validation error : Invalid geom type value passed [ " + value + " ]");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_ATTR_VALUE,
           "Validation error : Invalid geom type value passed [ " + value + " ]");
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "Invalid geo typee value";
+    return null;
   }
 }
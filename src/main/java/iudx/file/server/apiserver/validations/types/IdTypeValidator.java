@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 
 /**
  * IdTypeValidator.
@@ -10,23 +10,24 @@ import iudx.file.server.apiserver.response.ResponseUrn;
  *
  * <p>it validate Id
  */
-public class IdTypeValidator implements Validator {
-  private final String value;
-  private final boolean required;
+public class IdTypeValidator {
 
-  public IdTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final int FAILURE_CODE = 400;
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     String message = "";
     if (required && (value == null || value.isBlank())) {
       message = "Validation error : null or blank value for required mandatory field";
     } else {
       if (value == null) {
-        return true;
+        return null;
       }
       if (value.isBlank()) {
         message = "Validation error : blank value for passed";
@@ -39,27 +40,27 @@ public class IdTypeValidator implements Validator {
       message = "Validation error : Invalid id [ " + value + " ]";
     }
     if (message.isBlank()) {
-      return true;
+      return null;
     }
-    throw new DxRuntimeException(failureCode(), ResponseUrn.INVALID_PAYLOAD_FORMAT, message);
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "Invalid id";
+    return new ValidationError(FAILURE_CODE, ResponseUrn.INVALID_PAYLOAD_FORMAT, message);
   }
 
-  private boolean isValidId(String id) {
-    String[] idcomponents = id.split("-");
-    return idcomponents.length == 5;
+  // five components separated by '-', as id.split("-") would give (trailing '-' ignored).
+  private static boolean isValidId(String id) {
+    int end = id.length();
+    while (end > 0 && id.charAt(end - 1) == '-') {
+      end--;
+    }
+    int components = end == 0 ? 0 : 1;
+    for (int i = 0; i < end; i++) {
+      if (id.charAt(i) == '-') {
+        components++;
+      }
+    }
+    return components == 5;
   }
 
-  private boolean isValidLength(String id) {
+  private static boolean isValidLength(String id) {
     return id.length() == 36;
   }
 }
@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -12,83 +12,67 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>it validate pagination value
  */
-public class PaginationLimitTypeValidator implements Validator {
+public class PaginationLimitTypeValidator {
 
-  private static final Logger LOGGER = LogManager.getLogger(PaginationLimitTypeValidator.class);
-
-  private final String value;
-  private final boolean required;
+  private static final int FAILURE_CODE = 400;
 
-  public PaginationLimitTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final Logger LOGGER = LogManager.getLogger(PaginationLimitTypeValidator.class);
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
       LOGGER.error("Validation error : null or blank value for required mandatory field");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : null or blank value for required mandatory field");
     } else {
       if (value == null) {
-        return true;
+        return null;
       }
       if (value.isBlank()) {
         LOGGER.error("Validation error :  blank value passed");
-        throw new DxRuntimeException(
-            failureCode(), ResponseUrn.MANDATORY_FIELD, "Validation error : blank value passed");
+        return new ValidationError(
+            FAILURE_CODE, ResponseUrn.MANDATORY_FIELD, "Validation error : blank value passed");
       }
     }
-    if (!isValidValue(value)) {
-      LOGGER.error("Validation error : invalid pagination limit Value [ " + value + " ]");
-      throw new DxRuntimeException(
-          failureCode(),
-          ResponseUrn.INVALID_ATTR_VALUE,
-          "Validation error : invalid pagination limit value [ " + value + " ]");
-    }
-    return true;
+    return checkValue(value);
   }
 
-  private boolean isValidValue(String value) {
+  private static ValidationError checkValue(String value) {
+    int size;
     try {
-      int size = Integer.parseInt(value);
-      if (size > 10000 || size < 0) {
-        LOGGER.error(
-            "Validation error : invalid pagination limit Value > 10000 or negative value passed [ "
-                + value
-                + " ]");
-        throw new DxRuntimeException(
-            failureCode(),
-            ResponseUrn.REQUEST_LIMIT_EXCEED,
-            "Validation error : invalid pagination limit Value > 10000 or negative value passed [ "
-                + value
-                + " ]");
-      }
-      return true;
-    } catch (Exception ex) {
+      size = Integer.parseInt(value);
+    } catch (NumberFormatException ex) {
       LOGGER.error(
           "Validation error : invalid pagination limit Value [ "
               + value
               + " ] only integer expected");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_ATTR_VALUE,
           "Validation error : invalid pagination limit Value [ "
               + value
               + " ] only integer expected");
     }
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "bad query";
+    if (size > 10000 || size < 0) {
+      LOGGER.error(
+          "Validation error : invalid pagination limit Value > 10000 or negative value passed [ "
+              + value
+              + " ]");
+      return new ValidationError(
+          FAILURE_CODE,
+          ResponseUrn.REQUEST_LIMIT_EXCEED,
+          "Validation error : invalid pagination limit Value > 10000 or negative value passed [ "
+              + value
+              + " ]");
+    }
+    return null;
   }
 }
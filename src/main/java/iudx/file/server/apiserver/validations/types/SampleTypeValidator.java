@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -12,48 +12,38 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>it checks sample value whether its null or not
  */
-public class SampleTypeValidator implements Validator {
+public class SampleTypeValidator {
 
-  private static final Logger LOGGER = LogManager.getLogger(SampleTypeValidator.class);
-
-  private String value;
-  private boolean required;
+  private static final int FAILURE_CODE = 400;
 
-  public SampleTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final Logger LOGGER = LogManager.getLogger(SampleTypeValidator.class);
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
       LOGGER.error("Validation error : null or blank value for required mandatory field");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : null or blank value for required mandatory field");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
     if (!value.equalsIgnoreCase("true")) {
       LOGGER.error("Validation error : Invalid isSample field value [ " + value + " ]");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_ATTR_VALUE,
           "Validation error : Invalid isSample field value [ " + value + " ]");
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "invalid sample value provided.";
+    return null;
   }
 }
@@ -0,0 +1,67 @@
+package iudx.file.server.apiserver.validations.types;
+
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * SessionIdTypeValidator.
+ *
+ * <h1>SessionIdTypeValidator</h1>
+ *
+ * <p>it validate the upload session id.
+ */
+public class SessionIdTypeValidator {
+
+  private static final int FAILURE_CODE = 400;
+
+  private static final Logger LOGGER = LogManager.getLogger(SessionIdTypeValidator.class);
+
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
+    if (required && (value == null || value.isBlank())) {
+      LOGGER.error("Validation error : null or blank value for required mandatory field");
+      return new ValidationError(
+          FAILURE_CODE,
+          ResponseUrn.MANDATORY_FIELD,
+          "Validation error : null or blank value for required mandatory field");
+    } else {
+      if (value == null) {
+        return null;
+      }
+    }
+    if (!isUuid(value)) {
+      LOGGER.error("Validation error : invalid session id [ " + value + " ]");
+      return new ValidationError(
+          FAILURE_CODE,
+          ResponseUrn.INVALID_ATTR_VALUE,
+          "Validation error : invalid session id [ " + value + " ]");
+    }
+    return null;
+  }
+
+  // 8-4-4-4-12 hex digits.
+  private static boolean isUuid(String value) {
+    if (value.length() != 36) {
+      return false;
+    }
+    for (int i = 0; i < 36; i++) {
+      char c = value.charAt(i);
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-') {
+          return false;
+        }
+      } else if (Character.digit(c, 16) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
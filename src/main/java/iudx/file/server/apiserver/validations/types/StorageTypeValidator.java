@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 
 /**
  * StorageTypeValidator.
@@ -10,35 +10,26 @@ import iudx.file.server.apiserver.response.ResponseUrn;
  *
  * <p>it checks storage type value whether it's null or not
  */
-public class StorageTypeValidator implements Validator {
-  private final String value;
-  private final boolean required;
+public class StorageTypeValidator {
 
-  public StorageTypeValidator(String value, boolean required) {
-    this.required = required;
-    this.value = value;
-  }
+  private static final int FAILURE_CODE = 400;
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
-      throw new DxRuntimeException(
-          failureCode(), ResponseUrn.INVALID_ATTR_PARAM, "Validation error : field is empty");
+      return new ValidationError(
+          FAILURE_CODE, ResponseUrn.INVALID_ATTR_PARAM, "Validation error : field is empty");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "Invalid token";
+    return null;
   }
 }
@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import java.net.MalformedURLException;
 import java.net.URL;
 import org.apache.logging.log4j.LogManager;
@@ -14,48 +14,38 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>it validate StorageURL
  */
-public class StorageUrlValidator implements Validator {
-  private static final Logger LOGGER = LogManager.getLogger(StorageUrlValidator.class);
-
-  private final String value;
-  private final boolean required;
+public class StorageUrlValidator {
 
-  public StorageUrlValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final int FAILURE_CODE = 400;
+  private static final Logger LOGGER = LogManager.getLogger(StorageUrlValidator.class);
 
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
-      throw new DxRuntimeException(
-          failureCode(), ResponseUrn.INVALID_ATTR_VALUE, "Validation error: field is empty");
+      return new ValidationError(
+          FAILURE_CODE, ResponseUrn.INVALID_ATTR_VALUE, "Validation error: field is empty");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
     if (!isValidValue(value)) {
       LOGGER.error("Validation error: [ " + value + " ]: url is not allowed");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_ATTR_VALUE,
           "Validation error: url value is not allowed");
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "Invalid storage url type value";
+    return null;
   }
 
-  private boolean isValidValue(String value) {
+  private static boolean isValidValue(String value) {
 
     try {
       new URL(value);
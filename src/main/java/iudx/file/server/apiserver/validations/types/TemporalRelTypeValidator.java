@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
@@ -14,50 +14,41 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>it validate temporal rel("after", "before", "during", "between")
  */
-public class TemporalRelTypeValidator implements Validator {
+public class TemporalRelTypeValidator {
 
-  private static final Logger LOGGER = LogManager.getLogger(TemporalRelTypeValidator.class);
-
-  private final List<String> allowedTimeRel = Arrays.asList("after", "before", "during", "between");
-
-  private String value;
-  private boolean required;
+  private static final int FAILURE_CODE = 400;
 
-  public TemporalRelTypeValidator(String value, boolean required) {
-    this.value = value;
-    this.required = required;
-  }
+  private static final Logger LOGGER = LogManager.getLogger(TemporalRelTypeValidator.class);
 
-  @Override
-  public boolean isValid() {
-    LOGGER.debug("value : " + value + "required : " + required);
+  private static final List<String> allowedTimeRel =
+      Arrays.asList("after", "before", "during", "between");
+
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
+    LOGGER.debug("value : {} required : {}", value, required);
     if (required && (value == null || value.isBlank())) {
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.MANDATORY_FIELD,
           "Validation error : null or blank value for required mandatory field");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
     if (!allowedTimeRel.contains(value)) {
       LOGGER.error("Validation error : Invalid temporal relation value passed [ " + value + " ]");
-      throw new DxRuntimeException(
-          failureCode(),
+      return new ValidationError(
+          FAILURE_CODE,
           ResponseUrn.INVALID_TEMPORAL_RELATION_VALUE,
           "Validation error : Invalid temporal relation value passed [ " + value + " ]");
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "invalid time relation value.";
+    return null;
   }
 }
@@ -1,7 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
 
 /**
  * TokenTypeValidator.
@@ -10,36 +10,26 @@ import iudx.file.server.apiserver.response.ResponseUrn;
  *
  * <p>it validate token
  */
-public class TokenTypeValidator implements Validator {
+public class TokenTypeValidator {
 
-  private final String value;
-  private final boolean required;
+  private static final int FAILURE_CODE = 400;
 
-  public TokenTypeValidator(String value, boolean required) {
-    this.required = required;
-    this.value = value;
-  }
-
-  @Override
-  public boolean isValid() {
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
     if (required && (value == null || value.isBlank())) {
-      throw new DxRuntimeException(
-          failureCode(), ResponseUrn.INVALID_TOKEN, "Validation error : token is empty");
+      return new ValidationError(
+          FAILURE_CODE, ResponseUrn.INVALID_TOKEN, "Validation error : token is empty");
     } else {
       if (value == null || value.isBlank()) {
-        return true;
+        return null;
       }
     }
-    return true;
-  }
-
-  @Override
-  public int failureCode() {
-    return 400;
-  }
-
-  @Override
-  public String failureMessage() {
-    return "Invalid token";
+    return null;
   }
 }
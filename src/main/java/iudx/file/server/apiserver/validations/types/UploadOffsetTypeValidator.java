@@ -0,0 +1,58 @@
+package iudx.file.server.apiserver.validations.types;
+
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.ValidationError;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * UploadOffsetTypeValidator.
+ *
+ * <h1>UploadOffsetTypeValidator</h1>
+ *
+ * <p>it validate byte offset/length values of chunked upload headers, a non negative long is
+ * expected.
+ */
+public class UploadOffsetTypeValidator {
+
+  private static final int FAILURE_CODE = 400;
+
+  private static final Logger LOGGER = LogManager.getLogger(UploadOffsetTypeValidator.class);
+
+  /**
+   * validate value.
+   *
+   * @param value value
+   * @param required whether value is mandatory
+   * @return failure, null if valid
+   */
+  public static ValidationError check(String value, boolean required) {
+    if (required && (value == null || value.isBlank())) {
+      LOGGER.error("Validation error : null or blank value for required mandatory field");
+      return new ValidationError(
+          FAILURE_CODE,
+          ResponseUrn.MANDATORY_FIELD,
+          "Validation error : null or blank value for required mandatory field");
+    } else {
+      if (value == null) {
+        return null;
+      }
+    }
+    if (!isValidValue(value)) {
+      LOGGER.error("Validation error : invalid upload offset value [ " + value + " ]");
+      return new ValidationError(
+          FAILURE_CODE,
+          ResponseUrn.INVALID_ATTR_VALUE,
+          "Validation error : invalid upload offset value [ " + value + " ]");
+    }
+    return null;
+  }
+
+  private static boolean isValidValue(String value) {
+    try {
+      return Long.parseLong(value.trim()) >= 0;
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+}
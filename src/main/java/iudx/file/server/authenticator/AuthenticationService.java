@@ -33,7 +33,8 @@ public interface AuthenticationService {
    * @param request which is a JsonObject containing ids: [String]
    * @param authenticationInfo which is a JsonObject containing token: String and apiEndpoint:
    *     String
-   * @param handler which is a request handler
+   * @param handler which is a request handler, result carries catalogue item of id looked up while
+   *     introspecting as itemContext
    * @return AuthenticationService which is a service
    */
   @Fluent
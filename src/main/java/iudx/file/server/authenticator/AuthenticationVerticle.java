@@ -1,6 +1,6 @@
 package iudx.file.server.authenticator;
 
-import static iudx.file.server.common.Constants.*;
+import static iudx.file.server.authenticator.utilities.Constants.*;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
@@ -19,6 +19,8 @@ import iudx.file.server.common.Api;
 import iudx.file.server.common.WebClientFactory;
 import iudx.file.server.common.service.CatalogueService;
 import iudx.file.server.common.service.impl.CatalogueServiceImpl;
+import iudx.file.server.database.postgres.PostgresConstants;
+import iudx.file.server.database.postgres.PostgresService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,6 +36,7 @@ public class AuthenticationVerticle extends AbstractVerticle {
   private String dxApiBasePath;
   private String iudxApiBasePath;
   private Api api;
+  private long syncTimerId = -1;
 
   static WebClient createWebClient(Vertx vertx, JsonObject config) {
     return createWebClient(vertx, config, false);
@@ -78,10 +81,26 @@ public class AuthenticationVerticle extends AbstractVerticle {
               iudxApiBasePath = config().getString("iudxApiBasePath");
               api = Api.getInstance(dxApiBasePath, iudxApiBasePath);
               JWTAuth jwtAuth = JWTAuth.create(vertx, jwtAuthOptions);
+              RevokedClientNearCache revokedClients =
+                  new RevokedClientNearCache(
+                      config().getLong("expectedRevokedClients", EXPECTED_REVOKED_CLIENTS));
+              revokedClients.load(PostgresService.createProxy(vertx, PG_SERVICE_ADDRESS));
+              long syncInterval =
+                  config()
+                      .getLong(
+                          "revokedTokensSyncInterval",
+                          PostgresConstants.REVOKED_TOKENS_SYNC_INTERVAL);
+              syncTimerId = vertx.setPeriodic(syncInterval * 1000, id -> revokedClients.refresh());
 
               jwtAuthenticationService =
                   new JwtAuthenticationServiceImpl(
-                      vertx, jwtAuth, config(), catalogueService, cacheService, api);
+                      vertx,
+                      jwtAuth,
+                      config(),
+                      catalogueService,
+                      cacheService,
+                      api,
+                      revokedClients);
               /* Publish the Authentication service with the Event Bus against an address. */
               binder = new ServiceBinder(vertx);
 
@@ -89,6 +108,7 @@ public class AuthenticationVerticle extends AbstractVerticle {
                   binder
                       .setAddress(AUTH_SERVICE_ADDRESS)
                       .register(AuthenticationService.class, jwtAuthenticationService);
+              LocalAuthenticationService.register(vertx, jwtAuthenticationService);
               LOGGER.info("AUTH service deployed");
             })
         .onFailure(
@@ -120,6 +140,8 @@ public class AuthenticationVerticle extends AbstractVerticle {
 
   @Override
   public void stop() {
+    vertx.cancelTimer(syncTimerId);
+    LocalAuthenticationService.unregister(vertx, jwtAuthenticationService);
     binder.unregister(consumer);
   }
 }
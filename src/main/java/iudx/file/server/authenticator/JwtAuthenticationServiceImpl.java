@@ -3,23 +3,29 @@ package iudx.file.server.authenticator;
 import static iudx.file.server.authenticator.utilities.Constants.*;
 import static iudx.file.server.common.Constants.CAT_SEARCH_PATH;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.*;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.ext.web.client.predicate.ResponsePredicate;
+import io.vertx.micrometer.backends.BackendRegistries;
 import iudx.file.server.authenticator.authorization.*;
 import iudx.file.server.authenticator.utilities.JwtData;
 import iudx.file.server.cache.CacheService;
 import iudx.file.server.cache.cacheimpl.CacheType;
 import iudx.file.server.common.Api;
+import iudx.file.server.common.RouteId;
 import iudx.file.server.common.service.CatalogueService;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -31,6 +37,7 @@ import org.apache.logging.log4j.Logger;
 public class JwtAuthenticationServiceImpl implements AuthenticationService {
 
   private static final Logger LOGGER = LogManager.getLogger(JwtAuthenticationServiceImpl.class);
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
 
   final JWTAuth jwtAuth;
   final String host;
@@ -41,18 +48,10 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
   final CatalogueService catalogueService;
   final CacheService cache;
   final Api api;
-  // resourceGroupCache will contains ACL info about all resource group in a resource server
-  private final Cache<String, String> resourceGroupCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(1000)
-          .expireAfterAccess(CACHE_TIMEOUT, TimeUnit.MINUTES)
-          .build();
-  // resourceIdCache will contains info about resources available(& their ACL) in resource server.
-  private final Cache<String, String> resourceIdCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(1000)
-          .expireAfterAccess(CACHE_TIMEOUT, TimeUnit.MINUTES)
-          .build();
+  final VerifiedTokenCache verifiedTokens;
+  final RevokedClientNearCache revokedClients;
+  final AuthorizationTable authorizationTable;
+  private final Timer verificationTimer;
   WebClient catWebClient;
 
   JwtAuthenticationServiceImpl(
@@ -62,6 +61,17 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
       final CatalogueService catalogueService,
       final CacheService cacheService,
       final Api api) {
+    this(vertx, jwtAuth, config, catalogueService, cacheService, api, null);
+  }
+
+  JwtAuthenticationServiceImpl(
+      Vertx vertx,
+      final JWTAuth jwtAuth,
+      final JsonObject config,
+      final CatalogueService catalogueService,
+      final CacheService cacheService,
+      final Api api,
+      final RevokedClientNearCache revokedClients) {
     this.jwtAuth = jwtAuth;
     this.audience = config.getString("audience");
     this.catalogueService = catalogueService;
@@ -71,10 +81,35 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
     this.catBasePath = config.getString("dxCatalogueBasePath");
     this.path = catBasePath + CAT_SEARCH_PATH;
     this.api = api;
+    this.revokedClients = revokedClients;
+    this.authorizationTable = new AuthorizationTable(api);
 
     WebClientOptions options = new WebClientOptions();
     options.setTrustAll(true).setVerifyHost(false).setSsl(true);
     catWebClient = WebClient.create(vertx, options);
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry == null) {
+      registry = Metrics.globalRegistry;
+    }
+    verifiedTokens =
+        new VerifiedTokenCache(config.getLong("jwtCacheSize", JWT_CACHE_SIZE), registry);
+    verificationTimer =
+        Timer.builder("fs.jwt.verify")
+            .description("cpu time taken to verify signature of a token")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    vertx
+        .eventBus()
+        .<JsonObject>consumer(
+            REVOKED_CLIENT_ADDRESS,
+            message -> {
+              String sub = message.body().getString("sub");
+              verifiedTokens.invalidateClient(sub);
+              if (revokedClients != null) {
+                revokedClients.put(sub, message.body().getString("expiry"));
+              }
+            });
   }
 
   @Override
@@ -83,13 +118,12 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
     LOGGER.debug("token interospect called");
     String id = authenticationInfo.getString("id");
     String token = authenticationInfo.getString("token");
-    String endPoint = authenticationInfo.getString("apiEndpoint");
-    boolean skipIdCheck =
-        endPoint.equalsIgnoreCase(api.getApiFileUpload())
-            || endPoint.equalsIgnoreCase(api.getApiFileDelete());
+    RouteId route = getRoute(authenticationInfo);
+    boolean skipIdCheck = route != null && route.skipsIdCheck();
 
     Future<JwtData> jwtDecodeFuture = decodeJwt(token);
-    Future<Boolean> isItemExistFuture = catalogueService.isItemExist(id);
+    // fails for unknown items, isOpenResource is served from same cached lookup.
+    Future<JsonObject> itemContextFuture = catalogueService.getItemContext(id);
 
     ResultContainer result = new ResultContainer();
 
@@ -110,10 +144,11 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
             })
         .compose(
             revokeTokenHandler -> {
-              return isItemExistFuture;
+              return itemContextFuture;
             })
         .compose(
-            itemExistHandler -> {
+            itemContextHandler -> {
+              result.itemContext = itemContextHandler;
               if (!result.jwtData.getIss().equals(result.jwtData.getSub())) {
                 return isOpenResource(id);
               } else {
@@ -123,9 +158,9 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
         .compose(
             openResourceHandler -> {
               result.isOpen = openResourceHandler.equalsIgnoreCase("OPEN");
-              if (result.isOpen && checkOpenEndPoints(endPoint)) {
+              if (result.isOpen && route != null && route.isOpen()) {
                 return Future.succeededFuture(true);
-              } else if (checkQueryEndPoints(endPoint)) {
+              } else if (route != null && route.isQuery()) {
                 return Future.succeededFuture(true);
               } else if (!result.isOpen && !skipIdCheck) {
                 return isValidId(result.jwtData, id);
@@ -154,7 +189,9 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
         .onComplete(
             completeHandler -> {
               if (completeHandler.succeeded()) {
-                handler.handle(Future.succeededFuture(completeHandler.result()));
+                JsonObject response = completeHandler.result();
+                response.put(ITEM_CONTEXT, result.itemContext);
+                handler.handle(Future.succeededFuture(response));
               } else {
                 LOGGER.error("error : " + completeHandler.cause());
                 LOGGER.error("error : " + completeHandler);
@@ -165,96 +202,62 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
     return this;
   }
 
-  private boolean checkQueryEndPoints(String endPoint) {
-    for (String item : QUERY_ENDPOINTS) {
-      if (endPoint.contains(item)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  private boolean checkOpenEndPoints(String endPoint) {
-    for (String item : OPEN_ENDPOINTS) {
-      if (endPoint.contains(item)) {
-        return true;
+  /** route of request, by its id set by auth handler, else by its endpoint. */
+  private RouteId getRoute(JsonObject authInfo) {
+    String routeId = authInfo.getString(RouteId.KEY);
+    if (routeId != null) {
+      try {
+        return RouteId.valueOf(routeId);
+      } catch (IllegalArgumentException e) {
+        LOGGER.error("unknown route : " + routeId);
+        return null;
       }
     }
-    return false;
+    String endPoint = authInfo.getString("apiEndpoint");
+    return endPoint == null ? null : authorizationTable.getRoute(endPoint);
   }
 
   public Future<String> isOpenResource(String id) {
     LOGGER.trace("isOpenResource() started");
-    Promise<String> promise = Promise.promise();
-
-    String aclResorce = resourceIdCache.getIfPresent(id);
-    String aclGroup = resourceGroupCache.getIfPresent(id);
-    if (aclResorce != null) {
-      LOGGER.debug("resourceIdCache Hit");
-      promise.complete(aclResorce);
-    } else if (aclGroup != null) {
-      LOGGER.debug("resourceGroupCache Hit");
-      promise.complete(aclGroup);
-    } else {
-      // cache miss
-      LOGGER.debug("Cache miss calling cat server");
-
-      Future<JsonObject> resourceAclFuture = catalogueService.getRelItem(id);
-      resourceAclFuture
-          .onSuccess(
-              catResult -> {
-                if (catResult.containsKey("accessPolicy")
-                    && catResult.containsKey("resourceGroup")) {
-                  resourceIdCache.put(id, catResult.getString("accessPolicy"));
-                  promise.complete(catResult.getString("accessPolicy"));
-                  return;
-                }
-                LOGGER.debug("policy not available in RL now checking in RG");
-                String groupId =
-                    catResult.getString("type").equalsIgnoreCase(ITEM_TYPE_RESOURCE)
-                        ? catResult.getString("resourceGroup")
-                        : catResult.getString("id");
-
-                Future<JsonObject> groupAclFuture = catalogueService.getRelItem(groupId);
-                groupAclFuture
-                    .onSuccess(
-                        grpACl -> {
-                          if (grpACl.containsKey("accessPolicy")) {
-                            resourceGroupCache.put(groupId, grpACl.getString("accessPolicy"));
-                            promise.complete(grpACl.getString("accessPolicy"));
-                          } else {
-                            LOGGER.error("ACL not defined in group or resource item");
-                            promise.fail("ACL not defined in group or resource item");
-                          }
-                        })
-                    .onFailure(
-                        filure -> {
-                          LOGGER.info("cat server error " + filure.getMessage());
-                          promise.fail("Not Found " + id);
-                        });
-              })
-          .onFailure(
-              filure -> {
-                LOGGER.info("cat server error " + filure.getMessage());
-                promise.fail("Not Found " + id);
-              });
-    }
-    return promise.future();
+    return catalogueService
+        .getItemContext(id)
+        .recover(
+            failure -> {
+              LOGGER.info("cat server error " + failure.getMessage());
+              return Future.failedFuture("Not Found " + id);
+            })
+        .compose(
+            itemContext -> {
+              String accessPolicy = itemContext.getString("accessPolicy");
+              if (accessPolicy == null) {
+                LOGGER.error("ACL not defined in group or resource item");
+                return Future.failedFuture("ACL not defined in group or resource item");
+              }
+              return Future.succeededFuture(accessPolicy);
+            });
   }
 
   Future<JwtData> decodeJwt(String jwtToken) {
+    JwtData verified = verifiedTokens.getIfPresent(jwtToken);
+    if (verified != null) {
+      return Future.succeededFuture(verified);
+    }
     Promise<JwtData> promise = Promise.promise();
 
     TokenCredentials creds = new TokenCredentials(jwtToken);
 
-    jwtAuth
-        .authenticate(creds)
+    // verification completes on calling thread.
+    long cpuTime = currentThreadCpuTime();
+    Future<User> authFuture = jwtAuth.authenticate(creds);
+    verificationTimer.record(currentThreadCpuTime() - cpuTime, TimeUnit.NANOSECONDS);
+    authFuture
         .onSuccess(
             user -> {
               JwtData jwtData = new JwtData(user.principal());
               jwtData.setExp(user.get("exp"));
               jwtData.setIat(user.get("iat"));
               LOGGER.debug("jwt: "+jwtData);
+              verifiedTokens.put(jwtToken, jwtData);
               promise.complete(jwtData);
             })
         .onFailure(
@@ -266,13 +269,20 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
     return promise.future();
   }
 
+  private static long currentThreadCpuTime() {
+    return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+        ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+        : System.nanoTime();
+  }
+
   public Future<JsonObject> validateAccess(
       JwtData jwtData, boolean openResource, JsonObject authInfo) {
     LOGGER.trace("validateAccess() started");
     Promise<JsonObject> promise = Promise.promise();
     String jwtId = jwtData.getIid().split(":")[1];
+    RouteId route = getRoute(authInfo);
 
-    if (openResource && checkOpenEndPoints(authInfo.getString("apiEndpoint"))) {
+    if (openResource && route != null && route.isOpen()) {
       LOGGER.info("User access is allowed.");
       JsonObject jsonResponse = new JsonObject();
       jsonResponse.put(JSON_IID, jwtId);
@@ -283,7 +293,7 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
       return Future.succeededFuture(jsonResponse);
     }
 
-    if (checkQueryEndPoints(authInfo.getString("apiEndpoint"))) {
+    if (route != null && route.isQuery()) {
       LOGGER.info("User access is allowed. [Query endpoints]");
       JsonObject jsonResponse = new JsonObject();
       jsonResponse.put(JSON_IID, jwtId);
@@ -295,15 +305,8 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
     }
 
     Method method = Method.valueOf(authInfo.getString("method"));
-    String api = authInfo.getString("apiEndpoint");
-    AuthorizationRequest authRequest = new AuthorizationRequest(method, api);
-
-    AuthorizationStrategy authStrategy =
-        AuthorizationContextFactory.create(jwtData.getRole(), this.api);
-    LOGGER.info("strategy : " + authStrategy.getClass().getSimpleName());
-    JwtAuthorization jwtAuthStrategy = new JwtAuthorization(authStrategy);
-    LOGGER.info("endPoint : " + authInfo.getString("apiEndpoint"));
-    if (jwtAuthStrategy.isAuthorized(authRequest, jwtData)) {
+    LOGGER.debug("role : {}, route : {}, method : {}", jwtData.getRole(), route, method);
+    if (authorizationTable.isAuthorized(method, route, jwtData)) {
       JsonObject jsonResponse = new JsonObject();
       jsonResponse.put(JSON_USERID, jwtData.getSub());
       jsonResponse.put(ROLE, jwtData.getRole());
@@ -345,6 +348,15 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
 
   Future<Boolean> isRevokedClientToken(JwtData jwtData) {
     LOGGER.debug("isRevokedClientToken started");
+    if (revokedClients != null && revokedClients.isLoaded()) {
+      if (jwtData.getIat() < revokedClients.getRevokedAt(jwtData.getSub())) {
+        LOGGER.error("Privilages for client is revoked.");
+        JsonObject result = new JsonObject().put("401", "revoked token passes");
+        return Future.failedFuture(result.toString());
+      }
+      return Future.succeededFuture(true);
+    }
+    // revoked clients not loaded yet, asked to cache verticle.
     Promise<Boolean> promise = Promise.promise();
     CacheType cacheType = CacheType.REVOKED_CLIENT;
     String subId = jwtData.getSub();
@@ -378,6 +390,7 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
   // class to contain intermeddiate data for token interospection
   final class ResultContainer {
     JwtData jwtData;
+    JsonObject itemContext;
     boolean isOpen;
   }
 }
@@ -0,0 +1,65 @@
+package iudx.file.server.authenticator;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocalAuthenticationService.
+ *
+ * <h1>LocalAuthenticationService</h1>
+ *
+ * <p>authentication service for verticles deployed in the same JVM as {@link
+ * AuthenticationVerticle}. Tokens are introspected by calling service instance of the verticle
+ * directly, request and result are not copied or serialized over event bus. When no
+ * authentication verticle is deployed in this JVM (modules deployed separately) calls go to the
+ * event bus proxy.
+ */
+public final class LocalAuthenticationService implements AuthenticationService {
+
+  private static final Map<Vertx, AuthenticationService> SERVICES = new ConcurrentHashMap<>();
+
+  private final Vertx vertx;
+  private final AuthenticationService proxy;
+
+  /**
+   * LocalAuthenticationService.
+   *
+   * @param vertx vertx instance
+   * @param proxy event bus proxy used while no authentication verticle is deployed in this JVM
+   */
+  public LocalAuthenticationService(Vertx vertx, AuthenticationService proxy) {
+    this.vertx = vertx;
+    this.proxy = proxy;
+  }
+
+  static void register(Vertx vertx, AuthenticationService service) {
+    SERVICES.put(vertx, service);
+  }
+
+  static void unregister(Vertx vertx, AuthenticationService service) {
+    SERVICES.remove(vertx, service);
+  }
+
+  @Override
+  public AuthenticationService tokenInterospect(
+      JsonObject request, JsonObject authenticationInfo, Handler<AsyncResult<JsonObject>> handler) {
+    AuthenticationService local = SERVICES.get(vertx);
+    if (local == null) {
+      proxy.tokenInterospect(request, authenticationInfo, handler);
+      return this;
+    }
+    // local service completes on a context of authentication verticle, result is handed back to
+    // context of caller as an event bus reply would be.
+    Context context = vertx.getOrCreateContext();
+    local.tokenInterospect(
+        request,
+        authenticationInfo,
+        result -> context.runOnContext(v -> handler.handle(result)));
+    return this;
+  }
+}
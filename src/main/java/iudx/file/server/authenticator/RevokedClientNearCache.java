@@ -0,0 +1,107 @@
+package iudx.file.server.authenticator;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.vertx.core.Future;
+import iudx.file.server.database.postgres.PostgresService;
+import iudx.file.server.database.postgres.RevokedTokensSync;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * RevokedClientNearCache.
+ *
+ * <h1>RevokedClientNearCache</h1>
+ *
+ * <p>revoked clients replicated into authentication verticle, so revocation of a token is checked
+ * without a call to cache verticle. Loaded from revoked tokens table and kept up to date by
+ * revocations received from broker and by periodic refresh of rows changed in the table. Clients
+ * are looked up in a bloom filter first, most clients are never revoked and are answered by it
+ * alone.
+ */
+public final class RevokedClientNearCache {
+
+  /** revocation time of a client which is not revoked. */
+  public static final long NOT_REVOKED = Long.MIN_VALUE;
+
+  private static final Logger LOGGER = LogManager.getLogger(RevokedClientNearCache.class);
+
+  private final BloomFilter<CharSequence> filter;
+  // revocation time (epoch seconds) by client id.
+  private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+  private RevokedTokensSync sync;
+
+  /**
+   * RevokedClientNearCache.
+   *
+   * @param expectedClients number of revoked clients the bloom filter is sized for, more clients
+   *     only raise its false positive rate
+   */
+  public RevokedClientNearCache(long expectedClients) {
+    this.filter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedClients);
+  }
+
+  /**
+   * load revoked clients from revoked tokens table, clients are looked up only once loaded. Table
+   * is read in pages, later {@link #refresh()} reads only rows changed since.
+   *
+   * @param pgService postgres service
+   * @return completes once loaded
+   */
+  public Future<Void> load(PostgresService pgService) {
+    sync = new RevokedTokensSync(pgService, this::put);
+    return refresh().mapEmpty();
+  }
+
+  /**
+   * read revoked tokens changed since last load or refresh, a failed load is retried by it.
+   *
+   * @return number of rows read
+   */
+  public Future<Integer> refresh() {
+    return sync.sync()
+        .onSuccess(
+            rows -> {
+              if (!loaded) {
+                loaded = true;
+                LOGGER.info("revoked clients loaded : " + revokedAt.size());
+              }
+            });
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * record revocation of a client, an earlier revocation time is ignored.
+   *
+   * @param client client id (sub of its tokens)
+   * @param timestamp revocation time, ISO local date time
+   */
+  public void put(String client, String timestamp) {
+    long epochSecond =
+        LocalDateTime.parse(timestamp).atZone(ZoneId.systemDefault()).toEpochSecond();
+    revokedAt.merge(client, epochSecond, Math::max);
+    filter.put(client);
+  }
+
+  /**
+   * revocation time of a client, tokens issued before it are revoked.
+   *
+   * @param client client id (sub of its tokens)
+   * @return revocation time in epoch seconds, {@link #NOT_REVOKED} if client is not revoked
+   */
+  public long getRevokedAt(String client) {
+    if (!filter.mightContain(client)) {
+      return NOT_REVOKED;
+    }
+    return revokedAt.getOrDefault(client, NOT_REVOKED);
+  }
+}
@@ -0,0 +1,103 @@
+package iudx.file.server.authenticator;
+
+import static iudx.file.server.authenticator.utilities.Constants.JWT_LEEWAY_TIME;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import iudx.file.server.authenticator.utilities.JwtData;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+
+/**
+ * VerifiedTokenCache.
+ *
+ * <h1>VerifiedTokenCache</h1>
+ *
+ * <p>decoded tokens whose signature has already been verified, keyed by a digest of the token so
+ * tokens themselves are not kept in memory. A client reusing its token skips signature
+ * verification until the token expires (allowing same leeway as verification does), tokens of a
+ * revoked client are dropped as soon as revocation is received.
+ */
+public final class VerifiedTokenCache {
+
+  private final Cache<String, JwtData> cache;
+  private final Clock clock;
+  private final Counter hits;
+  private final Counter misses;
+
+  /**
+   * VerifiedTokenCache.
+   *
+   * @param maximumSize maximum number of cached tokens
+   * @param registry registry for hit and miss metrics
+   */
+  public VerifiedTokenCache(long maximumSize, MeterRegistry registry) {
+    this(maximumSize, registry, Clock.systemUTC());
+  }
+
+  VerifiedTokenCache(long maximumSize, MeterRegistry registry, Clock clock) {
+    this.clock = clock;
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    this.hits =
+        Counter.builder("fs.cache.gets")
+            .description("cache lookups")
+            .tag("cache", "verified-jwt")
+            .tag("result", "hit")
+            .register(registry);
+    this.misses =
+        Counter.builder("fs.cache.gets")
+            .description("cache lookups")
+            .tag("cache", "verified-jwt")
+            .tag("result", "miss")
+            .register(registry);
+  }
+
+  /**
+   * decoded token, if its signature was verified before and it has not expired since.
+   *
+   * @param token token
+   * @return decoded token, null if token has to be verified
+   */
+  public JwtData getIfPresent(String token) {
+    String digest = digest(token);
+    JwtData jwtData = cache.getIfPresent(digest);
+    if (jwtData != null && clock.instant().getEpochSecond() > jwtData.getExp() + JWT_LEEWAY_TIME) {
+      cache.invalidate(digest);
+      jwtData = null;
+    }
+    if (jwtData == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return jwtData;
+  }
+
+  /**
+   * cache a token whose signature was verified, tokens without expiry are not cached.
+   *
+   * @param token token
+   * @param jwtData decoded token
+   */
+  public void put(String token, JwtData jwtData) {
+    if (jwtData.getExp() != null) {
+      cache.put(digest(token), jwtData);
+    }
+  }
+
+  /**
+   * drop all tokens of a client.
+   *
+   * @param sub subject of revoked client
+   */
+  public void invalidateClient(String sub) {
+    cache.asMap().values().removeIf(jwtData -> sub.equals(jwtData.getSub()));
+  }
+
+  private static String digest(String token) {
+    return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+  }
+}
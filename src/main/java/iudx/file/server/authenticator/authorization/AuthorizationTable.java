@@ -0,0 +1,119 @@
+package iudx.file.server.authenticator.authorization;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.authenticator.utilities.JwtData;
+import iudx.file.server.common.Api;
+import iudx.file.server.common.RouteId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AuthorizationTable.
+ *
+ * <h1>AuthorizationTable</h1>
+ *
+ * <p>authorization rules of all roles compiled once into a table indexed by role, method and
+ * route, so a request is authorized by an array lookup instead of building requests and scanning
+ * rules of a strategy. Table is filled by asking strategy of each role about every method and route
+ * once, with and without each access type a consumer token can grant.
+ */
+public final class AuthorizationTable {
+
+  private static final List<String> ROLES = List.of("consumer", "provider", "delegate");
+  private static final List<String> ACCESS_TYPES = List.of("file");
+  // rule of a route allowed whatever access token grants.
+  private static final String ALLOWED = "";
+
+  // [role][method][route] : null if denied, ALLOWED, or access type token has to grant.
+  private final String[][][] rules;
+  private final Map<String, RouteId> routesByPath = new HashMap<>();
+
+  /**
+   * AuthorizationTable.
+   *
+   * @param api endpoints of routes
+   */
+  public AuthorizationTable(Api api) {
+    Method[] methods = Method.values();
+    RouteId[] routes = RouteId.values();
+    rules = new String[ROLES.size()][methods.length][routes.length];
+    for (RouteId route : routes) {
+      routesByPath.put(route.getPath(api), route);
+    }
+    for (int role = 0; role < ROLES.size(); role++) {
+      AuthorizationStrategy strategy = AuthorizationContextFactory.create(ROLES.get(role), api);
+      for (Method method : methods) {
+        for (RouteId route : routes) {
+          AuthorizationRequest request = new AuthorizationRequest(method, route.getPath(api));
+          rules[role][method.ordinal()][route.ordinal()] = compile(strategy, request);
+        }
+      }
+    }
+  }
+
+  private static String compile(AuthorizationStrategy strategy, AuthorizationRequest request) {
+    if (strategy.isAuthorized(request, new JwtData())) {
+      return ALLOWED;
+    }
+    for (String accessType : ACCESS_TYPES) {
+      JwtData jwtData = new JwtData();
+      jwtData.setCons(new JsonObject().put("access", new JsonArray().add(accessType)));
+      if (strategy.isAuthorized(request, jwtData)) {
+        return accessType;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * route of an endpoint, for requests which do not carry id of their route.
+   *
+   * @param path endpoint
+   * @return route, null if path is not an endpoint of a route
+   */
+  public RouteId getRoute(String path) {
+    return routesByPath.get(path);
+  }
+
+  /**
+   * whether a token is authorized to call a route.
+   *
+   * @param method method of request
+   * @param route route of request
+   * @param jwtData token
+   * @return true if authorized, false for an unknown role or route
+   */
+  public boolean isAuthorized(Method method, RouteId route, JwtData jwtData) {
+    int role = roleIndex(jwtData.getRole());
+    if (role < 0 || method == null || route == null) {
+      return false;
+    }
+    String rule = rules[role][method.ordinal()][route.ordinal()];
+    if (rule == null) {
+      return false;
+    }
+    if (rule.isEmpty()) {
+      return true;
+    }
+    JsonArray access = jwtData.getCons() != null ? jwtData.getCons().getJsonArray("access") : null;
+    return access != null && access.contains(rule);
+  }
+
+  private static int roleIndex(String role) {
+    if (role == null) {
+      return -1;
+    }
+    switch (role) {
+      case "consumer":
+        return 0;
+      case "provider":
+        return 1;
+      case "delegate":
+        return 2;
+      default:
+        return -1;
+    }
+  }
+}
@@ -40,6 +40,7 @@ public class ConsumerAuthStrategy implements AuthorizationStrategy {
     List<AuthorizationRequest> fileAccessList = new ArrayList<>();
     fileAccessList.add(new AuthorizationRequest(GET, api.getApiTemporal()));
     fileAccessList.add(new AuthorizationRequest(GET, api.getApiFileDownload()));
+    fileAccessList.add(new AuthorizationRequest(GET, api.getApiBulkDownload()));
     fileAccessList.add(new AuthorizationRequest(GET, api.getListMetaData()));
     fileAccessList.add(new AuthorizationRequest(GET, api.getApiSpatial()));
     consumerAuthorizationRules.put("file", fileAccessList);
@@ -54,8 +55,8 @@ public class ConsumerAuthStrategy implements AuthorizationStrategy {
     }
     String endpoint = authRequest.getApi();
     Method method = authRequest.getMethod();
-    LOGGER.info("authorization request for : " + endpoint + " with method : " + method.name());
-    LOGGER.info("allowed access : " + access);
+    LOGGER.debug("authorization request for : " + endpoint + " with method : " + method.name());
+    LOGGER.debug("allowed access : " + access);
 
     if (!result && access.contains("file")) {
       result = consumerAuthorizationRules.get("file").contains(authRequest);
@@ -4,5 +4,6 @@ public enum Method {
   POST,
   GET,
   PUT,
+  PATCH,
   DELETE;
 }
@@ -1,6 +1,8 @@
 package iudx.file.server.authenticator.authorization;
 
 import static iudx.file.server.authenticator.authorization.Method.DELETE;
+import static iudx.file.server.authenticator.authorization.Method.GET;
+import static iudx.file.server.authenticator.authorization.Method.PATCH;
 import static iudx.file.server.authenticator.authorization.Method.POST;
 
 import iudx.file.server.authenticator.utilities.JwtData;
@@ -36,6 +38,11 @@ public class ProviderAuthStrategy implements AuthorizationStrategy {
     List<AuthorizationRequest> fileAccessList = new ArrayList<>();
     fileAccessList.add(new AuthorizationRequest(POST, api.getApiFileUpload()));
     fileAccessList.add(new AuthorizationRequest(DELETE, api.getApiFileDelete()));
+    fileAccessList.add(new AuthorizationRequest(POST, api.getApiUploadSession()));
+    fileAccessList.add(new AuthorizationRequest(PATCH, api.getApiUploadSession()));
+    fileAccessList.add(new AuthorizationRequest(GET, api.getApiUploadSession()));
+    fileAccessList.add(new AuthorizationRequest(POST, api.getApiUploadSessionFinalize()));
+    fileAccessList.add(new AuthorizationRequest(POST, api.getApiUploadBatch()));
     providerAuthorizationRules.put("file", fileAccessList);
   }
 
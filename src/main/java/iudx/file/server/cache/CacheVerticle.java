@@ -1,11 +1,13 @@
 package iudx.file.server.cache;
 
 import static iudx.file.server.common.Constants.*;
+import static iudx.file.server.database.postgres.PostgresConstants.REVOKED_TOKENS_SYNC_INTERVAL;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.serviceproxy.ServiceBinder;
+import iudx.file.server.cache.cacheimpl.CacheType;
 import iudx.file.server.database.postgres.PostgresService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,6 +23,7 @@ public class CacheVerticle extends AbstractVerticle {
 
   private CacheService cacheService;
   private PostgresService pgService;
+  private long syncTimerId;
 
   @Override
   public void start() throws Exception {
@@ -32,11 +35,20 @@ public class CacheVerticle extends AbstractVerticle {
     binder = new ServiceBinder(vertx);
     consumer = binder.setAddress(SERVICE_ADDRESS).register(CacheService.class, cacheService);
 
+    // delta sync of revoked tokens, catches up on revocations missed from broker.
+    long syncInterval =
+        config().getLong("revokedTokensSyncInterval", REVOKED_TOKENS_SYNC_INTERVAL);
+    JsonObject refreshRequest = new JsonObject().put("type", CacheType.REVOKED_CLIENT.name());
+    syncTimerId =
+        vertx.setPeriodic(
+            syncInterval * 1000, id -> cacheService.refresh(refreshRequest, handler -> {}));
+
     LOGGER.info("Cache Verticle deployed.");
   }
 
   @Override
   public void stop() {
+    vertx.cancelTimer(syncTimerId);
     binder.unregister(consumer);
   }
 }
@@ -1,27 +1,28 @@
 package iudx.file.server.cache.cacheimpl;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
-import iudx.file.server.database.postgres.PostgresConstants;
 import iudx.file.server.database.postgres.PostgresService;
-import java.util.concurrent.TimeUnit;
+import iudx.file.server.database.postgres.RevokedTokensSync;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * revoked clients, a copy of revoked tokens table. Every revoked client is kept (memory grows with
+ * the table, not with a fixed entry count) so revocations are never evicted, table is read in
+ * pages at start and only rows changed since are read on each refresh.
+ */
 public class RevokedClientCache implements IudxCache {
 
   private static final Logger LOGGER = LogManager.getLogger(RevokedClientCache.class);
   private static final CacheType cacheType = CacheType.REVOKED_CLIENT;
 
-  private final Cache<String, String> cache =
-      CacheBuilder.newBuilder().maximumSize(5000).expireAfterWrite(1L, TimeUnit.DAYS).build();
+  private final Map<String, String> cache = new ConcurrentHashMap<>();
 
-  private PostgresService pgService;
+  private final RevokedTokensSync sync;
 
   public RevokedClientCache(PostgresService postgresService) {
-    this.pgService = postgresService;
+    this.sync = new RevokedTokensSync(postgresService, cache::put);
     refreshCache();
   }
 
@@ -32,28 +33,13 @@ public class RevokedClientCache implements IudxCache {
 
   @Override
   public String get(String key) {
-    return cache.getIfPresent(key);
+    return cache.get(key);
   }
 
   @Override
   public void refreshCache() {
     LOGGER.debug(cacheType + " refreshCache() called");
-    String query = PostgresConstants.SELECT_REVOKE_TOKEN_SQL;
-    pgService.executeQuery(
-        query,
-        handler -> {
-          if (handler.succeeded()) {
-            LOGGER.debug("result : cache refreshed");
-            JsonArray clientIdArray = handler.result().getJsonArray("result");
-
-            clientIdArray.forEach(
-                e -> {
-                  JsonObject clientInfo = (JsonObject) e;
-                  String key = clientInfo.getString("_id");
-                  String value = clientInfo.getString("expiry");
-                  this.cache.put(key, value);
-                });
-          }
-        });
+    sync.sync()
+        .onSuccess(rows -> LOGGER.debug("result : cache refreshed, rows read : " + rows));
   }
 }
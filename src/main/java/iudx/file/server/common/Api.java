@@ -14,7 +14,11 @@ public class Api {
   private StringBuilder temporalEndpoint;
   private StringBuilder spatialEndpoint;
   private StringBuilder fileUploadEndpoint;
+  private StringBuilder uploadSessionEndpoint;
+  private StringBuilder uploadSessionFinalizeEndpoint;
+  private StringBuilder uploadBatchEndpoint;
   private StringBuilder fileDownloadEndpoint;
+  private StringBuilder bulkDownloadEndpoint;
   private StringBuilder fileDeleteEndpoint;
   private StringBuilder listMetaDataEndpoint;
 
@@ -41,7 +45,12 @@ public class Api {
     temporalEndpoint = new StringBuilder(dxApiBasePath).append(API_TEMPORAL);
     spatialEndpoint = new StringBuilder(dxApiBasePath).append(API_SPATIAL);
     fileUploadEndpoint = new StringBuilder(iudxApiBasePath).append(API_FILE_UPLOAD);
+    uploadSessionEndpoint = new StringBuilder(iudxApiBasePath).append(API_UPLOAD_SESSION);
+    uploadSessionFinalizeEndpoint =
+        new StringBuilder(iudxApiBasePath).append(API_UPLOAD_SESSION_FINALIZE);
+    uploadBatchEndpoint = new StringBuilder(iudxApiBasePath).append(API_UPLOAD_BATCH);
     fileDownloadEndpoint = new StringBuilder(iudxApiBasePath).append(API_FILE_DOWNLOAD);
+    bulkDownloadEndpoint = new StringBuilder(iudxApiBasePath).append(API_BULK_DOWNLOAD);
     fileDeleteEndpoint = new StringBuilder(iudxApiBasePath).append(API_FILE_DELETE);
     listMetaDataEndpoint = new StringBuilder(iudxApiBasePath).append(API_LIST_METADATA);
   }
@@ -58,10 +67,26 @@ public class Api {
     return fileUploadEndpoint.toString();
   }
 
+  public String getApiUploadSession() {
+    return uploadSessionEndpoint.toString();
+  }
+
+  public String getApiUploadSessionFinalize() {
+    return uploadSessionFinalizeEndpoint.toString();
+  }
+
+  public String getApiUploadBatch() {
+    return uploadBatchEndpoint.toString();
+  }
+
   public String getApiFileDownload() {
     return fileDownloadEndpoint.toString();
   }
 
+  public String getApiBulkDownload() {
+    return bulkDownloadEndpoint.toString();
+  }
+
   public String getApiFileDelete() {
     return fileDeleteEndpoint.toString();
   }
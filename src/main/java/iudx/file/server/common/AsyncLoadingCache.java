@@ -0,0 +1,188 @@
+package iudx.file.server.common;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * AsyncLoadingCache.
+ *
+ * <h1>AsyncLoadingCache</h1>
+ *
+ * <p>bounded cache in front of an asynchronous lookup.
+ *
+ * <ul>
+ *   <li>concurrent lookups of a key that is not cached share a single load.
+ *   <li>an entry older than refresh period is still served while it is reloaded in background, so
+ *       hot keys never wait for a load once cached.
+ *   <li>a load completing with null (unknown key) is cached as a negative entry for a shorter
+ *       period, lookups of it complete with null without loading.
+ *   <li>failed loads are not cached.
+ * </ul>
+ *
+ * @param <V> type of cached values
+ */
+public final class AsyncLoadingCache<V> {
+
+  private static final Logger LOGGER = LogManager.getLogger(AsyncLoadingCache.class);
+
+  private final Function<String, Future<V>> loader;
+  private final Cache<String, Entry<V>> cache;
+  private final Map<String, Future<V>> loads = new ConcurrentHashMap<>();
+  private final Ticker ticker;
+  private final long refreshNanos;
+  private final long negativeExpiryNanos;
+  private final Counter hits;
+  private final Counter misses;
+  private final Timer loadTimer;
+
+  /**
+   * AsyncLoadingCache.
+   *
+   * @param name name of cache in metrics
+   * @param loader asynchronous lookup of a key, completes with null for unknown keys
+   * @param maximumSize maximum number of cached keys
+   * @param expiry time after which an entry is no longer served
+   * @param refresh time after which an entry is reloaded in background, less than expiry
+   * @param negativeExpiry time after which an unknown key is looked up again
+   * @param registry registry for hit, miss and load latency metrics
+   */
+  public AsyncLoadingCache(
+      String name,
+      Function<String, Future<V>> loader,
+      long maximumSize,
+      Duration expiry,
+      Duration refresh,
+      Duration negativeExpiry,
+      MeterRegistry registry) {
+    this(
+        name,
+        loader,
+        maximumSize,
+        expiry,
+        refresh,
+        negativeExpiry,
+        registry,
+        Ticker.systemTicker());
+  }
+
+  AsyncLoadingCache(
+      String name,
+      Function<String, Future<V>> loader,
+      long maximumSize,
+      Duration expiry,
+      Duration refresh,
+      Duration negativeExpiry,
+      MeterRegistry registry,
+      Ticker ticker) {
+    this.loader = loader;
+    this.ticker = ticker;
+    this.refreshNanos = refresh.toNanos();
+    this.negativeExpiryNanos = negativeExpiry.toNanos();
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expiry.toNanos(), TimeUnit.NANOSECONDS)
+            .ticker(ticker)
+            .build();
+    this.hits =
+        Counter.builder("fs.cache.gets")
+            .description("cache lookups")
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(registry);
+    this.misses =
+        Counter.builder("fs.cache.gets")
+            .description("cache lookups")
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(registry);
+    this.loadTimer =
+        Timer.builder("fs.cache.load")
+            .description("time taken to load a cache entry")
+            .tag("cache", name)
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+  }
+
+  /**
+   * cached value of key, loaded if not cached.
+   *
+   * @param key key
+   * @return value, null for an unknown key
+   */
+  public Future<V> get(String key) {
+    Entry<V> entry = cache.getIfPresent(key);
+    if (entry != null) {
+      long age = ticker.read() - entry.loadedAt;
+      if (entry.value != null || age < negativeExpiryNanos) {
+        hits.increment();
+        if (entry.value != null && age >= refreshNanos) {
+          load(key);
+        }
+        return Future.succeededFuture(entry.value);
+      }
+    }
+    misses.increment();
+    return load(key);
+  }
+
+  /**
+   * remove cached value of key.
+   *
+   * @param key key
+   */
+  public void invalidate(String key) {
+    cache.invalidate(key);
+  }
+
+  private Future<V> load(String key) {
+    Promise<V> promise = Promise.promise();
+    Future<V> inFlight = loads.putIfAbsent(key, promise.future());
+    if (inFlight != null) {
+      return inFlight;
+    }
+    long start = ticker.read();
+    Future<V> loaded;
+    try {
+      loaded = loader.apply(key);
+    } catch (RuntimeException ex) {
+      loaded = Future.failedFuture(ex);
+    }
+    loaded.onComplete(
+        result -> {
+          long now = ticker.read();
+          loadTimer.record(now - start, TimeUnit.NANOSECONDS);
+          if (result.succeeded()) {
+            cache.put(key, new Entry<>(result.result(), now));
+          } else {
+            LOGGER.debug("failed to load " + key + " : " + result.cause());
+          }
+          loads.remove(key, promise.future());
+          promise.handle(result);
+        });
+    return promise.future();
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final long loadedAt;
+
+    private Entry(V value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
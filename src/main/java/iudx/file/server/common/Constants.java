@@ -17,6 +17,8 @@ public class Constants {
   public static final String PG_SERVICE_ADDRESS = "iudx.file.pgsql.service";
   public static final String CACHE_SERVICE_ADDRESS = "iudx.file.cache.service";
   public static final String DATABROKER_SERVICE_ADDRESS = "iudx.file.databroker.address";
+  // revoked clients received from broker are published to this address.
+  public static final String REVOKED_CLIENT_ADDRESS = "iudx.file.revoked.client";
 
   public static final String GEOM_POINT = "point";
   public static final String GEOM_POLYGON = "polygon";
@@ -30,6 +32,10 @@ public class Constants {
   public static final String JSON_TIMEREL = "timerel";
 
   public static final long CACHE_TIMEOUT_AMOUNT = 30;
+  public static final long CAT_ITEM_CACHE_SIZE = 10000;
+  // minutes after which a cached item is reloaded in background and an unknown id looked up again.
+  public static final long CAT_ITEM_CACHE_REFRESH = 25;
+  public static final long CAT_ITEM_CACHE_NEGATIVE_EXPIRY = 1;
   //  public static final String CAT_RSG_PATH = "/iudx/cat/v1/search";
   public static final String CAT_SEARCH_PATH = "/search";
 
@@ -39,6 +45,9 @@ public class Constants {
   // pagination parameters
   public static final String PARAM_OFFSET = "offset";
   public static final String PARAM_LIMIT = "limit";
+  // opaque token of next page for cursor pagination, CURSOR_START for first page.
+  public static final String PARAM_CURSOR = "cursor";
+  public static final String CURSOR_START = "*";
 
   // RMQ queues and exchanges.
   public static String INVALID_SUB_Q = "fs-invalid-sub";
@@ -53,6 +62,8 @@ public class Constants {
               ITEM_TYPE_RESOURCE_GROUP,
               ITEM_TYPE_RESOURCE_SERVER,
               ITEM_TYPE_PROVIDER));
+  // catalogue item resolved once by token introspection and reused for rest of the request.
+  public static final String ITEM_CONTEXT = "itemContext";
   public static final int JWT_LEEWAY_TIME = 30;
 
 }
@@ -0,0 +1,58 @@
+package iudx.file.server.common;
+
+import java.util.function.Function;
+
+/**
+ * RouteId.
+ *
+ * <h1>RouteId</h1>
+ *
+ * <p>authenticated routes of file server. Id of a route is kept in its metadata, so a request is
+ * authorized by id of the route it matched instead of by comparing its path with endpoints.
+ */
+public enum RouteId {
+  TEMPORAL(Api::getApiTemporal, false, true, false),
+  SPATIAL(Api::getApiSpatial, false, true, false),
+  FILE_UPLOAD(Api::getApiFileUpload, false, false, true),
+  UPLOAD_SESSION(Api::getApiUploadSession, false, false, true),
+  UPLOAD_SESSION_FINALIZE(Api::getApiUploadSessionFinalize, false, false, true),
+  UPLOAD_BATCH(Api::getApiUploadBatch, false, false, true),
+  FILE_DOWNLOAD(Api::getApiFileDownload, true, false, false),
+  BULK_DOWNLOAD(Api::getApiBulkDownload, true, false, false),
+  FILE_DELETE(Api::getApiFileDelete, false, false, true),
+  LIST_METADATA(Api::getListMetaData, false, true, false);
+
+  /** key of route id in route metadata and in authentication info. */
+  public static final String KEY = "routeId";
+
+  private final Function<Api, String> path;
+  private final boolean open;
+  private final boolean query;
+  private final boolean skipIdCheck;
+
+  RouteId(Function<Api, String> path, boolean open, boolean query, boolean skipIdCheck) {
+    this.path = path;
+    this.open = open;
+    this.query = query;
+    this.skipIdCheck = skipIdCheck;
+  }
+
+  public String getPath(Api api) {
+    return path.apply(api);
+  }
+
+  /** route serves items with open access policy to any token. */
+  public boolean isOpen() {
+    return open;
+  }
+
+  /** route queries files of an item, allowed to any valid token. */
+  public boolean isQuery() {
+    return query;
+  }
+
+  /** route of a provider or delegate, id of item is not checked against token. */
+  public boolean skipsIdCheck() {
+    return skipIdCheck;
+  }
+}
@@ -14,4 +14,14 @@ public interface CatalogueService {
   Future<Boolean> isItemExist(String id);
 
   Future<JsonObject> getRelItem(String id);
+
+  /**
+   * everything a request needs to know about an item : id, type, resourceGroup, provider,
+   * accessPolicy and iudxResourceAPIs, accessPolicy and iudxResourceAPIs not defined on a resource
+   * are taken from its group.
+   *
+   * @param id id of item
+   * @return item context, fails if item does not exist
+   */
+  Future<JsonObject> getItemContext(String id);
 }
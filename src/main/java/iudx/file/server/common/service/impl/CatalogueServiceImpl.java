@@ -4,6 +4,8 @@ import static iudx.file.server.common.Constants.*;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.*;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
@@ -11,9 +13,12 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.predicate.ResponsePredicate;
+import io.vertx.micrometer.backends.BackendRegistries;
+import iudx.file.server.common.AsyncLoadingCache;
 import iudx.file.server.common.ServerType;
 import iudx.file.server.common.WebClientFactory;
 import iudx.file.server.common.service.CatalogueService;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -37,6 +42,8 @@ public class CatalogueServiceImpl implements CatalogueService {
   private String catBasePath;
   private String catItemPath;
   private String catSearchPath;
+  // items looked up by id, every download, upload and access check needs one.
+  private final AsyncLoadingCache<JsonObject> relItemCache;
 
   public CatalogueServiceImpl(WebClientFactory webClientFactory, JsonObject config) {
     this.webClient = webClientFactory.getWebClientFor(ServerType.FILE_SERVER);
@@ -45,6 +52,16 @@ public class CatalogueServiceImpl implements CatalogueService {
     catBasePath = config.getString("dxCatalogueBasePath");
     catItemPath = catBasePath + CAT_ITEM_PATH;
     catSearchPath = catBasePath + CAT_SEARCH_PATH;
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    relItemCache =
+        new AsyncLoadingCache<>(
+            "catalogue-item",
+            this::fetchRelItem,
+            config.getLong("catalogueCacheSize", CAT_ITEM_CACHE_SIZE),
+            Duration.ofMinutes(CACHE_TIMEOUT_AMOUNT),
+            Duration.ofMinutes(CAT_ITEM_CACHE_REFRESH),
+            Duration.ofMinutes(CAT_ITEM_CACHE_NEGATIVE_EXPIRY),
+            registry == null ? Metrics.globalRegistry : registry);
   }
 
   @Override
@@ -201,18 +218,67 @@ public class CatalogueServiceImpl implements CatalogueService {
   @Override
   public Future<JsonObject> getRelItem(String id) {
     LOGGER.debug("get item for id: {} ", id);
+    return relItemCache
+        .get(id)
+        .compose(
+            item -> {
+              if (item == null) {
+                LOGGER.error("item not found in catalogue : " + id);
+                return Future.failedFuture("catalogue call search api failed");
+              }
+              // cached item is shared by all callers.
+              return Future.succeededFuture(item.copy());
+            });
+  }
+
+  @Override
+  public Future<JsonObject> getItemContext(String id) {
+    return getRelItem(id)
+        .compose(
+            item -> {
+              boolean resolved =
+                  item.containsKey("accessPolicy") && item.containsKey("iudxResourceAPIs");
+              if (resolved || !item.containsKey("resourceGroup")) {
+                return Future.succeededFuture(item);
+              }
+              // group item is cached as well, shared by all resources of the group.
+              return getRelItem(item.getString("resourceGroup"))
+                  .map(
+                      group -> {
+                        for (String key : List.of("accessPolicy", "iudxResourceAPIs")) {
+                          if (!item.containsKey(key) && group.containsKey(key)) {
+                            item.put(key, group.getValue(key));
+                          }
+                        }
+                        return item;
+                      });
+            });
+  }
+
+  /**
+   * look up an item in catalogue.
+   *
+   * @param id id of item
+   * @return item, null when catalogue does not know the id
+   */
+  private Future<JsonObject> fetchRelItem(String id) {
     Promise<JsonObject> promise = Promise.promise();
 
     webClient
         .get(port, host, catSearchPath)
         .addQueryParam("property", "[id]")
         .addQueryParam("value", "[[" + id + "]]")
-        .addQueryParam("filter", "[id,provider,resourceGroup,type,accessPolicy]")
+        .addQueryParam("filter", "[id,provider,resourceGroup,type,accessPolicy,iudxResourceAPIs]")
         .expect(ResponsePredicate.JSON)
         .send(
             relHandler -> {
-              if (relHandler.succeeded()
-                  && relHandler.result().bodyAsJsonObject().getInteger("totalHits") > 0) {
+              if (!relHandler.succeeded()
+                  || relHandler.result().bodyAsJsonObject().getInteger("totalHits") == null) {
+                LOGGER.error("catalogue call search api failed: " + relHandler.cause());
+                promise.fail("catalogue call search api failed");
+              } else if (relHandler.result().bodyAsJsonObject().getInteger("totalHits") == 0) {
+                promise.complete(null);
+              } else {
                 JsonArray resultArray =
                     relHandler.result().bodyAsJsonObject().getJsonArray("results");
                 JsonObject response = resultArray.getJsonObject(0);
@@ -227,9 +293,6 @@ public class CatalogueServiceImpl implements CatalogueService {
                 LOGGER.info("itemType: {} ", itemType);
                 response.put("type", itemType);
                 promise.complete(response);
-              } else {
-                LOGGER.error("catalogue call search api failed: " + relHandler.cause());
-                promise.fail("catalogue call search api failed");
               }
             });
 
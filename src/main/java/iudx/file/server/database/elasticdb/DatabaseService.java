@@ -5,6 +5,7 @@ import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.file.server.common.QueryType;
 
@@ -16,8 +17,24 @@ public interface DatabaseService {
 
   Future<JsonObject> save(final JsonObject json);
 
+  /**
+   * save documents together, a document failing does not fail others.
+   *
+   * @param documents documents to save
+   * @return results, response of save of each document in order
+   */
+  Future<JsonObject> saveAll(final JsonArray documents);
+
   Future<JsonObject> delete(final String id);
 
+  /**
+   * get metadata document of a file.
+   *
+   * @param fileId id of file as stored in metadata (resource id/file uuid)
+   * @return metadata document of file, fails with a 404 when file has no metadata
+   */
+  Future<JsonObject> getFileMetadata(final String fileId);
+
   @GenIgnore
   static DatabaseService createProxy(Vertx vertx, String address) {
     return new DatabaseServiceVertxEBProxy(vertx, address);
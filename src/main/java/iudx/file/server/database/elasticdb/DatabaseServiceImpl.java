@@ -2,16 +2,25 @@ package iudx.file.server.database.elasticdb;
 
 import static iudx.file.server.database.elasticdb.utilities.Constants.*;
 
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.file.server.apiserver.response.ResponseUrn;
 import iudx.file.server.common.QueryType;
+import iudx.file.server.database.elasticdb.elastic.BulkIndexer;
 import iudx.file.server.database.elasticdb.elastic.ElasticClient;
 import iudx.file.server.database.elasticdb.elastic.ElasticQueryGenerator;
+import iudx.file.server.database.elasticdb.elastic.SearchCursor;
 import iudx.file.server.database.elasticdb.elastic.exception.EsqueryException;
 import iudx.file.server.database.elasticdb.utilities.ResponseBuilder;
+import iudx.file.server.database.elasticdb.utilities.StreamedSearchResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -20,8 +29,22 @@ public class DatabaseServiceImpl implements DatabaseService {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseServiceImpl.class);
   private final ElasticClient client;
   private final String fileMetadataIndex;
+  private final String searchMode;
+  private final int searchTotalHitsCap;
+  private final BulkIndexer indexer;
 
   public DatabaseServiceImpl(JsonObject config) {
+    this(null, config);
+  }
+
+  /**
+   * DatabaseServiceImpl, documents saved are indexed in batches when <code>bulkIndexMaxDocuments
+   * </code> is more than 1.
+   *
+   * @param vertx vertx of verticle service is used from, null to index each document on its own
+   * @param config config
+   */
+  public DatabaseServiceImpl(Vertx vertx, JsonObject config) {
     this.fileMetadataIndex = config.getString("file-metadata-index");
     if (fileMetadataIndex == null) {
       LOGGER.fatal("file metadata index is not passed in configs");
@@ -32,6 +55,23 @@ public class DatabaseServiceImpl implements DatabaseService {
     String username = config.getString("databaseUser");
     String password = config.getString("databasePassword");
     client = new ElasticClient(ip, port, username, password);
+    searchMode = config.getString("searchMode", SEARCH_MODE_TRACK_TOTAL_HITS);
+    searchTotalHitsCap =
+        config.getInteger("searchTotalHitsCap", DEFAULT_SEARCH_TOTAL_HITS_CAP);
+    int bulkIndexMaxDocuments =
+        config.getInteger("bulkIndexMaxDocuments", DEFAULT_BULK_INDEX_MAX_DOCUMENTS);
+    if (vertx != null && bulkIndexMaxDocuments > 1) {
+      indexer =
+          new BulkIndexer(
+              vertx,
+              client,
+              fileMetadataIndex,
+              bulkIndexMaxDocuments,
+              config.getLong("bulkIndexMaxDelay", DEFAULT_BULK_INDEX_MAX_DELAY),
+              config.getInteger("bulkIndexMaxPending", DEFAULT_BULK_INDEX_MAX_PENDING));
+    } else {
+      indexer = null;
+    }
   }
 
   @Override
@@ -52,40 +92,32 @@ public class DatabaseServiceImpl implements DatabaseService {
     Query query = queryGenerator.getQuery(apiQuery, type);
 
     try {
-      final String searchIndexUrl = fileMetadataIndex;
-      final String countIndexUrl = fileMetadataIndex;
-
       final int sizeKeyValue = getOrDefault(apiQuery, PARAM_LIMIT, DEFAULT_SIZE_VALUE);
       final int fromKeyValue = getOrDefault(apiQuery, PARAM_OFFSET, DEFAULT_FROM_VALUE);
 
-      CountResultPlaceholder countPlaceHolder = new CountResultPlaceholder();
-
-      Future<JsonObject> countFuture = client.asyncCount(countIndexUrl, query);
+      final String cursor = apiQuery.getString(PARAM_CURSOR);
 
-      countFuture
-          .compose(
-              countQueryHandler -> {
-                long count =
-                    countQueryHandler.getJsonArray("results").getJsonObject(0).getInteger("count");
+      Future<JsonObject> searchFuture;
+      if (cursor != null) {
+        searchFuture =
+            apiQuery.containsKey(PARAM_OFFSET)
+                ? Future.failedFuture(badRequest("offset is not allowed with cursor"))
+                : cursorSearch(query, cursor, sizeKeyValue);
+      } else if (SEARCH_MODE_COUNT.equals(searchMode)) {
+        searchFuture = countAndSearch(query, sizeKeyValue, fromKeyValue);
+      } else {
+        searchFuture = trackTotalHitsSearch(query, sizeKeyValue, fromKeyValue);
+      }
 
-                if (count > 50000) {
-                  JsonObject json = new JsonObject();
-                  json.put("type", 413);
-                  json.put("title", ResponseUrn.PAYLOAD_TOO_LARGE_URN.getUrn());
-                  json.put("details", ResponseUrn.PAYLOAD_TOO_LARGE_URN.getMessage());
-                  return Future.failedFuture("Result Limit exceeds");
-                }
-                countPlaceHolder.setCount(count);
-                return client.asyncSearch(searchIndexUrl, query, sizeKeyValue, fromKeyValue);
-              })
+      searchFuture
           .onSuccess(
               successHandler -> {
                 LOGGER.debug("Success: Successful DB request");
                 JsonObject responseJson = successHandler;
-                responseJson
-                    .put(PARAM_LIMIT, sizeKeyValue)
-                    .put(PARAM_OFFSET, fromKeyValue)
-                    .put(TOTAL_HITS_KEY, countPlaceHolder.getCount());
+                responseJson.put(PARAM_LIMIT, sizeKeyValue);
+                if (cursor == null) {
+                  responseJson.put(PARAM_OFFSET, fromKeyValue);
+                }
                 promise.complete(responseJson);
               })
           .onFailure(
@@ -103,6 +135,181 @@ public class DatabaseServiceImpl implements DatabaseService {
     return promise.future();
   }
 
+  /**
+   * search whose results are streamed to a response as elastic returns them, for callers deployed
+   * in the same JVM. Query, pagination and failures are the same as of {@link #search}, cursor
+   * pagination is not streamed.
+   *
+   * @param apiQuery query
+   * @param type type of query
+   * @return response to write
+   */
+  public Future<StreamedSearchResponse> streamSearch(JsonObject apiQuery, QueryType type) {
+    if (apiQuery == null || apiQuery.isEmpty() || type == null) {
+      return Future.failedFuture(badRequest("invalid parameters passed to search."));
+    }
+    if (apiQuery.containsKey(PARAM_CURSOR)) {
+      return Future.failedFuture(badRequest("cursor is not allowed for streamed search"));
+    }
+    try {
+      Query query = new ElasticQueryGenerator().getQuery(apiQuery, type);
+      final int size = getOrDefault(apiQuery, PARAM_LIMIT, DEFAULT_SIZE_VALUE);
+      final int from = getOrDefault(apiQuery, PARAM_OFFSET, DEFAULT_FROM_VALUE);
+
+      Future<StreamedSearchResponse> searchFuture;
+      if (SEARCH_MODE_COUNT.equals(searchMode)) {
+        searchFuture =
+            client
+                .asyncCount(fileMetadataIndex, query)
+                .compose(
+                    countResult -> {
+                      long count =
+                          countResult.getJsonArray(RESULTS).getJsonObject(0).getLong(COUNT);
+                      if (count > searchTotalHitsCap) {
+                        return Future.failedFuture(RESULT_LIMIT_EXCEEDED);
+                      }
+                      // hits are not counted by search, so an empty result is known from count.
+                      if (count == 0) {
+                        return Future.failedFuture(noContent());
+                      }
+                      return client
+                          .rawSearch(fileMetadataIndex, query, size, from, 0)
+                          .map(hits -> new StreamedSearchResponse(hits, count, size, from));
+                    });
+      } else {
+        searchFuture =
+            client
+                .rawSearch(fileMetadataIndex, query, size, from, searchTotalHitsCap + 1)
+                .compose(
+                    hits ->
+                        hits.getTotalHits() > searchTotalHitsCap
+                            ? Future.failedFuture(RESULT_LIMIT_EXCEEDED)
+                            : Future.succeededFuture(
+                                new StreamedSearchResponse(hits, hits.getTotalHits(), size, from)));
+      }
+      return searchFuture.recover(cause -> Future.failedFuture(cause.getMessage()));
+    } catch (EsqueryException ex) {
+      ResponseUrn exceptionUrn = ResponseUrn.BAD_REQUEST_URN;
+      return Future.failedFuture(new EsqueryException(exceptionUrn, ex.getMessage()).toString());
+    } catch (Exception ex) {
+      return Future.failedFuture(
+          new EsqueryException("Exception occured executing query").toString());
+    }
+  }
+
+  /* total hits from a count request, search is sent once count is known to be within cap. */
+  private Future<JsonObject> countAndSearch(Query query, int size, int from) {
+    return client
+        .asyncCount(fileMetadataIndex, query)
+        .compose(
+            countQueryHandler -> {
+              long count =
+                  countQueryHandler.getJsonArray(RESULTS).getJsonObject(0).getLong(COUNT);
+              if (count > searchTotalHitsCap) {
+                return Future.failedFuture(RESULT_LIMIT_EXCEEDED);
+              }
+              return client
+                  .asyncSearch(fileMetadataIndex, query, size, from)
+                  .map(searchResult -> searchResult.put(TOTAL_HITS_KEY, count));
+            });
+  }
+
+  /*
+   * total hits from the search itself. Hits are counted one past cap, so a total above cap means
+   * query matches too many files whether or not the count is exact.
+   */
+  private Future<JsonObject> trackTotalHitsSearch(Query query, int size, int from) {
+    return client
+        .asyncSearch(fileMetadataIndex, query, size, from, searchTotalHitsCap + 1)
+        .compose(
+            searchResult -> {
+              if (searchResult.getLong(TOTAL_HITS_KEY) > searchTotalHitsCap) {
+                return Future.failedFuture(RESULT_LIMIT_EXCEEDED);
+              }
+              return Future.succeededFuture(searchResult);
+            });
+  }
+
+  /*
+   * page of results read on a point in time after the cursor, so every page costs the same however
+   * deep it is and no result window applies. A point in time is opened for first page and closed
+   * once last page is read, total hits are counted on first page only.
+   */
+  private Future<JsonObject> cursorSearch(Query query, String token, int size) {
+    SearchCursor cursor;
+    try {
+      cursor = SearchCursor.decode(token);
+    } catch (IllegalArgumentException ex) {
+      return Future.failedFuture(badRequest("invalid cursor"));
+    }
+    Future<String> pitFuture =
+        cursor.isStart()
+            ? client.openPointInTime(fileMetadataIndex, CURSOR_KEEP_ALIVE)
+            : Future.succeededFuture(cursor.getPitId());
+    return pitFuture
+        .compose(
+            pitId ->
+                client.searchAfterAsync(
+                    pitId,
+                    CURSOR_KEEP_ALIVE,
+                    query,
+                    size,
+                    cursor.getSearchAfter(),
+                    cursor.isStart()))
+        .recover(
+            cause ->
+                Future.failedFuture(
+                    !cursor.isStart() && isInvalidCursor(cause)
+                        ? badRequest("invalid or expired cursor")
+                        : cause.getMessage()))
+        .compose(
+            page -> {
+              JsonArray results = page.getJsonArray(RESULTS);
+              String pitId = page.getString(PIT_ID);
+              boolean lastPage = results.isEmpty() || results.size() < size;
+              if (lastPage) {
+                client.closePointInTime(pitId);
+              }
+              if (cursor.isStart() && results.isEmpty()) {
+                return Future.failedFuture(noContent());
+              }
+              JsonObject response =
+                  new ResponseBuilder().setTypeAndTitle(200).setMessage(results).getResponse();
+              if (page.containsKey(TOTAL_HITS_KEY)) {
+                response.put(TOTAL_HITS_KEY, page.getLong(TOTAL_HITS_KEY));
+              }
+              if (!lastPage) {
+                SearchCursor next = new SearchCursor(pitId, page.getJsonArray(LAST_SORT_VALUES));
+                response.put(NEXT_CURSOR_KEY, next.encode());
+              }
+              return Future.succeededFuture(response);
+            });
+  }
+
+  /* cursor not created by server, or whose point in time has expired. */
+  private boolean isInvalidCursor(Throwable cause) {
+    if (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof ElasticsearchException) {
+      int status = ((ElasticsearchException) cause).status();
+      return status == 400 || status == 404;
+    }
+    return cause instanceof IllegalArgumentException;
+  }
+
+  private String badRequest(String message) {
+    return new ResponseBuilder().setTypeAndTitle(400).setMessage(message).getResponse().toString();
+  }
+
+  private String noContent() {
+    return new ResponseBuilder()
+        .setTypeAndTitle(204)
+        .setMessage(EMPTY_RESPONSE)
+        .getResponse()
+        .toString();
+  }
+
   @Override
   public Future<JsonObject> save(JsonObject document) {
     Promise<JsonObject> promise = Promise.promise();
@@ -111,20 +318,77 @@ public class DatabaseServiceImpl implements DatabaseService {
           new ResponseBuilder().setTypeAndTitle(400).setMessage("empty document passed to save.");
       promise.fail(responseBuilder.getResponse().toString());
     }
-    client
-        .insertAsync(fileMetadataIndex, document)
-        .onComplete(
-            insertHandler -> {
-              if (insertHandler.succeeded()) {
-                JsonObject result = new JsonObject();
-                result.put("result", insertHandler.result());
-                promise.complete(result);
-              } else {
-                LOGGER.info(insertHandler.cause().getMessage());
-                promise.fail(insertHandler.cause().getMessage());
+    Future<JsonObject> insertFuture =
+        indexer != null
+            ? indexer.add(document)
+            : client.insertAsync(fileMetadataIndex, document);
+    insertFuture.onComplete(
+        insertHandler -> {
+          if (insertHandler.succeeded()) {
+            JsonObject result = new JsonObject();
+            result.put("result", insertHandler.result());
+            promise.complete(result);
+          } else {
+            LOGGER.info(insertHandler.cause().getMessage());
+            promise.fail(insertHandler.cause().getMessage());
+          }
+        });
+    return promise.future();
+  }
+
+  @Override
+  public Future<JsonObject> saveAll(JsonArray documents) {
+    if (documents == null || documents.isEmpty()) {
+      return Future.failedFuture(badRequest("empty documents passed to save."));
+    }
+    List<JsonObject> batch = new ArrayList<>(documents.size());
+    for (int i = 0; i < documents.size(); i++) {
+      JsonObject document = documents.getJsonObject(i);
+      if (document == null || document.isEmpty()) {
+        return Future.failedFuture(badRequest("empty document passed to save at " + i));
+      }
+      batch.add(document);
+    }
+    List<Future<JsonObject>> insertFutures;
+    if (indexer != null) {
+      insertFutures = indexer.addAll(batch);
+    } else {
+      insertFutures = new ArrayList<>(batch.size());
+      Future<List<String>> bulkFuture = client.bulkInsertAsync(fileMetadataIndex, batch);
+      for (int i = 0; i < batch.size(); i++) {
+        int item = i;
+        insertFutures.add(bulkFuture.compose(failures -> insertResult(failures.get(item))));
+      }
+    }
+    return Future.join(insertFutures)
+        .transform(
+            joined -> {
+              JsonArray results = new JsonArray();
+              for (Future<JsonObject> insertFuture : insertFutures) {
+                if (insertFuture.succeeded()) {
+                  results.add(insertFuture.result());
+                } else {
+                  results.add(toJson(insertFuture.cause().getMessage()));
+                }
               }
+              return Future.succeededFuture(new JsonObject().put(RESULTS, results));
             });
-    return promise.future();
+  }
+
+  private Future<JsonObject> insertResult(String failure) {
+    if (failure == null) {
+      return Future.succeededFuture(new ResponseBuilder().setTypeAndTitle(200).getResponse());
+    }
+    return Future.failedFuture(badRequest("Error while inserting : " + failure));
+  }
+
+  /* failure of a document as json, failures not built by ResponseBuilder are wrapped in one. */
+  private JsonObject toJson(String failure) {
+    try {
+      return new JsonObject(failure);
+    } catch (Exception ex) {
+      return new ResponseBuilder().setTypeAndTitle(400).setMessage(failure).getResponse();
+    }
   }
 
   @Override
@@ -155,27 +419,51 @@ public class DatabaseServiceImpl implements DatabaseService {
     return promise.future();
   }
 
-  public int getOrDefault(JsonObject json, String key, int def) {
-    if (json.containsKey(key)) {
-      int value = Integer.parseInt(json.getString(key));
-      return value;
+  @Override
+  public Future<JsonObject> getFileMetadata(String fileId) {
+    if (fileId == null || fileId.isBlank()) {
+      ResponseBuilder responseBuilder =
+          new ResponseBuilder().setTypeAndTitle(400).setMessage("empty id passed to get metadata.");
+      return Future.failedFuture(responseBuilder.getResponse().toString());
     }
-    return def;
+    Query query = new ElasticQueryGenerator().fileIdQuery(fileId);
+    ResponseBuilder notFound =
+        new ResponseBuilder().setTypeAndTitle(404).setMessage("File does not exist");
+    return client
+        .asyncSearch(fileMetadataIndex, query, FILE_METADATA_SEARCH_SIZE, 0)
+        .recover(
+            searchFailure ->
+                Future.failedFuture(
+                    isEmptyResult(searchFailure)
+                        ? notFound.getResponse().toString()
+                        : searchFailure.getMessage()))
+        .compose(
+            searchResult -> {
+              JsonArray results = searchResult.getJsonArray("results");
+              for (int i = 0; i < results.size(); i++) {
+                JsonObject document = results.getJsonObject(i);
+                if (fileId.equals(document.getString(FILE_ID))) {
+                  return Future.succeededFuture(document);
+                }
+              }
+              return Future.failedFuture(notFound.getResponse().toString());
+            });
   }
 
-  private class CountResultPlaceholder {
-    private long count;
-
-    public CountResultPlaceholder() {
-      this.count = 0L;
-    }
-
-    public long getCount() {
-      return this.count;
+  /** search fails with a 204 when there are no hits at all. */
+  private boolean isEmptyResult(Throwable cause) {
+    try {
+      return new JsonObject(cause.getMessage()).getInteger(ERROR_TYPE, 0) == 204;
+    } catch (Exception ex) {
+      return false;
     }
+  }
 
-    public void setCount(long count) {
-      this.count = count;
+  public int getOrDefault(JsonObject json, String key, int def) {
+    if (json.containsKey(key)) {
+      int value = Integer.parseInt(json.getString(key));
+      return value;
     }
+    return def;
   }
 }
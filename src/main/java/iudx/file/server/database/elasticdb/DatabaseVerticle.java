@@ -10,22 +10,24 @@ import io.vertx.serviceproxy.ServiceBinder;
 public class DatabaseVerticle extends AbstractVerticle {
 
   private static final String dbAddress = DB_SERVICE_ADDRESS;
-  private DatabaseService database;
+  private DatabaseServiceImpl database;
   private ServiceBinder binder;
   private MessageConsumer<JsonObject> consumer;
 
   @Override
   public void start() {
 
-    database = new DatabaseServiceImpl(config());
+    database = new DatabaseServiceImpl(vertx, config());
 
     binder = new ServiceBinder(vertx);
 
     consumer = binder.setAddress(dbAddress).register(DatabaseService.class, database);
+    LocalDatabaseService.register(vertx, database);
   }
 
   @Override
   public void stop() {
+    LocalDatabaseService.unregister(vertx, database);
     binder.unregister(consumer);
   }
 }
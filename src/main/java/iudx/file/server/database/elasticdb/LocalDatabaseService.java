@@ -0,0 +1,40 @@
+package iudx.file.server.database.elasticdb;
+
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocalDatabaseService.
+ *
+ * <h1>LocalDatabaseService</h1>
+ *
+ * <p>database service instance of {@link DatabaseVerticle} deployed in the same JVM, for calls
+ * whose results are not sent over event bus such as {@link DatabaseServiceImpl#streamSearch}.
+ * When database verticle is deployed separately there is no local instance and callers use the
+ * event bus proxy.
+ */
+public final class LocalDatabaseService {
+
+  private static final Map<Vertx, DatabaseServiceImpl> SERVICES = new ConcurrentHashMap<>();
+
+  private LocalDatabaseService() {}
+
+  static void register(Vertx vertx, DatabaseServiceImpl service) {
+    SERVICES.put(vertx, service);
+  }
+
+  static void unregister(Vertx vertx, DatabaseServiceImpl service) {
+    SERVICES.remove(vertx, service);
+  }
+
+  /**
+   * service of database verticle of a vertx instance.
+   *
+   * @param vertx vertx instance
+   * @return service, null if no database verticle is deployed in this JVM
+   */
+  public static DatabaseServiceImpl get(Vertx vertx) {
+    return SERVICES.get(vertx);
+  }
+}
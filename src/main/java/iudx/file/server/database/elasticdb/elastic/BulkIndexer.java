@@ -0,0 +1,175 @@
+package iudx.file.server.database.elasticdb.elastic;
+
+import static iudx.file.server.database.elasticdb.utilities.Constants.TOO_MANY_PENDING;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.database.elasticdb.utilities.ResponseBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * BulkIndexer.
+ *
+ * <h1>BulkIndexer</h1>
+ *
+ * <p>indexes documents saved in bursts with one _bulk request. Documents are buffered until either
+ * <code>maxDocuments</code> are buffered or <code>maxDelay</code> ms have passed since first of
+ * them, result of each document in the bulk response completes future of its caller. Documents
+ * sent but not yet indexed are counted, a document is rejected with a 429 when <code>maxPending
+ * </code> are pending, so callers are slowed down instead of buffering without limit while elastic
+ * is behind.
+ *
+ * <p>indexer is used from context it is created on, as a verticle uses its service.
+ */
+public final class BulkIndexer {
+
+  private static final Logger LOGGER = LogManager.getLogger(BulkIndexer.class);
+
+  private final Vertx vertx;
+  private final Context context;
+  private final ElasticClient client;
+  private final String index;
+  private final int maxDocuments;
+  private final long maxDelay;
+  private final int maxPending;
+
+  private List<JsonObject> documents = new ArrayList<>();
+  private List<Promise<JsonObject>> promises = new ArrayList<>();
+  // buffered and in flight documents.
+  private int pending;
+  private long timerId = -1;
+
+  /**
+   * BulkIndexer.
+   *
+   * @param vertx vertx
+   * @param client elastic client
+   * @param index index documents are inserted to
+   * @param maxDocuments documents flushed in one bulk request
+   * @param maxDelay ms a document waits for others before flush
+   * @param maxPending documents buffered or in flight before new ones are rejected
+   */
+  public BulkIndexer(
+      Vertx vertx,
+      ElasticClient client,
+      String index,
+      int maxDocuments,
+      long maxDelay,
+      int maxPending) {
+    this.vertx = vertx;
+    this.context = vertx.getOrCreateContext();
+    this.client = client;
+    this.index = index;
+    this.maxDocuments = maxDocuments;
+    this.maxDelay = maxDelay;
+    this.maxPending = maxPending;
+  }
+
+  /**
+   * index a document with next bulk request.
+   *
+   * @param document document
+   * @return same response as {@link ElasticClient#insertAsync} for the document
+   */
+  public Future<JsonObject> add(JsonObject document) {
+    if (pending >= maxPending) {
+      return Future.failedFuture(tooManyPending());
+    }
+    return buffer(document);
+  }
+
+  /**
+   * index documents, all of them are accepted or rejected together.
+   *
+   * @param documents documents
+   * @return response of each document in order
+   */
+  public List<Future<JsonObject>> addAll(List<JsonObject> documents) {
+    List<Future<JsonObject>> futures = new ArrayList<>(documents.size());
+    if (pending + documents.size() > maxPending) {
+      String failure = tooManyPending();
+      documents.forEach(document -> futures.add(Future.failedFuture(failure)));
+      return futures;
+    }
+    documents.forEach(document -> futures.add(buffer(document)));
+    return futures;
+  }
+
+  /** documents buffered or in flight. */
+  public int pending() {
+    return pending;
+  }
+
+  private Future<JsonObject> buffer(JsonObject document) {
+    Promise<JsonObject> promise = Promise.promise();
+    documents.add(document);
+    promises.add(promise);
+    pending++;
+    if (documents.size() >= maxDocuments) {
+      flush();
+    } else if (timerId == -1) {
+      timerId = vertx.setTimer(maxDelay, id -> flush());
+    }
+    return promise.future();
+  }
+
+  private void flush() {
+    if (timerId != -1) {
+      vertx.cancelTimer(timerId);
+      timerId = -1;
+    }
+    if (documents.isEmpty()) {
+      return;
+    }
+    List<JsonObject> batch = documents;
+    List<Promise<JsonObject>> batchPromises = promises;
+    documents = new ArrayList<>();
+    promises = new ArrayList<>();
+    LOGGER.debug("indexing {} documents", batch.size());
+    client
+        .bulkInsertAsync(index, batch)
+        .onComplete(
+            bulkHandler ->
+                context.runOnContext(
+                    v -> {
+                      pending -= batch.size();
+                      if (bulkHandler.failed()) {
+                        String failure = bulkHandler.cause().getMessage();
+                        batchPromises.forEach(promise -> promise.fail(failure));
+                        return;
+                      }
+                      List<String> failures = bulkHandler.result();
+                      for (int i = 0; i < batchPromises.size(); i++) {
+                        complete(batchPromises.get(i), failures.get(i));
+                      }
+                    }));
+  }
+
+  private static void complete(Promise<JsonObject> promise, String failure) {
+    if (failure == null) {
+      promise.complete(new ResponseBuilder().setTypeAndTitle(200).getResponse());
+    } else {
+      LOGGER.error("document not indexed : {}", failure);
+      promise.fail(
+          new ResponseBuilder()
+              .setTypeAndTitle(400)
+              .setMessage("Error while inserting : " + failure)
+              .getResponse()
+              .toString());
+    }
+  }
+
+  private static String tooManyPending() {
+    return new ResponseBuilder()
+        .setTypeAndTitle(429)
+        .setMessage(TOO_MANY_PENDING)
+        .getResponse()
+        .toString();
+  }
+}
@@ -1,12 +1,29 @@
 package iudx.file.server.database.elasticdb.elastic;
 
+import static iudx.file.server.database.elasticdb.utilities.Constants.BULK_ERROR;
+import static iudx.file.server.database.elasticdb.utilities.Constants.BULK_FILTER_PATH;
+import static iudx.file.server.database.elasticdb.utilities.Constants.BULK_INDEX;
+import static iudx.file.server.database.elasticdb.utilities.Constants.BULK_INDEX_ACTION;
+import static iudx.file.server.database.elasticdb.utilities.Constants.BULK_ITEMS;
+import static iudx.file.server.database.elasticdb.utilities.Constants.CURSOR_SORT_FIELD;
 import static iudx.file.server.database.elasticdb.utilities.Constants.EMPTY_RESPONSE;
+import static iudx.file.server.database.elasticdb.utilities.Constants.LAST_SORT_VALUES;
+import static iudx.file.server.database.elasticdb.utilities.Constants.PIT_ID;
+import static iudx.file.server.database.elasticdb.utilities.Constants.RAW_SEARCH_FILTER_PATH;
+import static iudx.file.server.database.elasticdb.utilities.Constants.REASON;
+import static iudx.file.server.database.elasticdb.utilities.Constants.RESULTS;
+import static iudx.file.server.database.elasticdb.utilities.Constants.STATUS;
+import static iudx.file.server.database.elasticdb.utilities.Constants.TOTAL_HITS_KEY;
 
 import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.DeleteByQueryRequest;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonpMapper;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
@@ -16,17 +33,25 @@ import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.file.server.database.elasticdb.utilities.ResponseBuilder;
+import jakarta.json.stream.JsonGenerator;
+import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.UUID;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 
@@ -75,9 +100,36 @@ public class ElasticClient {
    * @param from from int type
    */
   public Future<JsonObject> asyncSearch(String index, Query query, int size, int from) {
-    Promise<JsonObject> promise = Promise.promise();
     SearchRequest searchRequest =
         SearchRequest.of(e -> e.index(index).query(query).size(size).from(from));
+    return search(searchRequest, false);
+  }
+
+  /**
+   * searchAsync - search returning total hits of query with the results, so no separate count
+   * request is needed. Total is exact up to trackTotalHits, a lower bound above it.
+   *
+   * @param index Index to search on
+   * @param query Query
+   * @param size int type
+   * @param from from int type
+   * @param trackTotalHits hits counted up to this number
+   */
+  public Future<JsonObject> asyncSearch(
+      String index, Query query, int size, int from, int trackTotalHits) {
+    SearchRequest searchRequest =
+        SearchRequest.of(
+            e ->
+                e.index(index)
+                    .query(query)
+                    .size(size)
+                    .from(from)
+                    .trackTotalHits(t -> t.count(trackTotalHits)));
+    return search(searchRequest, true);
+  }
+
+  private Future<JsonObject> search(SearchRequest searchRequest, boolean withTotalHits) {
+    Promise<JsonObject> promise = Promise.promise();
     asyncClient
         .search(searchRequest, ObjectNode.class)
         .whenCompleteAsync(
@@ -89,7 +141,8 @@ public class ElasticClient {
               }
               try {
                 JsonArray dbResponse = new JsonArray();
-                if (response.hits().total().value() == 0) {
+                long totalHits = response.hits().total().value();
+                if (totalHits == 0) {
                   responseBuilder = new ResponseBuilder().setTypeAndTitle(204);
                   responseBuilder.setMessage(EMPTY_RESPONSE);
                   promise.fail(responseBuilder.getResponse().toString());
@@ -104,6 +157,9 @@ public class ElasticClient {
 
                 responseBuilder = new ResponseBuilder().setTypeAndTitle(200);
                 responseBuilder.setMessage(dbResponse);
+                if (withTotalHits) {
+                  responseBuilder.setTotalHits(totalHits);
+                }
                 promise.complete(responseBuilder.getResponse());
               } catch (Exception ex) {
                 LOGGER.error("Exception occurred while executing query: {}", ex);
@@ -116,6 +172,281 @@ public class ElasticClient {
     return promise.future();
   }
 
+  /**
+   * rawSearch - search whose hits are kept as elastic returns them, for results streamed to a
+   * response without being parsed into objects. Hits are not counted when trackTotalHits is 0.
+   *
+   * @param index Index to search on
+   * @param query Query
+   * @param size int type
+   * @param from from int type
+   * @param trackTotalHits hits counted up to this number
+   */
+  public Future<RawSearchHits> rawSearch(
+      String index, Query query, int size, int from, int trackTotalHits) {
+    SearchRequest searchRequest =
+        SearchRequest.of(
+            e ->
+                e.query(query)
+                    .size(size)
+                    .from(from)
+                    .trackTotalHits(
+                        t -> trackTotalHits > 0 ? t.count(trackTotalHits) : t.enabled(false)));
+    StringWriter body = new StringWriter();
+    JsonpMapper mapper = asyncClient._transport().jsonpMapper();
+    try (JsonGenerator generator = mapper.jsonProvider().createGenerator(body)) {
+      searchRequest.serialize(generator, mapper);
+    }
+    Request request = new Request("POST", "/" + index + "/_search");
+    request.addParameter("filter_path", RAW_SEARCH_FILTER_PATH);
+    request.setJsonEntity(body.toString());
+
+    Promise<RawSearchHits> promise = Promise.promise();
+    client.performRequestAsync(
+        request,
+        new ResponseListener() {
+          @Override
+          public void onSuccess(Response response) {
+            try {
+              RawSearchHits hits =
+                  RawSearchHits.parse(EntityUtils.toByteArray(response.getEntity()));
+              if (hits.getTotalHits() == 0) {
+                ResponseBuilder empty =
+                    new ResponseBuilder().setTypeAndTitle(204).setMessage(EMPTY_RESPONSE);
+                promise.fail(empty.getResponse().toString());
+                return;
+              }
+              promise.complete(hits);
+            } catch (IOException ex) {
+              LOGGER.error("invalid search response : {}", ex.getMessage());
+              ResponseBuilder invalid =
+                  new ResponseBuilder().setTypeAndTitle(400).setMessage(ex.toString());
+              promise.fail(invalid.getResponse().toString());
+            }
+          }
+
+          @Override
+          public void onFailure(Exception exception) {
+            LOGGER.error("raw search query failed : {}", exception.getMessage());
+            promise.fail(failure(exception));
+          }
+        });
+    return promise.future();
+  }
+
+  /**
+   * bulkInsertAsync - insert documents into the respective index of elastic with one _bulk
+   * request, each document is serialized once into the request body.
+   *
+   * @param index Index to insert
+   * @param documents documents
+   * @return failure reason of each document in order, null for an inserted document
+   */
+  public Future<List<String>> bulkInsertAsync(String index, List<JsonObject> documents) {
+    StringBuilder body = new StringBuilder();
+    for (JsonObject document : documents) {
+      body.append(BULK_INDEX_ACTION).append('\n').append(document.encode()).append('\n');
+    }
+    Request request = new Request("POST", "/" + index + "/_bulk");
+    request.addParameter("filter_path", BULK_FILTER_PATH);
+    request.setJsonEntity(body.toString());
+
+    Promise<List<String>> promise = Promise.promise();
+    client.performRequestAsync(
+        request,
+        new ResponseListener() {
+          @Override
+          public void onSuccess(Response response) {
+            try {
+              JsonObject bulkResponse = new JsonObject(EntityUtils.toString(response.getEntity()));
+              JsonArray items = bulkResponse.getJsonArray(BULK_ITEMS);
+              if (items == null || items.size() != documents.size()) {
+                throw new IllegalStateException("bulk response does not match documents");
+              }
+              List<String> failures = new ArrayList<>(items.size());
+              for (int i = 0; i < items.size(); i++) {
+                JsonObject item = items.getJsonObject(i).getJsonObject(BULK_INDEX);
+                int status = item.getInteger(STATUS);
+                if (status >= 200 && status < 300) {
+                  failures.add(null);
+                } else {
+                  JsonObject error = item.getJsonObject(BULK_ERROR);
+                  failures.add(error != null ? error.getString(REASON) : "status " + status);
+                }
+              }
+              promise.complete(failures);
+            } catch (Exception ex) {
+              LOGGER.error("invalid bulk response : {}", ex.getMessage());
+              promise.fail(
+                  new ResponseBuilder()
+                      .setTypeAndTitle(400)
+                      .setMessage(ex.toString())
+                      .getResponse()
+                      .toString());
+            }
+          }
+
+          @Override
+          public void onFailure(Exception exception) {
+            LOGGER.error("bulk insert failed : {}", exception.getMessage());
+            promise.fail(failure(exception));
+          }
+        });
+    return promise.future();
+  }
+
+  /* failure of a request of low level client, with error of elastic when it returned one. */
+  private static String failure(Exception exception) {
+    ResponseBuilder failure = new ResponseBuilder().setTypeAndTitle(400);
+    try {
+      Response response = ((ResponseException) exception).getResponse();
+      String error = EntityUtils.toString(response.getEntity());
+      failure.setMessage(new JsonObject(error));
+    } catch (Exception ex) {
+      // not an error response of elastic.
+      failure.setMessage(exception.getMessage());
+    }
+    return failure.getResponse().toString();
+  }
+
+  /**
+   * openPointInTime - open a point in time of an index, searches on it see the index as it was
+   * when opened.
+   *
+   * @param index Index
+   * @param keepAlive time point in time is kept without a search on it
+   */
+  public Future<String> openPointInTime(String index, String keepAlive) {
+    Promise<String> promise = Promise.promise();
+    asyncClient
+        .openPointInTime(o -> o.index(index).keepAlive(k -> k.time(keepAlive)))
+        .whenCompleteAsync(
+            (response, exception) -> {
+              if (exception != null) {
+                LOGGER.error("open point in time failed : {}", exception);
+                promise.fail(exception);
+                return;
+              }
+              promise.complete(response.id());
+            });
+    return promise.future();
+  }
+
+  /**
+   * closePointInTime - release a point in time before its keep alive ends, failure is only
+   * logged.
+   *
+   * @param pitId id of point in time
+   */
+  public void closePointInTime(String pitId) {
+    asyncClient
+        .closePointInTime(c -> c.id(pitId))
+        .whenCompleteAsync(
+            (response, exception) -> {
+              if (exception != null) {
+                LOGGER.warn("close point in time failed : {}", exception.getMessage());
+              }
+            });
+  }
+
+  /**
+   * searchAfterAsync - page of a search on a point in time sorted by file id, starting after sort
+   * values of last result of previous page. Result holds id of point in time to use for next page
+   * and sort values of its last result.
+   *
+   * @param pitId id of point in time
+   * @param keepAlive time point in time is kept after this search
+   * @param query Query
+   * @param size size of page
+   * @param searchAfter sort values of last result of previous page, null for first page
+   * @param trackTotalHits whether total hits of query are counted
+   */
+  public Future<JsonObject> searchAfterAsync(
+      String pitId,
+      String keepAlive,
+      Query query,
+      int size,
+      JsonArray searchAfter,
+      boolean trackTotalHits) {
+    Promise<JsonObject> promise = Promise.promise();
+    SearchRequest searchRequest =
+        SearchRequest.of(
+            e -> {
+              e.pit(p -> p.id(pitId).keepAlive(k -> k.time(keepAlive)))
+                  .query(query)
+                  .size(size)
+                  .sort(so -> so.field(f -> f.field(CURSOR_SORT_FIELD).order(SortOrder.Asc)))
+                  .trackTotalHits(t -> t.enabled(trackTotalHits));
+              if (searchAfter != null) {
+                e.searchAfter(toFieldValues(searchAfter));
+              }
+              return e;
+            });
+    asyncClient
+        .search(searchRequest, ObjectNode.class)
+        .whenCompleteAsync(
+            (response, exception) -> {
+              if (exception != null) {
+                LOGGER.error("search after query failed : {}", exception);
+                promise.fail(exception);
+                return;
+              }
+              JsonArray results = new JsonArray();
+              List<Hit<ObjectNode>> hits = response.hits().hits();
+              hits.forEach(hit -> results.add(new JsonObject(hit.source().toString())));
+              JsonObject page =
+                  new JsonObject().put(RESULTS, results).put(PIT_ID, response.pitId());
+              if (!hits.isEmpty()) {
+                page.put(LAST_SORT_VALUES, toJson(hits.get(hits.size() - 1).sort()));
+              }
+              if (trackTotalHits) {
+                page.put(TOTAL_HITS_KEY, response.hits().total().value());
+              }
+              promise.complete(page);
+            });
+    return promise.future();
+  }
+
+  private static List<FieldValue> toFieldValues(JsonArray values) {
+    List<FieldValue> fieldValues = new ArrayList<>(values.size());
+    for (Object value : values) {
+      if (value == null) {
+        fieldValues.add(FieldValue.NULL);
+      } else if (value instanceof String) {
+        fieldValues.add(FieldValue.of((String) value));
+      } else if (value instanceof Boolean) {
+        fieldValues.add(FieldValue.of((Boolean) value));
+      } else if (value instanceof Double || value instanceof Float) {
+        fieldValues.add(FieldValue.of(((Number) value).doubleValue()));
+      } else if (value instanceof Number) {
+        fieldValues.add(FieldValue.of(((Number) value).longValue()));
+      } else {
+        throw new IllegalArgumentException("invalid sort value : " + value);
+      }
+    }
+    return fieldValues;
+  }
+
+  private static JsonArray toJson(List<FieldValue> fieldValues) {
+    JsonArray values = new JsonArray();
+    for (FieldValue value : fieldValues) {
+      if (value.isNull()) {
+        values.addNull();
+      } else if (value.isString()) {
+        values.add(value.stringValue());
+      } else if (value.isBoolean()) {
+        values.add(value.booleanValue());
+      } else if (value.isDouble()) {
+        values.add(value.doubleValue());
+      } else if (value.isLong()) {
+        values.add(value.longValue());
+      } else {
+        values.add(value._get().toString());
+      }
+    }
+    return values;
+  }
+
   /**
    * insertAsync - insert data into the respective index of elastic.
    *
@@ -123,14 +454,7 @@ public class ElasticClient {
    * @param document json type
    */
   public Future<JsonObject> insertAsync(String index, JsonObject document) {
-    StringBuilder putRequestIndex = new StringBuilder(index);
-    putRequestIndex.append("/_doc/");
-    putRequestIndex.append(UUID.randomUUID().toString());
-
-    Request queryRequest = new Request("PUT", putRequestIndex.toString());
-    queryRequest.setJsonEntity(document.toString());
-
-    Reader docs = new StringReader(document.toString());
+    Reader docs = new StringReader(document.encode());
     Promise<JsonObject> promise = Promise.promise();
     asyncClient
         .index(i -> i.index(index).withJson(docs))
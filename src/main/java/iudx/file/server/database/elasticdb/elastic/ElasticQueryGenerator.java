@@ -54,6 +54,17 @@ public class ElasticQueryGenerator {
     return deleteQuery;
   }
 
+  /**
+   * query for metadata of a file, fileId is analysed so matching documents have to be checked for
+   * an exact fileId by the caller.
+   *
+   * @param fileId id of file
+   * @return query
+   */
+  public Query fileIdQuery(String fileId) {
+    return MatchQuery.of(e -> e.field(FILE_ID).query(fileId).operator(Operator.And))._toQuery();
+  }
+
   private Query getBoolQuery(Map<FilterType, List<Query>> filterQueries) {
     BoolQuery.Builder boolQuery = new BoolQuery.Builder();
 
@@ -1,24 +1,40 @@
 package iudx.file.server.database.elasticdb.elastic;
 
+import static iudx.file.server.common.Constants.GEOM_BBOX;
 import static iudx.file.server.common.Constants.GEOM_POINT;
 import static iudx.file.server.database.elasticdb.utilities.Constants.*;
 
+import co.elastic.clients.elasticsearch._types.GeoShapeRelation;
+import co.elastic.clients.elasticsearch._types.query_dsl.GeoBoundingBoxQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.GeoShapeQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
-import co.elastic.clients.elasticsearch._types.query_dsl.WrapperQuery;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpUtils;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import java.util.Base64;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
 import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * GeoQueryFiltersDecorator.
+ *
+ * <p>adds geo filter of a query as a typed query built from parsed coordinates. A bounding box
+ * intersecting files is queried with geo_bounding_box, which elastic evaluates more cheaply than a
+ * generic shape. Other shapes, circles included, are queried with geo_shape.
+ */
 public class GeoQueryFiltersDecorator implements ElasticsearchQueryDecorator {
   private static final Logger LOGGER = LogManager.getLogger(GeoQueryFiltersDecorator.class);
+  private static final JsonProvider JSON_PROVIDER = JsonpUtils.provider();
+  private static final String ENVELOPE = "envelope";
+  private static final String INTERSECTS = "intersects";
+
   private Map<FilterType, List<Query>> queryFilters;
   private JsonObject requestQuery;
-  private String geoQuery =
-      "{ \"geo_shape\": { \"%s\": { \"shape\": %s, \"relation\": \"%s\" } } }";
 
   public GeoQueryFiltersDecorator(
       Map<FilterType, List<Query>> queryFilters, JsonObject requestQuery) {
@@ -28,32 +44,100 @@ public class GeoQueryFiltersDecorator implements ElasticsearchQueryDecorator {
 
   @Override
   public Map<FilterType, List<Query>> add() {
-    Query geoWrapperQuery;
     LOGGER.debug("parsing geo query  paramaters");
-    String shapeRelation =
-        NEAR.equalsIgnoreCase(requestQuery.getString(GEO_REL))
-            ? WITHIN
-            : requestQuery.getString(GEO_REL);
-    String query = String.format(geoQuery, LOCATION, getGeoJson(requestQuery), shapeRelation);
-    String encodedString = Base64.getEncoder().encodeToString(query.getBytes());
-    geoWrapperQuery = WrapperQuery.of(w -> w.query(encodedString))._toQuery();
+    String geometry = requestQuery.getString(GEOMETRY);
+    String geoRel = requestQuery.getString(GEO_REL);
+    JsonArray coordinates = new JsonArray(requestQuery.getString(COORDINATES));
+
+    Query geoQuery;
+    if (GEOM_POINT.equalsIgnoreCase(geometry) && requestQuery.containsKey(RADIUS)) {
+      geoQuery = circleQuery(coordinates, requestQuery.getString(RADIUS) + UNIT_METERS, geoRel);
+    } else if (GEOM_BBOX.equalsIgnoreCase(geometry)) {
+      geoQuery = boundingBoxQuery(coordinates, geoRel);
+    } else {
+      JsonValue shape =
+          JSON_PROVIDER
+              .createObjectBuilder()
+              .add(TYPE_KEY, geometry)
+              .add(COORDINATES, toJsonValue(coordinates))
+              .build();
+      geoQuery = shapeQuery(shape, geoRel);
+    }
     List<Query> queryList = queryFilters.get(FilterType.FILTER);
 
-    queryList.add(geoWrapperQuery);
+    queryList.add(geoQuery);
     return queryFilters;
   }
 
-  private JsonObject getGeoJson(JsonObject json) {
-    JsonObject geoJson = new JsonObject();
-    String geom;
-    if (GEOM_POINT.equalsIgnoreCase(json.getString(GEOMETRY))) {
-      geom = CIRCLE;
-      geoJson.put(RADIUS, json.getString(RADIUS) + UNIT_METERS);
-    } else {
-      geom = json.getString(GEOMETRY);
+  /*
+   * circle around a point, files within it for near. Files are shapes, so the circle is queried
+   * with geo_shape to keep within/intersects relation of files to it.
+   */
+  private Query circleQuery(JsonArray point, String distance, String geoRel) {
+    double lon = point.getDouble(0);
+    double lat = point.getDouble(1);
+    JsonValue circle =
+        JSON_PROVIDER
+            .createObjectBuilder()
+            .add(TYPE_KEY, CIRCLE)
+            .add(COORDINATES, JSON_PROVIDER.createArrayBuilder().add(lon).add(lat))
+            .add(RADIUS, distance)
+            .build();
+    return shapeQuery(circle, geoRel);
+  }
+
+  /* bounding box of two opposite corners, queried as an envelope unless files intersect it. */
+  private Query boundingBoxQuery(JsonArray corners, String geoRel) {
+    JsonArray first = corners.getJsonArray(0);
+    JsonArray second = corners.getJsonArray(1);
+    double left = Math.min(first.getDouble(0), second.getDouble(0));
+    double right = Math.max(first.getDouble(0), second.getDouble(0));
+    double top = Math.max(first.getDouble(1), second.getDouble(1));
+    double bottom = Math.min(first.getDouble(1), second.getDouble(1));
+    if (INTERSECTS.equalsIgnoreCase(geoRel)) {
+      return GeoBoundingBoxQuery.of(
+              g ->
+                  g.field(LOCATION)
+                      .boundingBox(
+                          b -> b.coords(c -> c.top(top).bottom(bottom).left(left).right(right))))
+          ._toQuery();
+    }
+    JsonValue envelope =
+        JSON_PROVIDER
+            .createObjectBuilder()
+            .add(TYPE_KEY, ENVELOPE)
+            .add(
+                COORDINATES,
+                JSON_PROVIDER
+                    .createArrayBuilder()
+                    .add(JSON_PROVIDER.createArrayBuilder().add(left).add(top))
+                    .add(JSON_PROVIDER.createArrayBuilder().add(right).add(bottom)))
+            .build();
+    return shapeQuery(envelope, geoRel);
+  }
+
+  private Query shapeQuery(JsonValue shape, String geoRel) {
+    GeoShapeRelation relation =
+        NEAR.equalsIgnoreCase(geoRel) || WITHIN.equalsIgnoreCase(geoRel)
+            ? GeoShapeRelation.Within
+            : GeoShapeRelation.Intersects;
+    return GeoShapeQuery.of(
+            g ->
+                g.field(LOCATION)
+                    .shape(s -> s.shape(JsonData.of(shape)).relation(relation)))
+        ._toQuery();
+  }
+
+  /* coordinates as json of elastic client, positions are parsed as numbers. */
+  private static JsonValue toJsonValue(JsonArray coordinates) {
+    JsonArrayBuilder array = JSON_PROVIDER.createArrayBuilder();
+    for (Object value : coordinates) {
+      if (value instanceof JsonArray) {
+        array.add(toJsonValue((JsonArray) value));
+      } else {
+        array.add(((Number) value).doubleValue());
+      }
     }
-    geoJson.put(TYPE_KEY, geom).put(COORDINATES, new JsonArray(json.getString(COORDINATES)));
-    LOGGER.debug(geoJson);
-    return geoJson;
+    return array.build();
   }
 }
@@ -0,0 +1,138 @@
+package iudx.file.server.database.elasticdb.elastic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * RawSearchHits.
+ *
+ * <h1>RawSearchHits</h1>
+ *
+ * <p>hits of a search as returned by elastic. Body of search response is kept as it is and only
+ * the position of <code>_source</code> of each hit in it is read, so sources are copied to a
+ * response as they are without being parsed into objects or encoded again.
+ */
+public final class RawSearchHits {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String HITS = "hits";
+  private static final String TOTAL = "total";
+  private static final String VALUE = "value";
+  private static final String SOURCE = "_source";
+
+  private final byte[] body;
+  // start and end offset in body of source of every hit.
+  private final int[] sources;
+  private final int size;
+  private final long totalHits;
+
+  private RawSearchHits(byte[] body, int[] sources, int size, long totalHits) {
+    this.body = body;
+    this.sources = sources;
+    this.size = size;
+    this.totalHits = totalHits;
+  }
+
+  /**
+   * hits of a search response body filtered to <code>hits.total.value</code> and <code>
+   * hits.hits._source</code>.
+   *
+   * @param body search response body
+   * @return hits
+   * @throws IOException if body is not json
+   */
+  public static RawSearchHits parse(byte[] body) throws IOException {
+    int[] sources = new int[32];
+    int size = 0;
+    long totalHits = -1;
+    try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        if (!HITS.equals(parser.currentName())) {
+          parser.nextToken();
+          parser.skipChildren();
+          continue;
+        }
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.currentName();
+          JsonToken value = parser.nextToken();
+          if (TOTAL.equals(field) && value == JsonToken.START_OBJECT) {
+            totalHits = readTotal(parser);
+          } else if (TOTAL.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+            totalHits = parser.getLongValue();
+          } else if (HITS.equals(field) && value == JsonToken.START_ARRAY) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+              while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean source = SOURCE.equals(parser.currentName());
+                parser.nextToken();
+                int start = (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                if (source) {
+                  if (size * 2 == sources.length) {
+                    sources = Arrays.copyOf(sources, sources.length * 2);
+                  }
+                  sources[size * 2] = start;
+                  sources[size * 2 + 1] = (int) parser.currentLocation().getByteOffset();
+                  size++;
+                }
+              }
+            }
+          } else {
+            parser.skipChildren();
+          }
+        }
+      }
+    }
+    return new RawSearchHits(body, sources, size, totalHits);
+  }
+
+  private static long readTotal(JsonParser parser) throws IOException {
+    long total = -1;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      if (VALUE.equals(field)) {
+        total = parser.getLongValue();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return total;
+  }
+
+  private static void expect(JsonToken token, JsonToken expected) throws IOException {
+    if (token != expected) {
+      throw new IOException("unexpected search response, " + expected + " expected : " + token);
+    }
+  }
+
+  /** number of hits in page. */
+  public int size() {
+    return size;
+  }
+
+  /** total hits of query, -1 if search did not count hits. */
+  public long getTotalHits() {
+    return totalHits;
+  }
+
+  /** bytes of source of a hit. */
+  public int sourceLength(int hit) {
+    return sources[hit * 2 + 1] - sources[hit * 2];
+  }
+
+  /**
+   * append source of a hit to a buffer, as json it was stored with.
+   *
+   * @param hit index of hit in page
+   * @param buffer buffer
+   */
+  public void appendSource(int hit, Buffer buffer) {
+    buffer.appendBytes(body, sources[hit * 2], sourceLength(hit));
+  }
+}
@@ -0,0 +1,77 @@
+package iudx.file.server.database.elasticdb.elastic;
+
+import static iudx.file.server.database.elasticdb.utilities.Constants.CURSOR_START;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * SearchCursor.
+ *
+ * <h1>SearchCursor</h1>
+ *
+ * <p>position of a client in the results of a query, passed to client as an opaque token. It holds
+ * the point in time results are read from and sort values of last result read, next page is read
+ * after them. Cursor of first page has neither.
+ */
+public final class SearchCursor {
+
+  private static final String PIT = "pit";
+  private static final String AFTER = "after";
+
+  private final String pitId;
+  private final JsonArray searchAfter;
+
+  public SearchCursor(String pitId, JsonArray searchAfter) {
+    this.pitId = pitId;
+    this.searchAfter = searchAfter;
+  }
+
+  /**
+   * cursor of a token.
+   *
+   * @param token {@link iudx.file.server.common.Constants#CURSOR_START} or token of a next page
+   * @return cursor
+   * @throws IllegalArgumentException for a token not created by {@link #encode()}
+   */
+  public static SearchCursor decode(String token) {
+    if (CURSOR_START.equals(token)) {
+      return new SearchCursor(null, null);
+    }
+    try {
+      JsonObject json =
+          new JsonObject(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+      String pitId = json.getString(PIT);
+      JsonArray searchAfter = json.getJsonArray(AFTER);
+      if (pitId == null || searchAfter == null || searchAfter.isEmpty()) {
+        throw new IllegalArgumentException("incomplete cursor");
+      }
+      return new SearchCursor(pitId, searchAfter);
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException("invalid cursor", ex);
+    }
+  }
+
+  /** token of cursor. */
+  public String encode() {
+    String json = new JsonObject().put(PIT, pitId).put(AFTER, searchAfter).encode();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** cursor of first page, no point in time is opened yet. */
+  public boolean isStart() {
+    return pitId == null;
+  }
+
+  public String getPitId() {
+    return pitId;
+  }
+
+  public JsonArray getSearchAfter() {
+    return searchAfter;
+  }
+}
@@ -56,4 +56,33 @@ public class Constants extends iudx.file.server.common.Constants {
   public static final int DEFAULT_SIZE_VALUE = 5000;
   public static final int DEFAULT_FROM_VALUE = 0;
   public static final String TOTAL_HITS_KEY = "totalHits";
+  public static final int FILE_METADATA_SEARCH_SIZE = 10;
+
+  // search modes, total hits from a separate count request or from the search itself.
+  public static final String SEARCH_MODE_COUNT = "count";
+  public static final String SEARCH_MODE_TRACK_TOTAL_HITS = "trackTotalHits";
+  // queries matching more files than this are rejected.
+  public static final int DEFAULT_SEARCH_TOTAL_HITS_CAP = 50000;
+  public static final String RESULT_LIMIT_EXCEEDED = "Result Limit exceeds";
+
+  // cursor pagination, point in time kept alive between pages.
+  public static final String NEXT_CURSOR_KEY = "nextCursor";
+  public static final String PIT_ID = "pitId";
+  public static final String LAST_SORT_VALUES = "lastSortValues";
+  public static final String CURSOR_KEEP_ALIVE = "5m";
+  public static final String CURSOR_SORT_FIELD = "fileId.keyword";
+
+  // parts of a search response read when streaming results.
+  public static final String RAW_SEARCH_FILTER_PATH = "hits.total.value,hits.hits._source";
+
+  // bulk indexing, each document is indexed with an id generated by elastic.
+  public static final String BULK_INDEX_ACTION = "{\"index\":{}}";
+  public static final String BULK_INDEX = "index";
+  public static final String BULK_ITEMS = "items";
+  public static final String BULK_ERROR = "error";
+  public static final String BULK_FILTER_PATH = "items.*.status,items.*.error.reason";
+  public static final int DEFAULT_BULK_INDEX_MAX_DOCUMENTS = 500;
+  public static final long DEFAULT_BULK_INDEX_MAX_DELAY = 50;
+  public static final int DEFAULT_BULK_INDEX_MAX_PENDING = 10000;
+  public static final String TOO_MANY_PENDING = "Too many documents pending indexing";
 }
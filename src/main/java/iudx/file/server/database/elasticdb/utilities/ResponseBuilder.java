@@ -71,6 +71,11 @@ public class ResponseBuilder {
     return this;
   }
 
+  public ResponseBuilder setTotalHits(long totalHits) {
+    response.put(TOTAL_HITS_KEY, totalHits);
+    return this;
+  }
+
   public JsonObject getResponse() {
     return response;
   }
@@ -0,0 +1,80 @@
+package iudx.file.server.database.elasticdb.utilities;
+
+import static iudx.file.server.database.elasticdb.utilities.Constants.*;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import iudx.file.server.apiserver.utilities.HttpStatusCode;
+import iudx.file.server.database.elasticdb.elastic.RawSearchHits;
+
+/**
+ * StreamedSearchResponse.
+ *
+ * <h1>StreamedSearchResponse</h1>
+ *
+ * <p>search response written to a stream in chunks, same json as built by {@link ResponseBuilder}
+ * for a search. Sources of hits are copied into chunks as elastic returned them, so neither the
+ * results nor the whole response are held as objects or as a string.
+ */
+public final class StreamedSearchResponse {
+
+  // size a chunk is written at.
+  static final int CHUNK_SIZE = 64 * 1024;
+
+  private final RawSearchHits hits;
+  private final long totalHits;
+  private final int limit;
+  private final int offset;
+
+  /**
+   * StreamedSearchResponse.
+   *
+   * @param hits page of hits
+   * @param totalHits total hits of query
+   * @param limit size of page
+   * @param offset offset of page
+   */
+  public StreamedSearchResponse(RawSearchHits hits, long totalHits, int limit, int offset) {
+    this.hits = hits;
+    this.totalHits = totalHits;
+    this.limit = limit;
+    this.offset = offset;
+  }
+
+  public RawSearchHits getHits() {
+    return hits;
+  }
+
+  public long getTotalHits() {
+    return totalHits;
+  }
+
+  /**
+   * write response, stream is not ended.
+   *
+   * @param stream stream response is written to
+   */
+  public void writeTo(WriteStream<Buffer> stream) {
+    HttpStatusCode status = HttpStatusCode.getByValue(200);
+    Buffer chunk = Buffer.buffer(CHUNK_SIZE);
+    chunk
+        .appendString("{\"" + ERROR_TYPE + "\":" + status.getValue())
+        .appendString(",\"" + TITLE + "\":\"" + status.getUrn() + "\"")
+        .appendString(",\"" + RESULTS + "\":[");
+    for (int hit = 0; hit < hits.size(); hit++) {
+      if (chunk.length() + hits.sourceLength(hit) >= CHUNK_SIZE) {
+        stream.write(chunk);
+        chunk = Buffer.buffer(CHUNK_SIZE);
+      }
+      if (hit > 0) {
+        chunk.appendByte((byte) ',');
+      }
+      hits.appendSource(hit, chunk);
+    }
+    chunk
+        .appendString("],\"" + TOTAL_HITS_KEY + "\":" + totalHits)
+        .appendString(",\"" + PARAM_LIMIT + "\":" + limit)
+        .appendString(",\"" + PARAM_OFFSET + "\":" + offset + "}");
+    stream.write(chunk);
+  }
+}
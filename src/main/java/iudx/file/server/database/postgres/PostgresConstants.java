@@ -1,7 +1,21 @@
 package iudx.file.server.database.postgres;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 public class PostgresConstants {
 
   public static String SELECT_REVOKE_TOKEN_SQL = "SELECT * FROM revoked_tokens";
 
+  // keyset page of revoked tokens.
+  public static final String SELECT_REVOKED_TOKENS_PAGE_SQL =
+      "SELECT _id, expiry, modified_at FROM revoked_tokens"
+          + " WHERE (modified_at, _id) > ($1, $2) ORDER BY modified_at, _id LIMIT $3";
+  public static final int REVOKED_TOKENS_PAGE_SIZE = 1000;
+  public static final LocalDateTime MIN_MODIFIED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+  public static final UUID MIN_ID = new UUID(0, 0);
+  // rows are re-read from this far before high-water mark, covers transactions committed late.
+  public static final Duration REVOKED_TOKENS_SYNC_OVERLAP = Duration.ofMinutes(1);
+  public static final long REVOKED_TOKENS_SYNC_INTERVAL = 300;
 }
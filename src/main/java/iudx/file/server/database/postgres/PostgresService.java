@@ -21,6 +21,22 @@ public interface PostgresService {
   PostgresService executePreparedQuery(final String query, final JsonObject queryparams,
       Handler<AsyncResult<JsonObject>> handler);
 
+  /**
+   * stream rows of a prepared query to an event bus address, rows are read through a cursor and
+   * sent in batches of fetch size as {"result": [rows]}. Next batch is sent once previous one is
+   * replied to.
+   *
+   * @param query query
+   * @param queryparams query parameters, see {@link TupleBuilder}
+   * @param fetchSize rows read from cursor and sent in one batch
+   * @param address address batches are sent to
+   * @param handler completes with {"count": rows} after last batch is replied to
+   * @return PostgresService
+   */
+  @Fluent
+  PostgresService streamQuery(final String query, final JsonObject queryparams, int fetchSize,
+      String address, Handler<AsyncResult<JsonObject>> handler);
+
 
   @GenIgnore
   static PostgresService createProxy(Vertx vertx, String address) {
@@ -3,15 +3,18 @@ package iudx.file.server.database.postgres;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
 import io.vertx.sqlclient.Tuple;
 import iudx.file.server.apiserver.response.ResponseUrn;
 import iudx.file.server.common.Response;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import org.apache.http.HttpStatus;
@@ -22,9 +25,11 @@ public final class PostgresServiceImpl implements PostgresService {
 
   private static final Logger LOGGER = LogManager.getLogger(PostgresServiceImpl.class);
 
+  private final Vertx vertx;
   private final PgPool client;
 
-  public PostgresServiceImpl(final PgPool pgclient) {
+  public PostgresServiceImpl(final Vertx vertx, final PgPool pgclient) {
+    this.vertx = vertx;
     this.client = pgclient;
   }
 
@@ -44,29 +49,22 @@ public final class PostgresServiceImpl implements PostgresService {
               JsonArray response = new JsonArray(successHandler);
               handler.handle(Future.succeededFuture(new JsonObject().put("result", response)));
             })
-        .onFailure(
-            failureHandler -> {
-              LOGGER.error(failureHandler);
-              Response response =
-                  new Response.Builder()
-                      .withUrn(ResponseUrn.DB_ERROR_URN.getUrn())
-                      .withStatus(HttpStatus.SC_BAD_REQUEST)
-                      .withDetail(failureHandler.getLocalizedMessage())
-                      .build();
-              handler.handle(Future.failedFuture(response.toString()));
-            });
+        .onFailure(failureHandler -> handler.handle(Future.failedFuture(dbError(failureHandler))));
     return this;
   }
 
-  // TODO : prepared query works only for String parameters, due to service proxy restriction with
-  // allowed type as arguments. needs to work with TupleBuilder class which will parse other types
-  // like date appropriately to match with postgres types
+  // parameters other than json types are passed typed, see TupleBuilder.
   @Override
   public PostgresService executePreparedQuery(
       final String query, final JsonObject queryParams, Handler<AsyncResult<JsonObject>> handler) {
 
-    List<Object> params = new ArrayList<Object>(queryParams.getMap().values());
-    Tuple tuple = Tuple.from(params);
+    Tuple tuple;
+    try {
+      tuple = TupleBuilder.from(queryParams);
+    } catch (RuntimeException e) {
+      handler.handle(Future.failedFuture(dbError(e)));
+      return this;
+    }
 
     Collector<Row, ?, List<JsonObject>> rowCollector =
         Collectors.mapping(row -> row.toJson(), Collectors.toList());
@@ -84,17 +82,114 @@ public final class PostgresServiceImpl implements PostgresService {
               JsonArray response = new JsonArray(successHandler);
               handler.handle(Future.succeededFuture(new JsonObject().put("result", response)));
             })
-        .onFailure(
-            failureHandler -> {
-              LOGGER.error(failureHandler);
-              Response response =
-                  new Response.Builder()
-                      .withUrn(ResponseUrn.DB_ERROR_URN.getUrn())
-                      .withStatus(HttpStatus.SC_BAD_REQUEST)
-                      .withDetail(failureHandler.getLocalizedMessage())
-                      .build();
-              handler.handle(Future.failedFuture(response.toString()));
-            });
+        .onFailure(failureHandler -> handler.handle(Future.failedFuture(dbError(failureHandler))));
     return this;
   }
+
+  @Override
+  public PostgresService streamQuery(
+      final String query,
+      final JsonObject queryParams,
+      int fetchSize,
+      String address,
+      Handler<AsyncResult<JsonObject>> handler) {
+    Tuple tuple;
+    try {
+      tuple = TupleBuilder.from(queryParams);
+    } catch (RuntimeException e) {
+      handler.handle(Future.failedFuture(dbError(e)));
+      return this;
+    }
+    stream(
+            query,
+            tuple,
+            fetchSize,
+            rows ->
+                vertx.eventBus().request(address, new JsonObject().put("result", rows)).mapEmpty())
+        .onSuccess(
+            count -> handler.handle(Future.succeededFuture(new JsonObject().put("count", count))))
+        .onFailure(failureHandler -> handler.handle(Future.failedFuture(dbError(failureHandler))));
+    return this;
+  }
+
+  /**
+   * read rows of a prepared query through a cursor, rows are handed over in batches of fetch size
+   * and next batch is read only once previous one is handled, so at most one batch is held in
+   * memory.
+   *
+   * @param query query
+   * @param tuple query parameters
+   * @param fetchSize rows read from cursor at a time
+   * @param batchHandler handles a batch of rows, completes when next batch can be handed over
+   * @return number of rows read
+   */
+  public Future<Long> stream(
+      String query, Tuple tuple, int fetchSize, Function<JsonArray, Future<Void>> batchHandler) {
+    return client.withTransaction(
+        connection ->
+            connection
+                .prepare(query)
+                .compose(
+                    statement ->
+                        new RowBatches(statement.createStream(fetchSize, tuple), fetchSize)
+                            .handle(batchHandler)));
+  }
+
+  private static String dbError(Throwable cause) {
+    LOGGER.error(cause);
+    Response response =
+        new Response.Builder()
+            .withUrn(ResponseUrn.DB_ERROR_URN.getUrn())
+            .withStatus(HttpStatus.SC_BAD_REQUEST)
+            .withDetail(cause.getLocalizedMessage())
+            .build();
+    return response.toString();
+  }
+
+  /** rows of a stream collected in batches, stream is paused while a batch is handled. */
+  private static final class RowBatches {
+
+    private final RowStream<Row> stream;
+    private final int batchSize;
+    private final Promise<Long> promise = Promise.promise();
+    private JsonArray batch = new JsonArray();
+    private Future<Void> handled = Future.succeededFuture();
+    private long count;
+
+    private RowBatches(RowStream<Row> stream, int batchSize) {
+      this.stream = stream;
+      this.batchSize = batchSize;
+    }
+
+    private Future<Long> handle(Function<JsonArray, Future<Void>> batchHandler) {
+      stream.exceptionHandler(promise::tryFail);
+      stream.endHandler(
+          end -> {
+            if (!batch.isEmpty()) {
+              handled = handled.compose(v -> batchHandler.apply(batch));
+            }
+            handled.onSuccess(v -> promise.tryComplete(count)).onFailure(promise::tryFail);
+          });
+      stream.handler(
+          row -> {
+            batch.add(row.toJson());
+            count++;
+            if (batch.size() >= batchSize) {
+              JsonArray rows = batch;
+              batch = new JsonArray();
+              stream.pause();
+              handled =
+                  batchHandler
+                      .apply(rows)
+                      .onSuccess(v -> stream.resume())
+                      .onFailure(
+                          cause -> {
+                            stream.close();
+                            promise.tryFail(cause);
+                          });
+            }
+          });
+      return promise.future();
+    }
+  }
 }
@@ -55,7 +55,7 @@ public class PostgresVerticle extends AbstractVerticle {
     this.poolOptions = new PoolOptions().setMaxSize(poolSize);
     this.pool = PgPool.pool(vertx, connectOptions, poolOptions);
 
-    pgService = new PostgresServiceImpl(this.pool);
+    pgService = new PostgresServiceImpl(vertx, this.pool);
 
     binder = new ServiceBinder(vertx);
     consumer = binder.setAddress(PG_SERVICE_ADDRESS).register(PostgresService.class, pgService);
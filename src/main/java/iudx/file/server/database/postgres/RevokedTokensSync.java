@@ -0,0 +1,124 @@
+package iudx.file.server.database.postgres;
+
+import static iudx.file.server.database.postgres.PostgresConstants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * RevokedTokensSync.
+ *
+ * <h1>RevokedTokensSync</h1>
+ *
+ * <p>reads revoked tokens table incrementally. Rows are read in pages ordered by (modified_at,
+ * _id) using last row of a page as cursor for the next, and latest modified_at read is kept as
+ * high-water mark so a sync reads only rows added or updated since previous one. A sync starts a
+ * little before the high-water mark, rows whose transaction committed after a later row was read
+ * are read again instead of being missed.
+ */
+public final class RevokedTokensSync {
+
+  private static final Logger LOGGER = LogManager.getLogger(RevokedTokensSync.class);
+
+  private final PostgresService pgService;
+  private final BiConsumer<String, String> revocations;
+  private final int pageSize;
+  private LocalDateTime highWaterMark;
+  private Future<Integer> running;
+
+  /**
+   * RevokedTokensSync.
+   *
+   * @param pgService postgres service
+   * @param revocations called with client id and expiry of every row read
+   */
+  public RevokedTokensSync(PostgresService pgService, BiConsumer<String, String> revocations) {
+    this(pgService, revocations, REVOKED_TOKENS_PAGE_SIZE);
+  }
+
+  RevokedTokensSync(
+      PostgresService pgService, BiConsumer<String, String> revocations, int pageSize) {
+    this.pgService = pgService;
+    this.revocations = revocations;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * read rows added or updated since previous sync, whole table on first sync. A sync requested
+   * while one is running joins it.
+   *
+   * @return number of rows read
+   */
+  public Future<Integer> sync() {
+    if (running != null) {
+      return running;
+    }
+    LocalDateTime from =
+        highWaterMark == null ? MIN_MODIFIED_AT : highWaterMark.minus(REVOKED_TOKENS_SYNC_OVERLAP);
+    Promise<Integer> promise = Promise.promise();
+    running =
+        promise
+            .future()
+            .onComplete(
+                handler -> {
+                  running = null;
+                  if (handler.succeeded()) {
+                    LOGGER.debug("revoked tokens synced : " + handler.result());
+                  } else {
+                    LOGGER.error("revoked tokens sync failed : " + handler.cause().getMessage());
+                  }
+                });
+    Future<Integer> sync = running;
+    readPage(from, MIN_ID, 0, promise);
+    return sync;
+  }
+
+  private void readPage(LocalDateTime modifiedAt, UUID id, int read, Promise<Integer> promise) {
+    JsonObject params =
+        new JsonObject()
+            .put("modifiedAt", TupleBuilder.timestamp(modifiedAt))
+            .put("id", TupleBuilder.uuid(id))
+            .put("limit", pageSize);
+    pgService.executePreparedQuery(
+        SELECT_REVOKED_TOKENS_PAGE_SQL,
+        params,
+        handler -> {
+          if (handler.failed()) {
+            promise.fail(handler.cause());
+            return;
+          }
+          JsonArray rows = handler.result().getJsonArray("result");
+          rows.forEach(
+              row -> {
+                JsonObject clientInfo = (JsonObject) row;
+                revocations.accept(clientInfo.getString("_id"), clientInfo.getString("expiry"));
+              });
+          if (rows.isEmpty()) {
+            promise.complete(read);
+            return;
+          }
+          JsonObject last = rows.getJsonObject(rows.size() - 1);
+          LocalDateTime lastModifiedAt = LocalDateTime.parse(last.getString("modified_at"));
+          if (highWaterMark == null || lastModifiedAt.isAfter(highWaterMark)) {
+            highWaterMark = lastModifiedAt;
+          }
+          if (rows.size() < pageSize) {
+            promise.complete(read + rows.size());
+          } else {
+            UUID lastId = UUID.fromString(last.getString("_id"));
+            readPage(lastModifiedAt, lastId, read + rows.size(), promise);
+          }
+        });
+  }
+
+  LocalDateTime getHighWaterMark() {
+    return highWaterMark;
+  }
+}
@@ -0,0 +1,85 @@
+package iudx.file.server.database.postgres;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Tuple;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * TupleBuilder.
+ *
+ * <h1>TupleBuilder</h1>
+ *
+ * <p>builds tuple of prepared query parameters from a json object, in order of its fields. Service
+ * proxy passes only json types, so a parameter of any other postgres type is passed as an object
+ * holding its type and value (created by {@link #timestamp(LocalDateTime)}, {@link #uuid(UUID)}
+ * ...) and is bound to the query as that type. Strings, numbers, booleans and nulls are bound as
+ * they are.
+ */
+public final class TupleBuilder {
+
+  static final String TYPE = "pgType";
+  static final String VALUE = "value";
+
+  private TupleBuilder() {}
+
+  public static JsonObject timestamp(LocalDateTime value) {
+    return typed("timestamp", value.toString());
+  }
+
+  public static JsonObject timestamptz(OffsetDateTime value) {
+    return typed("timestamptz", value.toString());
+  }
+
+  public static JsonObject date(LocalDate value) {
+    return typed("date", value.toString());
+  }
+
+  public static JsonObject uuid(UUID value) {
+    return typed("uuid", value.toString());
+  }
+
+  private static JsonObject typed(String type, String value) {
+    return new JsonObject().put(TYPE, type).put(VALUE, value);
+  }
+
+  /**
+   * tuple of query parameters.
+   *
+   * @param queryParams parameters in order of their placeholders
+   * @return tuple
+   * @throws IllegalArgumentException for a parameter of unknown type
+   */
+  public static Tuple from(JsonObject queryParams) {
+    Tuple tuple = Tuple.tuple();
+    for (String name : queryParams.fieldNames()) {
+      tuple.addValue(toValue(queryParams.getValue(name)));
+    }
+    return tuple;
+  }
+
+  private static Object toValue(Object param) {
+    if (!(param instanceof JsonObject) || !((JsonObject) param).containsKey(TYPE)) {
+      return param;
+    }
+    JsonObject typed = (JsonObject) param;
+    String value = typed.getString(VALUE);
+    if (value == null) {
+      return null;
+    }
+    switch (typed.getString(TYPE)) {
+      case "timestamp":
+        return LocalDateTime.parse(value);
+      case "timestamptz":
+        return OffsetDateTime.parse(value);
+      case "date":
+        return LocalDate.parse(value);
+      case "uuid":
+        return UUID.fromString(value);
+      default:
+        throw new IllegalArgumentException("unknown parameter type : " + typed.getString(TYPE));
+    }
+  }
+}
@@ -126,6 +126,8 @@ public class DataBrokerVerticle extends AbstractVerticle {
                     cacheJson.put("key", key);
                     cacheJson.put("value", value);
 
+                    // verified tokens of client are dropped by authentication verticles.
+                    vertx.eventBus().publish(REVOKED_CLIENT_ADDRESS, invalidClientJson);
                     cacheService.refresh(
                         cacheJson,
                         cacheHandler -> {
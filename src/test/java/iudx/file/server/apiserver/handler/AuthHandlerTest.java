@@ -1,5 +1,7 @@
 package iudx.file.server.apiserver.handler;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -27,12 +30,15 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import iudx.file.server.apiserver.handlers.AuthHandler;
 import iudx.file.server.authenticator.AuthenticationService;
+import iudx.file.server.common.RouteId;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -53,12 +59,16 @@ public class AuthHandlerTest {
   AuthenticationService authService;
   @Mock
   AsyncResult<JsonObject> asyncResult;
+  @Mock
+  Route route;
 
 
   @BeforeEach
   public void setup() {
     lenient().doReturn(request).when(event).request();
     lenient().doReturn(response).when(event).response();
+    lenient().doReturn(route).when(event).currentRoute();
+    lenient().doReturn(RouteId.FILE_UPLOAD.name()).when(route).getMetadata(RouteId.KEY);
   }
 
   @Test
@@ -183,6 +193,63 @@ public class AuthHandlerTest {
     vertxTestContext.completeNow();
   }
 
+  @Test
+  @DisplayName("success - auth handler [route id of matched route]")
+  public void routeIdAuthHandlerTest(Vertx vertx) {
+
+    doReturn("/iudx/v1/upload").when(request).path();
+    doReturn("asdasds.asdasd.adasd").when(request).getHeader("token");
+    doReturn(HttpMethod.POST).when(request).method();
+    doReturn("asdad/asdasdsd/asdasd/dsfsdfsd/asdasdasdasd").when(request).getFormAttribute("id");
+    when(asyncResult.succeeded()).thenReturn(true);
+    when(asyncResult.result()).thenReturn(new JsonObject().put("userID","aasadas"));
+
+    Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(2)).handle(asyncResult);
+        return null;
+      }
+    }).when(authService).tokenInterospect(any(), any(), any());
+
+    new AuthHandler(authService).handle(event);
+
+    ArgumentCaptor<JsonObject> authInfo = ArgumentCaptor.forClass(JsonObject.class);
+    verify(authService, times(1)).tokenInterospect(any(), authInfo.capture(), any());
+    assertEquals(RouteId.FILE_UPLOAD.name(), authInfo.getValue().getString(RouteId.KEY));
+    verify(event, times(1)).next();
+  }
+
+  @Test
+  @DisplayName("success - auth handler [no current route, authorized by path]")
+  public void noRouteAuthHandlerTest(Vertx vertx) {
+
+    doReturn(null).when(event).currentRoute();
+    doReturn("/iudx/v1/upload").when(request).path();
+    doReturn("asdasds.asdasd.adasd").when(request).getHeader("token");
+    doReturn(HttpMethod.POST).when(request).method();
+    doReturn("asdad/asdasdsd/asdasd/dsfsdfsd/asdasdasdasd").when(request).getFormAttribute("id");
+    when(asyncResult.succeeded()).thenReturn(true);
+    when(asyncResult.result()).thenReturn(new JsonObject().put("userID","aasadas"));
+
+    Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(2)).handle(asyncResult);
+        return null;
+      }
+    }).when(authService).tokenInterospect(any(), any(), any());
+
+    new AuthHandler(authService).handle(event);
+
+    ArgumentCaptor<JsonObject> authInfo = ArgumentCaptor.forClass(JsonObject.class);
+    verify(authService, times(1)).tokenInterospect(any(), authInfo.capture(), any());
+    assertFalse(authInfo.getValue().containsKey(RouteId.KEY));
+    verify(event, times(1)).next();
+  }
+
   @Test
   @DisplayName("Test static method: create")
   public void testCreate(VertxTestContext vertxTestContext)
@@ -194,6 +261,37 @@ public class AuthHandlerTest {
   
   
 
+  @Test
+  @DisplayName("success - auth handler [bulk download, once per resource id]")
+  public void bulkDownloadAuthHandlerTest(Vertx vertx) {
+
+    doReturn("/iudx/v1/download/bulk").when(request).path();
+    doReturn("asdasds.asdasd.adasd").when(request).getHeader("token");
+    doReturn(HttpMethod.GET).when(request).method();
+    doReturn(MultiMap.caseInsensitiveMultiMap()
+        .add("file-id", "asdad/asdasdsd/asdasd/dsfsdfsd/rs1/a.txt")
+        .add("file-id", "asdad/asdasdsd/asdasd/dsfsdfsd/rs1/b.txt")
+        .add("file-id", "asdad/asdasdsd/asdasd/dsfsdfsd/rs2/c.txt")).when(request).params();
+    doReturn(new HashMap<String, Object>()).when(event).data();
+
+    when(asyncResult.succeeded()).thenReturn(true);
+    when(asyncResult.result()).thenReturn(new JsonObject().put("userID","aasadas"));
+
+    Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(2)).handle(asyncResult);
+        return null;
+      }
+    }).when(authService).tokenInterospect(any(), any(), any());
+
+    new AuthHandler(authService).handle(event);
+
+    verify(authService, times(2)).tokenInterospect(any(), any(), any());
+    verify(event, times(1)).next();
+  }
+
   @Test
   @DisplayName("bypass - auth handler [bypass for sample file]")
   public void bypassAuthHandlerTest(Vertx vertx) {
@@ -0,0 +1,125 @@
+package iudx.file.server.apiserver.handler;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import iudx.file.server.apiserver.handlers.NoBodyHandler;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * bytes allocated per request on a download route (GET without body) with BodyHandler, as
+ * installed before, against NoBodyHandler. Allocations of all threads are counted, client side of
+ * the load is the same for both and is included. Run with {@code mvn test
+ * -Dtest=DownloadRouteLoadTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DownloadRouteLoadTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(DownloadRouteLoadTest.class);
+  private static final String PATH =
+      "/iudx/v1/download?file-id=iisc.ac.in/resource-group/resource/file.txt";
+  private static final int REQUESTS = 50_000;
+  private static final int CONCURRENCY = 16;
+
+  @Test
+  @DisplayName("load - allocations per request on download route")
+  public void downloadRouteAllocationTest() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      long bodyHandler = bytesPerRequest(vertx, BodyHandler.create());
+      long noBodyHandler = bytesPerRequest(vertx, NoBodyHandler.create());
+      LOGGER.info(
+          String.format(
+              "download route - BodyHandler: %d bytes/request, NoBodyHandler: %d bytes/request",
+              bodyHandler, noBodyHandler));
+    } finally {
+      await(vertx.close());
+    }
+  }
+
+  private static long bytesPerRequest(Vertx vertx, Handler<RoutingContext> bodyHandler)
+      throws Exception {
+    Router router = Router.router(vertx);
+    router
+        .get("/iudx/v1/download")
+        .handler(bodyHandler)
+        .handler(context -> context.response().end("file"));
+    HttpServer server = await(vertx.createHttpServer().requestHandler(router).listen(0));
+    HttpClient client =
+        vertx.createHttpClient(
+            new HttpClientOptions().setKeepAlive(true),
+            new PoolOptions().setHttp1MaxSize(CONCURRENCY));
+    try {
+      // first round warms up, allocations are counted on second.
+      load(client, server.actualPort());
+      long start = allocatedBytes();
+      load(client, server.actualPort());
+      return (allocatedBytes() - start) / REQUESTS;
+    } finally {
+      await(client.close());
+      await(server.close());
+    }
+  }
+
+  private static void load(HttpClient client, int port) throws Exception {
+    AtomicInteger remaining = new AtomicInteger(REQUESTS);
+    List<Future<Void>> clients = new ArrayList<>();
+    for (int i = 0; i < CONCURRENCY; i++) {
+      Promise<Void> done = Promise.promise();
+      request(client, port, remaining, done);
+      clients.add(done.future());
+    }
+    await(Future.all(clients));
+  }
+
+  private static void request(
+      HttpClient client, int port, AtomicInteger remaining, Promise<Void> done) {
+    if (remaining.getAndDecrement() <= 0) {
+      done.complete();
+      return;
+    }
+    client
+        .request(HttpMethod.GET, port, "localhost", PATH)
+        .compose(HttpClientRequest::send)
+        .compose(
+            response ->
+                response.statusCode() == 200
+                    ? response.body()
+                    : Future.failedFuture("status : " + response.statusCode()))
+        .onSuccess(body -> request(client, port, remaining, done))
+        .onFailure(done::fail);
+  }
+
+  private static long allocatedBytes() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      total += Math.max(bytes, 0);
+    }
+    return total;
+  }
+
+  private static <T> T await(Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(2, TimeUnit.MINUTES);
+  }
+}
@@ -0,0 +1,45 @@
+package iudx.file.server.apiserver.handler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import iudx.file.server.apiserver.handlers.NoBodyHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NoBodyHandlerTest {
+  @Mock RoutingContext event;
+  @Mock HttpServerRequest request;
+
+  @BeforeEach
+  public void setup() {
+    Mockito.doReturn(request).when(event).request();
+  }
+
+  @Test
+  public void requestWithoutBody() {
+    Mockito.doReturn(true).when(request).isEnded();
+
+    NoBodyHandler.create().handle(event);
+    Mockito.verify(request, never()).handler(any());
+    Mockito.verify(request, never()).resume();
+    Mockito.verify(event, times(1)).next();
+  }
+
+  @Test
+  public void requestBodyDiscarded() {
+    Mockito.doReturn(false).when(request).isEnded();
+
+    NoBodyHandler.create().handle(event);
+    Mockito.verify(request, times(1)).handler(any());
+    Mockito.verify(request, times(1)).resume();
+    Mockito.verify(event, times(1)).next();
+  }
+}
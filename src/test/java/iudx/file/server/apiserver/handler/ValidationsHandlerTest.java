@@ -1,10 +1,8 @@
 package iudx.file.server.apiserver.handler;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static iudx.file.server.apiserver.utilities.Constants.*;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +17,7 @@ import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.junit5.VertxExtension;
 import iudx.file.server.apiserver.handlers.ValidationsHandler;
+import iudx.file.server.apiserver.response.ResponseUrn;
 import iudx.file.server.apiserver.validations.RequestType;
 
 @ExtendWith({VertxExtension.class, MockitoExtension.class})
@@ -59,8 +58,13 @@ public class ValidationsHandlerTest {
     Mockito.doReturn(parameters).when(request).params();
     Mockito.doReturn(headers).when(request).headers();
 
-    ValidationsHandler validationsHandler = new ValidationsHandler(RequestType.LIST_QUERY);
-    assertThrows(DxRuntimeException.class, () -> validationsHandler.handle(event));
+    Mockito.doReturn(response).when(response).putHeader(anyString(), anyString());
+    Mockito.doReturn(response).when(response).setStatusCode(anyInt());
+
+    new ValidationsHandler(RequestType.LIST_QUERY).handle(event);
+    Mockito.verify(response, times(1)).setStatusCode(400);
+    Mockito.verify(response, times(1)).end(contains(ResponseUrn.INVALID_PAYLOAD_FORMAT.getUrn()));
+    Mockito.verify(event, never()).next();
   }
 
   
@@ -0,0 +1,116 @@
+package iudx.file.server.apiserver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.file.server.apiserver.service.impl.ContentAddressedFileServiceImpl;
+import iudx.file.server.apiserver.utilities.FileLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class ContentAddressedFileServiceTest {
+
+  private static final String CHECKSUM =
+      "84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882";
+  private static final String FILE_PATH = "rg/id";
+
+  @TempDir Path uploadDir;
+
+  /* multipart upload streaming content of a file. */
+  private HttpServerFileUpload fileUpload(Vertx vertx, String name, String data) {
+    String path = uploadDir.resolve(name).toString();
+    vertx.fileSystem().writeFileBlocking(path, Buffer.buffer(data));
+    AsyncFile file = vertx.fileSystem().openBlocking(path, new OpenOptions().setRead(true));
+    HttpServerFileUpload upload = mock(HttpServerFileUpload.class);
+    lenient()
+        .when(upload.pipeTo(any()))
+        .thenAnswer(invocation -> file.pipeTo(invocation.getArgument(0)));
+    lenient().when(upload.filename()).thenReturn("data.txt");
+    lenient().when(upload.contentType()).thenReturn("text/plain");
+    return upload;
+  }
+
+  @Test
+  @DisplayName("success - same content stored once, blob removed with last reference")
+  public void deduplicationTest(Vertx vertx, VertxTestContext testContext) {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    FileService fileService =
+        new ContentAddressedFileServiceImpl(
+            vertx.fileSystem(), FileLayout.flat(uploadDir.toString()), false, null, null, registry);
+    Path blob = uploadDir.resolve(".blobs/84/d8/" + CHECKSUM);
+    JsonObject[] uploads = new JsonObject[2];
+
+    fileService
+        .upload(fileUpload(vertx, "first", "0123456789"), FILE_PATH)
+        .compose(
+            first -> {
+              uploads[0] = first;
+              return fileService.upload(fileUpload(vertx, "second", "0123456789"), FILE_PATH);
+            })
+        .compose(
+            second -> {
+              uploads[1] = second;
+              assertEquals(CHECKSUM, second.getString("checksum"));
+              assertEquals(10L, second.getLong("fileSize"));
+              String uploadedPath = second.getString("uploaded_path");
+              assertTrue(Files.isSymbolicLink(Path.of(uploadedPath)));
+              assertEquals(
+                  "0123456789", vertx.fileSystem().readFileBlocking(uploadedPath).toString());
+              assertEquals(2.0, registry.get("fs.storage.dedup.ratio").gauge().value());
+              return fileService.delete(uploads[0].getString("file-id"), FILE_PATH);
+            })
+        .compose(
+            deleted -> {
+              assertTrue(Files.exists(blob));
+              return fileService.delete(uploads[1].getString("file-id"), FILE_PATH);
+            })
+        .onComplete(
+            testContext.succeeding(
+                deleted -> {
+                  assertEquals(200, deleted.getInteger("type"));
+                  assertFalse(Files.exists(blob));
+                  assertFalse(Files.exists(Path.of(blob + ".refs")));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("fail - delete file not present")
+  public void deleteMissingFileTest(Vertx vertx, VertxTestContext testContext) {
+    FileService fileService =
+        new ContentAddressedFileServiceImpl(
+            vertx.fileSystem(),
+            FileLayout.flat(uploadDir.toString()),
+            false,
+            null,
+            null,
+            new SimpleMeterRegistry());
+
+    fileService
+        .delete("c4b2b8a6-6c1e-4a43-9a53-2d8d2b3e5f10.txt", FILE_PATH)
+        .onComplete(
+            testContext.failing(
+                failure -> {
+                  assertEquals(404, new JsonObject(failure.getMessage()).getInteger("type"));
+                  testContext.completeNow();
+                }));
+  }
+}
@@ -0,0 +1,186 @@
+package iudx.file.server.apiserver.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.PoolOptions;
+import iudx.file.server.apiserver.service.impl.LocalStorageFileServiceImpl;
+import java.io.RandomAccessFile;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * throughput, bytes allocated and GC of downloads served with sendfile against downloads piped
+ * through heap buffers. Allocations and GC of all threads are counted, client side of the load is
+ * the same for both and is included. Run with {@code mvn test
+ * -Dtest=DownloadThroughputBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DownloadThroughputBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(DownloadThroughputBenchmarkTest.class);
+  private static final String UPLOAD_DIR = "iisc.ac.in/resource-group/resource";
+  private static final String FILE_NAME = "file.bin";
+  private static final long FILE_SIZE = 64L * 1024 * 1024;
+  private static final int REQUESTS = 200;
+  private static final int CONCURRENCY = 8;
+
+  @TempDir Path directory;
+
+  @Test
+  @DisplayName("load - throughput and GC of zero copy and piped downloads")
+  public void downloadThroughputTest() throws Exception {
+    Path resource = Files.createDirectories(directory.resolve(UPLOAD_DIR));
+    try (RandomAccessFile file =
+        new RandomAccessFile(resource.resolve(FILE_NAME).toFile(), "rw")) {
+      file.setLength(FILE_SIZE);
+    }
+    Vertx vertx = Vertx.vertx();
+    try {
+      for (boolean zeroCopy : new boolean[] {false, true}) {
+        Result result = measure(vertx, zeroCopy);
+        LOGGER.info(
+            String.format(
+                "download [zeroCopyDownload=%s] - %.1f MB/s, %d bytes allocated/request, "
+                    + "%d GC collections, %d ms in GC",
+                zeroCopy,
+                result.megabytesPerSecond,
+                result.bytesPerRequest,
+                result.collections,
+                result.collectionMillis));
+      }
+    } finally {
+      await(vertx.close());
+    }
+  }
+
+  private Result measure(Vertx vertx, boolean zeroCopy) throws Exception {
+    FileService fileService =
+        new LocalStorageFileServiceImpl(vertx.fileSystem(), directory.toString(), zeroCopy);
+    HttpServer server =
+        await(
+            vertx
+                .createHttpServer()
+                .requestHandler(
+                    request ->
+                        fileService.download(FILE_NAME, UPLOAD_DIR, request, request.response()))
+                .listen(0));
+    HttpClient client =
+        vertx.createHttpClient(
+            new HttpClientOptions().setKeepAlive(true),
+            new PoolOptions().setHttp1MaxSize(CONCURRENCY));
+    try {
+      // first round warms up, second is measured.
+      load(client, server.actualPort());
+      long allocated = allocatedBytes();
+      long collections = collections();
+      long collectionMillis = collectionMillis();
+      long start = System.nanoTime();
+      long bytes = load(client, server.actualPort());
+      long elapsed = System.nanoTime() - start;
+      Result result = new Result();
+      result.megabytesPerSecond = bytes / (1024.0 * 1024.0) / (elapsed / 1_000_000_000.0);
+      result.bytesPerRequest = (allocatedBytes() - allocated) / REQUESTS;
+      result.collections = collections() - collections;
+      result.collectionMillis = collectionMillis() - collectionMillis;
+      return result;
+    } finally {
+      await(client.close());
+      await(server.close());
+    }
+  }
+
+  private static long load(HttpClient client, int port) throws Exception {
+    AtomicInteger remaining = new AtomicInteger(REQUESTS);
+    AtomicLong received = new AtomicLong();
+    List<Future<Void>> clients = new ArrayList<>();
+    for (int i = 0; i < CONCURRENCY; i++) {
+      Promise<Void> done = Promise.promise();
+      request(client, port, remaining, received, done);
+      clients.add(done.future());
+    }
+    await(Future.all(clients));
+    return received.get();
+  }
+
+  private static void request(
+      HttpClient client,
+      int port,
+      AtomicInteger remaining,
+      AtomicLong received,
+      Promise<Void> done) {
+    if (remaining.getAndDecrement() <= 0) {
+      done.complete();
+      return;
+    }
+    client
+        .request(HttpMethod.GET, port, "localhost", "/")
+        .compose(HttpClientRequest::send)
+        .compose(
+            response -> {
+              if (response.statusCode() != 200) {
+                return Future.failedFuture("status : " + response.statusCode());
+              }
+              // body is counted and dropped, it is not aggregated on heap.
+              response.handler(buffer -> received.addAndGet(buffer.length()));
+              return response.end();
+            })
+        .onSuccess(end -> request(client, port, remaining, received, done))
+        .onFailure(done::fail);
+  }
+
+  private static long allocatedBytes() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      total += Math.max(bytes, 0);
+    }
+    return total;
+  }
+
+  private static long collections() {
+    long total = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(collector.getCollectionCount(), 0);
+    }
+    return total;
+  }
+
+  private static long collectionMillis() {
+    long total = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(collector.getCollectionTime(), 0);
+    }
+    return total;
+  }
+
+  private static <T> T await(Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(5, TimeUnit.MINUTES);
+  }
+
+  private static final class Result {
+    private double megabytesPerSecond;
+    private long bytesPerRequest;
+    private long collections;
+    private long collectionMillis;
+  }
+}
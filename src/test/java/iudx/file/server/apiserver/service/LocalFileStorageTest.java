@@ -3,12 +3,15 @@ package iudx.file.server.apiserver.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.NoSuchFileException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.BeforeAll;
@@ -22,13 +25,16 @@ import org.mockito.stubbing.Answer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.FileSystemException;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.FileUpload;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -49,145 +55,347 @@ public class LocalFileStorageTest {
   }
 
   @Test
-  @DisplayName("success - upload file")
-  public void uploadFileSuccessTest(Vertx vertx, VertxTestContext testContext) {
-
+  @DisplayName("fail - upload file")
+  public void uploadFileFailTest(Vertx vertx, VertxTestContext testContext) {
     fs = mock(FileSystem.class);
     fileService = new LocalStorageFileServiceImpl(fs, "/abc");
-    file = new FileUploadMock();
 
-    lenient().when(fs.mkdirBlocking(any())).thenReturn(fs);
-    AsyncResult<JsonObject> asyncResult = Mockito.mock(AsyncResult.class);
+    HttpServerFileUpload upload = mock(HttpServerFileUpload.class);
+    AsyncResult<Void> mkdirsAsyncResult = mock(AsyncResult.class);
 
-    Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
+    lenient().when(upload.filename()).thenReturn("mockFile.txt");
+    lenient().when(mkdirsAsyncResult.failed()).thenReturn(true);
+
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
       @SuppressWarnings("unchecked")
       @Override
-      public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(3)).handle(asyncResult);
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(1)).handle(mkdirsAsyncResult);
         return null;
       }
-    }).when(fs).move(any(), any(), any(), any());
-    lenient().when(asyncResult.succeeded()).thenReturn(true);
-    lenient().when(asyncResult.result()).thenReturn(new JsonObject().put("fileName", file.fileName()));
-
-    LOGGER.debug(file.uploadedFileName());
-    List<FileUpload> list = new ArrayList<>();
-    list.add(file);
+    }).when(fs).mkdirs(any(String.class), any(Handler.class));
 
-    Future<JsonObject> fut = fileService.upload(list, "mockFile.txt", "/abc");
+    Future<JsonObject> fut = fileService.upload(upload, "uuid", "rg/id");
     fut.onComplete(handler -> {
-
-      JsonObject res = handler.result();
-      assertEquals(file.fileName(), res.getString("fileName"));
-
-      assertTrue(handler.succeeded());
-      verify(fs, times(1)).move(any(), any(), any(), any());
-      verify(fs, times(1)).mkdirsBlocking(any());
+      assertTrue(handler.failed());
+      verify(fs, times(1)).mkdirs(eq("/abc/rg/id"), any(Handler.class));
+      verify(upload, never()).pipeTo(any(), any());
       testContext.completeNow();
     });
-
   }
 
   @Test
-  @DisplayName("fail - upload file")
-  public void uploadFileFailTest(Vertx vertx, VertxTestContext testContext) {
+  @DisplayName("success - get file")
+  public void downloadFileSuccessTest(Vertx vertx, VertxTestContext testContext) {
     fs = mock(FileSystem.class);
     fileService = new LocalStorageFileServiceImpl(fs, "/abc");
     file = new FileUploadMock();
 
-    lenient().when(fs.mkdirBlocking(any())).thenReturn(fs);
-    AsyncResult<JsonObject> asyncResult = Mockito.mock(AsyncResult.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    AsyncFile asyncFile = mock(AsyncFile.class);
+    FileProps fileProps = mock(FileProps.class);
 
-    Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
-      @SuppressWarnings("unchecked")
-      @Override
-      public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(3)).handle(asyncResult);
-        return null;
-      }
-    }).when(fs).move(any(), any(), any(), any());
-    lenient().when(asyncResult.failed()).thenReturn(true);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+    AsyncResult<AsyncFile> openAsyncResult = mock(AsyncResult.class);
+    AsyncResult<Void> pipeToAsyncFileResult = mock(AsyncResult.class);
 
-    LOGGER.debug(file.uploadedFileName());
-    List<FileUpload> list = new ArrayList<>();
-    list.add(file);
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
 
-    Future<JsonObject> fut = fileService.upload(list, "mockFile.txt", "/abc");
+    lenient().when(openAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(openAsyncResult.failed()).thenReturn(false);
+    lenient().when(openAsyncResult.result()).thenReturn(asyncFile);
+    lenient().when(pipeToAsyncFileResult.succeeded()).thenReturn(true);
+
+    mockProps(propsAsyncResult);
+    mockOpen(openAsyncResult);
+    mockPipeTo(asyncFile, pipeToAsyncFileResult);
+
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", response);
     fut.onComplete(handler -> {
-      assertTrue(handler.failed());
-      verify(fs, times(1)).move(any(), any(), any(), any());
-      verify(fs, times(1)).mkdirsBlocking(any());
+      assertTrue(handler.succeeded());
+      assertEquals(200, (int) handler.result().getInteger("statusCode"));
+      assertEquals(100L, (long) handler.result().getLong("bytesServed"));
+      verify(fs, times(1)).props(any(), any());
+      verify(fs, times(1)).open(any(), any(), any());
+      verify(response, times(1)).setStatusCode(200);
+      verify(response, times(1)).putHeader("Content-Length", "100");
       testContext.completeNow();
     });
 
   }
 
   @Test
-  @DisplayName("success - get file")
-  public void downloadFileSuccessTest(Vertx vertx, VertxTestContext testContext) {
+  @DisplayName("success - get single range of file")
+  public void downloadFileRangeSuccessTest(Vertx vertx, VertxTestContext testContext) {
     fs = mock(FileSystem.class);
     fileService = new LocalStorageFileServiceImpl(fs, "/abc");
     file = new FileUploadMock();
 
+    HttpServerRequest request = mock(HttpServerRequest.class);
     HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
     AsyncFile asyncFile = mock(AsyncFile.class);
+    FileProps fileProps = mock(FileProps.class);
 
-
-    AsyncResult<Boolean> existAsyncResult = mock(AsyncResult.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
     AsyncResult<AsyncFile> openAsyncResult = mock(AsyncResult.class);
-    AsyncResult<ReadStream<Buffer>> pipeToAsyncFileResult = mock(AsyncResult.class);
+    AsyncResult<Void> pipeToAsyncFileResult = mock(AsyncResult.class);
 
-    lenient().when(existAsyncResult.succeeded()).thenReturn(true);
-    lenient().when(existAsyncResult.result()).thenReturn(true);
+    lenient().when(request.getHeader("Range")).thenReturn("bytes=10-19");
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
 
     lenient().when(openAsyncResult.succeeded()).thenReturn(true);
     lenient().when(openAsyncResult.failed()).thenReturn(false);
     lenient().when(openAsyncResult.result()).thenReturn(asyncFile);
+    lenient().when(pipeToAsyncFileResult.succeeded()).thenReturn(true);
 
-    Mockito.doAnswer(new Answer<AsyncResult<Boolean>>() {
+    mockProps(propsAsyncResult);
+    mockOpen(openAsyncResult);
+    mockPipeTo(asyncFile, pipeToAsyncFileResult);
+
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.succeeded());
+      assertEquals(206, (int) handler.result().getInteger("statusCode"));
+      assertEquals(10L, (long) handler.result().getLong("bytesServed"));
+      verify(asyncFile, times(1)).setReadPos(10L);
+      verify(asyncFile, times(1)).setReadLength(10L);
+      verify(response, times(1)).setStatusCode(206);
+      verify(response, times(1)).putHeader("Content-Range", "bytes 10-19/100");
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  @DisplayName("success - get range of file [zero copy]")
+  public void downloadFileZeroCopyTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc", true);
+    file = new FileUploadMock();
+
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    FileProps fileProps = mock(FileProps.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+    AsyncResult<Void> sendFileAsyncResult = mock(AsyncResult.class);
+
+    lenient().when(request.getHeader("Range")).thenReturn("bytes=-20");
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
+    lenient().when(sendFileAsyncResult.succeeded()).thenReturn(true);
+
+    mockProps(propsAsyncResult);
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
       @SuppressWarnings("unchecked")
       @Override
-      public AsyncResult<Boolean> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<Boolean>>) arg0.getArgument(1)).handle(existAsyncResult);
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(3)).handle(sendFileAsyncResult);
         return null;
       }
-    }).when(fs).exists(any(), any());
+    }).when(response).sendFile(anyString(), anyLong(), anyLong(), any());
 
-    Mockito.doAnswer(new Answer<AsyncResult<AsyncFile>>() {
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.succeeded());
+      assertEquals(206, (int) handler.result().getInteger("statusCode"));
+      assertEquals(20L, (long) handler.result().getLong("bytesServed"));
+      verify(response, times(1)).sendFile(anyString(), eq(80L), eq(20L), any());
+      verify(fs, times(0)).open(any(), any(), any());
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  @DisplayName("failure - zero copy send fails after headers are written")
+  public void downloadFileZeroCopyFailureTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc", true);
+    file = new FileUploadMock();
+
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    lenient().when(response.headWritten()).thenReturn(true);
+    FileProps fileProps = mock(FileProps.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+    AsyncResult<Void> sendFileAsyncResult = mock(AsyncResult.class);
+
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
+    lenient().when(sendFileAsyncResult.failed()).thenReturn(true);
+    lenient().when(sendFileAsyncResult.cause()).thenReturn(new FileSystemException("broken pipe"));
+
+    mockProps(propsAsyncResult);
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
       @SuppressWarnings("unchecked")
       @Override
-      public AsyncResult<AsyncFile> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<AsyncFile>>) arg0.getArgument(2)).handle(openAsyncResult);
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(3)).handle(sendFileAsyncResult);
         return null;
       }
-    }).when(fs).open(any(), any(), any());
+    }).when(response).sendFile(anyString(), anyLong(), anyLong(), any());
 
-    Mockito.doAnswer(new Answer<AsyncResult<ReadStream<Buffer>>>() {
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.failed());
+      JsonObject failure = new JsonObject(handler.cause().getMessage());
+      assertEquals(500, failure.getInteger("type").intValue());
+      verify(response, times(1)).reset();
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  @DisplayName("fail - get file [piped, pipe failed]")
+  public void downloadFilePipeFailureTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc");
+    file = new FileUploadMock();
+
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    lenient().when(response.headWritten()).thenReturn(true);
+    AsyncFile asyncFile = mock(AsyncFile.class);
+    FileProps fileProps = mock(FileProps.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+    AsyncResult<AsyncFile> openAsyncResult = mock(AsyncResult.class);
+    AsyncResult<Void> pipeToAsyncFileResult = mock(AsyncResult.class);
+
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
+    lenient().when(openAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(openAsyncResult.result()).thenReturn(asyncFile);
+    lenient().when(pipeToAsyncFileResult.failed()).thenReturn(true);
+    lenient().when(pipeToAsyncFileResult.cause()).thenReturn(new FileSystemException("broken pipe"));
+
+    mockProps(propsAsyncResult);
+    mockOpen(openAsyncResult);
+    mockPipeTo(asyncFile, pipeToAsyncFileResult);
+
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.failed());
+      JsonObject failure = new JsonObject(handler.cause().getMessage());
+      assertEquals(500, failure.getInteger("type").intValue());
+      verify(response, times(1)).reset();
+      verify(asyncFile, times(1)).close();
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  @DisplayName("success - range not satisfiable")
+  public void downloadFileRangeNotSatisfiableTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc");
+    file = new FileUploadMock();
+
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    FileProps fileProps = mock(FileProps.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+
+    lenient().when(request.getHeader("Range")).thenReturn("bytes=200-");
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
+
+    mockProps(propsAsyncResult);
+
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.succeeded());
+      assertEquals(416, (int) handler.result().getInteger("statusCode"));
+      verify(response, times(1)).setStatusCode(416);
+      verify(response, times(1)).putHeader("Content-Range", "bytes */100");
+      verify(fs, times(0)).open(any(), any(), any());
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  @DisplayName("success - range of file with matching If-Range entity tag")
+  public void downloadFileIfRangeEntityTagTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc", true);
+    file = new FileUploadMock();
+
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers())
+        .thenReturn(MultiMap.caseInsensitiveMultiMap().add("ETag", "\"abc123\""));
+    FileProps fileProps = mock(FileProps.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+    AsyncResult<Void> sendFileAsyncResult = mock(AsyncResult.class);
+
+    lenient().when(request.getHeader("Range")).thenReturn("bytes=0-9");
+    lenient().when(request.getHeader("If-Range")).thenReturn("\"abc123\"");
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
+    lenient().when(sendFileAsyncResult.succeeded()).thenReturn(true);
+
+    mockProps(propsAsyncResult);
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
       @SuppressWarnings("unchecked")
       @Override
-      public AsyncResult<ReadStream<Buffer>> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<ReadStream<Buffer>>>) arg0.getArgument(1)).handle(pipeToAsyncFileResult);
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(3)).handle(sendFileAsyncResult);
         return null;
       }
-    }).when(asyncFile).pipeTo(any(), any());
+    }).when(response).sendFile(anyString(), anyLong(), anyLong(), any());
 
-//    Mockito.doAnswer(new Answer<Handler<Void>>() {
-//      @SuppressWarnings("unchecked")
-//      @Override
-//      public Handler<Void> answer(InvocationOnMock arg0) throws Throwable {
-//        ((Handler<Void>) arg0.getArgument(0)).handle(null);
-//        return null;
-//      }
-//    }).when(asyncFile).endHandler(any());
-
-    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", response);
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
     fut.onComplete(handler -> {
       assertTrue(handler.succeeded());
-      verify(fs, times(1)).exists(any(), any());
-      verify(fs, times(1)).open(any(), any(), any());
+      assertEquals(206, (int) handler.result().getInteger("statusCode"));
+      verify(response, times(1)).sendFile(anyString(), eq(0L), eq(10L), any());
       testContext.completeNow();
     });
+  }
+
+  @Test
+  @DisplayName("success - file not modified since")
+  public void downloadFileNotModifiedTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc");
+    file = new FileUploadMock();
+
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    HttpServerResponse response = mock(HttpServerResponse.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    FileProps fileProps = mock(FileProps.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
+
+    lenient().when(request.getHeader("If-Modified-Since"))
+        .thenReturn("Sun, 06 Nov 1994 08:49:37 GMT");
+    lenient().when(fileProps.size()).thenReturn(100L);
+    lenient().when(fileProps.lastModifiedTime()).thenReturn(784111777000L);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
+
+    mockProps(propsAsyncResult);
 
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", request, response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.succeeded());
+      assertEquals(304, (int) handler.result().getInteger("statusCode"));
+      assertEquals(0L, (long) handler.result().getLong("bytesServed"));
+      verify(response, times(1)).setStatusCode(304);
+      verify(fs, times(0)).open(any(), any(), any());
+      testContext.completeNow();
+    });
   }
 
   @Test
@@ -198,42 +406,26 @@ public class LocalFileStorageTest {
     file = new FileUploadMock();
 
     HttpServerResponse response = mock(HttpServerResponse.class);
-    AsyncFile asyncFile = mock(AsyncFile.class);
+    lenient().when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    FileProps fileProps = mock(FileProps.class);
 
-
-    AsyncResult<Boolean> existAsyncResult = mock(AsyncResult.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
     AsyncResult<AsyncFile> openAsyncResult = mock(AsyncResult.class);
-    AsyncResult<ReadStream<Buffer>> pipeToAsyncFileResult = mock(AsyncResult.class);
 
-    lenient().when(existAsyncResult.succeeded()).thenReturn(true);
-    lenient().when(existAsyncResult.result()).thenReturn(true);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(propsAsyncResult.result()).thenReturn(fileProps);
 
     lenient().when(openAsyncResult.succeeded()).thenReturn(false);
     lenient().when(openAsyncResult.failed()).thenReturn(true);
-    lenient().when(openAsyncResult.result()).thenReturn(asyncFile);
-
-    Mockito.doAnswer(new Answer<AsyncResult<Boolean>>() {
-      @SuppressWarnings("unchecked")
-      @Override
-      public AsyncResult<Boolean> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<Boolean>>) arg0.getArgument(1)).handle(existAsyncResult);
-        return null;
-      }
-    }).when(fs).exists(any(), any());
+    lenient().when(openAsyncResult.cause()).thenReturn(new Throwable("failed"));
 
-    Mockito.doAnswer(new Answer<AsyncResult<AsyncFile>>() {
-      @SuppressWarnings("unchecked")
-      @Override
-      public AsyncResult<AsyncFile> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<AsyncFile>>) arg0.getArgument(2)).handle(openAsyncResult);
-        return null;
-      }
-    }).when(fs).open(any(), any(), any());
+    mockProps(propsAsyncResult);
+    mockOpen(openAsyncResult);
 
     Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", response);
     fut.onComplete(handler -> {
-      assertTrue(handler.succeeded());
-      verify(fs, times(1)).exists(any(), any());
+      assertTrue(handler.failed());
+      verify(fs, times(1)).props(any(), any());
       verify(fs, times(1)).open(any(), any(), any());
       testContext.completeNow();
     });
@@ -248,24 +440,19 @@ public class LocalFileStorageTest {
     file = new FileUploadMock();
 
     HttpServerResponse response = mock(HttpServerResponse.class);
-    AsyncResult<Boolean> existAsyncResult = mock(AsyncResult.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
 
-    lenient().when(existAsyncResult.succeeded()).thenReturn(true);
-    lenient().when(existAsyncResult.result()).thenReturn(false);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(false);
+    lenient().when(propsAsyncResult.cause())
+        .thenReturn(new FileSystemException(new NoSuchFileException("/abc/mockFile.txt")));
 
-    Mockito.doAnswer(new Answer<AsyncResult<Boolean>>() {
-      @SuppressWarnings("unchecked")
-      @Override
-      public AsyncResult<Boolean> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<Boolean>>) arg0.getArgument(1)).handle(existAsyncResult);
-        return null;
-      }
-    }).when(fs).exists(any(), any());
+    mockProps(propsAsyncResult);
 
     Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", response);
     fut.onComplete(handler -> {
       assertTrue(handler.failed());
-      verify(fs, times(1)).exists(any(), any());
+      assertEquals(404, (int) new JsonObject(handler.cause().getMessage()).getInteger("type"));
+      verify(fs, times(1)).props(any(), any());
       verify(fs, times(0)).open(any(), any(), any());
       testContext.completeNow();
     });
@@ -279,29 +466,106 @@ public class LocalFileStorageTest {
     file = new FileUploadMock();
 
     HttpServerResponse response = mock(HttpServerResponse.class);
-    AsyncResult<Boolean> existAsyncResult = mock(AsyncResult.class);
+    AsyncResult<FileProps> propsAsyncResult = mock(AsyncResult.class);
 
-    lenient().when(existAsyncResult.succeeded()).thenReturn(false);
-    lenient().when(existAsyncResult.result()).thenReturn(false);
+    lenient().when(propsAsyncResult.succeeded()).thenReturn(false);
+    lenient().when(propsAsyncResult.cause()).thenReturn(new Throwable("failed"));
 
-    Mockito.doAnswer(new Answer<AsyncResult<Boolean>>() {
+    mockProps(propsAsyncResult);
+
+    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", response);
+    fut.onComplete(handler -> {
+      assertTrue(handler.failed());
+      verify(fs, times(1)).props(any(), any());
+      verify(fs, times(0)).open(any(), any(), any());
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  @DisplayName("success - streaming upload file")
+  public void streamingUploadFileTest(Vertx vertx, VertxTestContext testContext) {
+    fs = mock(FileSystem.class);
+    fileService = new LocalStorageFileServiceImpl(fs, "/abc");
+
+    HttpServerFileUpload upload = mock(HttpServerFileUpload.class);
+    AsyncFile asyncFile = mock(AsyncFile.class);
+    AsyncResult<Void> mkdirsAsyncResult = mock(AsyncResult.class);
+    AsyncResult<AsyncFile> openAsyncResult = mock(AsyncResult.class);
+    AsyncResult<Void> pipeToAsyncResult = mock(AsyncResult.class);
+
+    lenient().when(upload.filename()).thenReturn("mockFile.txt");
+    lenient().when(upload.contentType()).thenReturn("text/plain");
+    lenient().when(mkdirsAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(openAsyncResult.succeeded()).thenReturn(true);
+    lenient().when(openAsyncResult.result()).thenReturn(asyncFile);
+    lenient().when(pipeToAsyncResult.succeeded()).thenReturn(true);
+
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
       @SuppressWarnings("unchecked")
       @Override
-      public AsyncResult<Boolean> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<Boolean>>) arg0.getArgument(1)).handle(existAsyncResult);
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(1)).handle(mkdirsAsyncResult);
         return null;
       }
-    }).when(fs).exists(any(), any());
+    }).when(fs).mkdirs(any(String.class), any(Handler.class));
+    mockOpen(openAsyncResult);
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(1)).handle(pipeToAsyncResult);
+        return null;
+      }
+    }).when(upload).pipeTo(any(), any());
 
-    Future<JsonObject> fut = fileService.download(file.fileName(), "/abc", response);
+    Future<JsonObject> fut = fileService.upload(upload, "uuid", "rg/id");
     fut.onComplete(handler -> {
-      assertTrue(handler.failed());
-      verify(fs, times(1)).exists(any(), any());
-      verify(fs, times(0)).open(any(), any(), any());
+      assertTrue(handler.succeeded());
+      JsonObject res = handler.result();
+      assertEquals("uuid.txt", res.getString("file-id"));
+      assertEquals("/abc/rg/id/uuid.txt", res.getString("uploaded_path"));
+      assertEquals(0L, (long) res.getLong("fileSize"));
+      assertEquals(
+          "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+          res.getString("checksum"));
+      verify(fs, times(1)).mkdirs(eq("/abc/rg/id"), any(Handler.class));
       testContext.completeNow();
     });
   }
 
+  private void mockProps(AsyncResult<FileProps> propsAsyncResult) {
+    Mockito.doAnswer(new Answer<AsyncResult<FileProps>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<FileProps> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<FileProps>>) arg0.getArgument(1)).handle(propsAsyncResult);
+        return null;
+      }
+    }).when(fs).props(any(), any());
+  }
+
+  private void mockOpen(AsyncResult<AsyncFile> openAsyncResult) {
+    Mockito.doAnswer(new Answer<AsyncResult<AsyncFile>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<AsyncFile> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<AsyncFile>>) arg0.getArgument(2)).handle(openAsyncResult);
+        return null;
+      }
+    }).when(fs).open(any(), any(), any());
+  }
+
+  private void mockPipeTo(AsyncFile asyncFile, AsyncResult<Void> pipeToAsyncFileResult) {
+    Mockito.doAnswer(new Answer<AsyncResult<Void>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<Void> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<Void>>) arg0.getArgument(1)).handle(pipeToAsyncFileResult);
+        return null;
+      }
+    }).when(asyncFile).pipeTo(any(), any());
+  }
 
   @Test
   @DisplayName("success - delete file")
@@ -0,0 +1,188 @@
+package iudx.file.server.apiserver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.file.server.apiserver.service.impl.LocalUploadSessionServiceImpl;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class LocalUploadSessionServiceTest {
+
+  private static final String RESOURCE_ID = "iisc.ac.in/rs.iudx.io/surat-itms/surat-itms-live-eta";
+  private static final String USER_ID = "8b95ab80-2aaf-4636-a65e-7f2563d0d371";
+
+  @TempDir Path uploadDir;
+
+  private Future<AsyncFile> chunk(Vertx vertx, String name, String data) {
+    String path = uploadDir.resolve(name).toString();
+    vertx.fileSystem().writeFileBlocking(path, Buffer.buffer(data));
+    return vertx.fileSystem().open(path, new OpenOptions().setRead(true));
+  }
+
+  @Test
+  @DisplayName("success - out of order chunks finalized into file")
+  public void chunkedUploadTest(Vertx vertx, VertxTestContext testContext) {
+    UploadSessionService sessionService =
+        new LocalUploadSessionServiceImpl(vertx.fileSystem(), uploadDir.toString(), 60000L);
+    JsonObject metadata = new JsonObject().put("id", RESOURCE_ID);
+    String[] sessionId = new String[1];
+
+    sessionService
+        .create(RESOURCE_ID, USER_ID, "archive.txt", 10L, metadata)
+        .compose(
+            session -> {
+              sessionId[0] = session.getString("sessionId");
+              return chunk(vertx, "second", "56789");
+            })
+        .compose(
+            second -> sessionService.writeChunk(sessionId[0], RESOURCE_ID, USER_ID, 5L, second))
+        .compose(
+            afterSecond -> {
+              assertEquals(0L, afterSecond.getLong("offset"));
+              assertEquals("5-9", afterSecond.getJsonArray("receivedRanges").getString(0));
+              return chunk(vertx, "first", "01234");
+            })
+        .compose(
+            first -> sessionService.writeChunk(sessionId[0], RESOURCE_ID, USER_ID, 0L, first))
+        .compose(
+            afterFirst -> {
+              assertEquals(10L, afterFirst.getLong("offset"));
+              return sessionService.complete(sessionId[0], RESOURCE_ID, USER_ID, "rg/id");
+            })
+        .onComplete(
+            testContext.succeeding(
+                result -> {
+                  String path = result.getString("uploaded_path");
+                  assertTrue(path.endsWith(".txt"));
+                  assertEquals(10L, result.getLong("fileSize"));
+                  assertEquals(
+                      "84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882",
+                      result.getString("checksum"));
+                  assertEquals(metadata, result.getJsonObject("metadata"));
+                  assertEquals(
+                      "0123456789", vertx.fileSystem().readFileBlocking(path).toString());
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("fail - finalize incomplete session")
+  public void incompleteUploadTest(Vertx vertx, VertxTestContext testContext) {
+    UploadSessionService sessionService =
+        new LocalUploadSessionServiceImpl(vertx.fileSystem(), uploadDir.toString(), 60000L);
+
+    sessionService
+        .create(RESOURCE_ID, USER_ID, "archive.txt", 10L, new JsonObject())
+        .compose(
+            session ->
+                sessionService.complete(
+                    session.getString("sessionId"), RESOURCE_ID, USER_ID, "rg/id"))
+        .onComplete(
+            testContext.failing(
+                failure -> {
+                  assertEquals(409, new JsonObject(failure.getMessage()).getInteger("type"));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("fail - unknown session")
+  public void unknownSessionTest(Vertx vertx, VertxTestContext testContext) {
+    UploadSessionService sessionService =
+        new LocalUploadSessionServiceImpl(vertx.fileSystem(), uploadDir.toString(), 60000L);
+
+    sessionService
+        .status("c4b2b8a6-6c1e-4a43-9a53-2d8d2b3e5f10", RESOURCE_ID, USER_ID)
+        .onComplete(
+            testContext.failing(
+                failure -> {
+                  assertEquals(404, new JsonObject(failure.getMessage()).getInteger("type"));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("fail - chunk and finalize by user other than session creator")
+  public void otherUserTest(Vertx vertx, VertxTestContext testContext) {
+    UploadSessionService sessionService =
+        new LocalUploadSessionServiceImpl(vertx.fileSystem(), uploadDir.toString(), 60000L);
+    String otherUser = "b2c27f3f-2524-4a84-816e-91f9ab23f837";
+    String[] sessionId = new String[1];
+
+    sessionService
+        .create(RESOURCE_ID, USER_ID, "archive.txt", 5L, new JsonObject())
+        .compose(
+            session -> {
+              sessionId[0] = session.getString("sessionId");
+              return chunk(vertx, "chunk", "01234");
+            })
+        .compose(
+            chunk ->
+                sessionService
+                    .writeChunk(sessionId[0], RESOURCE_ID, otherUser, 0L, chunk)
+                    .transform(
+                        rejected -> {
+                          assertTrue(rejected.failed());
+                          assertEquals(
+                              403,
+                              new JsonObject(rejected.cause().getMessage()).getInteger("type"));
+                          return sessionService.writeChunk(
+                              sessionId[0], RESOURCE_ID, USER_ID, 0L, chunk);
+                        }))
+        .compose(
+            written -> sessionService.complete(sessionId[0], RESOURCE_ID, otherUser, "rg/id"))
+        .onComplete(
+            testContext.failing(
+                failure -> {
+                  assertEquals(403, new JsonObject(failure.getMessage()).getInteger("type"));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("fail - finalize while a chunk is being written")
+  @SuppressWarnings("unchecked")
+  public void finalizeWhileWritingTest(Vertx vertx, VertxTestContext testContext) {
+    UploadSessionService sessionService =
+        new LocalUploadSessionServiceImpl(vertx.fileSystem(), uploadDir.toString(), 60000L);
+    // chunk which never ends, so it stays in flight.
+    ReadStream<Buffer> pending = mock(ReadStream.class);
+    String[] sessionId = new String[1];
+
+    sessionService
+        .create(RESOURCE_ID, USER_ID, "archive.txt", 5L, new JsonObject())
+        .compose(
+            session -> {
+              sessionId[0] = session.getString("sessionId");
+              sessionService.writeChunk(sessionId[0], RESOURCE_ID, USER_ID, 0L, pending);
+              return chunk(vertx, "chunk", "01234");
+            })
+        .compose(chunk -> sessionService.writeChunk(sessionId[0], RESOURCE_ID, USER_ID, 0L, chunk))
+        .compose(
+            written -> {
+              assertEquals(5L, written.getLong("offset"));
+              return sessionService.complete(sessionId[0], RESOURCE_ID, USER_ID, "rg/id");
+            })
+        .onComplete(
+            testContext.failing(
+                failure -> {
+                  assertEquals(409, new JsonObject(failure.getMessage()).getInteger("type"));
+                  testContext.completeNow();
+                }));
+  }
+}
@@ -0,0 +1,210 @@
+package iudx.file.server.apiserver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.file.server.apiserver.service.impl.S3FileServiceImpl;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class S3FileServiceTest {
+
+  private static final String FILE_PATH = "rg/id";
+  private static final int MIB = 1024 * 1024;
+
+  @TempDir Path tempDir;
+
+  private final Map<String, Buffer> objects = new ConcurrentHashMap<>();
+  private final Map<String, Map<Integer, Buffer>> multipartUploads = new ConcurrentHashMap<>();
+  private FileService fileService;
+  private int storePort;
+
+  /** in-process fake of object operations of S3 API, requests are not authenticated. */
+  private void handleStoreRequest(HttpServerRequest request) {
+    String key = request.path();
+    String uploadId = request.getParam("uploadId");
+    request
+        .body()
+        .onSuccess(
+            body -> {
+              if (request.method() == HttpMethod.POST && request.getParam("uploads") != null) {
+                String id = String.valueOf(multipartUploads.size() + 1);
+                multipartUploads.put(id, new TreeMap<>());
+                request.response().end("<Result><UploadId>" + id + "</UploadId></Result>");
+              } else if (request.method() == HttpMethod.PUT && uploadId != null) {
+                int partNumber = Integer.parseInt(request.getParam("partNumber"));
+                multipartUploads.get(uploadId).put(partNumber, body);
+                request.response().putHeader("ETag", "\"" + partNumber + "\"").end();
+              } else if (request.method() == HttpMethod.POST && uploadId != null) {
+                Buffer object = Buffer.buffer();
+                multipartUploads.remove(uploadId).values().forEach(object::appendBuffer);
+                objects.put(key, object);
+                request.response().end("<CompleteMultipartUploadResult/>");
+              } else if (request.method() == HttpMethod.DELETE && uploadId != null) {
+                multipartUploads.remove(uploadId);
+                request.response().setStatusCode(204).end();
+              } else if (request.method() == HttpMethod.PUT) {
+                objects.put(key, body);
+                request.response().end();
+              } else if (!objects.containsKey(key)) {
+                request.response().setStatusCode(404).end();
+              } else if (request.method() == HttpMethod.DELETE) {
+                objects.remove(key);
+                request.response().setStatusCode(204).end();
+              } else if (request.method() == HttpMethod.HEAD) {
+                request.response().putHeader("Content-Length", "" + objects.get(key).length());
+                request.response().end();
+              } else {
+                sendObject(request, objects.get(key));
+              }
+            });
+  }
+
+  private void sendObject(HttpServerRequest request, Buffer object) {
+    String range = request.getHeader("Range");
+    if (range == null) {
+      request.response().end(object);
+      return;
+    }
+    String[] bounds = range.substring("bytes=".length()).split("-");
+    int start = Integer.parseInt(bounds[0]);
+    int end = Integer.parseInt(bounds[1]);
+    request
+        .response()
+        .setStatusCode(206)
+        .putHeader("Content-Range", "bytes " + start + "-" + end + "/" + object.length())
+        .end(object.getBuffer(start, end + 1));
+  }
+
+  @BeforeEach
+  public void setup(Vertx vertx, VertxTestContext testContext) {
+    HttpServer store = vertx.createHttpServer().requestHandler(this::handleStoreRequest);
+    store
+        .listen(0)
+        .onComplete(
+            testContext.succeeding(
+                server -> {
+                  storePort = server.actualPort();
+                  fileService =
+                      new S3FileServiceImpl(
+                          vertx,
+                          new JsonObject()
+                              .put("endpoint", "http://localhost:" + storePort)
+                              .put("bucket", "files")
+                              .put("accessKey", "access")
+                              .put("secretKey", "secret")
+                              .put("partSize", 5)
+                              .put("uploadConcurrency", 2));
+                  testContext.completeNow();
+                }));
+  }
+
+  /* multipart upload streaming content of a file. */
+  private HttpServerFileUpload fileUpload(Vertx vertx, Buffer data) {
+    String path = tempDir.resolve("upload").toString();
+    vertx.fileSystem().writeFileBlocking(path, data);
+    AsyncFile file = vertx.fileSystem().openBlocking(path, new OpenOptions().setRead(true));
+    HttpServerFileUpload upload = mock(HttpServerFileUpload.class);
+    lenient()
+        .when(upload.pipeTo(any()))
+        .thenAnswer(invocation -> file.pipeTo(invocation.getArgument(0)));
+    lenient().when(upload.filename()).thenReturn("data.csv");
+    return upload;
+  }
+
+  @Test
+  @DisplayName("success - multipart upload, ranged download and delete of object")
+  public void multipartUploadTest(Vertx vertx, VertxTestContext testContext) {
+    Buffer data = Buffer.buffer();
+    for (int i = 0; i < 12 * MIB; i++) {
+      data.appendByte((byte) (i % 251));
+    }
+    String[] fileId = new String[1];
+
+    fileService
+        .upload(fileUpload(vertx, data), FILE_PATH)
+        .compose(
+            uploaded -> {
+              fileId[0] = uploaded.getString("file-id");
+              assertEquals(12L * MIB, uploaded.getLong("fileSize"));
+              assertEquals(data, objects.get("/files/" + FILE_PATH + "/" + fileId[0]));
+              assertTrue(multipartUploads.isEmpty());
+              return download(vertx, fileId[0], "bytes=10-19");
+            })
+        .compose(
+            ranged -> {
+              assertEquals(data.getBuffer(10, 20), ranged);
+              return fileService.delete(fileId[0], FILE_PATH);
+            })
+        .onComplete(
+            testContext.succeeding(
+                deleted -> {
+                  assertEquals(200, deleted.getInteger("type"));
+                  assertFalse(objects.containsKey("/files/" + FILE_PATH + "/" + fileId[0]));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("fail - delete missing object")
+  public void deleteMissingObjectTest(Vertx vertx, VertxTestContext testContext) {
+    fileService
+        .delete("c4b2b8a6-6c1e-4a43-9a53-2d8d2b3e5f10.csv", FILE_PATH)
+        .onComplete(
+            testContext.failing(
+                failure -> {
+                  assertEquals(404, new JsonObject(failure.getMessage()).getInteger("type"));
+                  testContext.completeNow();
+                }));
+  }
+
+  /** download file through a server handing requests to file service. */
+  private Future<Buffer> download(Vertx vertx, String fileId, String range) {
+    HttpClient client = vertx.createHttpClient();
+    return vertx
+        .createHttpServer()
+        .requestHandler(
+            request -> fileService.download(fileId, FILE_PATH, request, request.response()))
+        .listen(0)
+        .compose(
+            server ->
+                client.request(
+                    new RequestOptions()
+                        .setPort(server.actualPort())
+                        .setHost("localhost")
+                        .setURI("/download")
+                        .addHeader("Range", range)))
+        .compose(request -> request.send())
+        .compose(
+            response -> {
+              assertEquals(206, response.statusCode());
+              return response.body();
+            });
+  }
+}
@@ -0,0 +1,71 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class ByteRangeTest {
+
+  static Stream<Arguments> singleRanges() {
+    return Stream.of(
+        Arguments.of("bytes=0-99", 0L, 99L),
+        Arguments.of("bytes=10-", 10L, 999L),
+        Arguments.of("bytes=-100", 900L, 999L),
+        Arguments.of("bytes=-5000", 0L, 999L),
+        Arguments.of("bytes=900-5000", 900L, 999L),
+        Arguments.of("BYTES=1-1", 1L, 1L));
+  }
+
+  static Stream<Arguments> ignoredHeaders() {
+    return Stream.of(
+        Arguments.of((String) null),
+        Arguments.of("items=0-10"),
+        Arguments.of("bytes=10-5"),
+        Arguments.of("bytes=abc-10"),
+        Arguments.of("bytes=10"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("singleRanges")
+  @DisplayName("success - parse single range")
+  public void parseSingleRangeTest(String header, long start, long end) {
+    List<ByteRange> ranges = ByteRange.parse(header, 1000L);
+    assertEquals(1, ranges.size());
+    assertEquals(start, ranges.get(0).getStart());
+    assertEquals(end, ranges.get(0).getEnd());
+    assertEquals(end - start + 1, ranges.get(0).length());
+  }
+
+  @ParameterizedTest
+  @MethodSource("ignoredHeaders")
+  @DisplayName("success - ignore invalid range header")
+  public void parseInvalidRangeTest(String header) {
+    assertNull(ByteRange.parse(header, 1000L));
+  }
+
+  @Test
+  @DisplayName("success - unsatisfiable range")
+  public void parseUnsatisfiableRangeTest() {
+    assertTrue(ByteRange.parse("bytes=1000-", 1000L).isEmpty());
+    assertTrue(ByteRange.parse("bytes=-0", 1000L).isEmpty());
+    assertTrue(ByteRange.parse("bytes=0-10", 0L).isEmpty());
+  }
+
+  @Test
+  @DisplayName("success - multiple ranges sorted and coalesced")
+  public void parseMultipleRangesTest() {
+    List<ByteRange> ranges = ByteRange.parse("bytes=500-600, 0-10,5-20, 21-30", 1000L);
+    assertEquals(2, ranges.size());
+    assertEquals("0-30", ranges.get(0).toString());
+    assertEquals("500-600", ranges.get(1).toString());
+    assertEquals("bytes 500-600/1000", ranges.get(1).toContentRange(1000L));
+  }
+}
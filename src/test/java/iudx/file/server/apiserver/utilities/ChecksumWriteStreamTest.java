@@ -0,0 +1,47 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ChecksumWriteStreamTest {
+
+  @Test
+  @DisplayName("success - checksum and size computed while writing")
+  @SuppressWarnings("unchecked")
+  public void checksumTest() {
+    WriteStream<Buffer> delegate = mock(WriteStream.class);
+    ChecksumWriteStream stream = new ChecksumWriteStream(delegate, 100L);
+
+    stream.write(Buffer.buffer("hello "), null);
+    stream.write(Buffer.buffer("world"), null);
+
+    verify(delegate, times(2)).write(any(Buffer.class), any());
+    assertEquals(11L, stream.size());
+    assertEquals(
+        "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9", stream.checksum());
+  }
+
+  @Test
+  @DisplayName("fail - write beyond max size")
+  @SuppressWarnings("unchecked")
+  public void maxSizeTest() {
+    WriteStream<Buffer> delegate = mock(WriteStream.class);
+    ChecksumWriteStream stream = new ChecksumWriteStream(delegate, 4L);
+
+    boolean[] failed = {false};
+    stream.write(Buffer.buffer("hello"), handler -> failed[0] = handler.failed());
+
+    verify(delegate, never()).write(any(Buffer.class), any());
+    assertTrue(failed[0]);
+  }
+}
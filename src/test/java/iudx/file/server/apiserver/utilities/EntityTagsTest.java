@@ -0,0 +1,57 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class EntityTagsTest {
+
+  private static final String ENTITY_TAG = EntityTags.of("abc123");
+
+  @Test
+  @DisplayName("entity tags of file and its gzip coded representation")
+  public void entityTagTest() {
+    assertEquals("\"abc123\"", ENTITY_TAG);
+    assertEquals("\"abc123-gzip\"", EntityTags.gzipVariant(ENTITY_TAG));
+    assertNull(EntityTags.of(null));
+    assertNull(EntityTags.of(""));
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "\"abc123\"|\"abc123\"",
+        "W/\"abc123\"|\"abc123\"",
+        "\"xyz\", \"abc123-gzip\"|\"abc123-gzip\"",
+        "*|\"abc123\""
+      })
+  @DisplayName("If-None-Match matches file")
+  public void noneMatchTest(String ifNoneMatch, String matched) {
+    assertEquals(
+        matched,
+        EntityTags.matchNoneMatch(ifNoneMatch, ENTITY_TAG, EntityTags.gzipVariant(ENTITY_TAG)));
+  }
+
+  @Test
+  @DisplayName("If-None-Match does not match file")
+  public void noneMatchFailTest() {
+    assertNull(EntityTags.matchNoneMatch("\"xyz\"", ENTITY_TAG));
+    assertNull(EntityTags.matchNoneMatch("abc123", ENTITY_TAG));
+    assertNull(EntityTags.matchNoneMatch(null, ENTITY_TAG));
+  }
+
+  @Test
+  @DisplayName("If-Range requires strong comparison")
+  public void strongMatchTest() {
+    assertTrue(EntityTags.strongMatch(" \"abc123\" ", ENTITY_TAG));
+    assertFalse(EntityTags.strongMatch("W/\"abc123\"", ENTITY_TAG));
+    assertFalse(EntityTags.strongMatch("\"abc123\"", null));
+  }
+}
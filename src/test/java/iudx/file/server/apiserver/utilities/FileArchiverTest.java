@@ -0,0 +1,131 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class FileArchiverTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("success - files streamed as zip archive")
+  public void sendTest(Vertx vertx, VertxTestContext testContext) throws IOException {
+    String csv = "id,time,value\n".repeat(1000);
+    String txt = "sample";
+    Path csvFile = tempDir.resolve("data.csv");
+    Path txtFile = tempDir.resolve("data.txt");
+    Files.writeString(csvFile, csv);
+    Files.writeString(txtFile, txt);
+    List<FileArchiver.Entry> entries =
+        List.of(
+            new FileArchiver.Entry("rs/data.csv", csvFile.toString()),
+            new FileArchiver.Entry("rs/data.txt", txtFile.toString()));
+    FileArchiver archiver = new FileArchiver(vertx, Set.of("csv"), 1);
+    Checkpoint sentAndReceived = testContext.checkpoint(2);
+
+    HttpServer server =
+        vertx.createHttpServer()
+            .requestHandler(
+                request -> {
+                  request.response().setChunked(true);
+                  archiver
+                      .send(entries, request.response())
+                      .onComplete(
+                          testContext.succeeding(
+                              bytes ->
+                                  testContext.verify(
+                                      () -> {
+                                        assertEquals(
+                                            List.of((long) csv.length(), (long) txt.length()),
+                                            bytes);
+                                        sentAndReceived.flag();
+                                      })));
+                });
+
+    server
+        .listen(0)
+        .compose(
+            listening ->
+                vertx
+                    .createHttpClient()
+                    .request(HttpMethod.GET, listening.actualPort(), "localhost", "/"))
+        .compose(request -> request.send().compose(HttpClientResponse::body))
+        .onComplete(
+            testContext.succeeding(
+                body ->
+                    testContext.verify(
+                        () -> {
+                          Map<String, String> files = unzip(body);
+                          assertEquals(2, files.size());
+                          assertEquals(csv, files.get("rs/data.csv"));
+                          assertEquals(txt, files.get("rs/data.txt"));
+                          sentAndReceived.flag();
+                        })));
+  }
+
+  @Test
+  @DisplayName("failure - archive fails when a file cannot be read")
+  public void sendFailureTest(Vertx vertx, VertxTestContext testContext) throws IOException {
+    Path txtFile = tempDir.resolve("data.txt");
+    Files.writeString(txtFile, "sample");
+    List<FileArchiver.Entry> entries =
+        List.of(
+            new FileArchiver.Entry("rs/data.txt", txtFile.toString()),
+            new FileArchiver.Entry("rs/missing.txt", tempDir.resolve("missing.txt").toString()));
+    FileArchiver archiver = new FileArchiver(vertx, Set.of("csv"), 1);
+
+    HttpServer server =
+        vertx.createHttpServer()
+            .requestHandler(
+                request -> {
+                  request.response().setChunked(true);
+                  archiver
+                      .send(entries, request.response())
+                      .onComplete(testContext.failing(cause -> testContext.completeNow()));
+                });
+
+    server
+        .listen(0)
+        .compose(
+            listening ->
+                vertx
+                    .createHttpClient()
+                    .request(HttpMethod.GET, listening.actualPort(), "localhost", "/"))
+        .compose(request -> request.send().compose(HttpClientResponse::body));
+  }
+
+  private Map<String, String> unzip(Buffer body) throws IOException {
+    Map<String, String> files = new HashMap<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(body.getBytes()))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        files.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return files;
+  }
+}
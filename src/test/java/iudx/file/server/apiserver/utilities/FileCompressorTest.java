@@ -0,0 +1,82 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@ExtendWith(VertxExtension.class)
+public class FileCompressorTest {
+
+  @TempDir Path tempDir;
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "gzip|true",
+        "deflate, gzip;q=0.5|true",
+        "GZIP|true",
+        "*|true",
+        "gzip;q=0|false",
+        "*, gzip;q=0|false",
+        "deflate, br|false",
+        "identity|false"
+      })
+  @DisplayName("accept encoding negotiation for gzip")
+  public void acceptsGzipTest(String acceptEncoding, boolean accepted) {
+    assertEquals(accepted, FileCompressor.acceptsGzip(acceptEncoding));
+  }
+
+  @Test
+  @DisplayName("compressible types by extension")
+  public void isCompressibleTest(Vertx vertx) {
+    FileCompressor compressor = new FileCompressor(vertx, Set.of("csv", "txt"), 1, true);
+
+    assertTrue(compressor.isCompressible("rg/id/80f18fc8-ef83-47e2-a946-d88a3f39eeda.CSV"));
+    assertFalse(compressor.isCompressible("80f18fc8-ef83-47e2-a946-d88a3f39eeda.zip"));
+    assertFalse(FileCompressor.acceptsGzip(null));
+  }
+
+  @Test
+  @DisplayName("success - compressed sibling created")
+  public void precompressTest(Vertx vertx, VertxTestContext testContext) throws IOException {
+    Path file = tempDir.resolve("data.csv");
+    String content = "id,time,value\n".repeat(1000);
+    Files.writeString(file, content);
+    FileCompressor compressor = new FileCompressor(vertx, Set.of("csv"), 1, true);
+
+    compressor
+        .precompress(file.toString())
+        .onComplete(
+            testContext.succeeding(
+                compressed ->
+                    testContext.verify(
+                        () -> {
+                          Path sibling = Path.of(FileCompressor.compressedPath(file.toString()));
+                          try (InputStream in =
+                              new GZIPInputStream(Files.newInputStream(sibling))) {
+                            assertEquals(
+                                content, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                          }
+                          assertTrue(Files.size(sibling) < Files.size(file));
+                          testContext.completeNow();
+                        })));
+  }
+}
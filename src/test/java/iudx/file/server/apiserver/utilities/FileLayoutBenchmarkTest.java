@@ -0,0 +1,68 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * lookup latency (exists + open) of files in flat and sharded layout against number of files of a
+ * resource, run with {@code mvn test -Dtest=FileLayoutBenchmarkTest -Dbenchmark=true}. Results
+ * depend heavily on file system and on page cache, drop caches between runs for cold numbers.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class FileLayoutBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(FileLayoutBenchmarkTest.class);
+  private static final String UPLOAD_DIR = "rg/id";
+  private static final int LOOKUPS = 20000;
+
+  @TempDir Path tempDir;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1000, 10000, 50000, 100000})
+  @DisplayName("benchmark - file lookup latency against directory size")
+  public void lookupLatencyTest(int files) throws IOException {
+    long flat = lookupNanos(new FileLayout(tempDir.resolve("flat").toString(), false), files);
+    long sharded = lookupNanos(new FileLayout(tempDir.resolve("sharded").toString(), true), files);
+
+    LOGGER.info(
+        String.format(
+            "files per resource: %d, flat: %d ns/lookup, sharded: %d ns/lookup",
+            files, flat, sharded));
+    assertTrue(flat > 0 && sharded > 0);
+  }
+
+  private long lookupNanos(FileLayout layout, int files) throws IOException {
+    List<String> fileIds = new ArrayList<>(files);
+    for (int i = 0; i < files; i++) {
+      String fileId = UUID.randomUUID() + ".csv";
+      Path path = Path.of(layout.getPath(UPLOAD_DIR, fileId));
+      Files.createDirectories(path.getParent());
+      Files.createFile(path);
+      fileIds.add(fileId);
+    }
+    Collections.shuffle(fileIds);
+    long start = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      Path path = Path.of(layout.getPath(UPLOAD_DIR, fileIds.get(i % files)));
+      if (Files.exists(path)) {
+        FileChannel.open(path).close();
+      }
+    }
+    return (System.nanoTime() - start) / LOOKUPS;
+  }
+}
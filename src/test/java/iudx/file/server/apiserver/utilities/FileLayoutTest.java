@@ -0,0 +1,89 @@
+package iudx.file.server.apiserver.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class FileLayoutTest {
+
+  private static final String FILE_ID = "80f18fc8-ef83-47e2-a946-d88a3f39eeda.csv";
+  private static final String UPLOAD_DIR = "rg/id";
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("paths of files in flat and sharded layout")
+  public void pathTest() {
+    String shard = FileLayout.shard(FILE_ID);
+    FileLayout flat = FileLayout.flat("/upload");
+    FileLayout sharded = new FileLayout("/upload/", true);
+
+    assertEquals("/upload/rg/id/" + FILE_ID, flat.getPath(UPLOAD_DIR, FILE_ID));
+    assertEquals("/upload/rg/id/" + shard + "/" + FILE_ID, sharded.getPath(UPLOAD_DIR, FILE_ID));
+    assertEquals("/upload/rg/id/" + FILE_ID, sharded.getFlatPath(UPLOAD_DIR, FILE_ID));
+    assertEquals(shard, FileLayout.shard(FILE_ID + FileCompressor.GZIP_SUFFIX));
+    assertFalse(flat.hasFlatFiles());
+    assertTrue(sharded.hasFlatFiles());
+  }
+
+  @Test
+  @DisplayName("files are spread over all shards")
+  public void shardTest() {
+    Set<String> shards = new HashSet<>();
+    for (int i = 0; i < 10000; i++) {
+      String shard = FileLayout.shard(UUID.randomUUID() + ".pdf");
+      assertTrue(shard.matches("[0-9a-f]{2}"));
+      shards.add(shard);
+    }
+    assertEquals(256, shards.size());
+  }
+
+  @Test
+  @DisplayName("success - flat files moved to their shard")
+  public void migrateTest(Vertx vertx, VertxTestContext testContext) throws IOException {
+    Path resourceDir = Files.createDirectories(tempDir.resolve(UPLOAD_DIR));
+    Files.writeString(resourceDir.resolve(FILE_ID), "flat");
+    Files.writeString(resourceDir.resolve("sample.txt"), "stale sample");
+    Path blob = Files.createDirectories(tempDir.resolve(".blobs/84/d8")).resolve("84d8");
+    Files.writeString(blob, "blob");
+    FileLayout layout = new FileLayout(tempDir.toString(), true);
+    Path sample = Path.of(layout.getPath(UPLOAD_DIR, "sample.txt"));
+    Files.createDirectories(sample.getParent());
+    Files.writeString(sample, "new sample");
+
+    new FileLayoutMigrator(vertx, layout)
+        .migrate()
+        .onComplete(
+            testContext.succeeding(
+                count ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(1L, count);
+                          Path moved = Path.of(layout.getPath(UPLOAD_DIR, FILE_ID));
+                          assertEquals("flat", Files.readString(moved));
+                          assertEquals("new sample", Files.readString(sample));
+                          assertFalse(Files.exists(resourceDir.resolve(FILE_ID)));
+                          assertFalse(Files.exists(resourceDir.resolve("sample.txt")));
+                          assertTrue(Files.exists(blob));
+                          Path marker = tempDir.resolve(FileLayoutMigrator.SHARDED_MARKER);
+                          assertTrue(Files.exists(marker));
+                          assertFalse(layout.hasFlatFiles());
+                          testContext.completeNow();
+                        })));
+  }
+}
@@ -0,0 +1,229 @@
+package iudx.file.server.apiserver.validations;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.MultiMap;
+import iudx.file.server.apiserver.exceptions.DxRuntimeException;
+import iudx.file.server.apiserver.response.ResponseUrn;
+import iudx.file.server.apiserver.validations.types.GeoRelationTypeValidator;
+import iudx.file.server.apiserver.validations.types.GeomTypeValidator;
+import iudx.file.server.apiserver.validations.types.IdTypeValidator;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * validation latency of a geo query with a 10 vertex polygon, coordinates validated per request
+ * with regexes, DecimalFormat and BigDecimal and failures thrown (as done before) against
+ * precompiled {@link ValidatorChain}, for a valid query and one failing on its last coordinate.
+ * Previous coordinates validator is kept below as baseline, other fields are checked the same way
+ * by both. Run with {@code mvn test -Dtest=GeoQueryValidationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class GeoQueryValidationBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(GeoQueryValidationBenchmarkTest.class);
+  private static final int CALLS = 200_000;
+  private static final String POLYGON =
+      "[[[73.8444,18.5307],[73.84357,18.5282],[73.8492,18.52836],[73.84632,18.5225],"
+          + "[73.83816,18.52934],[73.83576,18.52063],[73.84357,18.51631],[73.84992,18.51338],"
+          + "[73.85833,18.51672],[73.8444,18.530%s]]]";
+
+  @Test
+  @DisplayName("benchmark - geo query validation latency")
+  public void geoQueryValidationLatencyTest() {
+    ValidatorChain chain = ValidatorChain.forRequest(RequestType.GEO_QUERY);
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    String[][] cases = {{"valid", "7"}, {"invalid", "7234567"}};
+    for (String[] testCase : cases) {
+      MultiMap params = MultiMap.caseInsensitiveMultiMap();
+      params.set(PARAM_ID, "b58da193-23d9-43eb-b98a-a103d4b6103c");
+      params.set(PARAM_GEOREL, "within");
+      params.set(PARAM_GEOMETRY, "polygon");
+      params.set(PARAM_COORDINATES, String.format(POLYGON, testCase[1]));
+      boolean valid = "valid".equals(testCase[0]);
+
+      // first round warms up both paths, timings are taken on second.
+      long previousNanos = 0;
+      long chainNanos = 0;
+      for (int round = 0; round < 2; round++) {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+          assertTrue(validateAsBefore(params) == valid);
+        }
+        previousNanos = (System.nanoTime() - start) / CALLS;
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+          assertTrue((chain.validate(params, headers) == null) == valid);
+        }
+        chainNanos = (System.nanoTime() - start) / CALLS;
+      }
+      LOGGER.info(
+          String.format(
+              "%s geo query - previous: %d ns/call, chain: %d ns/call",
+              testCase[0], previousNanos, chainNanos));
+    }
+  }
+
+  private static boolean validateAsBefore(MultiMap params) {
+    if (IdTypeValidator.check(params.get(PARAM_ID), true) != null
+        || GeoRelationTypeValidator.check(params.get(PARAM_GEOREL), true) != null
+        || GeomTypeValidator.check(params.get(PARAM_GEOMETRY), true) != null) {
+      return false;
+    }
+    try {
+      return new PreviousCoordinatesValidator(params.get(PARAM_COORDINATES), true).isValid();
+    } catch (DxRuntimeException e) {
+      return false;
+    }
+  }
+
+  /* coordinates validator as it was before single pass validation, used only as baseline. */
+  private static final class PreviousCoordinatesValidator {
+
+    private static final int FAILURE_CODE = 400;
+    private static final String LATITUDE_PATTERN =
+        "^(\\+|-)?(?:90(?:(?:\\.0{1,6})?)|(?:[0-9]|[1-8][0-9])(?:(?:\\.[0-9]{1,6})?))$";
+    private static final String LONGITUDE_PATTERN =
+        "^(\\+|-)?(?:180(?:(?:\\.0{1,6})?)|(?:[0-9]|[1-9][0-9]|1[0-7][0-9])"
+            + "(?:(?:\\.[0-9]{1,6})?))$";
+    private static final Pattern pattern = Pattern.compile("[\\w]+[^\\,]*(?:\\.*[\\w])");
+    private final int allowedMaxCoordinates = VALIDATION_ALLOWED_COORDINATES;
+    private final String value;
+    private final boolean required;
+    private DecimalFormat df = new DecimalFormat("#.######");
+
+    PreviousCoordinatesValidator(String value, boolean required) {
+      this.value = value;
+      this.required = required;
+    }
+
+    private boolean isValidLatitude(String latitude) {
+      String message = "";
+      try {
+        Float latitudeValue = Float.parseFloat(latitude);
+        if (!df.format(latitudeValue).matches(LATITUDE_PATTERN)) {
+          message = "Validation error : invalid latitude value " + latitude;
+        }
+      } catch (Exception ex) {
+        message = "Validation error : invalid latitude value " + latitude;
+      }
+      if (message.isBlank()) {
+        return true;
+      }
+      throw new DxRuntimeException(FAILURE_CODE, ResponseUrn.INVALID_GEO_PARAM, message);
+    }
+
+    private boolean isValidLongitude(String longitude) {
+      String message = "";
+      try {
+        Float longitudeValue = Float.parseFloat(longitude);
+        if (!df.format(longitudeValue).matches(LONGITUDE_PATTERN)) {
+          message = "Validation error : invalid longitude value " + longitude;
+        }
+      } catch (Exception ex) {
+        message = "Validation error : invalid longitude value " + longitude;
+      }
+      if (message.isBlank()) {
+        return true;
+      }
+      throw new DxRuntimeException(FAILURE_CODE, ResponseUrn.INVALID_GEO_PARAM, message);
+    }
+
+    private boolean isPricisonLengthAllowed(String value) {
+      boolean result = false;
+      try {
+        result = new BigDecimal(value).scale() > VALIDATION_COORDINATE_PRECISION_ALLOWED;
+      } catch (Exception ex) {
+        throw new DxRuntimeException(
+            FAILURE_CODE,
+            ResponseUrn.INVALID_GEO_VALUE,
+            "Validation error : invalid value " + value);
+      }
+      return result;
+    }
+
+    private boolean isValidCoordinates(String value) {
+      String coordinates = value.replaceAll("\\[", "").replaceAll("\\]", "");
+      String[] coordinatesArray = coordinates.split(",");
+      boolean checkLongitudeFlag = false;
+      for (String coordinate : coordinatesArray) {
+        if (!coordinate.isBlank()) {
+          coordinate = coordinate.trim();
+        } else {
+          return false;
+        }
+        if (checkLongitudeFlag && !isValidLatitude(coordinate)) {
+          return false;
+        } else if (!isValidLongitude(coordinate)) {
+          return false;
+        }
+        checkLongitudeFlag = !checkLongitudeFlag;
+        if (isPricisonLengthAllowed(coordinate)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private String getProbableGeomType(String coords) {
+      String geom = null;
+      if (coords.startsWith("[[[")) {
+        geom = "polygon";
+      } else if (coords.startsWith("[[")) {
+        geom = "line";
+      } else if (coords.startsWith("[")) {
+        geom = "point";
+      }
+      return geom;
+    }
+
+    private boolean isValidCoordinateCount(String coordinates) {
+      String geom = getProbableGeomType(coordinates);
+      List<String> coordinatesList = getCoordinatesValues(coordinates);
+      if (geom.equalsIgnoreCase("point")) {
+        return coordinatesList.size() == 2;
+      }
+      return coordinatesList.size() <= allowedMaxCoordinates * 2;
+    }
+
+    private List<String> getCoordinatesValues(String coordinates) {
+      Matcher matcher = pattern.matcher(coordinates);
+      return matcher.results().map(MatchResult::group).collect(Collectors.toList());
+    }
+
+    boolean isValid() {
+      String message = "";
+      if (required && (value == null || value.isBlank())) {
+        message = "Validation error : null or blank value for required mandatory field";
+        throw new DxRuntimeException(FAILURE_CODE, ResponseUrn.INVALID_GEO_PARAM, message);
+      } else {
+        if (value == null || value.isBlank()) {
+          return true;
+        }
+      }
+      if (!isValidCoordinateCount(value)) {
+        message =
+            "Invalid numbers of coordinates supplied "
+                + "(Only 10 coordinates allowed for polygon and line & 1 coordinate for point)";
+      }
+      if (!isValidCoordinates(value)) {
+        message = "invalid coordinate (only 6 digits to precision allowed)";
+      }
+      if (message.isBlank()) {
+        return true;
+      }
+      throw new DxRuntimeException(FAILURE_CODE, ResponseUrn.INVALID_GEO_PARAM, message);
+    }
+  }
+}
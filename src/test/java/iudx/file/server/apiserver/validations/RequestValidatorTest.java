@@ -129,6 +129,21 @@ public class RequestValidatorTest {
     assertTrue(contentTypeValidator.isValid("text/plain"));
   }
 
+  @Test
+  @DisplayName("compressible content types")
+  public void compressibleContentTypes() {
+    ContentTypeValidator validator =
+        new ContentTypeValidator(
+            new JsonObject()
+                .put("text/csv", new JsonObject().put("extension", "csv").put("compressible", true))
+                .put("application/zip", "zip"));
+
+    assertTrue(validator.isValidExtension("csv"));
+    assertTrue(validator.isValidExtension("zip"));
+    assertTrue(validator.getCompressibleExtensions().contains("csv"));
+    assertFalse(validator.getCompressibleExtensions().contains("zip"));
+  }
+
   @Test
   @DisplayName("test isValidArchiveRequest when param does not contain PARAM_GEOMETRY")
   public void IsValidArchiveRequestWithoutGeometry(VertxTestContext vertxTestContext) {
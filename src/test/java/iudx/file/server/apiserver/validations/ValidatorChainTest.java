@@ -0,0 +1,170 @@
+package iudx.file.server.apiserver.validations;
+
+import static iudx.file.server.apiserver.utilities.Constants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.vertx.core.MultiMap;
+import iudx.file.server.apiserver.response.ResponseUrn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ValidatorChainTest {
+
+  private static final String ID = "b58da193-23d9-43eb-b98a-a103d4b6103c";
+  private static final String POLYGON =
+      "[[[72.719,21],[72.842,21.2],[72.923,20.8],[72.74,20.34],[72.9,20.1],[72.719,21]]]";
+
+  private static MultiMap geoQuery(String coordinates) {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.set(PARAM_ID, ID);
+    params.set(PARAM_GEOREL, "within");
+    params.set(PARAM_GEOMETRY, "polygon");
+    params.set(PARAM_COORDINATES, coordinates);
+    return params;
+  }
+
+  @Test
+  @DisplayName("valid geo query")
+  public void validGeoQueryTest() {
+    ValidationError error =
+        ValidatorChain.forRequest(RequestType.GEO_QUERY)
+            .validate(geoQuery(POLYGON), MultiMap.caseInsensitiveMultiMap());
+    assertNull(error);
+  }
+
+  @Test
+  @DisplayName("invalid coordinates of geo query")
+  public void invalidGeoQueryTest() {
+    MultiMap params = geoQuery("[[[72.719,21],[72.842,91.2]]]");
+    ValidationError error =
+        ValidatorChain.forRequest(RequestType.GEO_QUERY)
+            .validate(params, MultiMap.caseInsensitiveMultiMap());
+    assertNotNull(error);
+    assertEquals(400, error.getStatusCode());
+    assertEquals(ResponseUrn.INVALID_GEO_PARAM, error.getUrn());
+    assertEquals("Validation error : invalid latitude value 91.2", error.getMessage());
+  }
+
+  @Test
+  @DisplayName("first failed check is reported")
+  public void firstFailureTest() {
+    MultiMap params = geoQuery("[1,2,3]");
+    params.set(PARAM_ID, "asdasd/asdasd");
+    ValidationError error =
+        ValidatorChain.forRequest(RequestType.GEO_QUERY)
+            .validate(params, MultiMap.caseInsensitiveMultiMap());
+    assertEquals(ResponseUrn.INVALID_PAYLOAD_FORMAT, error.getUrn());
+  }
+
+  @Test
+  @DisplayName("bulk download of file ids requires a token")
+  public void bulkDownloadFileIdsTest() {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.add(PARAM_FILE_ID, "iisc.ac.in/resource-group/resource/file1.txt");
+    params.add(PARAM_FILE_ID, "iisc.ac.in/resource-group/resource/file2.txt");
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    ValidatorChain chain = ValidatorChain.forRequest(RequestType.BULK_DOWNLOAD);
+
+    assertEquals(ResponseUrn.INVALID_TOKEN, chain.validate(params, headers).getUrn());
+    headers.set(HEADER_TOKEN, "asd.asd.asd");
+    assertNull(chain.validate(params, headers));
+    params.add(PARAM_FILE_ID, "file3.txt");
+    assertEquals(ResponseUrn.INVALID_ATTR_VALUE, chain.validate(params, headers).getUrn());
+  }
+
+  @Test
+  @DisplayName("bulk download of a geo query validates temporal fields only when given")
+  public void bulkDownloadGeoQueryTest() {
+    MultiMap params = geoQuery(POLYGON);
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    headers.set(HEADER_TOKEN, "asd.asd.asd");
+    ValidatorChain chain = ValidatorChain.forRequest(RequestType.BULK_DOWNLOAD);
+
+    assertNull(chain.validate(params, headers));
+    params.set(PARAM_TIME_REL, "during");
+    assertEquals(ResponseUrn.MANDATORY_FIELD, chain.validate(params, headers).getUrn());
+  }
+
+  @Test
+  @DisplayName("upload offset is mandatory for a chunk only")
+  public void uploadChunkTest() {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.set(PARAM_ID, ID);
+    params.set(PARAM_SESSION_ID, "c4b2b8a6-6c1e-4a43-9a53-2d8d2b3e5f10");
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    headers.set(HEADER_TOKEN, "asdasd");
+
+    assertNull(ValidatorChain.forRequest(RequestType.UPLOAD_SESSION).validate(params, headers));
+    assertEquals(
+        ResponseUrn.MANDATORY_FIELD,
+        ValidatorChain.forRequest(RequestType.UPLOAD_CHUNK).validate(params, headers).getUrn());
+  }
+
+  @Test
+  @DisplayName("out of range pagination limit")
+  public void paginationLimitTest() {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.set(PARAM_ID, ID);
+    params.set(PARAM_TIME_REL, "during");
+    params.set("time", "2020-09-15T00:00:00Z");
+    params.set(PARAM_END_TIME, "2020-09-20T00:00:00Z");
+    params.set(PARAM_LIMIT, "10001");
+    ValidatorChain chain = ValidatorChain.forRequest(RequestType.TEMPORAL_QUERY);
+
+    assertEquals(
+        ResponseUrn.REQUEST_LIMIT_EXCEED,
+        chain.validate(params, MultiMap.caseInsensitiveMultiMap()).getUrn());
+    params.set(PARAM_LIMIT, "ten");
+    assertEquals(
+        ResponseUrn.INVALID_ATTR_VALUE,
+        chain.validate(params, MultiMap.caseInsensitiveMultiMap()).getUrn());
+  }
+
+  @Test
+  @DisplayName("cursor of query and list requests")
+  public void cursorTest() {
+    MultiMap params = geoQuery(POLYGON);
+    params.set(PARAM_CURSOR, "*");
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+
+    assertNull(ValidatorChain.forRequest(RequestType.GEO_QUERY).validate(params, headers));
+    params.set(PARAM_CURSOR, "a+b");
+    assertEquals(
+        ResponseUrn.INVALID_ATTR_VALUE,
+        ValidatorChain.forRequest(RequestType.GEO_QUERY).validate(params, headers).getUrn());
+
+    MultiMap list = MultiMap.caseInsensitiveMultiMap();
+    list.set(PARAM_ID, ID);
+    list.set(PARAM_LIMIT, "100");
+    list.set(PARAM_CURSOR, "eyJwaXQiOiJhIiwiYWZ0ZXIiOlsiYi50eHQiLDNdfQ");
+    assertNull(ValidatorChain.forRequest(RequestType.LIST_QUERY).validate(list, headers));
+    list.set(PARAM_CURSOR, "");
+    assertEquals(
+        ResponseUrn.INVALID_ATTR_VALUE,
+        ValidatorChain.forRequest(RequestType.LIST_QUERY).validate(list, headers).getUrn());
+  }
+
+  @Test
+  @DisplayName("every field of a file of an upload batch is mandatory")
+  public void batchFileTest() {
+    MultiMap file = MultiMap.caseInsensitiveMultiMap();
+    file.set(PARAM_START_TIME, "2020-09-05T00:00:00Z");
+    file.set(PARAM_END_TIME, "2020-09-15T00:00:00Z");
+    file.set(PARAM_GEOMETRY, "polygon");
+    file.set(PARAM_COORDINATES, POLYGON);
+    file.set(PARAM_FILE_URL, "https://example.com/file1.zip");
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+
+    assertNull(ValidatorChain.forBatchFile().validate(file, headers));
+    file.remove(PARAM_FILE_URL);
+    assertEquals(
+        ResponseUrn.INVALID_ATTR_VALUE,
+        ValidatorChain.forBatchFile().validate(file, headers).getUrn());
+    file.remove(PARAM_START_TIME);
+    assertEquals(
+        ResponseUrn.MANDATORY_FIELD,
+        ValidatorChain.forBatchFile().validate(file, headers).getUrn());
+  }
+}
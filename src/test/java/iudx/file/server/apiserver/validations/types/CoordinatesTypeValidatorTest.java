@@ -3,7 +3,6 @@ package iudx.file.server.apiserver.validations.types;
 import static org.junit.Assert.*;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,8 +17,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class CoordinatesTypeValidatorTest {
 
-  private CoordinatesTypeValidator coordsTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -43,8 +40,7 @@ public class CoordinatesTypeValidatorTest {
   @Description("coordinates type parameter allowed values.")
   public void testValidCoordinatesTypeValue(String value, boolean required,
       VertxTestContext testContext) {
-    coordsTypeValidator = new CoordinatesTypeValidator(value, required);
-    assertTrue(coordsTypeValidator.isValid());
+    Assertions.assertNull(CoordinatesTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -78,8 +74,7 @@ public class CoordinatesTypeValidatorTest {
   @Description("coordinates type parameter invalid values.")
   public void testInvalidCoordinatesTypeValue(String value, boolean required,
       VertxTestContext testContext) {
-    coordsTypeValidator = new CoordinatesTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class,() -> coordsTypeValidator.isValid());
+    Assertions.assertNotNull(CoordinatesTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
@@ -0,0 +1,54 @@
+package iudx.file.server.apiserver.validations.types;
+
+
+import io.vertx.core.Vertx;
+import io.vertx.core.cli.annotations.Description;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@ExtendWith(VertxExtension.class)
+public class CursorTypeValidatorTest {
+
+  static Stream<Arguments> allowedValues() {
+    return Stream.of(
+        Arguments.of(null, false),
+        Arguments.of("*", true),
+        Arguments.of("eyJwaXQiOiJhIiwiYWZ0ZXIiOlsiYi50eHQiLDNdfQ", false),
+        Arguments.of("46ToAwMDaWR5BXV1aWQy-_", false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("allowedValues")
+  @Description("cursor parameter allowed values.")
+  public void testValidCursorValue(
+      String value, boolean required, Vertx vertx, VertxTestContext testContext) {
+    Assertions.assertNull(CursorTypeValidator.check(value, required));
+    testContext.completeNow();
+  }
+
+  static Stream<Arguments> invalidValues() {
+    return Stream.of(
+        Arguments.of(null, true),
+        Arguments.of("  ", true),
+        Arguments.of("", false),
+        Arguments.of("**", false),
+        Arguments.of("eyJwaXQiOiJhIn0=", false),
+        Arguments.of("a+b/c", false),
+        Arguments.of("a".repeat(4097), false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidValues")
+  @Description("cursor parameter invalid values.")
+  public void testInvalidCursorValue(
+      String value, boolean required, Vertx vertx, VertxTestContext testContext) {
+    Assertions.assertNotNull(CursorTypeValidator.check(value, required));
+    testContext.completeNow();
+  }
+}
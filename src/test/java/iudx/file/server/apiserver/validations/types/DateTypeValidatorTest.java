@@ -3,7 +3,6 @@ package iudx.file.server.apiserver.validations.types;
 import static org.junit.Assert.*;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,8 +17,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class DateTypeValidatorTest {
 
-  private DateTypeValidator dateTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -41,8 +38,7 @@ public class DateTypeValidatorTest {
   @Description("date type parameter allowed values.")
   public void testValidDateTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    dateTypeValidator = new DateTypeValidator(value, required);
-    assertTrue(dateTypeValidator.isValid());
+    Assertions.assertNull(DateTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -65,8 +61,7 @@ public class DateTypeValidatorTest {
   @Description("date type parameter invalid values.")
   public void testInvalidDateTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    dateTypeValidator = new DateTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> dateTypeValidator.isValid());
+    Assertions.assertNotNull(DateTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
@@ -3,7 +3,6 @@ package iudx.file.server.apiserver.validations.types;
 import static org.junit.Assert.*;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +18,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class FileIdTypeValidatorTest {
 
-  private FileIdTypeValidator fileIdTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -49,8 +46,7 @@ public class FileIdTypeValidatorTest {
   @Description("fileid type parameter allowed values.")
   public void testValidFileIdTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    fileIdTypeValidator = new FileIdTypeValidator(value, required);
-    assertTrue(fileIdTypeValidator.isValid());
+    Assertions.assertNull(FileIdTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -71,8 +67,7 @@ public class FileIdTypeValidatorTest {
   @Description("fileId type parameter allowed values.")
   public void testInvalidFileIdTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    fileIdTypeValidator = new FileIdTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class,() -> fileIdTypeValidator.isValid());
+    Assertions.assertNotNull(FileIdTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
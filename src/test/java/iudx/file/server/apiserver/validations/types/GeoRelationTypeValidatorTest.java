@@ -1,9 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import static org.junit.Assert.assertTrue;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +17,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class GeoRelationTypeValidatorTest {
   
-  private GeoRelationTypeValidator geoRelationValidator;
-  
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -41,8 +37,7 @@ public class GeoRelationTypeValidatorTest {
   @Description("georel type parameter allowed values.")
   public void testValidGeoRelTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    geoRelationValidator = new GeoRelationTypeValidator(value, required);
-    assertTrue(geoRelationValidator.isValid());
+    Assertions.assertNull(GeoRelationTypeValidator.check(value, required));
     testContext.completeNow();
   }
   
@@ -64,8 +59,7 @@ public class GeoRelationTypeValidatorTest {
   @Description("geom type parameter invalid values.")
   public void testInvalidGeoRelValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    geoRelationValidator = new GeoRelationTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> geoRelationValidator.isValid());
+    Assertions.assertNotNull(GeoRelationTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
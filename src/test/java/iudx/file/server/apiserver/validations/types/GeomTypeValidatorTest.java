@@ -1,9 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import static org.junit.Assert.assertTrue;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +17,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class GeomTypeValidatorTest {
 
-  private GeomTypeValidator geomTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -44,8 +40,7 @@ public class GeomTypeValidatorTest {
   @Description("geom type type parameter allowed values.")
   public void testValidGeomTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    geomTypeValidator = new GeomTypeValidator(value, required);
-    assertTrue(geomTypeValidator.isValid());
+    Assertions.assertNull(GeomTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -68,8 +63,7 @@ public class GeomTypeValidatorTest {
   @Description("geom type parameter invalid values.")
   public void testInvalidGeomTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    geomTypeValidator = new GeomTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> geomTypeValidator.isValid());
+    Assertions.assertNotNull(GeomTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
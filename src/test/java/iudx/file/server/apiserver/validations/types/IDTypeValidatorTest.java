@@ -1,9 +1,7 @@
 package iudx.file.server.apiserver.validations.types;
 
-import static org.junit.Assert.assertTrue;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,8 +18,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class IDTypeValidatorTest {
 
-  private iudx.file.server.apiserver.validations.types.IdTypeValidator IdTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -42,8 +38,7 @@ public class IDTypeValidatorTest {
   @Description("id type parameter allowed values.")
   public void testValidIdTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    IdTypeValidator = new IdTypeValidator(value, required);
-    assertTrue(IdTypeValidator.isValid());
+    Assertions.assertNull(IdTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -64,8 +59,7 @@ public class IDTypeValidatorTest {
   @Description("id type parameter allowed values.")
   public void testInvalidIdTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    IdTypeValidator = new IdTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> IdTypeValidator.isValid());
+    Assertions.assertNotNull(IdTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
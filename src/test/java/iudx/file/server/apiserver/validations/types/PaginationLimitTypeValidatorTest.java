@@ -1,10 +1,8 @@
 package iudx.file.server.apiserver.validations.types;
 
 import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +17,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class PaginationLimitTypeValidatorTest {
 
-  private PaginationLimitTypeValidator paginationLimitTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -42,8 +38,7 @@ public class PaginationLimitTypeValidatorTest {
   @Description("pagination limit type parameter allowed values.")
   public void testValidLimitTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    paginationLimitTypeValidator = new PaginationLimitTypeValidator(value, required);
-    assertTrue(paginationLimitTypeValidator.isValid());
+    Assertions.assertNull(PaginationLimitTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -65,8 +60,7 @@ public class PaginationLimitTypeValidatorTest {
   @Description("pagination limit type parameter invalid values.")
   public void testInvalidLimitTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    paginationLimitTypeValidator = new PaginationLimitTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> paginationLimitTypeValidator.isValid());
+    Assertions.assertNotNull(PaginationLimitTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
@@ -1,10 +1,8 @@
 package iudx.file.server.apiserver.validations.types;
 
 import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,8 +16,6 @@ import io.vertx.junit5.VertxTestContext;
 
 @ExtendWith(VertxExtension.class)
 public class PaginationOffsetTypeValidatorTest {
-
-  private PaginationOffsetTypeValidator paginationOffsetTypeValidator;
   
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
@@ -41,8 +37,7 @@ public class PaginationOffsetTypeValidatorTest {
   @Description("pagination offset type parameter allowed values.")
   public void testValidOffsetTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    paginationOffsetTypeValidator = new PaginationOffsetTypeValidator(value, required);
-    assertTrue(paginationOffsetTypeValidator.isValid());
+    Assertions.assertNull(PaginationOffsetTypeValidator.check(value, required));
     testContext.completeNow();
   }
   
@@ -64,8 +59,7 @@ public class PaginationOffsetTypeValidatorTest {
   @Description("pagination offset type parameter invalid values.")
   public void testInvalidOffsetTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    paginationOffsetTypeValidator = new PaginationOffsetTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> paginationOffsetTypeValidator.isValid());
+    Assertions.assertNotNull(PaginationOffsetTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
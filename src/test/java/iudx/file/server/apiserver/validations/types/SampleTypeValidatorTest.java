@@ -3,7 +3,6 @@ package iudx.file.server.apiserver.validations.types;
 import static org.junit.Assert.*;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +18,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class SampleTypeValidatorTest {
 
-  private SampleTypeValidator sampleTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -40,8 +37,7 @@ public class SampleTypeValidatorTest {
   @Description("isSample type parameter allowed values.")
   public void testValidIsSampleTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    sampleTypeValidator = new SampleTypeValidator(value, required);
-    assertTrue(sampleTypeValidator.isValid());
+    Assertions.assertNull(SampleTypeValidator.check(value, required));
     testContext.completeNow();
   }
   
@@ -62,8 +58,7 @@ public class SampleTypeValidatorTest {
   @Description("isSample type parameter invalid values.")
   public void testInvalidIsSampleTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    sampleTypeValidator = new SampleTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> sampleTypeValidator.isValid());
+    Assertions.assertNotNull(SampleTypeValidator.check(value, required));
     testContext.completeNow();
   }
 }
@@ -0,0 +1,51 @@
+package iudx.file.server.apiserver.validations.types;
+
+
+import io.vertx.core.Vertx;
+import io.vertx.core.cli.annotations.Description;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@ExtendWith(VertxExtension.class)
+public class SessionIdTypeValidatorTest {
+
+  static Stream<Arguments> allowedValues() {
+    return Stream.of(
+        Arguments.of(null, false),
+        Arguments.of("c4b2b8a6-6c1e-4a43-9a53-2d8d2b3e5f10", true),
+        Arguments.of("C4B2B8A6-6C1E-4A43-9A53-2D8D2B3E5F10", true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("allowedValues")
+  @Description("session id parameter allowed values.")
+  public void testValidSessionIdValue(
+      String value, boolean required, Vertx vertx, VertxTestContext testContext) {
+    Assertions.assertNull(SessionIdTypeValidator.check(value, required));
+    testContext.completeNow();
+  }
+
+  static Stream<Arguments> invalidValues() {
+    return Stream.of(
+        Arguments.of(null, true),
+        Arguments.of("  ", true),
+        Arguments.of("../../etc/passwd", false),
+        Arguments.of("c4b2b8a6-6c1e-4a43-9a53", false),
+        Arguments.of("c4b2b8a6-6c1e-4a43-9a53-2d8d2b3e5f10/..", false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidValues")
+  @Description("session id parameter invalid values.")
+  public void testInvalidSessionIdValue(
+      String value, boolean required, Vertx vertx, VertxTestContext testContext) {
+    Assertions.assertNotNull(SessionIdTypeValidator.check(value, required));
+    testContext.completeNow();
+  }
+}
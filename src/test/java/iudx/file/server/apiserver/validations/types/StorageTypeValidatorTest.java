@@ -2,7 +2,6 @@ package iudx.file.server.apiserver.validations.types;
 
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +17,6 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(VertxExtension.class)
 @ExtendWith(MockitoExtension.class)
 public class StorageTypeValidatorTest {
-    private StorageTypeValidator storageTypeValidator;
 
     private static Stream<Arguments> validData() {
         return Stream.of(
@@ -38,36 +36,25 @@ public class StorageTypeValidatorTest {
 
     @ParameterizedTest(name = "{index}) value = {0}, required = {1}")
     @MethodSource("validData")
-    @DisplayName("Test isValid method")
+    @DisplayName("Test check method with valid values")
     public void testIsValid(String value, boolean required, VertxTestContext vertxTestContext) {
 
-        storageTypeValidator = new StorageTypeValidator(value, required);
-        assertTrue(storageTypeValidator.isValid());
+        assertNull(StorageTypeValidator.check(value, required));
         vertxTestContext.completeNow();
     }
 
     @ParameterizedTest(name = "{index}) value = {0}, required = {1}")
     @MethodSource("invalidData")
-    @DisplayName("Test isValid method for DxRuntimeException")
-    public void testIsValidForDxRuntimeException(String value, boolean required, VertxTestContext vertxTestContext) {
-        storageTypeValidator = new StorageTypeValidator(value, required);
-        assertThrows(DxRuntimeException.class, () -> storageTypeValidator.isValid());
+    @DisplayName("Test check method with invalid values")
+    public void testIsValidForInvalidValues(String value, boolean required, VertxTestContext vertxTestContext) {
+        assertNotNull(StorageTypeValidator.check(value, required));
         vertxTestContext.completeNow();
     }
 
-    @DisplayName("Test failureCode method")
+    @DisplayName("Test failure code")
     @Test
     public void testFailureCode(VertxTestContext vertxTestContext) {
-        storageTypeValidator = new StorageTypeValidator(null, false);
-        assertEquals(400, storageTypeValidator.failureCode());
-        vertxTestContext.completeNow();
-    }
-
-    @DisplayName("Test failureMessage method")
-    @Test
-    public void testFailureMessage(VertxTestContext vertxTestContext) {
-        storageTypeValidator = new StorageTypeValidator(null, false);
-        assertEquals("Invalid token", storageTypeValidator.failureMessage());
+        assertEquals(400, StorageTypeValidator.check(null, true).getStatusCode());
         vertxTestContext.completeNow();
     }
 }
@@ -2,7 +2,6 @@ package iudx.file.server.apiserver.validations.types;
 
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +16,6 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(VertxExtension.class)
 
 public class StorageURLValidatorTest {
-    private static StorageUrlValidator storageURLValidator;
 
     public static Stream<Arguments> validValues() {
         return Stream.of(
@@ -38,36 +36,26 @@ public class StorageURLValidatorTest {
     }
 
     @ParameterizedTest(name = "{index}) value = {0}, required = {1}")
-    @DisplayName("Test isValid method with valid values")
+    @DisplayName("Test check method with valid values")
     @MethodSource("validValues")
     public void testIsValidWithValidValues(String value, boolean required, VertxTestContext vertxTestContext) {
-        storageURLValidator = new StorageUrlValidator(value, required);
-        assertTrue(storageURLValidator.isValid());
+        assertNull(StorageUrlValidator.check(value, required));
         vertxTestContext.completeNow();
 
     }
 
     @ParameterizedTest(name = "{index}) value = {0}, required = {1}")
-    @DisplayName("Test isValid method with invalid values")
+    @DisplayName("Test check method with invalid values")
     @MethodSource("inValidValues")
     public void testIsValidWhenRequiredTrue(String value, boolean required, VertxTestContext vertxTestContext) {
-        storageURLValidator = new StorageUrlValidator(value, required);
-        assertThrows(DxRuntimeException.class, () -> storageURLValidator.isValid());
+        assertNotNull(StorageUrlValidator.check(value, required));
         vertxTestContext.completeNow();
     }
 
-    @DisplayName("Test failureMessage method")
-    @Test
-    public void testFailureMessage(VertxTestContext vertxTestContext) {
-
-        assertEquals("Invalid storage url type value", storageURLValidator.failureMessage());
-        vertxTestContext.completeNow();
-    }
-
-    @DisplayName("Test failureCode method")
+    @DisplayName("Test failure code")
     @Test
     public void testFailureCode(VertxTestContext vertxTestContext) {
-        assertEquals(400, storageURLValidator.failureCode());
+        assertEquals(400, StorageUrlValidator.check(null, true).getStatusCode());
         vertxTestContext.completeNow();
     }
 
@@ -3,7 +3,6 @@ package iudx.file.server.apiserver.validations.types;
 import static org.junit.Assert.*;
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +16,6 @@ import io.vertx.junit5.VertxTestContext;
 
 @ExtendWith(VertxExtension.class)
 public class TemporalRelTypeValidatorTest {
-  private TemporalRelTypeValidator temporalRelTypeValidator;
 
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
@@ -44,8 +42,7 @@ public class TemporalRelTypeValidatorTest {
   @Description("temporal rel type parameter allowed values.")
   public void testValidTemporalRelTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    temporalRelTypeValidator = new TemporalRelTypeValidator(value, required);
-    assertTrue(temporalRelTypeValidator.isValid());
+    Assertions.assertNull(TemporalRelTypeValidator.check(value, required));
     testContext.completeNow();
   }
   
@@ -68,8 +65,7 @@ public class TemporalRelTypeValidatorTest {
   @Description("temporal rel type parameter invalid values.")
   public void testInvalidTemporalRelTypeValue(String value, boolean required, Vertx vertx,
       VertxTestContext testContext) {
-    temporalRelTypeValidator = new TemporalRelTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> temporalRelTypeValidator.isValid());
+    Assertions.assertNotNull(TemporalRelTypeValidator.check(value, required));
     testContext.completeNow();
   }
   
@@ -4,7 +4,6 @@ import static org.junit.Assert.*;
 
 import java.util.stream.Stream;
 
-import iudx.file.server.apiserver.exceptions.DxRuntimeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,8 +19,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class TokenTypeValidatorTest {
 
-  private TokenTypeValidator tokenTypeValidator;
-
   @BeforeEach
   public void setup(Vertx vertx, VertxTestContext testContext) {
     testContext.completeNow();
@@ -39,8 +36,7 @@ public class TokenTypeValidatorTest {
   @Description("coordinates type parameter allowed values.")
   public void testValidCoordinatesTypeValue(String value, boolean required,
       VertxTestContext testContext) {
-    tokenTypeValidator = new TokenTypeValidator(value, required);
-    assertTrue(tokenTypeValidator.isValid());
+    Assertions.assertNull(TokenTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -55,8 +51,7 @@ public class TokenTypeValidatorTest {
   @Description("coordinates type parameter invalid values.")
   public void testinValidCoordinatesTypeValue(String value, boolean required,
       VertxTestContext testContext) {
-    tokenTypeValidator = new TokenTypeValidator(value, required);
-    Assertions.assertThrows(DxRuntimeException.class, () -> tokenTypeValidator.isValid());
+    Assertions.assertNotNull(TokenTypeValidator.check(value, required));
     testContext.completeNow();
   }
 
@@ -0,0 +1,53 @@
+package iudx.file.server.apiserver.validations.types;
+
+
+import io.vertx.core.Vertx;
+import io.vertx.core.cli.annotations.Description;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@ExtendWith(VertxExtension.class)
+public class UploadOffsetTypeValidatorTest {
+
+  static Stream<Arguments> allowedValues() {
+    return Stream.of(
+        Arguments.of(null, false),
+        Arguments.of("0", true),
+        Arguments.of("1048576", true),
+        Arguments.of("10737418240", true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("allowedValues")
+  @Description("upload offset header allowed values.")
+  public void testValidOffsetValue(
+      String value, boolean required, Vertx vertx, VertxTestContext testContext) {
+    Assertions.assertNull(UploadOffsetTypeValidator.check(value, required));
+    testContext.completeNow();
+  }
+
+  static Stream<Arguments> invalidValues() {
+    return Stream.of(
+        Arguments.of(null, true),
+        Arguments.of(" ", true),
+        Arguments.of("-1", false),
+        Arguments.of("1.5", false),
+        Arguments.of("99999999999999999999", false),
+        Arguments.of("abc", false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidValues")
+  @Description("upload offset header invalid values.")
+  public void testInvalidOffsetValue(
+      String value, boolean required, Vertx vertx, VertxTestContext testContext) {
+    Assertions.assertNotNull(UploadOffsetTypeValidator.check(value, required));
+    testContext.completeNow();
+  }
+}
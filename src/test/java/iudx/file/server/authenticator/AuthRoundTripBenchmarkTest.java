@@ -0,0 +1,114 @@
+package iudx.file.server.authenticator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.serviceproxy.ServiceBinder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * latency of a token introspection round trip over (local) event bus proxy against an in-process
+ * call, with an authentication service doing no work so mostly the transport is measured.
+ * Run with {@code mvn test -Dtest=AuthRoundTripBenchmarkTest -Dbenchmark=true}. A clustered event
+ * bus adds serialization and a network hop on top of the proxy numbers.
+ */
+@ExtendWith(VertxExtension.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AuthRoundTripBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(AuthRoundTripBenchmarkTest.class);
+  private static final String ADDRESS = "iudx.file.auth.benchmark";
+  private static final int ROUND_TRIPS = 20000;
+
+  @Test
+  @DisplayName("benchmark - auth round trip over event bus and in process")
+  public void roundTripLatencyTest(Vertx vertx, VertxTestContext testContext) {
+    // result completes asynchronously, as introspection does after its cache lookups.
+    AuthenticationService service =
+        (request, authenticationInfo, handler) -> {
+          JsonObject itemContext = new JsonObject().put("id", authenticationInfo.getValue("id"));
+          JsonObject result =
+              new JsonObject()
+                  .put("userid", "consumer")
+                  .put("role", "consumer")
+                  .put("itemContext", itemContext);
+          vertx.runOnContext(v -> handler.handle(Future.succeededFuture(result)));
+          return null;
+        };
+    new ServiceBinder(vertx).setAddress(ADDRESS).register(AuthenticationService.class, service);
+    AuthenticationService proxy = AuthenticationService.createProxy(vertx, ADDRESS);
+    LocalAuthenticationService.register(vertx, service);
+    AuthenticationService local = new LocalAuthenticationService(vertx, proxy);
+
+    // first runs warm up both paths.
+    roundTrips(proxy, ROUND_TRIPS)
+        .compose(warmup -> roundTrips(local, ROUND_TRIPS))
+        .compose(
+            warmup ->
+                roundTrips(proxy, ROUND_TRIPS)
+                    .compose(
+                        eventBus ->
+                            roundTrips(local, ROUND_TRIPS)
+                                .map(inProcess -> new long[] {eventBus, inProcess})))
+        .onComplete(
+            testContext.succeeding(
+                nanos ->
+                    testContext.verify(
+                        () -> {
+                          LocalAuthenticationService.unregister(vertx, service);
+                          LOGGER.info(
+                              String.format(
+                                  "event bus: %d ns/round trip, in process: %d ns/round trip",
+                                  nanos[0], nanos[1]));
+                          assertTrue(nanos[1] < nanos[0]);
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<Long> roundTrips(AuthenticationService service, int count) {
+    Promise<Long> promise = Promise.promise();
+    JsonObject request = new JsonObject().put("ids", new JsonArray().add("rg/resource"));
+    long start = System.nanoTime();
+    roundTrip(service, request, count, promise, start);
+    return promise.future();
+  }
+
+  private void roundTrip(
+      AuthenticationService service,
+      JsonObject request,
+      int remaining,
+      Promise<Long> promise,
+      long start) {
+    if (remaining == 0) {
+      promise.complete((System.nanoTime() - start) / ROUND_TRIPS);
+      return;
+    }
+    JsonObject authInfo =
+        new JsonObject()
+            .put("apiEndpoint", "/ngsi-ld/v1/download")
+            .put("token", "token")
+            .put("method", "GET")
+            .put("id", "rg/resource");
+    service.tokenInterospect(
+        request,
+        authInfo,
+        handler -> {
+          if (handler.succeeded()) {
+            roundTrip(service, request, remaining - 1, promise, start);
+          } else {
+            promise.fail(handler.cause());
+          }
+        });
+  }
+}
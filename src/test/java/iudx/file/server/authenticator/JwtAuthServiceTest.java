@@ -234,7 +234,9 @@ public class JwtAuthServiceTest {
 
     JsonObject request = new JsonObject();
 
-    doAnswer(Answer -> Future.succeededFuture(true)).when(catalogueServiceMock).isItemExist(any());
+    doAnswer(Answer -> Future.succeededFuture(new JsonObject()))
+        .when(catalogueServiceMock)
+        .getItemContext(any());
     doAnswer(Answer -> Future.succeededFuture(true)).when(jwtAuthImplSpy)
         .isValidAudienceValue(any());
     doAnswer(Answer -> Future.succeededFuture("CLOSE")).when(jwtAuthImplSpy).isOpenResource(any());
@@ -279,7 +281,9 @@ public class JwtAuthServiceTest {
 
     JsonObject request = new JsonObject();
 
-    doAnswer(Answer -> Future.succeededFuture(true)).when(catalogueServiceMock).isItemExist(any());
+    doAnswer(Answer -> Future.succeededFuture(new JsonObject()))
+        .when(catalogueServiceMock)
+        .getItemContext(any());
     doAnswer(Answer -> Future.succeededFuture(true)).when(jwtAuthImplSpy)
         .isValidAudienceValue(any());
     doAnswer(Answer -> Future.succeededFuture("CLOSE")).when(jwtAuthImplSpy).isOpenResource(any());
@@ -324,7 +328,9 @@ public class JwtAuthServiceTest {
 
     JsonObject request = new JsonObject();
 
-    doAnswer(Answer -> Future.succeededFuture(true)).when(catalogueServiceMock).isItemExist(any());
+    doAnswer(Answer -> Future.succeededFuture(new JsonObject()))
+        .when(catalogueServiceMock)
+        .getItemContext(any());
     doAnswer(Answer -> Future.succeededFuture(true)).when(jwtAuthImplSpy)
         .isValidAudienceValue(any());
     doAnswer(Answer -> Future.succeededFuture("OPEN")).when(jwtAuthImplSpy).isOpenResource(any());
@@ -497,7 +503,9 @@ public class JwtAuthServiceTest {
 
     JsonObject request = new JsonObject();
 
-    doAnswer(Answer -> Future.succeededFuture(true)).when(catalogueServiceMock).isItemExist(any());
+    doAnswer(Answer -> Future.succeededFuture(new JsonObject()))
+        .when(catalogueServiceMock)
+        .getItemContext(any());
     doAnswer(Answer -> Future.succeededFuture(true)).when(jwtAuthImplSpy)
         .isValidAudienceValue(any());
     doAnswer(Answer -> Future.succeededFuture("OPEN")).when(jwtAuthImplSpy).isOpenResource(any());
@@ -537,7 +545,9 @@ public class JwtAuthServiceTest {
 
     JsonObject request = new JsonObject();
 
-    doAnswer(Answer -> Future.succeededFuture(true)).when(catalogueServiceMock).isItemExist(any());
+    doAnswer(Answer -> Future.succeededFuture(new JsonObject()))
+        .when(catalogueServiceMock)
+        .getItemContext(any());
     doAnswer(Answer -> Future.succeededFuture(true)).when(jwtAuthImplSpy)
         .isValidAudienceValue(any());
 
@@ -582,7 +592,9 @@ public class JwtAuthServiceTest {
 
     JsonObject request = new JsonObject();
 
-    doAnswer(Answer -> Future.succeededFuture(true)).when(catalogueServiceMock).isItemExist(any());
+    doAnswer(Answer -> Future.succeededFuture(new JsonObject()))
+        .when(catalogueServiceMock)
+        .getItemContext(any());
 
     doAnswer(Answer -> Future.failedFuture("invalid audience value"))
         .when(jwtAuthImplSpy)
@@ -611,7 +623,7 @@ public class JwtAuthServiceTest {
 
     doAnswer(Answer -> Future.failedFuture("resource doesn't exist"))
         .when(catalogueServiceMock)
-        .isItemExist(any());
+        .getItemContext(any());
 
     doAnswer(Answer -> Future.succeededFuture(true))
         .when(jwtAuthImplSpy)
@@ -755,7 +767,8 @@ public class JwtAuthServiceTest {
     jwtData.setRole("consumer");
     jwtData.setCons(new JsonObject().put("access", new JsonArray().add("file")));
 
-    when(catalogueServiceMock.getRelItem(anyString())).thenReturn(Future.failedFuture("cat fail"));
+    when(catalogueServiceMock.getItemContext(anyString()))
+        .thenReturn(Future.failedFuture("cat fail"));
 
     jwtAuthenticationService
         .isOpenResource(id)
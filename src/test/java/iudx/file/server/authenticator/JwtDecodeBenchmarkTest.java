@@ -0,0 +1,114 @@
+package iudx.file.server.authenticator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.PubSecKeyOptions;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.ext.auth.jwt.JWTAuthOptions;
+import io.vertx.junit5.VertxExtension;
+import iudx.file.server.common.Api;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * decode latency of tokens seen for the first time (signature verified) against tokens seen before
+ * (served from verified token cache), run with {@code mvn test -Dtest=JwtDecodeBenchmarkTest
+ * -Dbenchmark=true}.
+ */
+@ExtendWith(VertxExtension.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class JwtDecodeBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(JwtDecodeBenchmarkTest.class);
+  private static final int TOKENS = 5000;
+
+  @Test
+  @DisplayName("benchmark - token decode latency cold and warm")
+  public void decodeLatencyTest(Vertx vertx) throws GeneralSecurityException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair keyPair = generator.generateKeyPair();
+    JWTAuthOptions jwtAuthOptions =
+        new JWTAuthOptions()
+            .addPubSecKey(
+                new PubSecKeyOptions()
+                    .setAlgorithm("ES256")
+                    .setBuffer(pem("PUBLIC KEY", keyPair.getPublic().getEncoded())))
+            .addPubSecKey(
+                new PubSecKeyOptions()
+                    .setAlgorithm("ES256")
+                    .setBuffer(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded())));
+    JWTAuth jwtAuth = JWTAuth.create(vertx, jwtAuthOptions);
+    JsonObject config =
+        new JsonObject()
+            .put("audience", "fs.iudx.io")
+            .put("catalogueHost", "localhost")
+            .put("cataloguePort", 443)
+            .put("dxCatalogueBasePath", "/iudx/cat/v1");
+    JwtAuthenticationServiceImpl service =
+        new JwtAuthenticationServiceImpl(
+            vertx, jwtAuth, config, null, null, Api.getInstance("/ngsi-ld/v1", "/iudx/v1"));
+
+    // first pass warms up verification code, timings are taken on fresh tokens.
+    decodeNanos(service, tokens(jwtAuth));
+    List<String> tokens = tokens(jwtAuth);
+    long cold = decodeNanos(service, tokens);
+    long warm = decodeNanos(service, tokens);
+
+    LOGGER.info(
+        String.format(
+            "tokens: %d, cold: %d ns/decode, warm: %d ns/decode", TOKENS, cold, warm));
+    assertTrue(warm < cold);
+  }
+
+  private List<String> tokens(JWTAuth jwtAuth) {
+    long expiry = Instant.now().plusSeconds(3600).getEpochSecond();
+    List<String> tokens = new ArrayList<>(TOKENS);
+    for (int i = 0; i < TOKENS; i++) {
+      JsonObject claims =
+          new JsonObject()
+              .put("sub", UUID.randomUUID().toString())
+              .put("iss", "auth.iudx.io")
+              .put("aud", "fs.iudx.io")
+              .put("exp", expiry)
+              .put("iid", "ri:example.com/resource-group/resource")
+              .put("role", "consumer");
+      tokens.add(jwtAuth.generateToken(claims, new JWTOptions().setAlgorithm("ES256")));
+    }
+    return tokens;
+  }
+
+  private long decodeNanos(JwtAuthenticationServiceImpl service, List<String> tokens) {
+    long start = System.nanoTime();
+    for (String token : tokens) {
+      assertTrue(service.decodeJwt(token).succeeded());
+    }
+    return (System.nanoTime() - start) / tokens.size();
+  }
+
+  private static String pem(String type, byte[] key) {
+    return "-----BEGIN "
+        + type
+        + "-----\n"
+        + Base64.getMimeEncoder().encodeToString(key)
+        + "\n-----END "
+        + type
+        + "-----\n";
+  }
+}
@@ -0,0 +1,84 @@
+package iudx.file.server.authenticator;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class LocalAuthenticationServiceTest {
+
+  @Test
+  @DisplayName("tokens introspected by service of authentication verticle in this JVM")
+  public void localServiceTest(Vertx vertx) {
+    AuthenticationService proxy = mock(AuthenticationService.class);
+    AuthenticationService local = mock(AuthenticationService.class);
+    AuthenticationService service = new LocalAuthenticationService(vertx, proxy);
+    LocalAuthenticationService.register(vertx, local);
+    try {
+      service.tokenInterospect(new JsonObject(), new JsonObject(), handler -> {});
+
+      verify(local).tokenInterospect(any(), any(), any());
+      verify(proxy, never()).tokenInterospect(any(), any(), any());
+    } finally {
+      LocalAuthenticationService.unregister(vertx, local);
+    }
+  }
+
+  @Test
+  @DisplayName("result of service in this JVM delivered on context of caller")
+  public void callerContextTest(Vertx vertx, VertxTestContext testContext) {
+    AuthenticationService proxy = mock(AuthenticationService.class);
+    AuthenticationService local = mock(AuthenticationService.class);
+    Context authContext = vertx.getOrCreateContext();
+    when(local.tokenInterospect(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> handler = invocation.getArgument(2);
+              authContext.runOnContext(
+                  v -> handler.handle(Future.succeededFuture(new JsonObject())));
+              return local;
+            });
+    AuthenticationService service = new LocalAuthenticationService(vertx, proxy);
+    LocalAuthenticationService.register(vertx, local);
+    Context callerContext = vertx.getOrCreateContext();
+    callerContext.runOnContext(
+        v ->
+            service.tokenInterospect(
+                new JsonObject(),
+                new JsonObject(),
+                testContext.succeeding(
+                    result ->
+                        testContext.verify(
+                            () -> {
+                              assertSame(callerContext, Vertx.currentContext());
+                              LocalAuthenticationService.unregister(vertx, local);
+                              testContext.completeNow();
+                            }))));
+  }
+
+  @Test
+  @DisplayName("tokens introspected over event bus without authentication verticle in this JVM")
+  public void proxyTest(Vertx vertx) {
+    AuthenticationService proxy = mock(AuthenticationService.class);
+    AuthenticationService service = new LocalAuthenticationService(vertx, proxy);
+
+    service.tokenInterospect(new JsonObject(), new JsonObject(), handler -> {});
+
+    verify(proxy).tokenInterospect(any(), any(), any());
+  }
+}
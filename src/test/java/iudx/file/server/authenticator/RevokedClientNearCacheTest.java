@@ -0,0 +1,71 @@
+package iudx.file.server.authenticator;
+
+import static iudx.file.server.authenticator.RevokedClientNearCache.NOT_REVOKED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.database.postgres.PostgresService;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RevokedClientNearCacheTest {
+
+  private static final String CLIENT = "0ed019fe-be38-4903-8f0f-5285d2985780";
+
+  private static long epochSecond(String timestamp) {
+    return LocalDateTime.parse(timestamp).atZone(ZoneId.systemDefault()).toEpochSecond();
+  }
+
+  @Test
+  @DisplayName("latest revocation of a client kept")
+  public void putTest() {
+    RevokedClientNearCache cache = new RevokedClientNearCache(100);
+
+    cache.put(CLIENT, "2023-10-19T14:20:00");
+    cache.put(CLIENT, "2023-10-18T14:20:00");
+
+    assertEquals(epochSecond("2023-10-19T14:20:00"), cache.getRevokedAt(CLIENT));
+    assertEquals(NOT_REVOKED, cache.getRevokedAt("5b7556b5-0779-4c47-9cf2-3f209779aa22"));
+  }
+
+  @Test
+  @DisplayName("revoked clients loaded from revoked tokens table")
+  @SuppressWarnings("unchecked")
+  public void loadTest() {
+    PostgresService pgService = mock(PostgresService.class);
+    JsonArray rows =
+        new JsonArray()
+            .add(
+                new JsonObject()
+                    .put("_id", CLIENT)
+                    .put("expiry", "2023-10-19T14:20:00.123456")
+                    .put("modified_at", "2023-10-19T14:20:00.123456"));
+    doAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(Future.succeededFuture(new JsonObject().put("result", rows)));
+              return null;
+            })
+        .when(pgService)
+        .executePreparedQuery(anyString(), any(), any());
+    RevokedClientNearCache cache = new RevokedClientNearCache(100);
+    assertFalse(cache.isLoaded());
+
+    assertTrue(cache.load(pgService).succeeded());
+
+    assertTrue(cache.isLoaded());
+    assertEquals(epochSecond("2023-10-19T14:20:00"), cache.getRevokedAt(CLIENT));
+  }
+}
@@ -0,0 +1,100 @@
+package iudx.file.server.authenticator;
+
+import static iudx.file.server.authenticator.utilities.Constants.JWT_LEEWAY_TIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import iudx.file.server.authenticator.utilities.JwtData;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class VerifiedTokenCacheTest {
+
+  private static final int ISSUED_AT = 1700000000;
+  private static final int EXPIRY = ISSUED_AT + 3600;
+
+  private final AtomicLong epochSecond = new AtomicLong();
+  private SimpleMeterRegistry registry;
+  private VerifiedTokenCache cache;
+
+  @BeforeEach
+  public void setup() {
+    epochSecond.set(ISSUED_AT);
+    registry = new SimpleMeterRegistry();
+    Clock clock =
+        new Clock() {
+          @Override
+          public ZoneId getZone() {
+            return ZoneOffset.UTC;
+          }
+
+          @Override
+          public Clock withZone(ZoneId zone) {
+            return this;
+          }
+
+          @Override
+          public Instant instant() {
+            return Instant.ofEpochSecond(epochSecond.get());
+          }
+        };
+    cache = new VerifiedTokenCache(100, registry, clock);
+  }
+
+  private JwtData jwtData(String sub) {
+    JwtData jwtData = new JwtData();
+    jwtData.setSub(sub);
+    jwtData.setIat(ISSUED_AT);
+    jwtData.setExp(EXPIRY);
+    return jwtData;
+  }
+
+  @Test
+  @DisplayName("verified token served until it expires")
+  public void expiryTest() {
+    JwtData jwtData = jwtData("consumer");
+    cache.put("token", jwtData);
+
+    assertSame(jwtData, cache.getIfPresent("token"));
+    assertNull(cache.getIfPresent("other token"));
+    epochSecond.set(EXPIRY + JWT_LEEWAY_TIME);
+    assertSame(jwtData, cache.getIfPresent("token"));
+    epochSecond.incrementAndGet();
+    assertNull(cache.getIfPresent("token"));
+    assertEquals(2.0, registry.get("fs.cache.gets").tag("result", "hit").counter().count());
+    assertEquals(2.0, registry.get("fs.cache.gets").tag("result", "miss").counter().count());
+  }
+
+  @Test
+  @DisplayName("tokens of revoked client dropped")
+  public void revokedClientTest() {
+    JwtData other = jwtData("other");
+    cache.put("token 1", jwtData("revoked"));
+    cache.put("token 2", jwtData("revoked"));
+    cache.put("token 3", other);
+
+    cache.invalidateClient("revoked");
+
+    assertNull(cache.getIfPresent("token 1"));
+    assertNull(cache.getIfPresent("token 2"));
+    assertSame(other, cache.getIfPresent("token 3"));
+  }
+
+  @Test
+  @DisplayName("token without expiry not cached")
+  public void noExpiryTest() {
+    JwtData jwtData = jwtData("consumer");
+    jwtData.setExp(null);
+    cache.put("token", jwtData);
+
+    assertNull(cache.getIfPresent("token"));
+  }
+}
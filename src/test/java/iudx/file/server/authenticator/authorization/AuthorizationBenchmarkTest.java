@@ -0,0 +1,69 @@
+package iudx.file.server.authenticator.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.authenticator.utilities.JwtData;
+import iudx.file.server.common.Api;
+import iudx.file.server.common.RouteId;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * authorization latency of strategies (request and strategy built per call, as done before) against
+ * precompiled authorization table, for consumer, provider and delegate tokens. Run with {@code mvn
+ * test -Dtest=AuthorizationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AuthorizationBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(AuthorizationBenchmarkTest.class);
+  private static final int CALLS = 1_000_000;
+
+  @Test
+  @DisplayName("benchmark - authorization latency by role")
+  public void authorizationLatencyTest() {
+    Api api = Api.getInstance("/ngsi-ld/v1", "/iudx/v1");
+    AuthorizationTable table = new AuthorizationTable(api);
+    Object[][] cases = {
+      {"consumer", Method.GET, RouteId.FILE_DOWNLOAD},
+      {"provider", Method.POST, RouteId.FILE_UPLOAD},
+      {"delegate", Method.DELETE, RouteId.FILE_DELETE}
+    };
+    for (Object[] testCase : cases) {
+      JwtData jwtData = new JwtData();
+      jwtData.setRole((String) testCase[0]);
+      jwtData.setCons(new JsonObject().put("access", new JsonArray().add("file")));
+      Method method = (Method) testCase[1];
+      RouteId route = (RouteId) testCase[2];
+      String path = route.getPath(api);
+
+      // first round warms up both paths, timings are taken on second.
+      long strategyNanos = 0;
+      long tableNanos = 0;
+      for (int round = 0; round < 2; round++) {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+          AuthorizationStrategy strategy =
+              AuthorizationContextFactory.create(jwtData.getRole(), api);
+          JwtAuthorization authorization = new JwtAuthorization(strategy);
+          assertTrue(authorization.isAuthorized(new AuthorizationRequest(method, path), jwtData));
+        }
+        strategyNanos = (System.nanoTime() - start) / CALLS;
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+          assertTrue(table.isAuthorized(method, route, jwtData));
+        }
+        tableNanos = (System.nanoTime() - start) / CALLS;
+      }
+      LOGGER.info(
+          String.format(
+              "%s %s %s - strategy: %d ns/call, table: %d ns/call",
+              testCase[0], method, route, strategyNanos, tableNanos));
+    }
+  }
+}
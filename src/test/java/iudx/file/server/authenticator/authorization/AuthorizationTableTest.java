@@ -0,0 +1,87 @@
+package iudx.file.server.authenticator.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.authenticator.utilities.JwtData;
+import iudx.file.server.common.Api;
+import iudx.file.server.common.RouteId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuthorizationTableTest {
+
+  private static Api api;
+  private static AuthorizationTable table;
+
+  @BeforeAll
+  public static void setup() {
+    api = Api.getInstance("/ngsi-ld/v1", "/iudx/v1");
+    table = new AuthorizationTable(api);
+  }
+
+  private static JwtData jwtData(String role, JsonArray access) {
+    JwtData jwtData = new JwtData();
+    jwtData.setRole(role);
+    if (access != null) {
+      jwtData.setCons(new JsonObject().put("access", access));
+    }
+    return jwtData;
+  }
+
+  @Test
+  @DisplayName("table agrees with strategy of each role on every method and route")
+  public void matchesStrategiesTest() {
+    JsonArray[] accesses = {null, new JsonArray(), new JsonArray().add("file")};
+    for (String role : new String[] {"consumer", "provider", "delegate"}) {
+      AuthorizationStrategy strategy = AuthorizationContextFactory.create(role, api);
+      for (JsonArray access : accesses) {
+        JwtData jwtData = jwtData(role, access);
+        for (Method method : Method.values()) {
+          for (RouteId route : RouteId.values()) {
+            AuthorizationRequest request = new AuthorizationRequest(method, route.getPath(api));
+            assertEquals(
+                strategy.isAuthorized(request, jwtData),
+                table.isAuthorized(method, route, jwtData),
+                role + " " + access + " " + method + " " + route);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("consumer needs file access to download")
+  public void consumerTest() {
+    assertTrue(
+        table.isAuthorized(
+            Method.GET, RouteId.FILE_DOWNLOAD, jwtData("consumer", new JsonArray().add("file"))));
+    assertFalse(
+        table.isAuthorized(
+            Method.GET, RouteId.FILE_DOWNLOAD, jwtData("consumer", new JsonArray().add("api"))));
+    assertFalse(
+        table.isAuthorized(
+            Method.POST, RouteId.FILE_UPLOAD, jwtData("consumer", new JsonArray().add("file"))));
+  }
+
+  @Test
+  @DisplayName("unknown role or route denied")
+  public void unknownTest() {
+    assertFalse(table.isAuthorized(Method.GET, RouteId.FILE_DOWNLOAD, jwtData("admin", null)));
+    assertFalse(table.isAuthorized(Method.GET, RouteId.FILE_DOWNLOAD, jwtData(null, null)));
+    assertFalse(table.isAuthorized(Method.GET, null, jwtData("provider", null)));
+  }
+
+  @Test
+  @DisplayName("route resolved from its endpoint")
+  public void routeTest() {
+    assertEquals(RouteId.BULK_DOWNLOAD, table.getRoute(api.getApiBulkDownload()));
+    assertEquals(RouteId.TEMPORAL, table.getRoute(api.getApiTemporal()));
+    assertNull(table.getRoute("/unknown"));
+  }
+}
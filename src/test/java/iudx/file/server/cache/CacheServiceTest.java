@@ -17,6 +17,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.cli.annotations.Description;
@@ -49,6 +50,16 @@ public class CacheServiceTest {
   @BeforeAll
   public static void setup(Vertx vertx, VertxTestContext testContext) {
     pgService = mock(PostgresService.class);
+    // revoked tokens table is empty when cache is created.
+    Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
+        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(2))
+            .handle(Future.succeededFuture(new JsonObject().put("result", new JsonArray())));
+        return null;
+      }
+    }).when(pgService).executePreparedQuery(any(String.class), any(), any());
     cacheService = new CacheServiceImpl(pgService);
     testContext.completeNow();
   }
@@ -253,7 +264,10 @@ public class CacheServiceTest {
     // prepare mocked response from database/postgres service.
     JsonObject pgResponse = new JsonObject();
     JsonArray responseArray = new JsonArray();
-    pgResponse.put("_id", "key_from_postgres").put("expiry", "2020-10-19T14:20:00Z");
+    pgResponse
+        .put("_id", "key_from_postgres")
+        .put("expiry", "2020-10-19T14:20:00Z")
+        .put("modified_at", "2020-10-18T14:20:00");
     responseArray.add(pgResponse);
 
 
@@ -263,15 +277,15 @@ public class CacheServiceTest {
     when(asyncResult.result()).thenReturn(new JsonObject().put("result", responseArray));
 
 
-    // connect PostgresService.executeQuery() to AsyncResult(Handler)
+    // connect PostgresService.executePreparedQuery() to AsyncResult(Handler)
     Mockito.doAnswer(new Answer<AsyncResult<JsonObject>>() {
       @SuppressWarnings("unchecked")
       @Override
       public AsyncResult<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
-        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(1)).handle(asyncResult);
+        ((Handler<AsyncResult<JsonObject>>) arg0.getArgument(2)).handle(asyncResult);
         return null;
       }
-    }).when(pgService).executeQuery(any(String.class), any());
+    }).when(pgService).executePreparedQuery(any(String.class), any(), any());
 
     // Test
     // call cache refresh
@@ -286,8 +300,9 @@ public class CacheServiceTest {
           if (getHandler.succeeded()) {
             //verify
             assertEquals("2020-10-19T14:20:00Z", getHandler.result().getString("value"));
-            // executeQuery() will be called 2 times once from constructor and once from refresh()
-            verify(pgService, times(2)).executeQuery(any(String.class), any());
+            // executePreparedQuery() will be called 2 times once from constructor and once from
+            // refresh()
+            verify(pgService, times(2)).executePreparedQuery(any(String.class), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail to fetch value for key");
@@ -0,0 +1,114 @@
+package iudx.file.server.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.base.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AsyncLoadingCacheTest {
+
+  private final List<Promise<String>> loads = new ArrayList<>();
+  private final AtomicLong nanos = new AtomicLong();
+  private SimpleMeterRegistry registry;
+  private AsyncLoadingCache<String> cache;
+
+  @BeforeEach
+  public void setup() {
+    loads.clear();
+    registry = new SimpleMeterRegistry();
+    Ticker ticker =
+        new Ticker() {
+          @Override
+          public long read() {
+            return nanos.get();
+          }
+        };
+    cache =
+        new AsyncLoadingCache<>(
+            "test",
+            key -> {
+              Promise<String> promise = Promise.promise();
+              loads.add(promise);
+              return promise.future();
+            },
+            100,
+            Duration.ofMinutes(30),
+            Duration.ofMinutes(25),
+            Duration.ofMinutes(1),
+            registry,
+            ticker);
+  }
+
+  private void advanceMinutes(long minutes) {
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+  }
+
+  @Test
+  @DisplayName("concurrent lookups share a single load")
+  public void coalesceTest() {
+    Future<String> first = cache.get("id");
+    Future<String> second = cache.get("id");
+
+    assertEquals(1, loads.size());
+    loads.get(0).complete("item");
+
+    assertEquals("item", first.result());
+    assertEquals("item", second.result());
+    assertEquals("item", cache.get("id").result());
+    assertEquals(1, loads.size());
+    assertEquals(1.0, registry.get("fs.cache.gets").tag("result", "hit").counter().count());
+    assertEquals(2.0, registry.get("fs.cache.gets").tag("result", "miss").counter().count());
+  }
+
+  @Test
+  @DisplayName("stale entry served while it is reloaded")
+  public void refreshAheadTest() {
+    cache.get("id");
+    loads.get(0).complete("item");
+    advanceMinutes(26);
+
+    Future<String> stale = cache.get("id");
+
+    assertTrue(stale.succeeded());
+    assertEquals("item", stale.result());
+    assertEquals(2, loads.size());
+    loads.get(1).complete("updated item");
+    assertEquals("updated item", cache.get("id").result());
+  }
+
+  @Test
+  @DisplayName("unknown key cached for a shorter period")
+  public void negativeCacheTest() {
+    cache.get("unknown");
+    loads.get(0).complete(null);
+
+    assertNull(cache.get("unknown").result());
+    assertEquals(1, loads.size());
+    advanceMinutes(2);
+    cache.get("unknown");
+    assertEquals(2, loads.size());
+  }
+
+  @Test
+  @DisplayName("failed load not cached")
+  public void failedLoadTest() {
+    Future<String> failed = cache.get("id");
+    loads.get(0).fail("catalogue down");
+
+    assertTrue(failed.failed());
+    cache.get("id");
+    assertEquals(2, loads.size());
+  }
+}
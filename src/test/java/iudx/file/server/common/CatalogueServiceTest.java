@@ -2,6 +2,7 @@ package iudx.file.server.common;
 
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -14,6 +15,7 @@ import io.vertx.junit5.VertxTestContext;
 import java.sql.SQLOutput;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -250,4 +252,76 @@ public class CatalogueServiceTest {
     verify(httpRequest, times(5)).addQueryParam(any(), any());
     verify(httpRequest, times(3)).send(any());
   }
+
+  @Test
+  @DisplayName("success - item context of resource resolved from its group once")
+  public void testGetItemContextFromGroup(VertxTestContext vertxTestContext) {
+    String id = "example.com/provider/rs.example.com/rg/resource";
+    String groupId = "example.com/provider/rs.example.com/rg";
+    doReturn(httpRequest).when(client).get(anyInt(), anyString(), anyString());
+    doReturn(httpRequest).when(httpRequest).addQueryParam(any(), any());
+    doReturn(httpRequest).when(httpRequest).expect(any());
+
+    HttpResponse<Buffer> groupResponse = mock(HttpResponse.class);
+    when(response.bodyAsJsonObject())
+        .thenReturn(
+            new JsonObject()
+                .put("totalHits", 1)
+                .put(
+                    "results",
+                    new JsonArray()
+                        .add(
+                            new JsonObject()
+                                .put("id", id)
+                                .put("resourceGroup", groupId)
+                                .put("provider", "provider")
+                                .put("type", new JsonArray().add("iudx:Resource")))));
+    when(groupResponse.bodyAsJsonObject())
+        .thenReturn(
+            new JsonObject()
+                .put("totalHits", 1)
+                .put(
+                    "results",
+                    new JsonArray()
+                        .add(
+                            new JsonObject()
+                                .put("id", groupId)
+                                .put("accessPolicy", "OPEN")
+                                .put("iudxResourceAPIs", new JsonArray().add("TEMPORAL"))
+                                .put("type", new JsonArray().add("iudx:ResourceGroup")))));
+    List<HttpResponse<Buffer>> responses = List.of(response, groupResponse);
+    AtomicInteger calls = new AtomicInteger();
+    Mockito.doAnswer(
+            new Answer<AsyncResult<HttpResponse<Buffer>>>() {
+              @SuppressWarnings("unchecked")
+              @Override
+              public AsyncResult<HttpResponse<Buffer>> answer(InvocationOnMock arg0)
+                  throws Throwable {
+                ((Handler<AsyncResult<HttpResponse<Buffer>>>) arg0.getArgument(0))
+                    .handle(Future.succeededFuture(responses.get(calls.getAndIncrement())));
+                return null;
+              }
+            })
+        .when(httpRequest)
+        .send(any());
+
+    catalogueService
+        .getItemContext(id)
+        .compose(itemContext -> catalogueService.getItemContext(id))
+        .onComplete(
+            vertxTestContext.succeeding(
+                itemContext ->
+                    vertxTestContext.verify(
+                        () -> {
+                          assertEquals("Resource", itemContext.getString("type"));
+                          assertEquals(groupId, itemContext.getString("resourceGroup"));
+                          assertEquals("provider", itemContext.getString("provider"));
+                          assertEquals("OPEN", itemContext.getString("accessPolicy"));
+                          assertEquals(
+                              new JsonArray().add("TEMPORAL"),
+                              itemContext.getJsonArray("iudxResourceAPIs"));
+                          verify(httpRequest, times(2)).send(any());
+                          vertxTestContext.completeNow();
+                        })));
+  }
 }
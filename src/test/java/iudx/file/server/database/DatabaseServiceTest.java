@@ -216,6 +216,30 @@ public class DatabaseServiceTest {
     testContext.completeNow();
   }
 
+  @Test
+  @Order(4)
+  public void testGetFileMetadata(Vertx vertx, VertxTestContext testContext) {
+    String fileId =
+        "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta/60c7c38e-82cd-48c9-892b-a1917e2f6511.txt";
+
+    dbService.getFileMetadata(fileId).onComplete(testContext.succeeding(metadata -> {
+      assertEquals(fileId, metadata.getString("fileId"));
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  @Order(4)
+  public void testGetFileMetadataNotFound(Vertx vertx, VertxTestContext testContext) {
+    String fileId =
+        "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta/123.txt";
+
+    dbService.getFileMetadata(fileId).onComplete(testContext.failing(failure -> {
+      assertEquals(404, new JsonObject(failure.getMessage()).getInteger("type").intValue());
+      testContext.completeNow();
+    }));
+  }
+
   @Test
   @Order(4)
   public void testQueryFailure(Vertx vertx, VertxTestContext testContext) {
@@ -447,6 +471,120 @@ JsonObject jsonObject =new JsonObject().put("id","iisc.ac.in/89a36273d77dac4cf38
     });
   }
 
+  @Test
+  @Order(8)
+  public void testStreamSearch(Vertx vertx, VertxTestContext testContext) {
+    assertTrue(elasticContainer.isRunning());
+    JsonObject temporalQuery = new JsonObject("{\n" +
+        "    \"id\": \"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\",\n"
+        +
+        "    \"timerel\": \"during\",\n" +
+        "    \"time\": \"2020-09-10T00:00:00Z\",\n" +
+        "    \"endTime\": \"2020-09-15T00:00:00Z\",\n" +
+        "    \"limit\":2,\n" +
+        "    \"offset\":0\n" +
+        "}");
+
+    dbService.search(temporalQuery, QueryType.TEMPORAL)
+        .compose(searchResult -> ((DatabaseServiceImpl) dbService)
+            .streamSearch(temporalQuery, QueryType.TEMPORAL)
+            .onSuccess(streamed -> {
+              assertEquals(2, streamed.getHits().size());
+              assertEquals(searchResult.getLong("totalHits").longValue(), streamed.getTotalHits());
+            }))
+        .onComplete(handler -> {
+          if (handler.succeeded()) {
+            testContext.completeNow();
+          } else {
+            testContext.failNow(handler.cause());
+          }
+        });
+  }
+
+  @Test
+  @Order(8)
+  public void testCursorPagination(Vertx vertx, VertxTestContext testContext) {
+    assertTrue(elasticContainer.isRunning());
+    JsonObject temporalQuery = new JsonObject("{\n" +
+        "    \"id\": \"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\",\n"
+        +
+        "    \"timerel\": \"during\",\n" +
+        "    \"time\": \"2020-09-10T00:00:00Z\",\n" +
+        "    \"endTime\": \"2020-09-15T00:00:00Z\",\n" +
+        "    \"limit\":3,\n" +
+        "    \"cursor\":\"*\"\n" +
+        "}");
+
+    dbService.search(temporalQuery, QueryType.TEMPORAL)
+        .compose(firstPage -> {
+          assertEquals(3, firstPage.getJsonArray("results").size());
+          assertEquals(4, firstPage.getInteger("totalHits"));
+          assertFalse(firstPage.containsKey("offset"));
+          assertTrue(firstPage.containsKey("nextCursor"));
+          JsonObject nextQuery =
+              temporalQuery.copy().put("cursor", firstPage.getString("nextCursor"));
+          return dbService.search(nextQuery, QueryType.TEMPORAL)
+              .onSuccess(lastPage -> {
+                JsonArray results = lastPage.getJsonArray("results");
+                assertEquals(1, results.size());
+                assertFalse(firstPage.getJsonArray("results").contains(results.getValue(0)));
+                assertFalse(lastPage.containsKey("totalHits"));
+                assertFalse(lastPage.containsKey("nextCursor"));
+              });
+        })
+        .onComplete(handler -> {
+          if (handler.succeeded()) {
+            testContext.completeNow();
+          } else {
+            testContext.failNow(handler.cause());
+          }
+        });
+  }
+
+  @Test
+  @Order(8)
+  public void testInvalidCursor(Vertx vertx, VertxTestContext testContext) {
+    JsonObject temporalQuery = new JsonObject("{\n" +
+        "    \"id\": \"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\",\n"
+        +
+        "    \"timerel\": \"during\",\n" +
+        "    \"time\": \"2020-09-10T00:00:00Z\",\n" +
+        "    \"endTime\": \"2020-09-15T00:00:00Z\",\n" +
+        "    \"cursor\":\"bm90LWEtY3Vyc29y\"\n" +
+        "}");
+
+    dbService.search(temporalQuery, QueryType.TEMPORAL).onComplete(handler -> {
+      if (handler.failed()) {
+        assertEquals(400, new JsonObject(handler.cause().getMessage()).getInteger("type"));
+        testContext.completeNow();
+      } else {
+        testContext.failNow("invalid cursor accepted");
+      }
+    });
+  }
+
+  @Test
+  @Order(8)
+  public void testSaveAll(Vertx vertx, VertxTestContext testContext) {
+    JsonObject valid = new JsonObject()
+        .put("id", "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/batch")
+        .put("fileId", "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/batch/1.txt")
+        .put("timeRange",
+            new JsonObject().put("gte", "2020-09-10T00:00:00Z").put("lte", "2020-09-15T00:00:00Z"));
+    JsonObject invalid = valid.copy().put("timeRange", new JsonObject().put("gte", "not-a-date"));
+
+    dbService.saveAll(new JsonArray().add(valid).add(invalid)).onComplete(handler -> {
+      if (handler.succeeded()) {
+        JsonArray results = handler.result().getJsonArray("results");
+        assertEquals(200, results.getJsonObject(0).getInteger("type"));
+        assertEquals(400, results.getJsonObject(1).getInteger("type"));
+        testContext.completeNow();
+      } else {
+        testContext.failNow(handler.cause());
+      }
+    });
+  }
+
 //TODO: "Future{cause=[es/delete_by_query] Missing [X-Elastic-Product] header. Please check that you are connecting to an Elasticsearch instance, and that any networking filters are preserving that header.}"
   @Test
   @Order(9)
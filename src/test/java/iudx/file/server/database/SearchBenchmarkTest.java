@@ -0,0 +1,164 @@
+package iudx.file.server.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.file.server.common.QueryType;
+import iudx.file.server.database.elasticdb.DatabaseService;
+import iudx.file.server.database.elasticdb.DatabaseServiceImpl;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+
+/**
+ * query latency of count then search (searchMode count) against a single search tracking total
+ * hits (searchMode trackTotalHits), for temporal, geo and list queries on a local elasticsearch
+ * container. Run with {@code mvn test -Dtest=SearchBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SearchBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(SearchBenchmarkTest.class);
+  private static final String INDEX = "file-metadata";
+  private static final String PASSWORD = "elk@elastic.in";
+  private static final String ID =
+      "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/"
+          + "surat-itms-realtime-information/surat-itms-live-eta";
+  private static final int DOCUMENTS = 5000;
+  private static final int QUERIES = 1000;
+
+  private static ElasticsearchContainer elasticContainer;
+
+  @BeforeAll
+  public static void setup() throws Exception {
+    elasticContainer = new ElasticsearchContainer(DatabaseServiceTest.CONTAINER);
+    elasticContainer.withPassword(PASSWORD);
+    elasticContainer.withEnv("discovery.type", "single-node");
+    elasticContainer.start();
+
+    Vertx vertx = Vertx.vertx();
+    JsonObject mapping =
+        vertx.fileSystem().readFileBlocking("src/test/resources/mapping.json").toJsonObject();
+    JsonArray data =
+        vertx.fileSystem().readFileBlocking("src/test/resources/data.json").toJsonArray();
+    vertx.close();
+
+    BasicCredentialsProvider credentials = new BasicCredentialsProvider();
+    credentials.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials("elastic", PASSWORD));
+    try (RestClient client =
+        RestClient.builder(HttpHost.create(elasticContainer.getHttpHostAddress()))
+            .setHttpClientConfigCallback(
+                builder -> builder.setDefaultCredentialsProvider(credentials))
+            .build()) {
+      Request createIndex = new Request("PUT", INDEX);
+      createIndex.setJsonEntity(mapping.toString());
+      client.performRequest(createIndex);
+
+      StringBuilder bulk = new StringBuilder();
+      for (int i = 0; i < DOCUMENTS; i++) {
+        JsonObject document = data.getJsonObject(i % data.size()).copy();
+        document.put("fileId", ID + "/" + UUID.randomUUID() + ".txt");
+        bulk.append("{\"index\":{}}\n").append(document.encode()).append('\n');
+      }
+      Request bulkIndex = new Request("POST", INDEX + "/_bulk?refresh=true");
+      bulkIndex.setJsonEntity(bulk.toString());
+      client.performRequest(bulkIndex);
+    }
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    elasticContainer.stop();
+  }
+
+  private static DatabaseService service(String searchMode) {
+    return new DatabaseServiceImpl(
+        new JsonObject()
+            .put("databaseIP", elasticContainer.getHost())
+            .put("databasePort", elasticContainer.getFirstMappedPort())
+            .put("databaseUser", "elastic")
+            .put("databasePassword", PASSWORD)
+            .put("file-metadata-index", INDEX)
+            .put("searchMode", searchMode));
+  }
+
+  @Test
+  @DisplayName("benchmark - search latency by search mode")
+  public void searchLatencyTest() throws Exception {
+    DatabaseService countSearch = service("count");
+    DatabaseService trackTotalHitsSearch = service("trackTotalHits");
+    Object[][] cases = {
+      {
+        QueryType.TEMPORAL,
+        new JsonObject()
+            .put("id", ID)
+            .put("timerel", "during")
+            .put("time", "2020-09-01T00:00:00Z")
+            .put("endTime", "2020-09-30T00:00:00Z")
+            .put("limit", "100")
+      },
+      {
+        QueryType.GEO,
+        new JsonObject()
+            .put("id", ID)
+            .put("georel", "near")
+            .put("geometry", "point")
+            .put("coordinates", "[72.8058,21.1835]")
+            .put("radius", "2000")
+            .put("limit", "100")
+      },
+      {QueryType.LIST, new JsonObject().put("id", ID).put("limit", "100")}
+    };
+    for (Object[] testCase : cases) {
+      QueryType type = (QueryType) testCase[0];
+      JsonObject query = (JsonObject) testCase[1];
+      long count = search(countSearch, query, type);
+      assertEquals(count, search(trackTotalHitsSearch, query, type));
+
+      // first round warms up both modes, timings are taken on second.
+      long countMicros = 0;
+      long trackTotalHitsMicros = 0;
+      for (int round = 0; round < 2; round++) {
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+          search(countSearch, query, type);
+        }
+        countMicros = (System.nanoTime() - start) / QUERIES / 1000;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+          search(trackTotalHitsSearch, query, type);
+        }
+        trackTotalHitsMicros = (System.nanoTime() - start) / QUERIES / 1000;
+      }
+      LOGGER.info(
+          String.format(
+              "%s query (%d hits) - count then search: %d us/query, track total hits: %d us/query",
+              type, count, countMicros, trackTotalHitsMicros));
+    }
+  }
+
+  private static long search(DatabaseService service, JsonObject query, QueryType type)
+      throws Exception {
+    return service
+        .search(query, type)
+        .toCompletionStage()
+        .toCompletableFuture()
+        .get(1, TimeUnit.MINUTES)
+        .getLong("totalHits");
+  }
+}
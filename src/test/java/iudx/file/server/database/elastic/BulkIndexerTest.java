@@ -0,0 +1,157 @@
+package iudx.file.server.database.elastic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.file.server.database.elasticdb.elastic.BulkIndexer;
+import iudx.file.server.database.elasticdb.elastic.ElasticClient;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class BulkIndexerTest {
+
+  private static final String INDEX = "file-metadata";
+
+  private static JsonObject document(int i) {
+    return new JsonObject()
+        .put("id", "b58da193-23d9-43eb-b98a-a103d4b6103c")
+        .put("fileId", "b58da193-23d9-43eb-b98a-a103d4b6103c/" + i + ".txt");
+  }
+
+  /* client indexing every document. */
+  private static ElasticClient indexingClient() {
+    ElasticClient client = mock(ElasticClient.class);
+    when(client.bulkInsertAsync(eq(INDEX), anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<JsonObject> documents = invocation.getArgument(1);
+              List<String> failures = new ArrayList<>();
+              documents.forEach(document -> failures.add(null));
+              return Future.succeededFuture(failures);
+            });
+    return client;
+  }
+
+  @Test
+  @DisplayName("documents are flushed once max documents are buffered")
+  public void testFlushOnMaxDocuments(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = indexingClient();
+    vertx.runOnContext(
+        v -> {
+          BulkIndexer indexer = new BulkIndexer(vertx, client, INDEX, 3, 60000, 100);
+          List<Future<JsonObject>> futures = new ArrayList<>();
+          for (int i = 0; i < 3; i++) {
+            futures.add(indexer.add(document(i)));
+          }
+          Future.all(futures)
+              .onComplete(
+                  testContext.succeeding(
+                      all ->
+                          testContext.verify(
+                              () -> {
+                                for (Future<JsonObject> future : futures) {
+                                  assertEquals(200, future.result().getInteger("type"));
+                                }
+                                verify(client, times(1)).bulkInsertAsync(eq(INDEX), anyList());
+                                assertEquals(0, indexer.pending());
+                                testContext.completeNow();
+                              })));
+        });
+  }
+
+  @Test
+  @DisplayName("documents are flushed after max delay")
+  public void testFlushOnMaxDelay(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = indexingClient();
+    vertx.runOnContext(
+        v -> {
+          BulkIndexer indexer = new BulkIndexer(vertx, client, INDEX, 100, 10, 100);
+          Future.all(indexer.add(document(0)), indexer.add(document(1)))
+              .onComplete(
+                  testContext.succeeding(
+                      all ->
+                          testContext.verify(
+                              () -> {
+                                verify(client, times(1)).bulkInsertAsync(eq(INDEX), anyList());
+                                testContext.completeNow();
+                              })));
+        });
+  }
+
+  @Test
+  @DisplayName("result of each document completes its future")
+  public void testPerDocumentResult(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    when(client.bulkInsertAsync(eq(INDEX), anyList()))
+        .thenReturn(Future.succeededFuture(Arrays.asList(null, "failed to parse field")));
+    vertx.runOnContext(
+        v -> {
+          BulkIndexer indexer = new BulkIndexer(vertx, client, INDEX, 2, 60000, 100);
+          Future<JsonObject> indexed = indexer.add(document(0));
+          Future<JsonObject> failed = indexer.add(document(1));
+          Future.join(indexed, failed)
+              .onComplete(
+                  all ->
+                      testContext.verify(
+                          () -> {
+                            assertTrue(indexed.succeeded());
+                            assertTrue(failed.failed());
+                            JsonObject failure = new JsonObject(failed.cause().getMessage());
+                            assertEquals(400, failure.getInteger("type"));
+                            assertTrue(failure.getString("details").contains("failed to parse"));
+                            testContext.completeNow();
+                          }));
+        });
+  }
+
+  @Test
+  @DisplayName("documents are rejected while max pending are not indexed")
+  public void testBackPressure(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    Promise<List<String>> bulk = Promise.promise();
+    when(client.bulkInsertAsync(eq(INDEX), anyList())).thenReturn(bulk.future());
+    vertx.runOnContext(
+        v -> {
+          BulkIndexer indexer = new BulkIndexer(vertx, client, INDEX, 2, 60000, 2);
+          Future<JsonObject> first = indexer.add(document(0));
+          indexer.add(document(1));
+          Future<JsonObject> rejected = indexer.add(document(2));
+          testContext.verify(
+              () -> {
+                assertTrue(rejected.failed());
+                assertEquals(429, new JsonObject(rejected.cause().getMessage()).getInteger("type"));
+                List<Future<JsonObject>> batch =
+                    indexer.addAll(Arrays.asList(document(3), document(4)));
+                assertTrue(batch.get(0).failed() && batch.get(1).failed());
+              });
+          bulk.complete(Arrays.asList(null, null));
+          first.onComplete(
+              testContext.succeeding(
+                  indexed ->
+                      testContext.verify(
+                          () -> {
+                            assertEquals(0, indexer.pending());
+                            indexer.add(document(5));
+                            assertEquals(1, indexer.pending());
+                            testContext.completeNow();
+                          })));
+        });
+  }
+}
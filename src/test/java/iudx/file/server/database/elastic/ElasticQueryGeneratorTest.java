@@ -71,14 +71,14 @@ public class ElasticQueryGeneratorTest {
 
     // expected elastic query
     String elasticQuery =
-        "Query: {\"bool\":{\"filter\":[{\"terms\":{\"id\":[\"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\"]}},{\"wrapper\":{\"query\":\"eyAiZ2VvX3NoYXBlIjogeyAibG9jYXRpb24iOiB7ICJzaGFwZSI6IHsidHlwZSI6InBvbHlnb24iLCJjb29yZGluYXRlcyI6W1tbNzIuNzgxNSwyMS4xNzI2XSxbNzIuNzg1NiwyMS4xNTE5XSxbNzIuODA3LDIxLjE1MjddLFs3Mi44MTcsMjEuMTY4XSxbNzIuOCwyMS4xODA4XSxbNzIuNzgxNSwyMS4xNzI2XV1dfSwgInJlbGF0aW9uIjogIndpdGhpbiIgfSB9IH0=\"}}]}}";
+        "Query: {\"bool\":{\"filter\":[{\"terms\":{\"id\":[\"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\"]}},{\"geo_shape\":{\"location\":{\"shape\":{\"type\":\"polygon\",\"coordinates\":[[[72.7815,21.1726],[72.7856,21.1519],[72.807,21.1527],[72.817,21.168],[72.8,21.1808],[72.7815,21.1726]]]},\"relation\":\"within\"}}}]}}";
 
     // call test method
     String generatedQuery = String.valueOf(elasticQueryGenerator.getQuery(geoQuery, QueryType.GEO));
     // assertions
-    assertEquals(elasticQuery, generatedQuery);
+    assertEquals(queryJson(elasticQuery), queryJson(generatedQuery));
     assertTrue(generatedQuery.contains("bool"));
-    assertTrue(generatedQuery.contains("wrapper"));
+    assertTrue(generatedQuery.contains("geo_shape"));
     testContext.completeNow();
   }
 
@@ -100,18 +100,76 @@ public class ElasticQueryGeneratorTest {
 
     // expected elastic query
     String elasticQuery =
-        "Query: {\"bool\":{\"filter\":[{\"terms\":{\"id\":[\"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\"]}},{\"range\":{\"timeRange\":{\"from\":\"2020-09-10T00:00:00Z\",\"to\":\"2020-09-15T00:00:00Z\"}}},{\"wrapper\":{\"query\":\"eyAiZ2VvX3NoYXBlIjogeyAibG9jYXRpb24iOiB7ICJzaGFwZSI6IHsidHlwZSI6InBvbHlnb24iLCJjb29yZGluYXRlcyI6W1tbNzIuNzgxNSwyMS4xNzI2XSxbNzIuNzg1NiwyMS4xNTE5XSxbNzIuODA3LDIxLjE1MjddLFs3Mi44MTcsMjEuMTY4XSxbNzIuOCwyMS4xODA4XSxbNzIuNzgxNSwyMS4xNzI2XV1dfSwgInJlbGF0aW9uIjogIndpdGhpbiIgfSB9IH0=\"}}]}}";
+        "Query: {\"bool\":{\"filter\":[{\"terms\":{\"id\":[\"iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta\"]}},{\"range\":{\"timeRange\":{\"from\":\"2020-09-10T00:00:00Z\",\"to\":\"2020-09-15T00:00:00Z\"}}},{\"geo_shape\":{\"location\":{\"shape\":{\"type\":\"polygon\",\"coordinates\":[[[72.7815,21.1726],[72.7856,21.1519],[72.807,21.1527],[72.817,21.168],[72.8,21.1808],[72.7815,21.1726]]]},\"relation\":\"within\"}}}]}}";
 
     // call test method
     String generatedQuery =
         String.valueOf(elasticQueryGenerator.getQuery(temporalGeoQuery, QueryType.TEMPORAL_GEO));
     // assertions
-    assertEquals(elasticQuery, generatedQuery);
+    assertEquals(queryJson(elasticQuery), queryJson(generatedQuery));
     assertTrue(generatedQuery.contains("bool"));
     assertTrue(generatedQuery.contains("timeRange"));
     testContext.completeNow();
   }
 
+  /* json of a query printed by elastic client, numbers of coordinates are compared by value. */
+  private static JsonObject queryJson(String query) {
+    return new JsonObject(query.substring(query.indexOf('{')));
+  }
+
+  private static JsonObject geoFilter(JsonObject geoQuery) {
+    String query = String.valueOf(new ElasticQueryGenerator().getQuery(geoQuery, QueryType.GEO));
+    return queryJson(query).getJsonObject("bool").getJsonArray("filter").getJsonObject(1);
+  }
+
+  private static JsonObject geoQuery(String georel, String geometry, String coordinates) {
+    return new JsonObject()
+        .put("id", "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/file.iudx.io/surat-itms-realtime-information/surat-itms-live-eta")
+        .put("georel", georel)
+        .put("geometry", geometry)
+        .put("coordinates", coordinates);
+  }
+
+  @Test
+  public void testGenerateNearQuery(Vertx vertx, VertxTestContext testContext) {
+    JsonObject nearQuery = geoQuery("near", "point", "[72.8058,21.1835]").put("radius", "200");
+
+    JsonObject shape = geoFilter(nearQuery).getJsonObject("geo_shape").getJsonObject("location");
+
+    assertEquals("within", shape.getString("relation"));
+    assertEquals(
+        new JsonObject("{\"type\":\"Circle\",\"coordinates\":[72.8058,21.1835],\"radius\":\"200m\"}"),
+        shape.getJsonObject("shape"));
+    testContext.completeNow();
+  }
+
+  @Test
+  public void testGenerateBoundingBoxQuery(Vertx vertx, VertxTestContext testContext) {
+    JsonObject bboxQuery = geoQuery("intersects", "bbox", "[[72.8296,21.2],[72.8297,21.15]]");
+
+    JsonObject boundingBox =
+        geoFilter(bboxQuery).getJsonObject("geo_bounding_box").getJsonObject("location");
+
+    assertEquals(
+        new JsonObject().put("top", 21.2).put("bottom", 21.15).put("left", 72.8296).put("right", 72.8297),
+        boundingBox);
+    testContext.completeNow();
+  }
+
+  @Test
+  public void testGenerateWithinBoundingBoxQuery(Vertx vertx, VertxTestContext testContext) {
+    JsonObject bboxQuery = geoQuery("within", "bbox", "[[72.8297,21.15],[72.8296,21.2]]");
+
+    JsonObject shape =
+        geoFilter(bboxQuery).getJsonObject("geo_shape").getJsonObject("location");
+
+    assertEquals("within", shape.getString("relation"));
+    assertEquals(
+        new JsonObject("{\"type\":\"envelope\",\"coordinates\":[[72.8296,21.2],[72.8297,21.15]]}"),
+        shape.getJsonObject("shape"));
+    testContext.completeNow();
+  }
+
   @Test
   public void testResponseBuilder(VertxTestContext testContext) {
     JsonObject error = new JsonObject();
@@ -0,0 +1,89 @@
+package iudx.file.server.database.elastic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.vertx.core.buffer.Buffer;
+import iudx.file.server.database.elasticdb.elastic.RawSearchHits;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RawSearchHitsTest {
+
+  private static final String SOURCE_1 =
+      "{\"id\":\"b58da193\",\"fileId\":\"b58da193/a.txt\",\"timeRange\":"
+          + "{\"gte\":\"2020-09-10T00:00:00Z\",\"lte\":\"2020-09-15T00:00:00Z\"}}";
+  private static final String SOURCE_2 =
+      "{ \"id\" : \"b58da193\", \"fileId\" : \"b58da193/\\u00e9 [b].txt\", \"tags\" : [\"}\", 1] }";
+
+  private static RawSearchHits parse(String body) throws IOException {
+    return RawSearchHits.parse(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("sources of hits are read as they are")
+  public void testSources() throws IOException {
+    RawSearchHits hits =
+        parse(
+            "{\"hits\":{\"total\":{\"value\":12,\"relation\":\"eq\"},\"hits\":["
+                + "{\"_source\":"
+                + SOURCE_1
+                + "},{\"_index\":\"file-metadata\",\"_source\":"
+                + SOURCE_2
+                + ",\"sort\":[\"b\"]}]}}");
+
+    assertEquals(2, hits.size());
+    assertEquals(12, hits.getTotalHits());
+    Buffer buffer = Buffer.buffer();
+    hits.appendSource(0, buffer);
+    assertEquals(SOURCE_1, buffer.toString());
+    buffer = Buffer.buffer();
+    hits.appendSource(1, buffer);
+    assertEquals(SOURCE_2, buffer.toString());
+  }
+
+  @Test
+  @DisplayName("multi byte characters in sources")
+  public void testMultiByteSource() throws IOException {
+    String source = "{\"fileId\":\"b58da193/\u092b\u093c\u093e\u0907\u0932.txt\"}";
+    RawSearchHits hits = parse("{\"hits\":{\"hits\":[{\"_source\":" + source + "}]}}");
+
+    Buffer buffer = Buffer.buffer();
+    hits.appendSource(0, buffer);
+    assertEquals(source, buffer.toString(StandardCharsets.UTF_8));
+    assertEquals(-1, hits.getTotalHits());
+  }
+
+  @Test
+  @DisplayName("response without hits")
+  public void testNoHits() throws IOException {
+    RawSearchHits hits = parse("{\"hits\":{\"total\":{\"value\":0,\"relation\":\"eq\"}}}");
+
+    assertEquals(0, hits.size());
+    assertEquals(0, hits.getTotalHits());
+  }
+
+  @Test
+  @DisplayName("page with more hits than initial capacity")
+  public void testLargePage() throws IOException {
+    StringBuilder body = new StringBuilder("{\"hits\":{\"hits\":[");
+    for (int i = 0; i < 1000; i++) {
+      body.append(i > 0 ? "," : "").append("{\"_source\":{\"n\":").append(i).append("}}");
+    }
+    RawSearchHits hits = parse(body.append("]}}").toString());
+
+    assertEquals(1000, hits.size());
+    Buffer buffer = Buffer.buffer();
+    hits.appendSource(999, buffer);
+    assertEquals("{\"n\":999}", buffer.toString());
+  }
+
+  @Test
+  @DisplayName("invalid response")
+  public void testInvalidResponse() {
+    assertThrows(IOException.class, () -> parse("[]"));
+    assertThrows(IOException.class, () -> parse("{\"hits\":{\"hits\":[{\"_source\":{]}}"));
+  }
+}
@@ -0,0 +1,52 @@
+package iudx.file.server.database.elastic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonArray;
+import iudx.file.server.database.elasticdb.elastic.SearchCursor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SearchCursorTest {
+
+  @Test
+  @DisplayName("start token decodes to cursor of first page")
+  public void testStartCursor() {
+    SearchCursor cursor = SearchCursor.decode("*");
+
+    assertTrue(cursor.isStart());
+    assertNull(cursor.getPitId());
+    assertNull(cursor.getSearchAfter());
+  }
+
+  @Test
+  @DisplayName("encoded cursor decodes to same position")
+  public void testRoundTrip() {
+    JsonArray searchAfter = new JsonArray().add("2a553c97-e873-4983-86b6-070774e4e671.txt").add(7);
+    SearchCursor cursor = new SearchCursor("46ToAwMDaWR5BXV1aWQy", searchAfter);
+
+    String token = cursor.encode();
+    SearchCursor decoded = SearchCursor.decode(token);
+
+    assertFalse(token.contains("=") || token.contains("+") || token.contains("/"));
+    assertFalse(decoded.isStart());
+    assertEquals("46ToAwMDaWR5BXV1aWQy", decoded.getPitId());
+    assertEquals(searchAfter, decoded.getSearchAfter());
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {"", "not a token", "bm90LWEtY3Vyc29y", "e30", "eyJwaXQiOiJhIiwiYWZ0ZXIiOltdfQ"})
+  @DisplayName("tokens not created by server are rejected")
+  public void testInvalidToken(String token) {
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(token));
+  }
+}
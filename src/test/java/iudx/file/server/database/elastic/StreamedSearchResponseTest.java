@@ -0,0 +1,141 @@
+package iudx.file.server.database.elastic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
+import iudx.file.server.database.elasticdb.elastic.RawSearchHits;
+import iudx.file.server.database.elasticdb.utilities.ResponseBuilder;
+import iudx.file.server.database.elasticdb.utilities.StreamedSearchResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StreamedSearchResponseTest {
+
+  private static RawSearchHits hits(JsonArray sources) throws IOException {
+    StringBuilder body = new StringBuilder("{\"hits\":{\"hits\":[");
+    for (int i = 0; i < sources.size(); i++) {
+      body.append(i > 0 ? "," : "").append("{\"_source\":").append(sources.getValue(i)).append('}');
+    }
+    body.append("]}}");
+    return RawSearchHits.parse(body.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static JsonArray sources(int count) {
+    JsonArray sources = new JsonArray();
+    for (int i = 0; i < count; i++) {
+      sources.add(
+          new JsonObject()
+              .put("id", "b58da193-23d9-43eb-b98a-a103d4b6103c")
+              .put("fileId", "b58da193-23d9-43eb-b98a-a103d4b6103c/" + i + ".txt")
+              .put(
+                  "timeRange",
+                  new JsonObject()
+                      .put("gte", "2020-09-10T00:00:00Z")
+                      .put("lte", "2020-09-15T00:00:00Z")));
+    }
+    return sources;
+  }
+
+  @Test
+  @DisplayName("streamed response is same json as search response")
+  public void testSameAsSearchResponse() throws IOException {
+    JsonArray sources = sources(3);
+    ChunkStream stream = new ChunkStream();
+
+    new StreamedSearchResponse(hits(sources), 30, 3, 6).writeTo(stream);
+
+    JsonObject expected =
+        new ResponseBuilder()
+            .setTypeAndTitle(200)
+            .setMessage(sources)
+            .setTotalHits(30)
+            .getResponse()
+            .put("limit", 3)
+            .put("offset", 6);
+    assertEquals(expected.encode(), stream.body().toString());
+  }
+
+  @Test
+  @DisplayName("large page is written in chunks")
+  public void testChunks() throws IOException {
+    JsonArray sources = sources(2000);
+    ChunkStream stream = new ChunkStream();
+
+    new StreamedSearchResponse(hits(sources), 2000, 2000, 0).writeTo(stream);
+
+    assertTrue(stream.chunks.size() > 1);
+    stream.chunks.forEach(chunk -> assertTrue(chunk.length() <= 64 * 1024));
+    assertEquals(sources, new JsonObject(stream.body()).getJsonArray("results"));
+  }
+
+  @Test
+  @DisplayName("empty page")
+  public void testEmptyPage() throws IOException {
+    ChunkStream stream = new ChunkStream();
+
+    new StreamedSearchResponse(hits(new JsonArray()), 4, 5000, 10).writeTo(stream);
+
+    JsonObject response = new JsonObject(stream.body());
+    assertTrue(response.getJsonArray("results").isEmpty());
+    assertEquals(4, response.getLong("totalHits"));
+  }
+
+  private static final class ChunkStream implements WriteStream<Buffer> {
+
+    private final List<Buffer> chunks = new ArrayList<>();
+
+    Buffer body() {
+      Buffer body = Buffer.buffer();
+      chunks.forEach(body::appendBuffer);
+      return body;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      chunks.add(data);
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+      chunks.add(data);
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return false;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      return this;
+    }
+  }
+}
@@ -19,6 +19,12 @@ import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.PoolOptions;
 import iudx.file.server.configuration.Configuration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @ExtendWith(VertxExtension.class)
 public class PostgresServiceImplTest {
@@ -72,7 +78,7 @@ public class PostgresServiceImplTest {
       PoolOptions poolOptions = new PoolOptions().setMaxSize(dbConfig.getInteger("poolSize"));
       PgPool pool = PgPool.pool(vertx, connectOptions, poolOptions);
 
-      postgresServiceImpl = new PostgresServiceImpl(pool);
+      postgresServiceImpl = new PostgresServiceImpl(vertx, pool);
       testContext.completeNow();
     }
   }
@@ -179,6 +185,64 @@ public class PostgresServiceImplTest {
         });
   }
 
+  @Test
+  @Description("revoked tokens read in pages, a page shorter than page size ends sync")
+  public void testRevokedTokensSync(Vertx vertx, VertxTestContext testContext) {
+    Map<String, String> revoked = new HashMap<>();
+    new RevokedTokensSync(postgresServiceImpl, revoked::put, 3)
+        .sync()
+        .onComplete(
+            testContext.succeeding(
+                rows -> {
+                  assertEquals(4, rows.intValue());
+                  assertEquals(4, revoked.size());
+                  assertTrue(revoked.containsKey("0ed019fe-be38-4903-8f0f-5285d2985780"));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @Description("typed parameters bound as their postgres type")
+  public void testTypedPreparedQuery(Vertx vertx, VertxTestContext testContext) {
+    JsonObject queryParam =
+        new JsonObject()
+            .put("_id", TupleBuilder.uuid(UUID.fromString("0ed019fe-be38-4903-8f0f-5285d2985780")))
+            .put("expiry", TupleBuilder.timestamp(LocalDateTime.now()));
+    postgresServiceImpl.executePreparedQuery(
+        "select * from revoked_tokens where _id=$1 and expiry > $2",
+        queryParam,
+        testContext.succeeding(
+            result -> {
+              assertEquals(1, result.getJsonArray("result").size());
+              testContext.completeNow();
+            }));
+  }
+
+  @Test
+  @Description("rows streamed to an address in batches of fetch size")
+  public void testStreamQuery(Vertx vertx, VertxTestContext testContext) {
+    List<Integer> batches = new ArrayList<>();
+    vertx
+        .eventBus()
+        .<JsonObject>consumer(
+            "test.revoked.tokens",
+            message -> {
+              batches.add(message.body().getJsonArray("result").size());
+              message.reply(null);
+            });
+    postgresServiceImpl.streamQuery(
+        "select * from revoked_tokens where expiry > $1",
+        new JsonObject().put("expiry", TupleBuilder.timestamp(LocalDateTime.now())),
+        3,
+        "test.revoked.tokens",
+        testContext.succeeding(
+            result -> {
+              assertEquals(4, result.getInteger("count").intValue());
+              assertEquals(List.of(3, 1), batches);
+              testContext.completeNow();
+            }));
+  }
+
   @AfterAll
   public static void destroy(Vertx vertx, VertxTestContext testContext) {
     postgresContainer.close();
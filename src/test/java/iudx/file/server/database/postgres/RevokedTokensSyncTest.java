@@ -0,0 +1,123 @@
+package iudx.file.server.database.postgres;
+
+import static iudx.file.server.database.postgres.PostgresConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RevokedTokensSyncTest {
+
+  private static final String CLIENT_A = "5b7556b5-0779-4c47-9cf2-3f209779aa22";
+  private static final String CLIENT_B = "0ed019fe-be38-4903-8f0f-5285d2985780";
+  private static final String CLIENT_C = "9c8f1a0e-2a41-4c1e-8d7a-3b6f0e9d2c11";
+
+  private PostgresService pgService;
+  private final List<JsonObject> params = new ArrayList<>();
+  private final Queue<JsonArray> pages = new LinkedList<>();
+  private final Map<String, String> revoked = new HashMap<>();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    pgService = mock(PostgresService.class);
+    doAnswer(
+            invocation -> {
+              params.add(invocation.getArgument(1));
+              JsonArray page = pages.isEmpty() ? new JsonArray() : pages.poll();
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(Future.succeededFuture(new JsonObject().put("result", page)));
+              return null;
+            })
+        .when(pgService)
+        .executePreparedQuery(anyString(), any(), any());
+  }
+
+  private static JsonObject row(String id, String modifiedAt) {
+    return new JsonObject()
+        .put("_id", id)
+        .put("expiry", "2023-10-19T14:20:00")
+        .put("modified_at", modifiedAt);
+  }
+
+  @Test
+  @DisplayName("table read in pages, next page starts after last row of previous")
+  public void pagedLoadTest() {
+    pages.add(
+        new JsonArray()
+            .add(row(CLIENT_A, "2023-10-19T14:20:00"))
+            .add(row(CLIENT_B, "2023-10-19T14:21")));
+    pages.add(new JsonArray().add(row(CLIENT_C, "2023-10-19T14:22:00.5")));
+    RevokedTokensSync sync = new RevokedTokensSync(pgService, revoked::put, 2);
+
+    assertEquals(3, sync.sync().result().intValue());
+
+    assertEquals(3, revoked.size());
+    assertEquals(2, params.size());
+    assertEquals(
+        TupleBuilder.timestamp(MIN_MODIFIED_AT), params.get(0).getJsonObject("modifiedAt"));
+    assertEquals(TupleBuilder.uuid(MIN_ID), params.get(0).getJsonObject("id"));
+    assertEquals(2, params.get(0).getInteger("limit"));
+    assertEquals(
+        TupleBuilder.timestamp(LocalDateTime.parse("2023-10-19T14:21")),
+        params.get(1).getJsonObject("modifiedAt"));
+    assertEquals(TupleBuilder.uuid(UUID.fromString(CLIENT_B)), params.get(1).getJsonObject("id"));
+    assertEquals(LocalDateTime.parse("2023-10-19T14:22:00.5"), sync.getHighWaterMark());
+  }
+
+  @Test
+  @DisplayName("later sync reads from high-water mark less overlap")
+  public void deltaSyncTest() {
+    pages.add(new JsonArray().add(row(CLIENT_A, "2023-10-19T14:20:00")));
+    RevokedTokensSync sync = new RevokedTokensSync(pgService, revoked::put, 2);
+    sync.sync();
+
+    assertEquals(0, sync.sync().result().intValue());
+
+    assertEquals(
+        TupleBuilder.timestamp(
+            LocalDateTime.parse("2023-10-19T14:20:00").minus(REVOKED_TOKENS_SYNC_OVERLAP)),
+        params.get(1).getJsonObject("modifiedAt"));
+    assertEquals(TupleBuilder.uuid(MIN_ID), params.get(1).getJsonObject("id"));
+    assertEquals(LocalDateTime.parse("2023-10-19T14:20:00"), sync.getHighWaterMark());
+  }
+
+  @Test
+  @DisplayName("failed sync keeps high-water mark and is retried by next sync")
+  @SuppressWarnings("unchecked")
+  public void failedSyncTest() {
+    doAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(Future.failedFuture("db error"));
+              return null;
+            })
+        .when(pgService)
+        .executePreparedQuery(anyString(), any(), any());
+    RevokedTokensSync sync = new RevokedTokensSync(pgService, revoked::put, 2);
+
+    assertTrue(sync.sync().failed());
+    assertTrue(sync.sync().failed());
+    assertNull(sync.getHighWaterMark());
+  }
+}
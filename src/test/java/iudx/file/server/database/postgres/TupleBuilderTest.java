@@ -0,0 +1,57 @@
+package iudx.file.server.database.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Tuple;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TupleBuilderTest {
+
+  @Test
+  @DisplayName("typed parameters converted, json types bound as they are, in order")
+  public void fromTest() {
+    UUID id = UUID.randomUUID();
+    LocalDateTime timestamp = LocalDateTime.parse("2023-10-19T14:20:00.123456");
+    OffsetDateTime timestamptz = OffsetDateTime.parse("2023-10-19T14:20:00+05:30");
+    JsonObject params =
+        new JsonObject()
+            .put("id", TupleBuilder.uuid(id))
+            .put("timestamp", TupleBuilder.timestamp(timestamp))
+            .put("timestamptz", TupleBuilder.timestamptz(timestamptz))
+            .put("date", TupleBuilder.date(LocalDate.parse("2023-10-19")))
+            .put("limit", 10)
+            .put("name", "file")
+            .put("deleted", false)
+            .putNull("none");
+
+    // params pass through event bus as json.
+    Tuple tuple = TupleBuilder.from(new JsonObject(params.encode()));
+
+    assertEquals(8, tuple.size());
+    assertEquals(id, tuple.getValue(0));
+    assertEquals(timestamp, tuple.getValue(1));
+    assertEquals(timestamptz, tuple.getValue(2));
+    assertEquals(LocalDate.parse("2023-10-19"), tuple.getValue(3));
+    assertEquals(10, tuple.getValue(4));
+    assertEquals("file", tuple.getValue(5));
+    assertEquals(false, tuple.getValue(6));
+    assertNull(tuple.getValue(7));
+  }
+
+  @Test
+  @DisplayName("parameter of unknown type rejected")
+  public void unknownTypeTest() {
+    JsonObject params =
+        new JsonObject().put("id", new JsonObject().put(TupleBuilder.TYPE, "xml").put("value", ""));
+
+    assertThrows(IllegalArgumentException.class, () -> TupleBuilder.from(params));
+  }
+}
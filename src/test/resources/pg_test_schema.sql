@@ -11,6 +11,9 @@ CREATE TABLE IF NOT EXISTS revoked_tokens
    CONSTRAINT revoke_tokens_pk PRIMARY KEY (_id)
 );
 
+-- revoked tokens are read in pages ordered by modification
+CREATE INDEX IF NOT EXISTS revoked_tokens_modified_at_idx ON revoked_tokens (modified_at, _id);
+
 ---
 -- Functions for audit[cerated,updated] on table/column
 ---